@@ -1,11 +1,29 @@
 
+import ai.OpeningBook;
+import ai.OpeningBookBuilder;
 import controller.GameController;
+import engine.Tournament;
 import model.GameModel;
 import view.HomeScreenView;
 import view.GameView;
 
+import java.io.IOException;
+import java.util.Arrays;
+
 public class BattleShipMain {
-    public static void main(String[] args) {
+    public static void main(String[] args) throws IOException {
+        // Mit --tournament spielen Computerstrategien ohne Oberfläche gegeneinander
+        if (args.length > 0 && args[0].equals("--tournament")) {
+            Tournament.main(Arrays.copyOfRange(args, 1, args.length));
+            return;
+        }
+        // Mit --opening-book wird die Datei des Eröffnungsbuchs erzeugt
+        if (args.length > 0 && args[0].equals("--opening-book")) {
+            OpeningBookBuilder.main(Arrays.copyOfRange(args, 1, args.length));
+            return;
+        }
+        // Eröffnungsbuch schon beim Start einblenden, damit der erste Zug des Computers nicht darauf wartet
+        OpeningBook.getDefault();
         GameModel gm = new GameModel();
         HomeScreenView hw = new HomeScreenView();
 
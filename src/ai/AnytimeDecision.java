@@ -0,0 +1,51 @@
+/**
+ * @file AnytimeDecision.java
+ */
+
+package ai;
+
+/**
+ * @class AnytimeDecision
+ * @brief Das bisher beste Ziel einer laufenden Suche. Die Suche meldet bessere Ziele über offer und prüft regelmäßig
+ *        isCancelled. Der wartende Thread liest nach Ablauf der Frist das zuletzt gemeldete Ziel. Beide Felder sind
+ *        volatile, da Suche und Abfrage in verschiedenen Threads laufen.
+ */
+public class AnytimeDecision {
+    // Index des bisher besten Ziels, -1 solange keines gemeldet wurde
+    private volatile int best = -1;
+    // Gibt an, ob die Suche beendet werden soll
+    private volatile boolean cancelled;
+
+    /**
+     * @brief Meldet ein neues bestes Ziel. Negative Indizes werden ignoriert.
+     * @param target Der Index der Zielzelle.
+     */
+    public void offer(int target) {
+        if (target >= 0) {
+            this.best = target;
+        }
+    }
+
+    /**
+     * @brief Gibt das zuletzt gemeldete Ziel zurück.
+     * @return Der Index der Zielzelle oder -1, wenn noch keines gemeldet wurde.
+     */
+    public int getBest() {
+        return this.best;
+    }
+
+    /**
+     * @brief Fordert die Suche auf, so bald wie möglich zu enden.
+     */
+    public void cancel() {
+        this.cancelled = true;
+    }
+
+    /**
+     * @brief Überprüft, ob die Suche beendet werden soll.
+     * @return true, wenn die Entscheidung abgebrochen wurde.
+     */
+    public boolean isCancelled() {
+        return this.cancelled;
+    }
+}
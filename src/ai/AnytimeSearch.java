@@ -0,0 +1,20 @@
+/**
+ * @file AnytimeSearch.java
+ */
+
+package ai;
+
+/**
+ * @interface AnytimeSearch
+ * @brief Eine Strategie, die ihr Ziel schrittweise verbessert und jederzeit abgebrochen werden kann.
+ *        Solche Strategien werden vom Computergegner über eine AnytimeStrategy mit fester Frist je Zug ausgeführt.
+ */
+public interface AnytimeSearch {
+    /**
+     * @brief Sucht ein Ziel und meldet jedes bessere Zwischenergebnis an die Entscheidung. Die Suche läuft in einem
+     *        eigenen Thread und soll kurz nach dem Abbruch der Entscheidung enden.
+     * @param knowledge Eine Kopie des Wissens über das gegnerische Board, die nur dieser Suche gehört.
+     * @param decision Die Entscheidung, an die Ziele gemeldet werden.
+     */
+    void search(ShotKnowledge knowledge, AnytimeDecision decision);
+}
@@ -0,0 +1,134 @@
+/**
+ * @file AnytimeStrategy.java
+ */
+
+package ai;
+
+import model.ShotResult;
+import utils.ShotType;
+
+import java.util.SplittableRandom;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+
+/**
+ * @class AnytimeStrategy
+ * @brief Führt eine AnytimeSearch mit einer festen Frist je Zug aus.
+ *        Die Suche läuft in einem Hintergrund-Thread auf einem Abbild des Wissens, das vor jeder Suche nur um die
+ *        Änderungen seit der letzten ergänzt wird. Der aufrufende Thread wartet höchstens bis zur Frist und verwendet
+ *        danach das zuletzt gemeldete Ziel. Meldet die Suche bis dahin kein Ziel, wird -1 zurückgegeben und der
+ *        Computer schießt zufällig. Läuft die abgebrochene Suche des letzten Zuges bei Ablauf der Frist noch, wählt
+ *        eine einfache Dichteberechnung das Ziel. Die Dauer eines Zuges ist damit unabhängig von Spielfeldgröße und
+ *        Strategie durch die Frist begrenzt. Schlägt eine Suche fehl, wird der Fehler festgehalten und gemeldet, und
+ *        die Dichteberechnung spielt die restlichen Züge.
+ */
+public class AnytimeStrategy implements ShotStrategy {
+    // Gemeinsame Hintergrund-Threads für alle Suchen, die das Beenden des Programms nicht verhindern
+    private static final ExecutorService WORKERS = Executors.newCachedThreadPool(runnable -> {
+        Thread thread = new Thread(runnable, "Computer-Suche");
+        thread.setDaemon(true);
+        return thread;
+    });
+
+    // Die Strategie, an die Beobachtungen weitergegeben werden
+    private final ShotStrategy strategy;
+    // Die Suche der Strategie
+    private final AnytimeSearch search;
+    // Die Frist je Zug in Nanosekunden
+    private final long deadlineNanos;
+    // Dichteberechnung ohne Endspiel für Züge, in denen keine Suche möglich ist
+    private final ProbabilityDensity fallback;
+    // Zufallsgenerator für die Auswahl zwischen gleich guten Zellen der Dichteberechnung
+    private final SplittableRandom random;
+    // Das Abbild des Wissens, auf dem die Suchen laufen, oder null vor der ersten Suche
+    private ShotKnowledge snapshot;
+    // Die zuletzt gestartete Suche
+    private Future<?> running;
+    // Der Fehler der ersten fehlgeschlagenen Suche oder null
+    private Throwable failure;
+
+    /**
+     * @brief Konstruktor, der eine Strategie mit einer Frist je Zug versieht.
+     * @param strategy Die Strategie, die auch AnytimeSearch implementiert.
+     * @param deadlineMillis Die Frist je Zug in Millisekunden.
+     * @param random Der Zufallsgenerator für die Dichteberechnung.
+     */
+    public AnytimeStrategy(ShotStrategy strategy, long deadlineMillis, SplittableRandom random) {
+        this.strategy = strategy;
+        this.search = (AnytimeSearch) strategy;
+        this.deadlineNanos = TimeUnit.MILLISECONDS.toNanos(deadlineMillis);
+        this.fallback = new ProbabilityDensity();
+        this.random = random;
+    }
+
+    @Override
+    public int chooseTarget(ShotKnowledge knowledge) {
+        long end = System.nanoTime() + this.deadlineNanos;
+        // Eine abgebrochene Suche des letzten Zuges kann noch laufen und verwendet dieselbe Strategie und das Abbild
+        if (this.failure != null || (this.running != null && !this.await(this.running, end))) {
+            return this.fallback.chooseTarget(knowledge, this.random);
+        }
+        if (this.snapshot == null) {
+            this.snapshot = new ShotKnowledge(knowledge);
+        } else {
+            this.snapshot.update(knowledge);
+        }
+        ShotKnowledge snapshot = this.snapshot;
+        AnytimeDecision decision = new AnytimeDecision();
+        this.running = WORKERS.submit(() -> this.search.search(snapshot, decision));
+        if (!this.await(this.running, end)) {
+            decision.cancel();
+        }
+        if (decision.getBest() < 0 && this.failure != null) {
+            return this.fallback.chooseTarget(knowledge, this.random);
+        }
+        return decision.getBest();
+    }
+
+    @Override
+    public void observe(int index, ShotResult result, ShotKnowledge knowledge) {
+        this.strategy.observe(index, result, knowledge);
+    }
+
+    @Override
+    public void unobserve(int index, ShotType type, ShotKnowledge knowledge) {
+        this.strategy.unobserve(index, type, knowledge);
+    }
+
+    /**
+     * @brief Gibt den Fehler der ersten fehlgeschlagenen Suche zurück.
+     * @return Der Fehler oder null, wenn keine Suche fehlgeschlagen ist.
+     */
+    public Throwable getFailure() {
+        return this.failure;
+    }
+
+    /**
+     * @brief Wartet bis zum angegebenen Zeitpunkt auf das Ende einer Suche.
+     * @param future Die Suche.
+     * @param end Der Zeitpunkt in System.nanoTime(), bis zu dem gewartet wird.
+     * @return true, wenn die Suche rechtzeitig beendet wurde.
+     */
+    private boolean await(Future<?> future, long end) {
+        try {
+            future.get(Math.max(0, end - System.nanoTime()), TimeUnit.NANOSECONDS);
+            return true;
+        } catch (TimeoutException e) {
+            return false;
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return false;
+        } catch (ExecutionException e) {
+            // Eine fehlgeschlagene Suche zählt als beendet, der Fehler wird festgehalten und einmal gemeldet
+            if (this.failure == null) {
+                this.failure = e.getCause();
+                System.err.println("Die Suche der Strategie ist fehlgeschlagen, es wird nur noch die Dichte berechnet: " + e.getCause());
+            }
+            return true;
+        }
+    }
+}
@@ -0,0 +1,79 @@
+/**
+ * @file DecisionStats.java
+ */
+
+package ai;
+
+/**
+ * @class DecisionStats
+ * @brief Zählt, wie lange eine Strategie für ihre Entscheidungen braucht.
+ *        Neben Anzahl, Summe und Maximum wird ein Histogramm mit Zweierpotenzen von Nanosekunden geführt, aus dem sich
+ *        Perzentile bis auf einen Faktor zwei abschätzen lassen. Das Erfassen einer Entscheidung erzeugt keine Objekte.
+ */
+public class DecisionStats {
+    // Anzahl der Entscheidungen je Zweierpotenz der Dauer in Nanosekunden
+    private final long[] histogram = new long[64];
+    private long count;
+    private long totalNanos;
+    private long maxNanos;
+
+    /**
+     * @brief Erfasst die Dauer einer Entscheidung.
+     * @param nanos Die Dauer in Nanosekunden.
+     */
+    public void record(long nanos) {
+        long duration = Math.max(0, nanos);
+        this.histogram[63 - Long.numberOfLeadingZeros(duration | 1)]++;
+        this.count++;
+        this.totalNanos += duration;
+        this.maxNanos = Math.max(this.maxNanos, duration);
+    }
+
+    /**
+     * @brief Gibt die Anzahl der erfassten Entscheidungen zurück.
+     * @return Die Anzahl der Entscheidungen.
+     */
+    public long getCount() {
+        return this.count;
+    }
+
+    /**
+     * @brief Gibt die durchschnittliche Dauer einer Entscheidung zurück.
+     * @return Die durchschnittliche Dauer in Nanosekunden oder 0, wenn noch keine Entscheidung erfasst wurde.
+     */
+    public long getMeanNanos() {
+        return this.count == 0 ? 0 : this.totalNanos / this.count;
+    }
+
+    /**
+     * @brief Gibt die längste Dauer einer Entscheidung zurück.
+     * @return Die längste Dauer in Nanosekunden.
+     */
+    public long getMaxNanos() {
+        return this.maxNanos;
+    }
+
+    /**
+     * @brief Schätzt ein Perzentil der Dauer ab. Das Ergebnis ist die obere Grenze der Zweierpotenz, in die das
+     *        Perzentil fällt, höchstens aber die längste gemessene Dauer.
+     * @param percentile Das Perzentil zwischen 0 und 100.
+     * @return Die abgeschätzte Dauer in Nanosekunden.
+     */
+    public long getPercentileNanos(double percentile) {
+        long rank = (long) Math.ceil(this.count * percentile / 100.0);
+        long seen = 0;
+        for (int bucket = 0; bucket < this.histogram.length; bucket++) {
+            seen += this.histogram[bucket];
+            if (seen >= rank && seen > 0) {
+                return Math.min(this.maxNanos, bucket >= 62 ? Long.MAX_VALUE : (2L << bucket) - 1);
+            }
+        }
+        return this.maxNanos;
+    }
+
+    @Override
+    public String toString() {
+        return String.format("%d Entscheidungen, Mittel %.3f ms, p99 %.3f ms, Maximum %.3f ms",
+                this.count, this.getMeanNanos() / 1e6, this.getPercentileNanos(99) / 1e6, this.maxNanos / 1e6);
+    }
+}
@@ -0,0 +1,68 @@
+/**
+ * @file DensityStrategy.java
+ */
+
+package ai;
+
+import java.util.SplittableRandom;
+
+/**
+ * @class DensityStrategy
+ * @brief Schießt auf die Zelle mit den meisten möglichen Platzierungen der verbleibenden Schiffe. Im Endspiel
+ *        übernimmt der ExactEndgameSolver, sobald er die Wahrscheinlichkeiten exakt berechnen kann.
+ */
+public class DensityStrategy implements ShotStrategy, AnytimeSearch {
+    private final ProbabilityDensity density;
+    private final SplittableRandom random;
+    // Exakte Berechnung, sobald nur noch wenige Anordnungen der verbleibenden Schiffe möglich sind
+    private final ExactEndgameSolver endgame;
+
+    /**
+     * @brief Konstruktor, der die Strategie erstellt.
+     * @param random Der Zufallsgenerator für die Auswahl zwischen gleich guten Zellen.
+     */
+    public DensityStrategy(SplittableRandom random) {
+        this.density = new ProbabilityDensity();
+        this.random = random;
+        this.endgame = new ExactEndgameSolver();
+    }
+
+    @Override
+    public int chooseTarget(ShotKnowledge knowledge) {
+        int target = this.endgame.chooseTarget(knowledge, this.random, new AnytimeDecision());
+        return target >= 0 ? target : this.density.chooseTarget(knowledge, this.random);
+    }
+
+    @Override
+    public void search(ShotKnowledge knowledge, AnytimeDecision decision) {
+        // Die Dichte ist schnell berechnet und sichert ein Ziel, falls die exakte Berechnung die Frist überschreitet
+        decision.offer(this.density.chooseTarget(knowledge, this.random, decision));
+        decision.offer(this.endgame.chooseTarget(knowledge, this.random, decision));
+    }
+
+    /**
+     * @class Provider
+     * @brief Stellt die Dichte-Strategie über den ServiceLoader bereit.
+     */
+    public static class Provider implements ShotStrategyProvider {
+        @Override
+        public String getId() {
+            return "density";
+        }
+
+        @Override
+        public String getDisplayName() {
+            return "Normal (Wahrscheinlichkeitsdichte)";
+        }
+
+        @Override
+        public ShotStrategy create(int width, int height, SplittableRandom random) {
+            return new DensityStrategy(random);
+        }
+
+        @Override
+        public boolean usesOpeningBook() {
+            return true;
+        }
+    }
+}
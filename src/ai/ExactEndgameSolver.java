@@ -0,0 +1,389 @@
+/**
+ * @file ExactEndgameSolver.java
+ */
+
+package ai;
+
+import model.BitBoard;
+import model.OccupancyKey;
+import model.PlacementTable;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.SplittableRandom;
+
+/**
+ * @class ExactEndgameSolver
+ * @brief Berechnet im Endspiel die exakte Trefferwahrscheinlichkeit jeder Zelle, indem alle Anordnungen der
+ *        verbleibenden Schiffe gezählt werden, die zu den bisherigen Schüssen passen. Eine Anordnung ist gültig, wenn
+ *        kein Schiff auf einer leeren Zelle liegt, sich keine Schiffe berühren, jeder offene Treffer von einem Schiff
+ *        abgedeckt wird, kein offener Treffer neben einem fremden Schiff liegt und kein Schiff vollständig getroffen
+ *        ist, da es sonst bereits versenkt wäre.
+ *
+ *        Die Aufzählung geht wie der FleetSolver die Zellen in Indexreihenfolge durch: Auf der ersten freien Zelle
+ *        beginnt entweder ein Schiff oder sie bleibt leer. Zustände aus gesperrten Zellen und verbleibenden Schiffen
+ *        werden gemerkt, sodass die Anzahl der Vervollständigungen jedes Zustands nur einmal gezählt wird. Ein
+ *        zweiter Durchlauf in topologischer Reihenfolge berechnet, auf wie vielen Wegen jeder Zustand erreicht wird,
+ *        und daraus für jede Platzierung die Anzahl der Anordnungen, in denen sie vorkommt.
+ *
+ *        Geschossen wird auf die Zelle mit der höchsten Trefferwahrscheinlichkeit. Der Solver schaltet sich nur ein,
+ *        wenn eine grobe Schätzung der Anordnungen unter ESTIMATE_LIMIT liegt, und bricht ab, sobald mehr als
+ *        MAX_STATES Zustände entstehen. In beiden Fällen gibt er -1 zurück und der Aufrufer schätzt wie bisher.
+ *        Eine Instanz verwendet ihre Arbeitsspeicher wieder und ist nicht threadsicher.
+ */
+public class ExactEndgameSolver {
+    // Höchste geschätzte Anzahl an Anordnungen, bei der die exakte Aufzählung versucht wird
+    static final double ESTIMATE_LIMIT = 2e5;
+    // Höchste Anzahl an gemerkten Zuständen, danach wird die Aufzählung abgebrochen
+    static final int MAX_STATES = 100_000;
+    // Alle wie viele neuen Zustände der Abbruch der Entscheidung geprüft wird
+    private static final int CANCEL_CHECK_MASK = 1023;
+
+    // Zustand ohne verbleibende Schiffe, der genau eine Anordnung vervollständigt
+    private static final State COMPLETE = new State(1);
+    // Zustand, der keine gültige Anordnung vervollständigt
+    private static final State DEAD = new State(0);
+
+    private ShotKnowledge knowledge;
+    private PlacementTable table;
+    private int[] lengths;
+    private int cells;
+    private int placementCount;
+    // Anzahl der verbleibenden Schiffe je Schiffslänge im aktuellen Zustand
+    private int[] counts;
+    // Anzahl der verbleibenden Schiffe aller Längen im aktuellen Zustand
+    private int shipsLeft;
+    // Stellenwert der Anzahl je Schiffslänge im Schlüssel der verbleibenden Schiffe
+    private long[] radix;
+    // Indizes der offenen Treffer
+    private int[] openHits;
+    // Gesperrte Zellen je Suchtiefe
+    private BitBoard[] levels;
+    // Bereits gezählte Zustände
+    private final HashMap<OccupancyKey, State> memo;
+    // Die gezählten Zustände in der Reihenfolge, in der ihre Zählung abgeschlossen wurde
+    private final List<State> finished;
+    private AnytimeDecision decision;
+    // Gibt an, ob die Aufzählung abgebrochen wurde
+    private boolean aborted;
+
+    /**
+     * @brief Konstruktor, der einen Solver ohne Arbeitsspeicher erstellt. Diese werden beim ersten Aufruf angelegt.
+     */
+    public ExactEndgameSolver() {
+        this.memo = new HashMap<>();
+        this.finished = new ArrayList<>();
+        this.levels = new BitBoard[0];
+    }
+
+    /**
+     * @brief Schätzt die Anzahl der Anordnungen der verbleibenden Schiffe nach oben ab, ohne Berührungen zwischen den
+     *        Schiffen zu berücksichtigen.
+     * @param knowledge Das Wissen über das gegnerische Board.
+     * @return Die geschätzte Anzahl der Anordnungen.
+     */
+    public static double estimate(ShotKnowledge knowledge) {
+        PlacementTable table = knowledge.getPlacementTable();
+        int[] lengths = knowledge.getLengths();
+        double estimate = 1;
+        for (int li = 0; li < lengths.length; li++) {
+            int remaining = knowledge.getRemaining(li);
+            if (remaining == 0) {
+                continue;
+            }
+            int fitting = 0;
+            for (int placement = lengths[li] == 1 ? 1 : 0; placement < table.placementCount(); placement += lengths[li] == 1 ? 2 : 1) {
+                if (table.fits(lengths[li], placement, knowledge.getEmpty())) {
+                    fitting++;
+                }
+            }
+            // Binomialkoeffizient, da gleich lange Schiffe nicht unterscheidbar sind
+            for (int k = 0; k < remaining; k++) {
+                estimate = estimate * (fitting - k) / (k + 1);
+            }
+        }
+        return estimate;
+    }
+
+    /**
+     * @brief Wählt die unbeschossene Zelle mit der höchsten exakten Trefferwahrscheinlichkeit.
+     * @param knowledge Das Wissen über das gegnerische Board. Es darf während der Berechnung nicht verändert werden.
+     * @param random Der Zufallsgenerator für die Auswahl zwischen gleich guten Zellen.
+     * @param decision Die Entscheidung, deren Abbruch die Aufzählung beendet.
+     * @return Der Index der Zielzelle oder -1, wenn das Endspiel noch zu groß ist, die Aufzählung abgebrochen wurde
+     *         oder keine Anordnung zu den Beobachtungen passt.
+     */
+    public int chooseTarget(ShotKnowledge knowledge, SplittableRandom random, AnytimeDecision decision) {
+        if (knowledge.getRemainingShips() == 0 || estimate(knowledge) > ESTIMATE_LIMIT) {
+            return -1;
+        }
+        double[] probabilities = this.hitProbabilities(knowledge, decision);
+        if (probabilities == null) {
+            return -1;
+        }
+        int best = -1;
+        double bestValue = 0;
+        int ties = 0;
+        for (int index = 0; index < this.cells; index++) {
+            double value = probabilities[index];
+            if (value == 0 || value < bestValue || knowledge.isShot(index)) {
+                continue;
+            }
+            if (value > bestValue) {
+                bestValue = value;
+                best = index;
+                ties = 1;
+            } else if (random.nextInt(++ties) == 0) {
+                best = index;
+            }
+        }
+        return best;
+    }
+
+    /**
+     * @brief Berechnet für jede Zelle den Anteil der gültigen Anordnungen, in denen dort ein verbleibendes Schiff liegt.
+     * @param knowledge Das Wissen über das gegnerische Board. Es darf während der Berechnung nicht verändert werden.
+     * @param decision Die Entscheidung, deren Abbruch die Aufzählung beendet.
+     * @return Die Trefferwahrscheinlichkeit je Zelle oder null, wenn die Aufzählung abgebrochen wurde oder keine
+     *         Anordnung zu den Beobachtungen passt.
+     */
+    public double[] hitProbabilities(ShotKnowledge knowledge, AnytimeDecision decision) {
+        this.prepare(knowledge, decision);
+        try {
+            BitBoard start = this.level(0);
+            start.copyFrom(knowledge.getEmpty());
+            long countsKey = 0;
+            for (int li = 0; li < this.lengths.length; li++) {
+                countsKey += this.counts[li] * this.radix[li];
+            }
+            State root = this.count(0, 0, countsKey);
+            if (this.aborted || root.count == 0) {
+                return null;
+            }
+            return this.marginals(root);
+        } finally {
+            this.memo.clear();
+            this.finished.clear();
+            this.knowledge = null;
+            this.decision = null;
+        }
+    }
+
+    /**
+     * @brief Übernimmt das Regelwerk und die verbleibenden Schiffe aus dem Wissen über das gegnerische Board.
+     * @param knowledge Das Wissen über das gegnerische Board.
+     * @param decision Die Entscheidung, deren Abbruch die Aufzählung beendet.
+     */
+    private void prepare(ShotKnowledge knowledge, AnytimeDecision decision) {
+        this.knowledge = knowledge;
+        this.decision = decision;
+        this.aborted = false;
+        this.table = knowledge.getPlacementTable();
+        this.lengths = knowledge.getLengths();
+        this.cells = knowledge.getCellCount();
+        this.placementCount = this.table.placementCount();
+        if (this.levels.length > 0 && this.levels[0].size() != this.cells) {
+            this.levels = new BitBoard[0];
+        }
+        this.counts = new int[this.lengths.length];
+        this.radix = new long[this.lengths.length];
+        this.shipsLeft = 0;
+        long place = 1;
+        for (int li = 0; li < this.lengths.length; li++) {
+            this.counts[li] = knowledge.getRemaining(li);
+            this.shipsLeft += this.counts[li];
+            this.radix[li] = place;
+            place *= this.counts[li] + 1;
+        }
+        this.openHits = new int[knowledge.getOpenHitCount()];
+        BitBoard hits = knowledge.getOpenHits();
+        for (int index = 0, i = 0; i < this.openHits.length; index++) {
+            if (hits.get(index)) {
+                this.openHits[i++] = index;
+            }
+        }
+    }
+
+    /**
+     * @brief Gibt das BitBoard der gesperrten Zellen einer Suchtiefe zurück und legt es bei Bedarf an.
+     * @param depth Die Suchtiefe.
+     * @return Das BitBoard der Suchtiefe.
+     */
+    private BitBoard level(int depth) {
+        if (depth >= this.levels.length) {
+            int size = this.levels.length;
+            this.levels = Arrays.copyOf(this.levels, Math.max(depth + 1, 2 * size));
+            for (int i = size; i < this.levels.length; i++) {
+                this.levels[i] = new BitBoard(this.cells);
+            }
+        }
+        return this.levels[depth];
+    }
+
+    /**
+     * @brief Zählt die gültigen Vervollständigungen eines Zustands. Alle Zellen vor from sind gesperrt.
+     * @param depth Die Suchtiefe, deren BitBoard die gesperrten Zellen enthält.
+     * @param from Die Zelle, ab der die nächste freie Zelle gesucht wird.
+     * @param countsKey Der Schlüssel der verbleibenden Schiffe.
+     * @return Der Zustand mit der Anzahl seiner Vervollständigungen.
+     */
+    private State count(int depth, int from, long countsKey) {
+        BitBoard blocked = this.levels[depth];
+        int cell = blocked.nextClearBit(from);
+        if (this.shipsLeft == 0) {
+            // Ohne weitere Schiffe darf kein offener Treffer mehr unbedeckt sein
+            for (int hit : this.openHits) {
+                if (hit >= cell && !blocked.get(hit)) {
+                    return DEAD;
+                }
+            }
+            return COMPLETE;
+        }
+        if (cell >= this.cells) {
+            return DEAD;
+        }
+        OccupancyKey key = new OccupancyKey(countsKey, blocked);
+        State state = this.memo.get(key);
+        if (state != null) {
+            return state;
+        }
+        if (this.aborted) {
+            return DEAD;
+        }
+        if (this.memo.size() >= MAX_STATES
+                || ((this.memo.size() & CANCEL_CHECK_MASK) == 0 && this.decision.isCancelled())) {
+            this.aborted = true;
+            return DEAD;
+        }
+
+        state = new State(0);
+        BitBoard next = this.level(depth + 1);
+        BitBoard hits = this.knowledge.getOpenHits();
+        for (int li = 0; li < this.lengths.length; li++) {
+            if (this.counts[li] == 0) {
+                continue;
+            }
+            int length = this.lengths[li];
+            for (int orientation = length == 1 ? 1 : 0; orientation < 2; orientation++) {
+                int placement = (cell << 1) | orientation;
+                if (!this.table.fits(length, placement, blocked)) {
+                    continue;
+                }
+                int coveredHits = this.table.countOverlap(length, placement, hits);
+                if (coveredHits == length || this.table.countHaloOverlap(length, placement, hits) != coveredHits) {
+                    // Vollständig getroffen wäre das Schiff versenkt, ein Treffer daneben gehört zu keinem Schiff
+                    continue;
+                }
+                next.copyFrom(blocked);
+                this.table.block(length, placement, next);
+                this.counts[li]--;
+                this.shipsLeft--;
+                State child = this.count(depth + 1, cell + 1, countsKey - this.radix[li]);
+                this.counts[li]++;
+                this.shipsLeft++;
+                state.addChild(child, li * this.placementCount + placement);
+            }
+        }
+        if (!hits.get(cell)) {
+            next.copyFrom(blocked);
+            next.set(cell);
+            state.addChild(this.count(depth + 1, cell + 1, countsKey), -1);
+        }
+
+        this.memo.put(key, state);
+        this.finished.add(state);
+        return state;
+    }
+
+    /**
+     * @brief Berechnet aus den gezählten Zuständen die Trefferwahrscheinlichkeit je Zelle.
+     * @param root Der Startzustand.
+     * @return Die Trefferwahrscheinlichkeit je Zelle.
+     */
+    private double[] marginals(State root) {
+        // Jeder Zustand wurde nach allen seinen Nachfolgern abgeschlossen, rückwärts gelesen ist die Liste also
+        // topologisch sortiert und jeder Zustand kennt alle Wege zu sich, bevor er sie weitergibt
+        double[] weights = new double[this.lengths.length * this.placementCount];
+        root.reach = 1;
+        for (int i = this.finished.size() - 1; i >= 0; i--) {
+            State state = this.finished.get(i);
+            if (state.reach == 0) {
+                continue;
+            }
+            for (int c = 0; c < state.childCount; c++) {
+                State child = state.children[c];
+                if (child.childCount > 0) {
+                    child.reach += state.reach;
+                }
+                if (state.moves[c] >= 0) {
+                    weights[state.moves[c]] += state.reach * child.count;
+                }
+            }
+        }
+
+        double[] probabilities = new double[this.cells];
+        int height = this.knowledge.getHeight();
+        for (int move = 0; move < weights.length; move++) {
+            if (weights[move] == 0) {
+                continue;
+            }
+            int placement = move % this.placementCount;
+            int index = placement >>> 1;
+            int step = (placement & 1) != 0 ? height : 1;
+            for (int i = 0; i < this.lengths[move / this.placementCount]; i++, index += step) {
+                probabilities[index] += weights[move];
+            }
+        }
+        for (int index = 0; index < this.cells; index++) {
+            probabilities[index] /= root.count;
+        }
+        return probabilities;
+    }
+
+    /**
+     * @class State
+     * @brief Ein gezählter Zustand mit seinen Nachfolgern, die mindestens eine Vervollständigung haben.
+     */
+    private static final class State {
+        // Anzahl der gültigen Vervollständigungen
+        private double count;
+        // Anzahl der Wege vom Startzustand zu diesem Zustand
+        private double reach;
+        private State[] children;
+        // Längenindex mal Anzahl der Platzierungen plus Platzierung des Schiffes je Nachfolger, -1 für eine leere Zelle
+        private int[] moves;
+        private int childCount;
+
+        /**
+         * @brief Konstruktor, der einen Zustand ohne Nachfolger erstellt.
+         * @param count Die Anzahl der Vervollständigungen.
+         */
+        State(double count) {
+            this.count = count;
+        }
+
+        /**
+         * @brief Fügt einen Nachfolger hinzu, falls er mindestens eine Vervollständigung hat.
+         * @param child Der Nachfolger.
+         * @param move Der Zug zum Nachfolger.
+         */
+        void addChild(State child, int move) {
+            if (child.count == 0) {
+                return;
+            }
+            if (this.children == null) {
+                this.children = new State[4];
+                this.moves = new int[4];
+            } else if (this.childCount == this.children.length) {
+                this.children = Arrays.copyOf(this.children, 2 * this.childCount);
+                this.moves = Arrays.copyOf(this.moves, 2 * this.childCount);
+            }
+            this.children[this.childCount] = child;
+            this.moves[this.childCount] = move;
+            this.childCount++;
+            this.count += child.count;
+        }
+    }
+}
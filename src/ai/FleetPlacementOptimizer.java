@@ -0,0 +1,204 @@
+/**
+ * @file FleetPlacementOptimizer.java
+ */
+
+package ai;
+
+import model.BoardModel;
+import model.FleetGenerator;
+
+import java.util.SplittableRandom;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveTask;
+
+/**
+ * @class FleetPlacementOptimizer
+ * @brief Sucht für den Computer eine Flotte, die für einen Gegner mit Wahrscheinlichkeitsdichte schwer zu finden ist.
+ *        Als Referenz dient die Dichte, mit der ein solcher Gegner auf ein unbeschossenes Board schießt. Es werden
+ *        viele zufällige gültige Flotten erzeugt, und je Flotte wird die Dichte ihrer Schiffszellen aufsummiert.
+ *        Behalten wird die Flotte mit der kleinsten Summe, deren Schiffe also dort liegen, wo der Gegner zuletzt sucht.
+ *        Die Flotten werden wie beim MonteCarloSampler in einem ForkJoinPool erzeugt. Jede Teilaufgabe hat einen
+ *        eigenen FleetGenerator und einen per split() abgeleiteten SplittableRandom. Die Suche endet nach der
+ *        angegebenen Anzahl an Flotten, nach Ablauf des Zeitbudgets oder sobald stop() aufgerufen wird.
+ */
+public class FleetPlacementOptimizer {
+    // Standardanzahl der erzeugten Flotten
+    public static final int DEFAULT_CANDIDATES = 20000;
+    // Standardzeitbudget der Suche in Millisekunden
+    public static final long DEFAULT_BUDGET_MILLIS = 2000;
+    // Anzahl der Flotten, ab der eine Teilaufgabe nicht weiter aufgeteilt wird
+    private static final int LEAF_CANDIDATES = 256;
+
+    private final ForkJoinPool pool;
+    private final int width;
+    private final int height;
+    private final int[] shipLengths;
+    private final int candidates;
+    private final long budgetNanos;
+    // Referenzdichte des Gegners je Zelle, wird erst bei der Suche berechnet
+    private int[] heat;
+    // Gibt an, ob die Suche vorzeitig beendet werden soll
+    private volatile boolean stopped;
+
+    /**
+     * @brief Konstruktor, der einen Optimierer mit Standardwerten im gemeinsamen ForkJoinPool erstellt.
+     * @param width Die Breite des Spielfelds.
+     * @param height Die Höhe des Spielfelds.
+     * @param shipLengths Die Längen aller Schiffe der Flotte.
+     */
+    public FleetPlacementOptimizer(int width, int height, int[] shipLengths) {
+        this(ForkJoinPool.commonPool(), width, height, shipLengths, DEFAULT_CANDIDATES, DEFAULT_BUDGET_MILLIS);
+    }
+
+    /**
+     * @brief Konstruktor, der einen Optimierer erstellt.
+     * @param pool Der ForkJoinPool, in dem die Flotten erzeugt werden.
+     * @param width Die Breite des Spielfelds.
+     * @param height Die Höhe des Spielfelds.
+     * @param shipLengths Die Längen aller Schiffe der Flotte.
+     * @param candidates Die Anzahl der zu erzeugenden Flotten.
+     * @param budgetMillis Das Zeitbudget der Suche in Millisekunden, 0 für kein Zeitbudget.
+     */
+    public FleetPlacementOptimizer(ForkJoinPool pool, int width, int height, int[] shipLengths, int candidates, long budgetMillis) {
+        this.pool = pool;
+        this.width = width;
+        this.height = height;
+        this.shipLengths = shipLengths.clone();
+        this.candidates = candidates;
+        this.budgetNanos = budgetMillis * 1_000_000L;
+    }
+
+    /**
+     * @brief Beendet eine laufende Suche. Sie liefert danach die beste bis dahin gefundene Flotte.
+     */
+    public void stop() {
+        this.stopped = true;
+    }
+
+    /**
+     * @brief Sucht die am schwersten zu findende Flotte. Blockiert, bis die Suche endet.
+     * @param random Der Zufallsgenerator, aus dem die Generatoren der Teilaufgaben abgeleitet werden.
+     * @return Die Platzierungen der Schiffe in der Reihenfolge von FleetGenerator.getLengths() oder null, wenn die
+     *         Flotte nicht auf das Spielfeld passt.
+     */
+    public int[] optimize(SplittableRandom random) {
+        if (this.heat == null) {
+            this.heat = new ProbabilityDensity().compute(new ShotKnowledge(this.width, this.height, this.shipLengths)).clone();
+        }
+        long deadline = this.budgetNanos > 0 ? System.nanoTime() + this.budgetNanos : Long.MAX_VALUE;
+        // Die erste Flotte wird immer erzeugt, damit auch eine sofort beendete Suche ein Ergebnis hat
+        FleetGenerator generator = new FleetGenerator(this.width, this.height, this.shipLengths);
+        int[] first = generator.generatePlacements(random);
+        if (first == null) {
+            return null;
+        }
+        Candidate best = new Candidate(this.score(first, generator.getLengths()), first);
+        Candidate found = this.pool.invoke(new SearchTask(this.candidates - 1, random.split(), deadline));
+        return (found.placements != null && found.score < best.score ? found : best).placements;
+    }
+
+    /**
+     * @brief Berechnet, wie stark der Referenzgegner eine Flotte zu Beginn des Spiels vermutet.
+     * @param placements Die Platzierungen der Schiffe in der Reihenfolge von FleetGenerator.getLengths().
+     * @param lengths Die Schiffslängen in der gleichen Reihenfolge.
+     * @return Die Summe der Referenzdichte über alle Schiffszellen, kleiner ist schwerer zu finden.
+     */
+    private long score(int[] placements, int[] lengths) {
+        long score = 0;
+        for (int ship = 0; ship < placements.length; ship++) {
+            int index = placements[ship] >>> 1;
+            int step = (placements[ship] & 1) != 0 ? this.height : 1;
+            for (int i = 0; i < lengths[ship]; i++, index += step) {
+                score += this.heat[index];
+            }
+        }
+        return score;
+    }
+
+    /**
+     * @brief Platziert eine gefundene Flotte auf einem leeren Board.
+     * @param board Das Board, auf dem die Flotte platziert wird.
+     * @param placements Die Platzierungen der Schiffe, wie sie optimize() liefert.
+     */
+    public void placeFleet(BoardModel board, int[] placements) {
+        int[] lengths = new FleetGenerator(this.width, this.height, this.shipLengths).getLengths();
+        for (int ship = 0; ship < placements.length; ship++) {
+            int cell = placements[ship] >>> 1;
+            if (!board.placeShip(cell / this.height, cell % this.height, (placements[ship] & 1) != 0, lengths[ship])) {
+                throw new IllegalStateException("Die Flotte passt nicht auf das Board");
+            }
+        }
+    }
+
+    /**
+     * @class Candidate
+     * @brief Eine erzeugte Flotte mit ihrer Bewertung.
+     */
+    private static final class Candidate {
+        private final long score;
+        private final int[] placements;
+
+        /**
+         * @brief Konstruktor, der eine bewertete Flotte erstellt.
+         * @param score Die Bewertung, kleiner ist besser.
+         * @param placements Die Platzierungen der Schiffe oder null, wenn keine Flotte erzeugt wurde.
+         */
+        Candidate(long score, int[] placements) {
+            this.score = score;
+            this.placements = placements;
+        }
+    }
+
+    /**
+     * @class SearchTask
+     * @brief Teilaufgabe, die eine Anzahl an Flotten erzeugt oder sich in zwei Hälften aufteilt.
+     */
+    private final class SearchTask extends RecursiveTask<Candidate> {
+        // Versionskennung für die Serialisierung, die ForkJoinTask von Serializable erbt
+        private static final long serialVersionUID = 1L;
+
+        private final int count;
+        private final SplittableRandom random;
+        // Zeitpunkt in System.nanoTime(), ab dem keine Flotten mehr erzeugt werden
+        private final long deadline;
+
+        /**
+         * @brief Konstruktor, der die Teilaufgabe erstellt.
+         * @param count Die Anzahl der zu erzeugenden Flotten.
+         * @param random Der eigene Zufallsgenerator der Teilaufgabe.
+         * @param deadline Der Zeitpunkt, ab dem keine Flotten mehr erzeugt werden.
+         */
+        SearchTask(int count, SplittableRandom random, long deadline) {
+            this.count = count;
+            this.random = random;
+            this.deadline = deadline;
+        }
+
+        @Override
+        protected Candidate compute() {
+            if (this.count > LEAF_CANDIDATES) {
+                int half = this.count / 2;
+                SearchTask left = new SearchTask(half, this.random.split(), this.deadline);
+                left.fork();
+                Candidate right = new SearchTask(this.count - half, this.random, this.deadline).compute();
+                Candidate other = left.join();
+                return other.placements != null && (right.placements == null || other.score < right.score) ? other : right;
+            }
+
+            FleetGenerator generator = new FleetGenerator(width, height, shipLengths);
+            int[] lengths = generator.getLengths();
+            Candidate best = new Candidate(Long.MAX_VALUE, null);
+            for (int i = 0; i < this.count && !stopped && System.nanoTime() < this.deadline; i++) {
+                int[] placements = generator.generatePlacements(this.random);
+                if (placements == null) {
+                    break;
+                }
+                long score = score(placements, lengths);
+                if (score < best.score) {
+                    best = new Candidate(score, placements);
+                }
+            }
+            return best;
+        }
+    }
+}
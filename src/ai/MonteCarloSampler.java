@@ -0,0 +1,384 @@
+/**
+ * @file MonteCarloSampler.java
+ */
+
+package ai;
+
+import model.BitBoard;
+import model.PlacementTable;
+
+import java.util.Arrays;
+import java.util.SplittableRandom;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveTask;
+
+/**
+ * @class MonteCarloSampler
+ * @brief Wählt das Ziel des Computers, indem viele vollständige Flotten gezogen werden, die zu allen bisherigen
+ *        Beobachtungen passen, und auf die Zelle geschossen wird, die in den meisten davon ein Schiff enthält.
+ *        Eine gezogene Flotte deckt zuerst alle offenen Treffer ab und verteilt danach die übrigen Schiffe
+ *        gleichverteilt auf die noch gültigen Platzierungen. Flotten, die sich nicht vervollständigen lassen, werden
+ *        verworfen.
+ *        Die Ziehungen werden in einem ForkJoinPool aufgeteilt. Jede Teilaufgabe erhält einen eigenen, per split()
+ *        abgeleiteten SplittableRandom und eigene Zähler, die erst am Ende zusammengeführt werden. Nach Ablauf des
+ *        Zeitbudgets oder dem Abbruch der Entscheidung enden alle Teilaufgaben und die bis dahin gezogenen Flotten
+ *        werden ausgewertet.
+ */
+public class MonteCarloSampler {
+    // Standardanzahl der Ziehungen je Zug
+    public static final int DEFAULT_SAMPLES = 20000;
+    // Standardzeitbudget je Zug in Millisekunden
+    public static final long DEFAULT_BUDGET_MILLIS = 40;
+    // Anzahl der Ziehungen der ersten Runde, die Runden verdoppeln sich bis ROUND_SAMPLES
+    private static final int FIRST_ROUND_SAMPLES = 64;
+    // Größte Anzahl der Ziehungen je Runde, nach der ein Zwischenergebnis gemeldet wird
+    private static final int ROUND_SAMPLES = 2048;
+    // Anzahl der Ziehungen, ab der eine Teilaufgabe nicht weiter aufgeteilt wird
+    private static final int LEAF_SAMPLES = 1000;
+    // Anzahl der zufälligen Versuche, bevor die gültigen Platzierungen eines Schiffes aufgezählt werden
+    private static final int REJECTION_ATTEMPTS = 32;
+
+    private final ForkJoinPool pool;
+    private final int samples;
+    private final long budgetNanos;
+    // Ausweichstrategie, falls keine passende Flotte gezogen werden konnte
+    private final ProbabilityDensity fallback;
+
+    /**
+     * @brief Konstruktor, der einen Sampler mit Standardwerten im gemeinsamen ForkJoinPool erstellt.
+     */
+    public MonteCarloSampler() {
+        this(ForkJoinPool.commonPool(), DEFAULT_SAMPLES, DEFAULT_BUDGET_MILLIS);
+    }
+
+    /**
+     * @brief Konstruktor, der einen Sampler erstellt.
+     * @param pool Der ForkJoinPool, in dem die Ziehungen ausgeführt werden.
+     * @param samples Die Anzahl der Ziehungen je Zug.
+     * @param budgetMillis Das Zeitbudget je Zug in Millisekunden.
+     */
+    public MonteCarloSampler(ForkJoinPool pool, int samples, long budgetMillis) {
+        this.pool = pool;
+        this.samples = samples;
+        this.budgetNanos = budgetMillis * 1_000_000L;
+        this.fallback = new ProbabilityDensity();
+    }
+
+    /**
+     * @brief Wählt die unbeschossene Zelle, die in den meisten gezogenen Flotten ein Schiff enthält.
+     * @param knowledge Das Wissen über das gegnerische Board. Es darf während der Berechnung nicht verändert werden.
+     * @param random Der Zufallsgenerator, aus dem die Generatoren der Teilaufgaben abgeleitet werden.
+     * @return Der Index der Zielzelle oder -1, wenn keine unbeschossene Zelle mehr möglich ist.
+     */
+    public int chooseTarget(ShotKnowledge knowledge, SplittableRandom random) {
+        return this.chooseTarget(knowledge, random, new AnytimeDecision());
+    }
+
+    /**
+     * @brief Wählt die unbeschossene Zelle, die in den meisten gezogenen Flotten ein Schiff enthält. Die Flotten
+     *        werden in Runden gezogen, nach jeder Runde wird das bisher beste Ziel an die Entscheidung gemeldet.
+     *        Die Ziehung endet, sobald die Anzahl erreicht, das Zeitbudget abgelaufen oder die Entscheidung
+     *        abgebrochen ist.
+     * @param knowledge Das Wissen über das gegnerische Board. Es darf während der Berechnung nicht verändert werden.
+     * @param random Der Zufallsgenerator, aus dem die Generatoren der Teilaufgaben abgeleitet werden.
+     * @param decision Die Entscheidung, an die Zwischenergebnisse gemeldet werden.
+     * @return Der Index der Zielzelle oder -1, wenn keine unbeschossene Zelle mehr möglich ist.
+     */
+    public int chooseTarget(ShotKnowledge knowledge, SplittableRandom random, AnytimeDecision decision) {
+        int cells = knowledge.getCellCount();
+        int[] openHits = collectOpenHits(knowledge);
+        long deadline = System.nanoTime() + this.budgetNanos;
+        int[] counts = new int[cells + 1];
+        // Die ersten Runden sind klein, damit auch bei kurzen Fristen früh ein Ziel vorliegt
+        int roundSize = FIRST_ROUND_SAMPLES;
+        for (int drawn = 0; drawn < this.samples && !decision.isCancelled() && System.nanoTime() < deadline; drawn += roundSize, roundSize = Math.min(2 * roundSize, ROUND_SAMPLES)) {
+            int round = Math.min(roundSize, this.samples - drawn);
+            int[] roundCounts = this.pool.invoke(new SampleTask(knowledge, openHits, round, random.split(), deadline, decision));
+            for (int i = 0; i <= cells; i++) {
+                counts[i] += roundCounts[i];
+            }
+            if (counts[cells] > 0) {
+                decision.offer(ProbabilityDensity.argmax(counts, cells, random));
+            }
+        }
+        if (counts[cells] == 0) {
+            return this.fallback.chooseTarget(knowledge, random, decision);
+        }
+        return ProbabilityDensity.argmax(counts, cells, random);
+    }
+
+    /**
+     * @brief Zieht Flotten und zählt je unbeschossener Zelle, wie oft sie von einem Schiff belegt ist.
+     * @param knowledge Das Wissen über das gegnerische Board.
+     * @param random Der Zufallsgenerator, aus dem die Generatoren der Teilaufgaben abgeleitet werden.
+     * @return Die Zähler je Zelle, an der letzten Stelle steht die Anzahl der gültigen Flotten.
+     */
+    public int[] sample(ShotKnowledge knowledge, SplittableRandom random) {
+        long deadline = System.nanoTime() + this.budgetNanos;
+        return this.pool.invoke(new SampleTask(knowledge, collectOpenHits(knowledge), this.samples, random.split(), deadline, new AnytimeDecision()));
+    }
+
+    /**
+     * @brief Sammelt die Indizes aller offenen Treffer.
+     * @param knowledge Das Wissen über das gegnerische Board.
+     * @return Die Indizes der offenen Treffer in aufsteigender Reihenfolge.
+     */
+    private static int[] collectOpenHits(ShotKnowledge knowledge) {
+        int[] openHits = new int[knowledge.getOpenHitCount()];
+        BitBoard hits = knowledge.getOpenHits();
+        for (int index = 0, i = 0; i < openHits.length; index++) {
+            if (hits.get(index)) {
+                openHits[i++] = index;
+            }
+        }
+        return openHits;
+    }
+
+    /**
+     * @class SampleTask
+     * @brief Teilaufgabe, die eine Anzahl an Flotten zieht oder sich in zwei Hälften aufteilt.
+     */
+    private static final class SampleTask extends RecursiveTask<int[]> {
+        // Versionskennung für die Serialisierung, die ForkJoinTask von Serializable erbt
+        private static final long serialVersionUID = 1L;
+
+        private final ShotKnowledge knowledge;
+        // Indizes der offenen Treffer
+        private final int[] openHits;
+        private final int samples;
+        private final SplittableRandom random;
+        // Zeitpunkt in System.nanoTime(), ab dem keine Flotten mehr gezogen werden
+        private final long deadline;
+        // Die Entscheidung, deren Abbruch die Ziehung beendet
+        private final AnytimeDecision decision;
+
+        /**
+         * @brief Konstruktor, der die Teilaufgabe erstellt.
+         * @param knowledge Das Wissen über das gegnerische Board.
+         * @param openHits Die Indizes der offenen Treffer.
+         * @param samples Die Anzahl der zu ziehenden Flotten.
+         * @param random Der eigene Zufallsgenerator der Teilaufgabe.
+         * @param deadline Der Zeitpunkt, ab dem keine Flotten mehr gezogen werden.
+         * @param decision Die Entscheidung, deren Abbruch die Ziehung beendet.
+         */
+        SampleTask(ShotKnowledge knowledge, int[] openHits, int samples, SplittableRandom random, long deadline, AnytimeDecision decision) {
+            this.knowledge = knowledge;
+            this.openHits = openHits;
+            this.samples = samples;
+            this.random = random;
+            this.deadline = deadline;
+            this.decision = decision;
+        }
+
+        @Override
+        protected int[] compute() {
+            if (this.samples > LEAF_SAMPLES) {
+                int half = this.samples / 2;
+                SampleTask left = new SampleTask(this.knowledge, this.openHits, half, this.random.split(), this.deadline, this.decision);
+                left.fork();
+                int[] counts = new SampleTask(this.knowledge, this.openHits, this.samples - half, this.random, this.deadline, this.decision).compute();
+                int[] leftCounts = left.join();
+                for (int i = 0; i < counts.length; i++) {
+                    counts[i] += leftCounts[i];
+                }
+                return counts;
+            }
+            return new Sampler(this.knowledge, this.openHits, this.random).run(this.samples, this.deadline, this.decision);
+        }
+    }
+
+    /**
+     * @class Sampler
+     * @brief Zieht Flotten mit eigenen Arbeitsspeichern. Wird von genau einer Teilaufgabe verwendet.
+     */
+    private static final class Sampler {
+        private final ShotKnowledge knowledge;
+        private final PlacementTable table;
+        private final int[] openHits;
+        private final SplittableRandom random;
+        private final int height;
+        private final int[] lengths;
+        // Gesperrte Zellen der aktuellen Flotte
+        private final BitBoard blocked;
+        // Von der aktuellen Flotte belegte Zellen
+        private final BitBoard covered;
+        // Verbleibende Schiffe je Schiffslänge in der aktuellen Flotte
+        private final int[] remaining;
+        // Längenindex und Platzierung der Schiffe der aktuellen Flotte
+        private final int[] shipLengthIndex;
+        private final int[] shipPlacements;
+        private int shipCount;
+        // Zwischenspeicher für die möglichen Platzierungen eines Schiffes
+        private int[] candidates;
+
+        /**
+         * @brief Konstruktor, der die Arbeitsspeicher anlegt.
+         * @param knowledge Das Wissen über das gegnerische Board.
+         * @param openHits Die Indizes der offenen Treffer.
+         * @param random Der Zufallsgenerator.
+         */
+        Sampler(ShotKnowledge knowledge, int[] openHits, SplittableRandom random) {
+            this.knowledge = knowledge;
+            this.table = knowledge.getPlacementTable();
+            this.openHits = openHits;
+            this.random = random;
+            this.height = knowledge.getHeight();
+            this.lengths = knowledge.getLengths();
+            this.blocked = new BitBoard(knowledge.getCellCount());
+            this.covered = new BitBoard(knowledge.getCellCount());
+            this.remaining = new int[this.lengths.length];
+            this.shipLengthIndex = new int[knowledge.getRemainingShips()];
+            this.shipPlacements = new int[knowledge.getRemainingShips()];
+            this.candidates = new int[64];
+        }
+
+        /**
+         * @brief Zieht Flotten, bis die Anzahl erreicht oder das Zeitbudget abgelaufen ist.
+         * @param samples Die Anzahl der zu ziehenden Flotten.
+         * @param deadline Der Zeitpunkt, ab dem keine Flotten mehr gezogen werden.
+         * @param decision Die Entscheidung, deren Abbruch die Ziehung beendet.
+         * @return Die Zähler je Zelle, an der letzten Stelle steht die Anzahl der gültigen Flotten.
+         */
+        int[] run(int samples, long deadline, AnytimeDecision decision) {
+            int cells = this.knowledge.getCellCount();
+            int[] counts = new int[cells + 1];
+            for (int s = 0; s < samples && !decision.isCancelled() && System.nanoTime() < deadline; s++) {
+                if (!this.drawFleet()) {
+                    continue;
+                }
+                counts[cells]++;
+                for (int ship = 0; ship < this.shipCount; ship++) {
+                    int placement = this.shipPlacements[ship];
+                    int index = placement >>> 1;
+                    int step = (placement & 1) != 0 ? this.height : 1;
+                    for (int i = 0; i < this.lengths[this.shipLengthIndex[ship]]; i++, index += step) {
+                        if (!this.knowledge.isShot(index)) {
+                            counts[index]++;
+                        }
+                    }
+                }
+            }
+            return counts;
+        }
+
+        /**
+         * @brief Zieht eine Flotte der verbleibenden Schiffe, die alle offenen Treffer abdeckt.
+         * @return true, wenn eine gültige Flotte gezogen wurde.
+         */
+        private boolean drawFleet() {
+            this.blocked.copyFrom(this.knowledge.getEmpty());
+            this.covered.clearAll();
+            this.shipCount = 0;
+            for (int li = 0; li < this.lengths.length; li++) {
+                this.remaining[li] = this.knowledge.getRemaining(li);
+            }
+
+            // Zuerst werden alle offenen Treffer durch ein Schiff abgedeckt
+            for (int hit : this.openHits) {
+                if (this.covered.get(hit)) {
+                    continue;
+                }
+                if (this.blocked.get(hit)) {
+                    // Der Treffer grenzt an ein gezogenes Schiff, ohne zu ihm zu gehören
+                    return false;
+                }
+                int count = this.collectCovering(hit);
+                if (count == 0) {
+                    return false;
+                }
+                int choice = this.random.nextInt(count);
+                this.place(this.candidates[2 * choice], this.candidates[2 * choice + 1]);
+            }
+
+            // Danach werden die übrigen Schiffe gleichverteilt platziert
+            for (int li = 0; li < this.lengths.length; li++) {
+                while (this.remaining[li] > 0) {
+                    int placement = this.drawPlacement(li);
+                    if (placement < 0) {
+                        return false;
+                    }
+                    this.place(li, placement);
+                }
+            }
+            return true;
+        }
+
+        /**
+         * @brief Sammelt alle Platzierungen verbleibender Schiffe, die den Treffer enthalten.
+         * @param hit Der Index des offenen Treffers.
+         * @return Die Anzahl der Platzierungen, die paarweise als Längenindex und Platzierung abgelegt werden.
+         */
+        private int collectCovering(int hit) {
+            int count = 0;
+            int hitX = hit / this.height;
+            int hitY = hit % this.height;
+            for (int li = 0; li < this.lengths.length; li++) {
+                if (this.remaining[li] == 0) {
+                    continue;
+                }
+                int length = this.lengths[li];
+                for (int orientation = length == 1 ? 1 : 0; orientation < 2; orientation++) {
+                    for (int offset = 0; offset < length; offset++) {
+                        int startX = orientation == 1 ? hitX - offset : hitX;
+                        int startY = orientation == 1 ? hitY : hitY - offset;
+                        if (startX < 0 || startY < 0) {
+                            break;
+                        }
+                        int placement = ((startX * this.height + startY) << 1) | orientation;
+                        if (this.table.fits(length, placement, this.blocked)) {
+                            if (2 * count + 2 > this.candidates.length) {
+                                this.candidates = Arrays.copyOf(this.candidates, this.candidates.length * 2);
+                            }
+                            this.candidates[2 * count] = li;
+                            this.candidates[2 * count + 1] = placement;
+                            count++;
+                        }
+                    }
+                }
+            }
+            return count;
+        }
+
+        /**
+         * @brief Zieht eine gleichverteilte gültige Platzierung für ein Schiff.
+         * @param li Der Längenindex des Schiffes.
+         * @return Die Platzierung oder -1, wenn das Schiff nirgends mehr passt.
+         */
+        private int drawPlacement(int li) {
+            int length = this.lengths[li];
+            for (int attempt = 0; attempt < REJECTION_ATTEMPTS; attempt++) {
+                int placement = this.random.nextInt(this.table.placementCount());
+                if (this.table.fits(length, placement, this.blocked)) {
+                    return placement;
+                }
+            }
+            int count = 0;
+            int chosen = -1;
+            for (int placement = 0; placement < this.table.placementCount(); placement++) {
+                if (this.table.fits(length, placement, this.blocked) && this.random.nextInt(++count) == 0) {
+                    chosen = placement;
+                }
+            }
+            return chosen;
+        }
+
+        /**
+         * @brief Fügt ein Schiff zur aktuellen Flotte hinzu.
+         * @param li Der Längenindex des Schiffes.
+         * @param placement Die Platzierung des Schiffes.
+         */
+        private void place(int li, int placement) {
+            int length = this.lengths[li];
+            this.table.block(length, placement, this.blocked);
+            int index = placement >>> 1;
+            int step = (placement & 1) != 0 ? this.height : 1;
+            for (int i = 0; i < length; i++, index += step) {
+                this.covered.set(index);
+            }
+            this.remaining[li]--;
+            this.shipLengthIndex[this.shipCount] = li;
+            this.shipPlacements[this.shipCount] = placement;
+            this.shipCount++;
+        }
+    }
+}
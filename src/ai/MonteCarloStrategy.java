@@ -0,0 +1,67 @@
+/**
+ * @file MonteCarloStrategy.java
+ */
+
+package ai;
+
+import java.util.SplittableRandom;
+
+/**
+ * @class MonteCarloStrategy
+ * @brief Schießt auf die Zelle, die in den meisten gezogenen passenden Flotten ein Schiff enthält. Im Endspiel
+ *        übernimmt der ExactEndgameSolver, sobald er die Wahrscheinlichkeiten exakt berechnen kann.
+ */
+public class MonteCarloStrategy implements ShotStrategy, AnytimeSearch {
+    private final MonteCarloSampler sampler;
+    private final SplittableRandom random;
+    // Exakte Berechnung, sobald nur noch wenige Anordnungen der verbleibenden Schiffe möglich sind
+    private final ExactEndgameSolver endgame;
+
+    /**
+     * @brief Konstruktor, der die Strategie mit den Standardwerten des Samplers erstellt.
+     * @param random Der Zufallsgenerator, aus dem die Generatoren der Teilaufgaben abgeleitet werden.
+     */
+    public MonteCarloStrategy(SplittableRandom random) {
+        this.sampler = new MonteCarloSampler();
+        this.random = random;
+        this.endgame = new ExactEndgameSolver();
+    }
+
+    @Override
+    public int chooseTarget(ShotKnowledge knowledge) {
+        int target = this.endgame.chooseTarget(knowledge, this.random, new AnytimeDecision());
+        return target >= 0 ? target : this.sampler.chooseTarget(knowledge, this.random);
+    }
+
+    @Override
+    public void search(ShotKnowledge knowledge, AnytimeDecision decision) {
+        int target = this.endgame.chooseTarget(knowledge, this.random, decision);
+        decision.offer(target >= 0 ? target : this.sampler.chooseTarget(knowledge, this.random, decision));
+    }
+
+    /**
+     * @class Provider
+     * @brief Stellt die Monte-Carlo-Strategie über den ServiceLoader bereit.
+     */
+    public static class Provider implements ShotStrategyProvider {
+        @Override
+        public String getId() {
+            return "montecarlo";
+        }
+
+        @Override
+        public String getDisplayName() {
+            return "Schwer (Monte Carlo)";
+        }
+
+        @Override
+        public ShotStrategy create(int width, int height, SplittableRandom random) {
+            return new MonteCarloStrategy(random);
+        }
+
+        @Override
+        public boolean usesOpeningBook() {
+            return true;
+        }
+    }
+}
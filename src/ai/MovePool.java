@@ -0,0 +1,101 @@
+/**
+ * @file MovePool.java
+ */
+
+package ai;
+
+import java.util.SplittableRandom;
+
+/**
+ * @class MovePool
+ * @brief Vorrat der noch nicht beschossenen Zellen eines Boards.
+ *        Die Zellen liegen als Index in einem int-Array, die ersten count Einträge sind gültig. Zusätzlich wird die
+ *        Position jeder Zelle gespeichert. Eine Zelle wird entfernt, indem sie mit dem letzten gültigen Eintrag
+ *        vertauscht wird, sodass Ziehen und Entfernen in O(1) und ohne neue Objekte möglich sind.
+ */
+public class MovePool {
+    // Indizes der noch nicht beschossenen Zellen
+    private final int[] moves;
+    // Position jeder Zelle in moves
+    private final int[] positions;
+    // Anzahl der gültigen Einträge in moves
+    private int count;
+
+    /**
+     * @brief Konstruktor, der einen Vorrat mit allen Zellen erstellt.
+     * @param cells Die Anzahl der Zellen.
+     */
+    public MovePool(int cells) {
+        this.moves = new int[cells];
+        this.positions = new int[cells];
+        for (int i = 0; i < cells; i++) {
+            this.moves[i] = i;
+            this.positions[i] = i;
+        }
+        this.count = cells;
+    }
+
+    /**
+     * @brief Legt alle Zellen wieder in den Vorrat.
+     */
+    public void reset() {
+        for (int i = 0; i < this.moves.length; i++) {
+            this.moves[i] = i;
+            this.positions[i] = i;
+        }
+        this.count = this.moves.length;
+    }
+
+    /**
+     * @brief Gibt die Anzahl der noch nicht beschossenen Zellen zurück.
+     * @return Die Anzahl der Zellen im Vorrat.
+     */
+    public int size() {
+        return this.count;
+    }
+
+    /**
+     * @brief Zieht eine zufällige Zelle aus dem Vorrat, ohne sie zu entfernen.
+     * @param random Der Zufallsgenerator.
+     * @return Der Index der Zelle oder -1, wenn der Vorrat leer ist.
+     */
+    public int draw(SplittableRandom random) {
+        if (this.count == 0) {
+            return -1;
+        }
+        return this.moves[random.nextInt(this.count)];
+    }
+
+    /**
+     * @brief Entfernt eine Zelle aus dem Vorrat. Bereits entfernte Zellen werden ignoriert.
+     * @param index Der Index der Zelle.
+     */
+    public void remove(int index) {
+        int position = this.positions[index];
+        if (position >= this.count) {
+            return;
+        }
+        int last = this.moves[--this.count];
+        this.moves[position] = last;
+        this.positions[last] = position;
+        this.moves[this.count] = index;
+        this.positions[index] = this.count;
+    }
+
+    /**
+     * @brief Legt eine entfernte Zelle wieder in den Vorrat, etwa wenn ein Schuss zurückgenommen wird. Zellen im
+     *        Vorrat werden ignoriert.
+     * @param index Der Index der Zelle.
+     */
+    public void restore(int index) {
+        int position = this.positions[index];
+        if (position < this.count) {
+            return;
+        }
+        int first = this.moves[this.count];
+        this.moves[position] = first;
+        this.positions[first] = position;
+        this.moves[this.count] = index;
+        this.positions[index] = this.count++;
+    }
+}
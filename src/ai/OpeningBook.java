@@ -0,0 +1,262 @@
+/**
+ * @file OpeningBook.java
+ */
+
+package ai;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardOpenOption;
+import java.util.Arrays;
+
+/**
+ * @class OpeningBook
+ * @brief Vorberechnete Eröffnungen des Computers je Regelwerk, gelesen aus einer Binärdatei, die in den Speicher
+ *        eingeblendet wird.
+ *        Solange jeder Schuss ins Wasser geht, ist der Zustand zu Beginn jedes Spiels gleich und die teure
+ *        Dichteberechnung liefert immer dasselbe Ergebnis. Die Datei enthält daher je Regelwerk für die ersten Züge
+ *        den Zug, den die Dichte (heatmap) des Spielfelds mit den bisherigen Fehlschüssen wählt. Die heatmaps selbst
+ *        werden nicht gespeichert: Sie gelten nur für genau diese Stellungen, in denen der gespeicherte Zug bereits
+ *        ihr Maximum ist, und abseits der Eröffnung rechnet die Strategie ohnehin selbst.
+ *
+ *        Aufbau der Datei (big-endian):
+ *        - Kopf: MAGIC (int), VERSION (int), Anzahl der Regelwerke (int)
+ *        - Index je Regelwerk: Breite (int), Höhe (int), Anzahl der Schiffe (int), Schiffslängen absteigend (int je
+ *          Schiff), Anzahl der Züge (int), Position der Daten in der Datei (long)
+ *        - Daten je Regelwerk: gewählter Zug als Zellindex (int je Zug)
+ *
+ *        Die Datei wird mit OpeningBookBuilder erzeugt, etwa über BattleShipMain --opening-book. Fehlt sie, ist die
+ *        Version unbekannt oder der Index beschädigt, ist das Buch leer und der Computer rechnet wie bisher selbst.
+ */
+public final class OpeningBook {
+    // Kennung am Anfang der Datei ("SVOB")
+    static final int MAGIC = 0x53564F42;
+    // Version des Dateiformats
+    static final int VERSION = 2;
+    // Größe des Kopfes in Bytes
+    static final int HEADER_BYTES = 12;
+    // Systemeigenschaft, über die ein anderer Pfad der Datei angegeben werden kann
+    public static final String PATH_PROPERTY = "schiffeversenken.openingbook";
+    // Standardpfad der Datei relativ zum Arbeitsverzeichnis
+    public static final String DEFAULT_PATH = "opening-book.bin";
+
+    // Ein Buch ohne Einträge
+    private static final OpeningBook EMPTY = new OpeningBook(ByteBuffer.allocate(0), 0);
+    // Das beim ersten Zugriff geladene Standardbuch
+    private static volatile OpeningBook defaultBook;
+
+    // Der Inhalt der Datei
+    private final ByteBuffer buffer;
+    // Anzahl der Regelwerke
+    private final int entries;
+
+    /**
+     * @brief Konstruktor, der ein Buch über dem Inhalt einer Datei erstellt.
+     * @param buffer Der Inhalt der Datei.
+     * @param entries Die Anzahl der Regelwerke.
+     */
+    private OpeningBook(ByteBuffer buffer, int entries) {
+        this.buffer = buffer;
+        this.entries = entries;
+    }
+
+    /**
+     * @brief Gibt das Standardbuch zurück und lädt es beim ersten Aufruf. Der Pfad kann über die Systemeigenschaft
+     *        PATH_PROPERTY geändert werden.
+     * @return Das Standardbuch oder ein leeres Buch, wenn die Datei fehlt oder nicht gelesen werden kann.
+     */
+    public static OpeningBook getDefault() {
+        OpeningBook book = defaultBook;
+        if (book == null) {
+            synchronized (OpeningBook.class) {
+                book = defaultBook;
+                if (book == null) {
+                    book = loadOrEmpty(Paths.get(System.getProperty(PATH_PROPERTY, DEFAULT_PATH)));
+                    defaultBook = book;
+                }
+            }
+        }
+        return book;
+    }
+
+    /**
+     * @brief Lädt ein Buch und gibt bei Fehlern ein leeres Buch zurück.
+     * @param path Der Pfad der Datei.
+     * @return Das geladene oder ein leeres Buch.
+     */
+    private static OpeningBook loadOrEmpty(Path path) {
+        if (!Files.isRegularFile(path)) {
+            return EMPTY;
+        }
+        try {
+            return load(path);
+        } catch (IOException | RuntimeException e) {
+            System.err.println("Eröffnungsbuch " + path + " kann nicht gelesen werden: " + e.getMessage());
+            return EMPTY;
+        }
+    }
+
+    /**
+     * @brief Blendet eine Datei in den Speicher ein und prüft ihren Kopf und ihren Index. Danach liegen alle Einträge
+     *        und Züge innerhalb der Datei, sodass find und Line nicht mehr über das Ende hinaus lesen können.
+     * @param path Der Pfad der Datei.
+     * @return Das Buch.
+     * @throws IOException Wenn die Datei nicht gelesen werden kann, kein Eröffnungsbuch dieser Version ist oder ihr
+     *         Index nicht zur Datei passt.
+     */
+    public static OpeningBook load(Path path) throws IOException {
+        try (FileChannel channel = FileChannel.open(path, StandardOpenOption.READ)) {
+            if (channel.size() > Integer.MAX_VALUE) {
+                throw new IOException("Eröffnungsbuch ist zu groß");
+            }
+            MappedByteBuffer buffer = channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size());
+            if (buffer.limit() < HEADER_BYTES || buffer.getInt(0) != MAGIC) {
+                throw new IOException("Keine Eröffnungsbuch-Datei");
+            }
+            if (buffer.getInt(4) != VERSION) {
+                throw new IOException("Nicht unterstützte Version " + buffer.getInt(4));
+            }
+            int entries = buffer.getInt(8);
+            validateIndex(buffer, entries);
+            return new OpeningBook(buffer, entries);
+        }
+    }
+
+    /**
+     * @brief Prüft, dass jeder Indexeintrag und die Züge, auf die er verweist, vollständig in der Datei liegen und
+     *        jeder Zug eine Zelle des Spielfelds ist.
+     * @param buffer Der Inhalt der Datei.
+     * @param entries Die Anzahl der Regelwerke laut Kopf.
+     * @throws IOException Wenn der Index beschädigt ist.
+     */
+    private static void validateIndex(ByteBuffer buffer, int entries) throws IOException {
+        int limit = buffer.limit();
+        if (entries < 0) {
+            throw new IOException("Beschädigter Index: " + entries + " Regelwerke");
+        }
+        long position = HEADER_BYTES;
+        for (int entry = 0; entry < entries; entry++) {
+            if (position + 12 > limit) {
+                throw new IOException("Beschädigter Index: Eintrag " + entry + " liegt hinter dem Dateiende");
+            }
+            int width = buffer.getInt((int) position);
+            int height = buffer.getInt((int) position + 4);
+            int ships = buffer.getInt((int) position + 8);
+            long end = position + 24 + 4L * ships;
+            if (width < 1 || height < 1 || ships < 0 || end > limit) {
+                throw new IOException("Beschädigter Index: Eintrag " + entry);
+            }
+            long cells = (long) width * height;
+            int plies = buffer.getInt((int) end - 12);
+            long offset = buffer.getLong((int) end - 8);
+            if (plies < 0 || plies > cells || offset < HEADER_BYTES || offset + 4L * plies > limit) {
+                throw new IOException("Beschädigter Index: Züge von Eintrag " + entry + " liegen nicht in der Datei");
+            }
+            for (int ply = 0; ply < plies; ply++) {
+                int move = buffer.getInt((int) offset + 4 * ply);
+                if (move < 0 || move >= cells) {
+                    throw new IOException("Beschädigter Eintrag " + entry + ": Zug " + ply + " liegt nicht auf dem Spielfeld");
+                }
+            }
+            position = end;
+        }
+    }
+
+    /**
+     * @brief Sucht die Eröffnung eines Regelwerks.
+     * @param width Die Breite des Spielfelds.
+     * @param height Die Höhe des Spielfelds.
+     * @param shipLengths Die Längen aller Schiffe der Flotte in beliebiger Reihenfolge.
+     * @return Die Eröffnung oder null, wenn das Regelwerk nicht im Buch steht.
+     */
+    public Line find(int width, int height, int[] shipLengths) {
+        int[] fleet = canonicalFleet(shipLengths);
+        int position = HEADER_BYTES;
+        for (int entry = 0; entry < this.entries; position = skipIndexEntry(position), entry++) {
+            if (this.buffer.getInt(position) != width || this.buffer.getInt(position + 4) != height
+                    || this.buffer.getInt(position + 8) != fleet.length) {
+                continue;
+            }
+            boolean matches = true;
+            for (int i = 0; i < fleet.length && matches; i++) {
+                matches = this.buffer.getInt(position + 12 + 4 * i) == fleet[i];
+            }
+            if (matches) {
+                int plies = this.buffer.getInt(position + 12 + 4 * fleet.length);
+                long offset = this.buffer.getLong(position + 16 + 4 * fleet.length);
+                return new Line(this.buffer, (int) offset, plies);
+            }
+        }
+        return null;
+    }
+
+    /**
+     * @brief Gibt die Position des nächsten Indexeintrags zurück.
+     * @param position Die Position des aktuellen Indexeintrags.
+     * @return Die Position des nächsten Indexeintrags.
+     */
+    private int skipIndexEntry(int position) {
+        return position + 24 + 4 * this.buffer.getInt(position + 8);
+    }
+
+    /**
+     * @brief Sortiert die Schiffslängen absteigend, so wie sie im Index stehen.
+     * @param shipLengths Die Längen aller Schiffe.
+     * @return Die absteigend sortierten Längen.
+     */
+    static int[] canonicalFleet(int[] shipLengths) {
+        int[] fleet = shipLengths.clone();
+        Arrays.sort(fleet);
+        for (int i = 0, j = fleet.length - 1; i < j; i++, j--) {
+            int swap = fleet[i];
+            fleet[i] = fleet[j];
+            fleet[j] = swap;
+        }
+        return fleet;
+    }
+
+    /**
+     * @class Line
+     * @brief Die Eröffnung eines Regelwerks. Liest direkt aus dem eingeblendeten Speicher, ohne Daten zu kopieren.
+     */
+    public static final class Line {
+        private final ByteBuffer buffer;
+        // Position des ersten Zuges
+        private final int offset;
+        private final int plies;
+
+        /**
+         * @brief Konstruktor, der die Eröffnung über einem Ausschnitt der Datei erstellt.
+         * @param buffer Der Inhalt der Datei.
+         * @param offset Die Position des ersten Zuges.
+         * @param plies Die Anzahl der Züge.
+         */
+        Line(ByteBuffer buffer, int offset, int plies) {
+            this.buffer = buffer;
+            this.offset = offset;
+            this.plies = plies;
+        }
+
+        /**
+         * @brief Gibt die Anzahl der vorberechneten Züge zurück.
+         * @return Die Anzahl der Züge.
+         */
+        public int getPlies() {
+            return this.plies;
+        }
+
+        /**
+         * @brief Gibt den vorberechneten Zug zurück, wenn alle vorherigen Züge des Buches ins Wasser gingen.
+         * @param ply Die Nummer des Zuges, beginnend bei 0.
+         * @return Der Index der Zielzelle.
+         */
+        public int getMove(int ply) {
+            return this.buffer.getInt(this.offset + 4 * ply);
+        }
+    }
+}
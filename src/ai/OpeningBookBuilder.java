@@ -0,0 +1,125 @@
+/**
+ * @file OpeningBookBuilder.java
+ */
+
+package ai;
+
+import model.BoardModel;
+import model.ShotResult;
+
+import java.io.BufferedOutputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.SplittableRandom;
+
+/**
+ * @class OpeningBookBuilder
+ * @brief Erzeugt die Datei des Eröffnungsbuchs für die Standardflotte.
+ *        Aufruf: java ai.OpeningBookBuilder [Datei] [kleinste Größe] [größte Größe] [Anzahl der Züge]
+ *        oder über BattleShipMain mit --opening-book und denselben Argumenten.
+ *        Ohne Argumente werden die Eröffnungen für alle im Startbildschirm wählbaren Spielfeldgrößen (10 bis 30) mit
+ *        je 12 Zügen in OpeningBook.DEFAULT_PATH geschrieben. Die Datei wird zuerst unter einem temporären Namen
+ *        geschrieben und danach umbenannt, damit ein laufendes Spiel nie eine halbe Datei liest.
+ */
+public final class OpeningBookBuilder {
+    // Standardanzahl der vorberechneten Züge je Regelwerk
+    private static final int DEFAULT_PLIES = 12;
+
+    /**
+     * @brief Privater Konstruktor, da die Klasse nur statische Methoden enthält.
+     */
+    private OpeningBookBuilder() {
+    }
+
+    /**
+     * @brief Erzeugt das Eröffnungsbuch.
+     * @param args Datei, kleinste und größte Spielfeldgröße und Anzahl der Züge, jeweils optional.
+     * @throws IOException Wenn die Datei nicht geschrieben werden kann.
+     */
+    public static void main(String[] args) throws IOException {
+        Path path = Paths.get(args.length > 0 ? args[0] : OpeningBook.DEFAULT_PATH);
+        int minSize = args.length > 1 ? Integer.parseInt(args[1]) : 10;
+        int maxSize = args.length > 2 ? Integer.parseInt(args[2]) : 30;
+        int plies = args.length > 3 ? Integer.parseInt(args[3]) : DEFAULT_PLIES;
+
+        List<int[]> sizes = new ArrayList<>();
+        for (int size = minSize; size <= maxSize; size++) {
+            sizes.add(new int[]{size, size});
+        }
+        write(path, sizes, BoardModel.BOAT_SIZES, plies);
+        System.out.println("Eröffnungsbuch mit " + sizes.size() + " Regelwerken nach " + path + " geschrieben");
+    }
+
+    /**
+     * @brief Berechnet die Eröffnungen und schreibt sie in eine Datei.
+     * @param path Der Pfad der Datei.
+     * @param sizes Breite und Höhe je Regelwerk.
+     * @param shipLengths Die Längen aller Schiffe der Flotte.
+     * @param plies Die Anzahl der Züge je Regelwerk.
+     * @throws IOException Wenn die Datei nicht geschrieben werden kann.
+     */
+    public static void write(Path path, List<int[]> sizes, int[] shipLengths, int plies) throws IOException {
+        int[] fleet = OpeningBook.canonicalFleet(shipLengths);
+        Path absolute = path.toAbsolutePath();
+        Path temp = Files.createTempFile(absolute.getParent(), absolute.getFileName().toString(), ".tmp");
+        try {
+            try (OutputStream file = Files.newOutputStream(temp);
+                 DataOutputStream out = new DataOutputStream(new BufferedOutputStream(file))) {
+                out.writeInt(OpeningBook.MAGIC);
+                out.writeInt(OpeningBook.VERSION);
+                out.writeInt(sizes.size());
+
+                // Die Züge beginnen direkt hinter dem Index
+                long offset = OpeningBook.HEADER_BYTES + (long) sizes.size() * (24 + 4 * fleet.length);
+                for (int[] size : sizes) {
+                    out.writeInt(size[0]);
+                    out.writeInt(size[1]);
+                    out.writeInt(fleet.length);
+                    for (int length : fleet) {
+                        out.writeInt(length);
+                    }
+                    int linePlies = Math.min(plies, size[0] * size[1]);
+                    out.writeInt(linePlies);
+                    out.writeLong(offset);
+                    offset += 4L * linePlies;
+                }
+                for (int[] size : sizes) {
+                    writeLine(out, size[0], size[1], fleet, Math.min(plies, size[0] * size[1]));
+                }
+            }
+            Files.move(temp, absolute, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        } finally {
+            Files.deleteIfExists(temp);
+        }
+    }
+
+    /**
+     * @brief Berechnet die Eröffnung eines Regelwerks unter der Annahme, dass jeder Schuss ins Wasser geht. Je Zug
+     *        wird die Zelle mit der höchsten Dichte geschrieben.
+     *        Gleich gute Zellen werden mit einem festen Seed gewählt, damit die Datei reproduzierbar ist.
+     * @param out Der Ausgabestrom.
+     * @param width Die Breite des Spielfelds.
+     * @param height Die Höhe des Spielfelds.
+     * @param fleet Die Längen aller Schiffe.
+     * @param plies Die Anzahl der Züge.
+     * @throws IOException Wenn nicht geschrieben werden kann.
+     */
+    private static void writeLine(DataOutputStream out, int width, int height, int[] fleet, int plies) throws IOException {
+        ShotKnowledge knowledge = new ShotKnowledge(width, height, fleet);
+        ProbabilityDensity density = new ProbabilityDensity();
+        SplittableRandom random = new SplittableRandom(width * 31L + height);
+        for (int ply = 0; ply < plies; ply++) {
+            int[] heat = density.compute(knowledge);
+            int move = ProbabilityDensity.argmax(heat, knowledge.getCellCount(), random);
+            out.writeInt(move);
+            knowledge.observe(move / height, move % height, ShotResult.MISS, null);
+        }
+    }
+}
@@ -0,0 +1,133 @@
+/**
+ * @file OpeningStrategy.java
+ */
+
+package ai;
+
+import model.ShotResult;
+import utils.ShotType;
+
+import java.util.SplittableRandom;
+
+/**
+ * @class OpeningStrategy
+ * @brief Spielt die Züge einer Eröffnung aus dem OpeningBook, solange jeder Schuss ins Wasser geht, und gibt danach
+ *        an die eigentliche Strategie ab.
+ *        Damit die Eröffnung nicht in jedem Spiel gleich aussieht, wird sie mit einer zufälligen Symmetrie des
+ *        Spielfelds gespiegelt oder gedreht. Da die Dichte eines unbeschossenen Spielfelds unter diesen Symmetrien
+ *        gleich bleibt, ist jede gespiegelte Eröffnung genauso gut wie das Original.
+ *        Die Symmetrie wird einmal je Partie gewählt und beim Erstellen übergeben. Den Stand in der Eröffnung leitet
+ *        die Strategie aus dem Wissen ab, sodass sie nach einem Neuaufbau, etwa nach undo oder beim Fortsetzen einer
+ *        gespeicherten Partie, genau dort weiterspielt, wo die Eröffnung verlassen oder unterbrochen wurde.
+ */
+public class OpeningStrategy implements ShotStrategy {
+    // Die Strategie nach dem Ende der Eröffnung
+    private final ShotStrategy strategy;
+    private final OpeningBook.Line line;
+    private final int width;
+    private final int height;
+    // Bits 0 und 1 spiegeln x und y, Bit 2 vertauscht x und y (nur bei quadratischen Spielfeldern)
+    private final int symmetry;
+    // Nummer des nächsten Zuges der Eröffnung, -1 wenn die Eröffnung verlassen wurde
+    private int ply;
+
+    /**
+     * @brief Konstruktor, der eine Strategie mit einer Eröffnung versieht.
+     * @param strategy Die Strategie nach dem Ende der Eröffnung.
+     * @param line Die Eröffnung des Regelwerks.
+     * @param width Die Breite des gegnerischen Boards.
+     * @param height Die Höhe des gegnerischen Boards.
+     * @param symmetry Die Symmetrie der Partie, gewählt mit randomSymmetry.
+     * @param knowledge Das bisherige Wissen über das gegnerische Board. Die Eröffnung wird nur fortgesetzt, wenn
+     *                  genau ihre ersten Züge gespielt wurden und alle ins Wasser gingen.
+     */
+    public OpeningStrategy(ShotStrategy strategy, OpeningBook.Line line, int width, int height, int symmetry,
+                           ShotKnowledge knowledge) {
+        this.strategy = strategy;
+        this.line = line;
+        this.width = width;
+        this.height = height;
+        this.symmetry = symmetry;
+        this.ply = this.pliesPlayed(knowledge);
+    }
+
+    /**
+     * @brief Wählt eine zufällige Symmetrie des Spielfelds für eine Partie.
+     * @param width Die Breite des gegnerischen Boards.
+     * @param height Die Höhe des gegnerischen Boards.
+     * @param random Der Zufallsgenerator.
+     * @return Die Symmetrie für den Konstruktor.
+     */
+    public static int randomSymmetry(int width, int height, SplittableRandom random) {
+        return random.nextInt(width == height ? 8 : 4);
+    }
+
+    @Override
+    public int chooseTarget(ShotKnowledge knowledge) {
+        if (this.ply >= 0 && this.ply < this.line.getPlies()) {
+            int target = this.transform(this.line.getMove(this.ply));
+            if (!knowledge.isShot(target)) {
+                return target;
+            }
+            this.ply = -1;
+        }
+        return this.strategy.chooseTarget(knowledge);
+    }
+
+    @Override
+    public void observe(int index, ShotResult result, ShotKnowledge knowledge) {
+        if (this.ply >= 0 && this.ply < this.line.getPlies()) {
+            boolean onLine = result.getType() == ShotType.MISS && index == this.transform(this.line.getMove(this.ply));
+            this.ply = onLine ? this.ply + 1 : -1;
+        }
+        this.strategy.observe(index, result, knowledge);
+    }
+
+    @Override
+    public void unobserve(int index, ShotType type, ShotKnowledge knowledge) {
+        this.ply = this.pliesPlayed(knowledge);
+        this.strategy.unobserve(index, type, knowledge);
+    }
+
+    /**
+     * @brief Bestimmt, wie viele Züge der Eröffnung bereits gespielt wurden. Das ist nur der Fall, wenn die
+     *        beschossenen Zellen genau die ersten Züge der Eröffnung sind und jeder davon ins Wasser ging.
+     * @param knowledge Das bisherige Wissen über das gegnerische Board.
+     * @return Die Nummer des nächsten Zuges der Eröffnung oder -1, wenn die Eröffnung verlassen wurde.
+     */
+    private int pliesPlayed(ShotKnowledge knowledge) {
+        int shots = knowledge.getShotCount();
+        boolean allMissed = knowledge.getOpenHitCount() == 0 && knowledge.getRemainingShips() == knowledge.getShipCount();
+        if (shots > this.line.getPlies() || !allMissed) {
+            return -1;
+        }
+        for (int ply = 0; ply < shots; ply++) {
+            if (!knowledge.isShot(this.transform(this.line.getMove(ply)))) {
+                return -1;
+            }
+        }
+        return shots;
+    }
+
+    /**
+     * @brief Überträgt einen Zellindex der Eröffnung mit der gewählten Symmetrie auf das Spielfeld.
+     * @param cell Der Zellindex in der Eröffnung.
+     * @return Der Zellindex auf dem Spielfeld.
+     */
+    private int transform(int cell) {
+        int x = cell / this.height;
+        int y = cell % this.height;
+        if ((this.symmetry & 4) != 0) {
+            int swap = x;
+            x = y;
+            y = swap;
+        }
+        if ((this.symmetry & 1) != 0) {
+            x = this.width - 1 - x;
+        }
+        if ((this.symmetry & 2) != 0) {
+            y = this.height - 1 - y;
+        }
+        return x * this.height + y;
+    }
+}
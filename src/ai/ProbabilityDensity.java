@@ -0,0 +1,172 @@
+/**
+ * @file ProbabilityDensity.java
+ */
+
+package ai;
+
+import model.BitBoard;
+import model.PlacementTable;
+
+import java.util.Arrays;
+import java.util.SplittableRandom;
+
+/**
+ * @class ProbabilityDensity
+ * @brief Wählt das Ziel des Computers anhand der Anzahl möglicher Schiffsplatzierungen je Zelle.
+ *        Für jede noch nicht versenkte Schiffslänge werden alle Platzierungen gezählt, die keine leere Zelle belegen.
+ *        Gibt es offene Treffer, zählen nur Platzierungen, die mindestens einen davon enthalten, und zwar umso stärker,
+ *        je mehr sie enthalten. Geschossen wird auf die unbeschossene Zelle mit der höchsten Dichte. Die Prüfung einer
+ *        Platzierung ist dank der vorberechneten Masken nur ein Vergleich weniger long-Wörter.
+ *        Eine Instanz verwendet ihr Dichtefeld wieder und ist nicht threadsicher.
+ */
+public class ProbabilityDensity {
+    // Gewicht je offenem Treffer, den eine Platzierung enthält
+    private static final int HIT_WEIGHT = 100;
+    // Maske für die Platzierungsindizes, bei denen auf einen Abbruch der Entscheidung geprüft wird
+    private static final int CANCEL_CHECK_MASK = 4095;
+
+    // Dichte je Zelle aus der letzten Berechnung
+    private int[] density;
+
+    /**
+     * @brief Konstruktor, der eine Dichteberechnung ohne Dichtefeld erstellt. Das Dichtefeld wird bei der ersten
+     *        Berechnung in der Größe des Boards angelegt.
+     */
+    public ProbabilityDensity() {
+        this.density = new int[0];
+    }
+
+    /**
+     * @brief Wählt die unbeschossene Zelle mit der höchsten Dichte. Gleich gute Zellen werden zufällig gewählt.
+     * @param knowledge Das Wissen über das gegnerische Board.
+     * @param random Der Zufallsgenerator für die Auswahl zwischen gleich guten Zellen.
+     * @return Der Index der Zielzelle oder -1, wenn keine unbeschossene Zelle mehr möglich ist.
+     */
+    public int chooseTarget(ShotKnowledge knowledge, SplittableRandom random) {
+        return this.chooseTarget(knowledge, random, null);
+    }
+
+    /**
+     * @brief Wählt die unbeschossene Zelle mit der höchsten Dichte und meldet nach jeder fertig gezählten
+     *        Schiffslänge das bisher beste Ziel an die Entscheidung. Wird die Entscheidung abgebrochen, endet die
+     *        Berechnung vorzeitig.
+     * @param knowledge Das Wissen über das gegnerische Board.
+     * @param random Der Zufallsgenerator für die Auswahl zwischen gleich guten Zellen.
+     * @param decision Die Entscheidung, an die Zwischenergebnisse gemeldet werden, oder null.
+     * @return Der Index der Zielzelle oder -1, wenn keine unbeschossene Zelle mehr möglich ist.
+     */
+    public int chooseTarget(ShotKnowledge knowledge, SplittableRandom random, AnytimeDecision decision) {
+        return argmax(this.compute(knowledge, random, decision), knowledge.getCellCount(), random);
+    }
+
+    /**
+     * @brief Berechnet die Dichte aller Zellen. Bereits beschossene Zellen erhalten die Dichte 0.
+     * @param knowledge Das Wissen über das gegnerische Board.
+     * @return Das Dichtefeld, indiziert mit cordX * height + cordY. Es wird bei der nächsten Berechnung überschrieben.
+     */
+    public int[] compute(ShotKnowledge knowledge) {
+        return this.compute(knowledge, null, null);
+    }
+
+    /**
+     * @brief Berechnet die Dichte aller Zellen und meldet Zwischenergebnisse an die Entscheidung.
+     * @param knowledge Das Wissen über das gegnerische Board.
+     * @param random Der Zufallsgenerator für die Zwischenergebnisse oder null, wenn decision null ist.
+     * @param decision Die Entscheidung, an die Zwischenergebnisse gemeldet werden, oder null.
+     * @return Das Dichtefeld. Nach einem Abbruch enthält es nur die bis dahin gezählten Platzierungen.
+     */
+    private int[] compute(ShotKnowledge knowledge, SplittableRandom random, AnytimeDecision decision) {
+        int cells = knowledge.getCellCount();
+        if (this.density.length != cells) {
+            this.density = new int[cells];
+        }
+        if (knowledge.getOpenHitCount() == 0 || !this.accumulate(knowledge, true, random, decision)) {
+            this.accumulate(knowledge, false, random, decision);
+        }
+        return this.density;
+    }
+
+    /**
+     * @brief Wählt den Index mit dem höchsten positiven Wert. Gleich gute Indizes werden zufällig gewählt.
+     * @param values Die Werte je Zelle.
+     * @param cells Die Anzahl der Zellen.
+     * @param random Der Zufallsgenerator.
+     * @return Der Index mit dem höchsten Wert oder -1, wenn kein Wert positiv ist.
+     */
+    static int argmax(int[] values, int cells, SplittableRandom random) {
+        int best = -1;
+        int bestValue = 0;
+        int ties = 0;
+        for (int index = 0; index < cells; index++) {
+            int value = values[index];
+            if (value == 0 || value < bestValue) {
+                continue;
+            }
+            if (value > bestValue) {
+                bestValue = value;
+                best = index;
+                ties = 1;
+            } else if (random.nextInt(++ties) == 0) {
+                // Reservoir-Auswahl, damit jede gleich gute Zelle mit gleicher Wahrscheinlichkeit gewählt wird
+                best = index;
+            }
+        }
+        return best;
+    }
+
+    /**
+     * @brief Zählt die Platzierungen aller verbleibenden Schiffe in das Dichtefeld.
+     * @param knowledge Das Wissen über das gegnerische Board.
+     * @param target true, wenn nur Platzierungen gezählt werden, die einen offenen Treffer enthalten.
+     * @param random Der Zufallsgenerator für die Zwischenergebnisse oder null, wenn decision null ist.
+     * @param decision Die Entscheidung, an die Zwischenergebnisse gemeldet werden, oder null.
+     * @return true, wenn mindestens eine unbeschossene Zelle eine Dichte größer 0 erhalten hat.
+     */
+    private boolean accumulate(ShotKnowledge knowledge, boolean target, SplittableRandom random, AnytimeDecision decision) {
+        int[] cellDensity = this.density;
+        Arrays.fill(cellDensity, 0);
+        PlacementTable table = knowledge.getPlacementTable();
+        BitBoard empty = knowledge.getEmpty();
+        BitBoard openHits = knowledge.getOpenHits();
+        int height = knowledge.getHeight();
+        int[] lengths = knowledge.getLengths();
+        boolean found = false;
+
+        for (int li = 0; li < lengths.length; li++) {
+            int count = knowledge.getRemaining(li);
+            if (count == 0) {
+                continue;
+            }
+            int length = lengths[li];
+            for (int placement = 0; placement < table.placementCount(); placement++) {
+                if (decision != null && (placement & CANCEL_CHECK_MASK) == 0 && decision.isCancelled()) {
+                    return found;
+                }
+                // Schiffe der Länge 1 werden nur einmal je Zelle gezählt
+                if ((length == 1 && (placement & 1) != 0) || !table.fits(length, placement, empty)) {
+                    continue;
+                }
+                int weight = count;
+                if (target) {
+                    int hits = table.countOverlap(length, placement, openHits);
+                    if (hits == 0) {
+                        continue;
+                    }
+                    weight *= HIT_WEIGHT * hits;
+                }
+                int index = placement >>> 1;
+                int step = (placement & 1) != 0 ? height : 1;
+                for (int i = 0; i < length; i++, index += step) {
+                    if (!knowledge.isShot(index)) {
+                        cellDensity[index] += weight;
+                        found = true;
+                    }
+                }
+            }
+            if (decision != null && found) {
+                decision.offer(argmax(cellDensity, knowledge.getCellCount(), random));
+            }
+        }
+        return found;
+    }
+}
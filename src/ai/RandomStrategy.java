@@ -0,0 +1,66 @@
+/**
+ * @file RandomStrategy.java
+ */
+
+package ai;
+
+import model.ShotResult;
+import utils.ShotType;
+
+import java.util.SplittableRandom;
+
+/**
+ * @class RandomStrategy
+ * @brief Schießt gleichverteilt auf eine noch nicht beschossene Zelle.
+ */
+public class RandomStrategy implements ShotStrategy {
+    // Die noch nicht beschossenen Zellen
+    private final MovePool movePool;
+    private final SplittableRandom random;
+
+    /**
+     * @brief Konstruktor, der die Strategie für ein Board erstellt.
+     * @param cells Die Anzahl der Zellen des gegnerischen Boards.
+     * @param random Der Zufallsgenerator.
+     */
+    public RandomStrategy(int cells, SplittableRandom random) {
+        this.movePool = new MovePool(cells);
+        this.random = random;
+    }
+
+    @Override
+    public int chooseTarget(ShotKnowledge knowledge) {
+        return this.movePool.draw(this.random);
+    }
+
+    @Override
+    public void observe(int index, ShotResult result, ShotKnowledge knowledge) {
+        this.movePool.remove(index);
+    }
+
+    @Override
+    public void unobserve(int index, ShotType type, ShotKnowledge knowledge) {
+        this.movePool.restore(index);
+    }
+
+    /**
+     * @class Provider
+     * @brief Stellt die zufällige Strategie über den ServiceLoader bereit.
+     */
+    public static class Provider implements ShotStrategyProvider {
+        @Override
+        public String getId() {
+            return "random";
+        }
+
+        @Override
+        public String getDisplayName() {
+            return "Leicht (Zufall)";
+        }
+
+        @Override
+        public ShotStrategy create(int width, int height, SplittableRandom random) {
+            return new RandomStrategy(width * height, random);
+        }
+    }
+}
@@ -0,0 +1,465 @@
+/**
+ * @file ShotKnowledge.java
+ */
+
+package ai;
+
+import model.BitBoard;
+import model.BoardModel;
+import model.PlacementTable;
+import model.ShipModel;
+import model.ShotResult;
+import utils.ShotType;
+
+import java.util.Arrays;
+
+/**
+ * @class ShotKnowledge
+ * @brief Hält fest, was ein Schütze über das gegnerische Board weiß, also nur die Ergebnisse seiner eigenen Schüsse.
+ *        Getroffene Zellen von Schiffen, die noch nicht versenkt sind, werden als offene Treffer geführt. Versenkte
+ *        Schiffe werden samt ihrer angrenzenden Zellen als leer markiert, da dort kein weiteres Schiff liegen kann.
+ *        Jede geänderte Zelle wird vermerkt, sodass ein Abbild mit update nur um die Änderungen ergänzt werden muss.
+ */
+public class ShotKnowledge {
+    // Anfangsgröße der Liste der geänderten Zellen
+    private static final int INITIAL_CHANGES = 64;
+
+    private final int width;
+    private final int height;
+    // Vorberechnete Platzierungen des Regelwerks
+    private final PlacementTable placementTable;
+    // Zellen, auf die bereits geschossen wurde
+    private final BitBoard shot;
+    // Zellen, auf denen kein noch nicht versenktes Schiff liegen kann
+    private final BitBoard empty;
+    // Getroffene Zellen von Schiffen, die noch nicht versenkt sind
+    private final BitBoard openHits;
+    // Die unterschiedlichen Schiffslängen, absteigend sortiert
+    private final int[] lengths;
+    // Anzahl der noch nicht versenkten Schiffe je Schiffslänge
+    private final int[] remaining;
+    // Anzahl der Schiffe je Schiffslänge zu Beginn des Spiels
+    private final int[] fleet;
+    // Anzahl der offenen Treffer
+    private int openHitCount;
+    // Anzahl der noch nicht versenkten Schiffe
+    private int remainingShips;
+    // Die seit dem letzten Verwerfen geänderten Zellen, in der Reihenfolge der Änderungen
+    private int[] changes;
+    // Anzahl der gültigen Einträge in changes
+    private int changeCount;
+    // Wird erhöht, wenn changes verworfen wird, sodass Abbilder danach vollständig kopiert werden
+    private int generation;
+    // Das Wissen, von dem dieses Abbild zuletzt übernommen wurde, oder null
+    private ShotKnowledge source;
+    // generation der Quelle bei der letzten Übernahme
+    private int sourceGeneration;
+    // changeCount der Quelle bei der letzten Übernahme
+    private int sourceChanges;
+
+    /**
+     * @brief Konstruktor, der das Wissen über ein noch unbeschossenes Board erstellt.
+     * @param width Die Breite des gegnerischen Boards.
+     * @param height Die Höhe des gegnerischen Boards.
+     * @param shipLengths Die Längen aller Schiffe der gegnerischen Flotte.
+     */
+    public ShotKnowledge(int width, int height, int[] shipLengths) {
+        this.width = width;
+        this.height = height;
+        this.placementTable = PlacementTable.forRuleset(width, height, shipLengths);
+        this.shot = new BitBoard(width * height);
+        this.empty = new BitBoard(width * height);
+        this.openHits = new BitBoard(width * height);
+        int[] distinct = Arrays.stream(shipLengths).distinct().sorted().toArray();
+        this.lengths = new int[distinct.length];
+        this.remaining = new int[distinct.length];
+        for (int i = 0; i < distinct.length; i++) {
+            this.lengths[i] = distinct[distinct.length - 1 - i];
+        }
+        for (int length : shipLengths) {
+            this.remaining[this.lengthIndex(length)]++;
+        }
+        this.fleet = this.remaining.clone();
+        this.remainingShips = shipLengths.length;
+        this.changes = new int[INITIAL_CHANGES];
+    }
+
+    /**
+     * @brief Kopierkonstruktor, der ein unabhängiges Abbild des Wissens erstellt, etwa für eine Suche in einem anderen
+     *        Thread.
+     * @param other Das Wissen, das kopiert wird.
+     */
+    public ShotKnowledge(ShotKnowledge other) {
+        this.width = other.width;
+        this.height = other.height;
+        this.placementTable = other.placementTable;
+        this.shot = new BitBoard(this.width * this.height);
+        this.shot.copyFrom(other.shot);
+        this.empty = new BitBoard(this.width * this.height);
+        this.empty.copyFrom(other.empty);
+        this.openHits = new BitBoard(this.width * this.height);
+        this.openHits.copyFrom(other.openHits);
+        this.lengths = other.lengths;
+        this.remaining = other.remaining.clone();
+        this.fleet = other.fleet;
+        this.openHitCount = other.openHitCount;
+        this.remainingShips = other.remainingShips;
+        this.changes = new int[INITIAL_CHANGES];
+        this.markSynchronized(other);
+    }
+
+    /**
+     * @brief Bringt ein Abbild auf den Stand des Wissens, von dem es stammt. Seit der letzten Übernahme geänderte
+     *        Zellen werden einzeln übernommen, sodass der Aufwand nur von der Anzahl der Änderungen abhängt. Stammt das
+     *        Abbild von einem anderen Wissen oder wurde das Wissen seitdem zurückgesetzt, wird es vollständig kopiert.
+     * @param other Das Wissen mit gleicher Spielfeldgröße und gleichem Regelwerk.
+     */
+    public void update(ShotKnowledge other) {
+        if (this.source != other || this.sourceGeneration != other.generation) {
+            this.shot.copyFrom(other.shot);
+            this.empty.copyFrom(other.empty);
+            this.openHits.copyFrom(other.openHits);
+        } else {
+            for (int i = this.sourceChanges; i < other.changeCount; i++) {
+                int index = other.changes[i];
+                copyCell(this.shot, other.shot, index);
+                copyCell(this.empty, other.empty, index);
+                copyCell(this.openHits, other.openHits, index);
+            }
+        }
+        System.arraycopy(other.remaining, 0, this.remaining, 0, this.remaining.length);
+        this.openHitCount = other.openHitCount;
+        this.remainingShips = other.remainingShips;
+        this.markSynchronized(other);
+    }
+
+    /**
+     * @brief Merkt sich den Stand des Wissens, auf dem dieses Abbild steht.
+     * @param other Das Wissen.
+     */
+    private void markSynchronized(ShotKnowledge other) {
+        this.source = other;
+        this.sourceGeneration = other.generation;
+        this.sourceChanges = other.changeCount;
+    }
+
+    /**
+     * @brief Übernimmt eine Zelle aus einem anderen BitBoard.
+     * @param target Das BitBoard, das geändert wird.
+     * @param source Das BitBoard, aus dem gelesen wird.
+     * @param index Der Index der Zelle.
+     */
+    private static void copyCell(BitBoard target, BitBoard source, int index) {
+        if (source.get(index)) {
+            target.set(index);
+        } else {
+            target.clear(index);
+        }
+    }
+
+    /**
+     * @brief Vermerkt eine geänderte Zelle für update. Wird die Liste länger als das Board, wird sie verworfen, da
+     *        eine vollständige Kopie dann nicht teurer ist.
+     * @param index Der Index der Zelle.
+     */
+    private void recordChange(int index) {
+        if (this.changeCount == this.changes.length) {
+            if (this.changeCount >= this.getCellCount()) {
+                this.changeCount = 0;
+                this.generation++;
+            } else {
+                this.changes = Arrays.copyOf(this.changes, Math.min(2 * this.changes.length, this.getCellCount()));
+            }
+        }
+        this.changes[this.changeCount++] = index;
+    }
+
+    /**
+     * @brief Vergisst alle Schüsse, sodass das Wissen wieder einem unbeschossenen Board der gleichen Flotte entspricht.
+     */
+    public void reset() {
+        this.shot.clearAll();
+        this.empty.clearAll();
+        this.openHits.clearAll();
+        System.arraycopy(this.fleet, 0, this.remaining, 0, this.fleet.length);
+        this.openHitCount = 0;
+        this.remainingShips = Arrays.stream(this.fleet).sum();
+        this.changeCount = 0;
+        this.generation++;
+    }
+
+    /**
+     * @brief Übernimmt das Ergebnis eines Schusses.
+     * @param cordX Die X-Koordinate des Schusses.
+     * @param cordY Die Y-Koordinate des Schusses.
+     * @param result Das Ergebnis des Schusses.
+     * @param target Das beschossene Board, aus dem bei SUNK das aufgedeckte Schiff gelesen wird.
+     */
+    public void observe(int cordX, int cordY, ShotResult result, BoardModel target) {
+        int index = cordX * this.height + cordY;
+        this.recordChange(index);
+        switch (result.getType()) {
+            case MISS:
+                this.shot.set(index);
+                this.empty.set(index);
+                break;
+            case HIT:
+                this.shot.set(index);
+                this.markOpenHit(index);
+                break;
+            case SUNK:
+                this.shot.set(index);
+                this.markOpenHit(index);
+                this.markSunk(target.getShip(result.getShipId()));
+                break;
+            default:
+                break;
+        }
+    }
+
+    /**
+     * @brief Nimmt das Ergebnis eines Schusses zurück, nachdem der Schuss auf dem Board zurückgenommen wurde. Schüsse
+     *        müssen in umgekehrter Reihenfolge zurückgenommen werden. Der Aufwand hängt nur von der Länge eines
+     *        versenkten Schiffes ab, nicht von der Größe des Boards.
+     * @param cordX Die X-Koordinate des Schusses.
+     * @param cordY Die Y-Koordinate des Schusses.
+     * @param type Das Ergebnis des zurückgenommenen Schusses.
+     * @param target Das beschossene Board, aus dem die Schiffe und ihr Zustand gelesen werden.
+     */
+    public void unobserve(int cordX, int cordY, ShotType type, BoardModel target) {
+        int index = cordX * this.height + cordY;
+        this.recordChange(index);
+        switch (type) {
+            case MISS:
+                this.shot.clear(index);
+                if (!this.touchesSunkShip(cordX, cordY, null, target)) {
+                    this.empty.clear(index);
+                }
+                break;
+            case HIT:
+                this.shot.clear(index);
+                this.clearOpenHit(index);
+                break;
+            case SUNK:
+                this.shot.clear(index);
+                this.unmarkSunk(target.getShipAt(cordX, cordY), target);
+                break;
+            default:
+                break;
+        }
+    }
+
+    /**
+     * @brief Markiert eine Zelle als offenen Treffer.
+     * @param index Der Index der Zelle.
+     */
+    private void markOpenHit(int index) {
+        if (!this.openHits.get(index)) {
+            this.openHits.set(index);
+            this.openHitCount++;
+        }
+    }
+
+    /**
+     * @brief Entfernt eine Zelle aus den offenen Treffern.
+     * @param index Der Index der Zelle.
+     */
+    private void clearOpenHit(int index) {
+        if (this.openHits.get(index)) {
+            this.openHits.clear(index);
+            this.openHitCount--;
+        }
+    }
+
+    /**
+     * @brief Entfernt ein versenktes Schiff aus den offenen Treffern und sperrt es samt seiner Nachbarzellen.
+     * @param ship Das versenkte Schiff.
+     */
+    private void markSunk(ShipModel ship) {
+        int startX = ship.getCellX(0);
+        int startY = ship.getCellY(0);
+        int endX = ship.getCellX(ship.getLength() - 1);
+        int endY = ship.getCellY(ship.getLength() - 1);
+        for (int x = Math.max(0, startX - 1); x <= Math.min(this.width - 1, endX + 1); x++) {
+            for (int y = Math.max(0, startY - 1); y <= Math.min(this.height - 1, endY + 1); y++) {
+                int index = x * this.height + y;
+                this.recordChange(index);
+                this.empty.set(index);
+                this.clearOpenHit(index);
+            }
+        }
+        this.remaining[this.lengthIndex(ship.getLength())]--;
+        this.remainingShips--;
+    }
+
+    /**
+     * @brief Nimmt das Versenken eines Schiffes zurück: Seine beschossenen Zellen werden wieder offene Treffer, und
+     *        seine Nachbarzellen sind nur noch gesperrt, wenn sie ins Wasser geschossen wurden oder an ein anderes
+     *        versenktes Schiff angrenzen.
+     * @param ship Das Schiff, das nicht mehr versenkt ist.
+     * @param target Das beschossene Board.
+     */
+    private void unmarkSunk(ShipModel ship, BoardModel target) {
+        int startX = ship.getCellX(0);
+        int startY = ship.getCellY(0);
+        int endX = ship.getCellX(ship.getLength() - 1);
+        int endY = ship.getCellY(ship.getLength() - 1);
+        for (int x = Math.max(0, startX - 1); x <= Math.min(this.width - 1, endX + 1); x++) {
+            for (int y = Math.max(0, startY - 1); y <= Math.min(this.height - 1, endY + 1); y++) {
+                int index = x * this.height + y;
+                this.recordChange(index);
+                if (target.getShipAt(x, y) == ship) {
+                    this.empty.clear(index);
+                    if (this.shot.get(index)) {
+                        this.markOpenHit(index);
+                    }
+                } else if (!this.shot.get(index) && !this.touchesSunkShip(x, y, ship, target)) {
+                    this.empty.clear(index);
+                }
+            }
+        }
+        this.remaining[this.lengthIndex(ship.getLength())]++;
+        this.remainingShips++;
+    }
+
+    /**
+     * @brief Überprüft, ob eine Zelle an ein versenktes Schiff angrenzt.
+     * @param cordX Die X-Koordinate der Zelle.
+     * @param cordY Die Y-Koordinate der Zelle.
+     * @param ignored Ein Schiff, das nicht berücksichtigt wird, oder null.
+     * @param target Das beschossene Board.
+     * @return true, wenn ein anderes versenktes Schiff angrenzt.
+     */
+    private boolean touchesSunkShip(int cordX, int cordY, ShipModel ignored, BoardModel target) {
+        for (int x = cordX - 1; x <= cordX + 1; x++) {
+            for (int y = cordY - 1; y <= cordY + 1; y++) {
+                ShipModel ship = target.getShipAt(x, y);
+                if (ship != null && ship != ignored && ship.isSunk()) {
+                    return true;
+                }
+            }
+        }
+        return false;
+    }
+
+    /**
+     * @brief Gibt den Index einer Schiffslänge in lengths zurück.
+     * @param length Die Länge des Schiffes.
+     * @return Der Index der Schiffslänge.
+     */
+    private int lengthIndex(int length) {
+        for (int i = 0; i < this.lengths.length; i++) {
+            if (this.lengths[i] == length) {
+                return i;
+            }
+        }
+        throw new IllegalArgumentException("Die Schiffslänge " + length + " gehört nicht zum Regelwerk");
+    }
+
+    /**
+     * @brief Gibt die Breite des gegnerischen Boards zurück.
+     * @return Die Breite des Boards.
+     */
+    public int getWidth() {
+        return this.width;
+    }
+
+    /**
+     * @brief Gibt die Höhe des gegnerischen Boards zurück.
+     * @return Die Höhe des Boards.
+     */
+    public int getHeight() {
+        return this.height;
+    }
+
+    /**
+     * @brief Gibt die Anzahl der Zellen des gegnerischen Boards zurück.
+     * @return Die Anzahl der Zellen.
+     */
+    public int getCellCount() {
+        return this.width * this.height;
+    }
+
+    /**
+     * @brief Gibt die vorberechneten Platzierungen des Regelwerks zurück.
+     * @return Die Tabelle der Platzierungen.
+     */
+    public PlacementTable getPlacementTable() {
+        return this.placementTable;
+    }
+
+    /**
+     * @brief Gibt die Anzahl der beschossenen Zellen zurück.
+     * @return Die Anzahl der beschossenen Zellen.
+     */
+    public int getShotCount() {
+        return this.shot.cardinality();
+    }
+
+    /**
+     * @brief Überprüft, ob auf die Zelle bereits geschossen wurde.
+     * @param index Der Index der Zelle.
+     * @return true, wenn die Zelle bereits beschossen wurde.
+     */
+    public boolean isShot(int index) {
+        return this.shot.get(index);
+    }
+
+    /**
+     * @brief Gibt die Zellen zurück, auf denen kein noch nicht versenktes Schiff liegen kann. Das BitBoard darf nicht
+     *        verändert werden.
+     * @return Das BitBoard der leeren Zellen.
+     */
+    public BitBoard getEmpty() {
+        return this.empty;
+    }
+
+    /**
+     * @brief Gibt die offenen Treffer zurück. Das BitBoard darf nicht verändert werden.
+     * @return Das BitBoard der offenen Treffer.
+     */
+    public BitBoard getOpenHits() {
+        return this.openHits;
+    }
+
+    /**
+     * @brief Gibt die Anzahl der offenen Treffer zurück.
+     * @return Die Anzahl der offenen Treffer.
+     */
+    public int getOpenHitCount() {
+        return this.openHitCount;
+    }
+
+    /**
+     * @brief Gibt die unterschiedlichen Schiffslängen absteigend sortiert zurück. Das Array darf nicht verändert werden.
+     * @return Die Schiffslängen.
+     */
+    public int[] getLengths() {
+        return this.lengths;
+    }
+
+    /**
+     * @brief Gibt zurück, wie viele Schiffe einer Länge noch nicht versenkt sind.
+     * @param lengthIndex Der Index der Schiffslänge in getLengths().
+     * @return Die Anzahl der verbleibenden Schiffe dieser Länge.
+     */
+    public int getRemaining(int lengthIndex) {
+        return this.remaining[lengthIndex];
+    }
+
+    /**
+     * @brief Gibt die Anzahl aller Schiffe der gegnerischen Flotte zurück, einschließlich der versenkten.
+     * @return Die Anzahl der Schiffe.
+     */
+    public int getShipCount() {
+        return Arrays.stream(this.fleet).sum();
+    }
+
+    /**
+     * @brief Gibt die Anzahl der noch nicht versenkten Schiffe zurück.
+     * @return Die Anzahl der verbleibenden Schiffe.
+     */
+    public int getRemainingShips() {
+        return this.remainingShips;
+    }
+}
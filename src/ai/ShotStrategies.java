@@ -0,0 +1,79 @@
+/**
+ * @file ShotStrategies.java
+ */
+
+package ai;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.ServiceLoader;
+
+/**
+ * @class ShotStrategies
+ * @brief Verzeichnis aller verfügbaren Strategien des Computergegners.
+ *        Die Strategien werden einmalig über den ServiceLoader gesucht. Die eingebauten Strategien sind immer
+ *        vorhanden, auch wenn die Service-Datei nicht im Klassenpfad liegt. Zusätzliche Strategien können über eine
+ *        eigene Service-Datei hinzugefügt werden.
+ */
+public final class ShotStrategies {
+    // Kennung der Strategie, die verwendet wird, wenn keine andere gewählt ist
+    public static final String DEFAULT_ID = "density";
+
+    // Alle Strategien nach Kennung, in der Reihenfolge, in der sie gefunden wurden
+    private static final Map<String, ShotStrategyProvider> PROVIDERS = loadProviders();
+
+    /**
+     * @brief Privater Konstruktor, da die Klasse nur statische Methoden enthält.
+     */
+    private ShotStrategies() {
+    }
+
+    /**
+     * @brief Sucht alle Strategien und ergänzt die eingebauten, die nicht gefunden wurden.
+     * @return Die Strategien nach Kennung.
+     */
+    private static Map<String, ShotStrategyProvider> loadProviders() {
+        Map<String, ShotStrategyProvider> providers = new LinkedHashMap<>();
+        for (ShotStrategyProvider provider : new ShotStrategyProvider[]{
+                new RandomStrategy.Provider(), new DensityStrategy.Provider(), new MonteCarloStrategy.Provider()}) {
+            providers.put(provider.getId(), provider);
+        }
+        for (ShotStrategyProvider provider : ServiceLoader.load(ShotStrategyProvider.class)) {
+            providers.putIfAbsent(provider.getId(), provider);
+        }
+        return Collections.unmodifiableMap(providers);
+    }
+
+    /**
+     * @brief Gibt alle verfügbaren Strategien zurück.
+     * @return Die Liste der Strategien.
+     */
+    public static List<ShotStrategyProvider> available() {
+        return new ArrayList<>(PROVIDERS.values());
+    }
+
+    /**
+     * @brief Gibt die Strategie mit der angegebenen Kennung zurück.
+     * @param id Die Kennung der Strategie.
+     * @return Die Strategie.
+     * @throws IllegalArgumentException Wenn es keine Strategie mit dieser Kennung gibt.
+     */
+    public static ShotStrategyProvider byId(String id) {
+        ShotStrategyProvider provider = PROVIDERS.get(id);
+        if (provider == null) {
+            throw new IllegalArgumentException("Unbekannte Strategie: " + id);
+        }
+        return provider;
+    }
+
+    /**
+     * @brief Gibt die Standardstrategie zurück.
+     * @return Die Strategie mit der Kennung DEFAULT_ID.
+     */
+    public static ShotStrategyProvider getDefault() {
+        return byId(DEFAULT_ID);
+    }
+}
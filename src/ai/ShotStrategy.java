@@ -0,0 +1,43 @@
+/**
+ * @file ShotStrategy.java
+ */
+
+package ai;
+
+import model.ShotResult;
+import utils.ShotType;
+
+/**
+ * @interface ShotStrategy
+ * @brief Legt fest, wie der Computer sein nächstes Ziel wählt. Eine Instanz gehört zu genau einem Computergegner und
+ *        einem Spiel. Das gemeinsame Wissen über das gegnerische Board wird vom Computergegner gepflegt und vor jedem
+ *        Aufruf von observe bereits um den letzten Schuss ergänzt.
+ */
+public interface ShotStrategy {
+    /**
+     * @brief Wählt die nächste Zielzelle.
+     * @param knowledge Das Wissen über das gegnerische Board.
+     * @return Der Index der Zielzelle (cordX * height + cordY) oder -1, wenn die Strategie keine Zelle findet.
+     *         In diesem Fall schießt der Computer zufällig.
+     */
+    int chooseTarget(ShotKnowledge knowledge);
+
+    /**
+     * @brief Übernimmt das Ergebnis eines Schusses, etwa um eigene Zwischenergebnisse zu aktualisieren.
+     * @param index Der Index der beschossenen Zelle.
+     * @param result Das Ergebnis des Schusses.
+     * @param knowledge Das bereits aktualisierte Wissen über das gegnerische Board.
+     */
+    default void observe(int index, ShotResult result, ShotKnowledge knowledge) {
+    }
+
+    /**
+     * @brief Nimmt einen beobachteten Schuss zurück, etwa bei undo. Schüsse werden in umgekehrter Reihenfolge
+     *        zurückgenommen.
+     * @param index Der Index der Zelle.
+     * @param type Das Ergebnis des zurückgenommenen Schusses.
+     * @param knowledge Das Wissen über das gegnerische Board, aus dem der Schuss bereits entfernt wurde.
+     */
+    default void unobserve(int index, ShotType type, ShotKnowledge knowledge) {
+    }
+}
@@ -0,0 +1,45 @@
+/**
+ * @file ShotStrategyProvider.java
+ */
+
+package ai;
+
+import java.util.SplittableRandom;
+
+/**
+ * @interface ShotStrategyProvider
+ * @brief Erstellt Strategien einer Art für den Computergegner. Implementierungen werden über den ServiceLoader in
+ *        META-INF/services/ai.ShotStrategyProvider gefunden und benötigen daher einen öffentlichen Konstruktor ohne
+ *        Parameter.
+ */
+public interface ShotStrategyProvider {
+    /**
+     * @brief Gibt die eindeutige Kennung der Strategie zurück, über die sie ausgewählt wird.
+     * @return Die Kennung der Strategie.
+     */
+    String getId();
+
+    /**
+     * @brief Gibt den Namen der Strategie für die Anzeige zurück.
+     * @return Der Anzeigename.
+     */
+    String getDisplayName();
+
+    /**
+     * @brief Erstellt eine neue Strategie für ein Spiel.
+     * @param width Die Breite des gegnerischen Boards.
+     * @param height Die Höhe des gegnerischen Boards.
+     * @param random Der Zufallsgenerator, den die Strategie verwenden soll.
+     * @return Die neue Strategie.
+     */
+    ShotStrategy create(int width, int height, SplittableRandom random);
+
+    /**
+     * @brief Gibt zurück, ob die Strategie die vorberechneten Eröffnungen aus dem OpeningBook spielen darf. Das ist nur
+     *        sinnvoll, wenn die Strategie ohne Treffer nach der Dichte der möglichen Platzierungen schießt.
+     * @return true, wenn die Eröffnungen gespielt werden dürfen.
+     */
+    default boolean usesOpeningBook() {
+        return false;
+    }
+}
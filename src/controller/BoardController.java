@@ -4,6 +4,7 @@
 
 package controller;
 
+import engine.GameEngine;
 import model.*;
 import view.*;
 import utils.*;
@@ -15,12 +16,14 @@ import java.awt.event.*;
 /**
  * @class BoardController
  * @brief Verantwortlich für die Steuerung und Aktualisierung der Spielfelder im Spiel.
- * Diese Klasse koordiniert die Interaktionen von Spielern mit den Boards. Dabei werden Daten aus GameModel geholt und
- * verändert und in der GameView angezeigt. Damit aktualisiert den Spielzustand.
+ * Diese Klasse koordiniert die Interaktionen von Spielern mit den Boards. Schüsse werden an die GameEngine
+ * weitergegeben, die die Spielregeln anwendet, und ihr Ergebnis wird in der GameView angezeigt.
  */
 public class BoardController {
     // Instanz die Daten hält
     private GameModel gameModel;
+    // Die Engine, welche die Schüsse nach den Spielregeln ausführt
+    private GameEngine gameEngine;
     // Instanz der Spielansicht
     private GameView gameView;
     //übergeordnete Controller
@@ -28,12 +31,13 @@ public class BoardController {
 
     /**
      * @brief Konstruktor, der den BoardController initialisiert.
-     * @param gameModel Die Daten des Spiels.
+     * @param gameEngine Die Engine des Spiels.
      * @param gameView Die Ansicht des Spiels.
      * @param gameController Der übergeordnete GameController.
      */
-    public BoardController(GameModel gameModel, GameView gameView, GameController gameController) {
-        this.gameModel = gameModel;
+    public BoardController(GameEngine gameEngine, GameView gameView, GameController gameController) {
+        this.gameEngine = gameEngine;
+        this.gameModel = gameEngine.getGameModel();
         this.gameView = gameView;
         this.gameController = gameController;
     }
@@ -46,6 +50,7 @@ public class BoardController {
      */
     public void startGameListeners() {
         this.gameView.getGameControlView().getPauseGameButton().addActionListener(e -> JOptionPane.showMessageDialog(gameView, "Spiel ist pausiert!"));
+        this.gameView.getGameControlView().getSaveGameButton().addActionListener(e -> this.gameController.saveGame());
         this.gameView.getGameControlView().getEndGameButton().addActionListener(e -> System.exit(0));
         this.gameView.getPlayerBoardOne().setBoardClickListener(this::handleBoardClick);
         this.gameView.getPlayerBoardTwo().setBoardClickListener(this::handleBoardClick);
@@ -201,16 +206,16 @@ public class BoardController {
         }
         BoardView clickedBoardView = (BoardView) parent;
         // Logik zum Umgang mit dem MausEvent
-        this.processBoardClick(row, col, clickedBoardView, label);
+        this.processBoardClick(row, col, clickedBoardView);
     }
 
     /**
-     * @brief Ermittelt das BoardModel für eine gegebene BoardView.
-     * @param boardView Die BoardView, für die das BoardModel ermittelt werden soll.
-     * @return Das zugehörige BoardModel.
+     * @brief Ermittelt den Spieler, dem eine gegebene BoardView gehört.
+     * @param boardView Die BoardView, für die der Spieler ermittelt werden soll.
+     * @return Der zugehörige Spieler.
      */
-    private BoardModel getBoardModelForView(BoardView boardView) {
-        return (boardView == this.gameView.getPlayerBoardOne()) ? this.gameModel.getPlayerOne().getBoard() : this.gameModel.getPlayerTwo().getBoard();
+    private PlayerModel getPlayerForView(BoardView boardView) {
+        return (boardView == this.gameView.getPlayerBoardOne()) ? this.gameModel.getPlayerOne() : this.gameModel.getPlayerTwo();
     }
 
     /**
@@ -218,51 +223,42 @@ public class BoardController {
      * @param row Die angeklickte Zeile.
      * @param col Die angeklickte Spalte.
      * @param clickedBoardView Die Ansicht des angeklickten Spielfelds.
-     * @param label Das JLabel des angeklickten Feldes.
      *
      * Führt die Hauptlogik für einen Spielzug aus, einschließlich der Überprüfung auf Treffer
      * und der Aktualisierung des Spielzustands.
      */
-    private void processBoardClick(int row, int col, BoardView clickedBoardView, JLabel label) {
+    private void processBoardClick(int row, int col, BoardView clickedBoardView) {
         PlayerModel currentPlayer = this.gameModel.getCurrentPlayer();
-        BoardModel currentBoardModel = currentPlayer.getBoard();
-        BoardModel clickedBoard = this.getBoardModelForView(clickedBoardView);
+        PlayerModel clickedPlayer = this.getPlayerForView(clickedBoardView);
 
-        if (this.gameModel.getGameState() == GameState.NORMAL && clickedBoard == currentBoardModel) {
+        if (this.gameModel.getGameState() == GameState.NORMAL && clickedPlayer == currentPlayer) {
             this.gameView.getGameInfoView().updateStatusMessageLabel(currentPlayer.getPlayerName() + " greife das Board des Gegners an!");
             return;
         }
         // Verarbeitung des Mausklicks
-        boolean hitShip = this.checkStatusOfClick(row, col, clickedBoardView, clickedBoard, label);
-        // Entscheidet die Spielerwechsel
-        this.changeClickRow(hitShip);
+        this.checkStatusOfClick(row, col, clickedBoardView, clickedPlayer);
+        // Lässt den nächsten Spieler ziehen
+        this.continueAfterShot();
         // Spielansicht wird aktualisiert
         this.updateGameView();
     }
 
     /**
-     * @brief Verarbeitet den Status des angeklickten Feldes und wechselt gegebenenfalls den Spieler.
-     * @param hitShip Gibt an, ob ein Schiff getroffen wurde.
+     * @brief Setzt das Spiel nach einem Schuss fort. Den Spielerwechsel hat die GameEngine bereits vorgenommen.
      *
-     * Überprüft, ob das Spiel beendet ist, wechselt den Spieler wenn nötig und
-     * initiiert den nächsten Zug oder Computerzug.
+     * Startet den nächsten Zug oder lässt den Computer ziehen, wenn er am Zug ist. Nach dem letzten Schuss zeigt der
+     * GameController den Game Over Bildschirm an.
      */
-    private void changeClickRow(boolean hitShip) {
-        BoardModel opponentBoard = (this.gameModel.getCurrentPlayer() == this.gameModel.getPlayerOne()) ?
-                this.gameModel.getPlayerTwo().getBoard() : this.gameModel.getPlayerOne().getBoard();
-        if (opponentBoard.allShipsAreHit()) {
-            this.gameController.showGameOverScreen();
-        } else {
-            if (this.gameModel.getGameState() == GameState.NORMAL || this.gameModel.getGameState() == GameState.COMPUTER) {
-                if (!hitShip) {
-                    this.gameModel.switchPlayer();
-                }
-                if (!(this.gameModel.getCurrentPlayer() instanceof ComputerPlayerModel)) {
-                    SwingUtilities.invokeLater(this.gameController::runGameLoop);
-                } else {
-                    this.gameController.makeComputerMove();
-                    this.updateGameView();
-                }
+    private void continueAfterShot() {
+        if (this.gameEngine.isGameOver()) {
+            return;
+        }
+        if (this.gameModel.getGameState() == GameState.NORMAL || this.gameModel.getGameState() == GameState.COMPUTER) {
+            if (!(this.gameModel.getCurrentPlayer() instanceof ComputerPlayerModel)) {
+                SwingUtilities.invokeLater(this.gameController::runGameLoop);
+            } else {
+                this.gameController.makeComputerMove();
+                this.updateGameView();
             }
         }
     }
@@ -272,75 +268,33 @@ public class BoardController {
      * @param row Die angeklickte Zeile.
      * @param col Die angeklickte Spalte.
      * @param clickedBoardView Die Ansicht des angeklickten Spielfelds.
-     * @param opponentBoardModel Das BoardModel des Gegners.
-     * @param label Das JLabel des angeklickten Feldes.
-     * @return true, wenn ein Schiff getroffen wurde; false sonst.
+     * @param opponent Der Spieler, dessen Board angeklickt wurde.
      *
      * Verarbeitet den Klick auf ein Feld, aktualisiert den Spielstatus und die Ansicht entsprechend.
      */
-    private boolean checkStatusOfClick(int row, int col, BoardView clickedBoardView, BoardModel opponentBoardModel, JLabel label) {
+    private void checkStatusOfClick(int row, int col, BoardView clickedBoardView, PlayerModel opponent) {
         PlayerModel currentPlayer = this.gameModel.getCurrentPlayer();
-        CellModel cell = opponentBoardModel.getCell(row, col);
-        // Aktualisiert die Gesamtanzahl der Klicks für einen Spieler
-        currentPlayer.getPlayerStatus().updateTotalClicks();
-        boolean hitShip = false;
+        BoardModel opponentBoardModel = opponent.getBoard();
+        // Schießt über die Engine auf das Board, die das Ergebnis zählt und den Spielerwechsel vornimmt
+        ShotResult shotResult = this.gameEngine.fireAt(opponent, row, col);
 
-        switch (cell.getCellState()) {
-            case FREE:
+        switch (shotResult.getType()) {
+            case MISS:
                 // Spieler hat ein Schiff verfehlt
-                clickedBoardView.markAsMiss(label);
+                clickedBoardView.updateCell(row, col, opponentBoardModel);
                 this.gameView.getGameInfoView().updateStatusMessageLabel(currentPlayer.getPlayerName() + " hat nicht getroffen");
                 break;
-            case SET:
-                // Gibt an welches Schiff getroffen wurde.
-                ShipModel ship = opponentBoardModel.registerHit(row, col);
-                // Aktualisiert der restlichen Statistiken der Klicks für einen Spieler
-                currentPlayer.getPlayerStatus().calculateHits(opponentBoardModel);
-                currentPlayer.getPlayerStatus().calculateShunkShips(opponentBoardModel);
-
-                hitShip = true;
+            case HIT:
                 this.gameView.getGameInfoView().updateStatusMessageLabel(currentPlayer.getPlayerName() + " hat getroffen");
-                if (ship != null && ship.isSunk()) {
-                    // Deckt die Zellen um das Schiff auf, wenn es gesunken ist
-                    clickedBoardView.updateRevealedShip(ship);
-                    this.gameView.getGameInfoView().updateStatusMessageLabel(currentPlayer.getPlayerName() + " hat ein Schiff versenkt");
-                    this.markSurroundingCellsAsMiss(ship, clickedBoardView, opponentBoardModel);
-                }
+                break;
+            case SUNK:
+                // Zeigt das versenkte Schiff und die vom Model aufgedeckten Zellen um das Schiff an
+                clickedBoardView.updateShipArea(opponentBoardModel.getShip(shotResult.getShipId()), opponentBoardModel);
+                this.gameView.getGameInfoView().updateStatusMessageLabel(currentPlayer.getPlayerName() + " hat ein Schiff versenkt");
                 break;
             default:
-                this.gameView.getGameInfoView().updateStatusMessageLabel(currentPlayer.getPlayerName() + " kann ein bereits getroffenes Schiff nicht nochmal angreifen");
-                return false;
-        }
-        return hitShip;
-    }
-
-    /**
-     * @brief Markiert die umgebenden Felder eines versenkten Schiffes als verfehlt.
-     * @param ship Das versenkte Schiff.
-     * @param opponent Die Ansicht des gegnerischen Spielfeldes.
-     * @param opponentBoardModel Das BoardModel des Gegners.
-     *
-     * Markiert alle Felder um ein versenktes Schiff herum als Fehlschüsse,
-     * um anzuzeigen, dass dort keine weiteren Schiffe sein können.
-     */
-    public void markSurroundingCellsAsMiss(ShipModel ship, BoardView opponent, BoardModel opponentBoardModel) {
-        for (CellModel cell : ship.getShipCells()) {
-
-            int startX = Math.max(0, cell.getX() - 1);
-            int endX = Math.min(9, cell.getX() + 1);
-            int startY = Math.max(0, cell.getY() - 1);
-            int endY = Math.min(9, cell.getY() + 1);
-
-            for (int x = startX; x <= endX; x++) {
-                for (int y = startY; y <= endY; y++) {
-                    CellModel surroundingCell = opponentBoardModel.getCell(x, y);
-                    // Wenn die Zelle um die Schiffszelle kein Schiff ist, wird sie aufgedeckt.
-                    if (surroundingCell.getCellState() == CellState.FREE) {
-                        JLabel surroundingLabel = opponent.getLabelForCell(x, y);
-                        opponent.markAsMiss(surroundingLabel);
-                    }
-                }
-            }
+                this.gameView.getGameInfoView().updateStatusMessageLabel(currentPlayer.getPlayerName() + " kann ein bereits beschossenes Feld nicht nochmal angreifen");
+                break;
         }
     }
 }
\ No newline at end of file
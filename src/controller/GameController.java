@@ -4,22 +4,28 @@
 
 package controller;
 
+import engine.GameEngine;
+import engine.GameListener;
 import model.*;
+import persistence.SaveGame;
 import view.*;
 import utils.*;
 
 import javax.swing.*;
+import java.io.IOException;
+import java.nio.file.Paths;
 
 /**
  * @brief Hauptkontrollklasse für das Spiel.
- *        Diese Klasse koordiniert die Interaktionen zwischen dem GameModel mit den Daten und der GameView
- *        der Spielansicht.
- *        Sie koordiniert den Spielablauf, das Setzen und Anzeigen von Spielaktionen und die Übergänge zwischen
- *        verschiedenen Spielzuständen.
+ *        Diese Klasse verbindet die GameEngine, welche die Spielregeln ausführt, mit der GameView der Spielansicht.
+ *        Sie gibt die Eingaben des Startbildschirms an die Engine weiter, zeigt deren Ereignisse an und steuert die
+ *        Übergänge zwischen den Ansichten.
  */
-public class GameController {
+public class GameController implements GameListener {
     // Instanz der Spieldaten
     private GameModel gameModel;
+    // Die Engine, welche die Partie nach den Spielregeln ausführt
+    private GameEngine gameEngine;
     // Instanz der Spielansicht
     private GameView gameView;
     // Instanz des Startbildschirms
@@ -28,6 +34,8 @@ public class GameController {
     private BoardController boardController;
     // Instanz die, die Schiffe steuert
     private ShipController shipController;
+    // Gibt an, ob der nächste Schuss des Computers bereits im Event-Dispatch-Thread eingeplant ist
+    private boolean computerMoveScheduled;
 
     /**
      * @brief Konstruktor für den GameController, der alle Variablen setzt.
@@ -37,10 +45,12 @@ public class GameController {
      */
     public GameController(GameModel gameModel, GameView gameView, HomeScreenView homeScreenView) {
         this.gameModel = gameModel;
+        this.gameEngine = new GameEngine(gameModel);
         this.gameView = gameView;
         this.homeScreenView = homeScreenView;
-        this.boardController = new BoardController(gameModel, gameView, this);
-        this.shipController = new ShipController(gameModel, gameView);
+        this.boardController = new BoardController(this.gameEngine, gameView, this);
+        this.shipController = new ShipController(this.gameEngine, gameView);
+        this.gameEngine.addListener(this);
 
         this.startHomeScreenListeners();
     }
@@ -52,6 +62,7 @@ public class GameController {
         this.homeScreenView.getLocalGameButton().addActionListener(e -> startGame(GameState.NORMAL));
         this.homeScreenView.getComputerGameButton().addActionListener(e -> startGame(GameState.COMPUTER));
         this.homeScreenView.getDebugModeButton().addActionListener(e -> startGame(GameState.DEBUG));
+        this.homeScreenView.getLoadGameButton().addActionListener(e -> resumeGame());
         this.homeScreenView.getExitButton().addActionListener(e -> System.exit(0));
     }
 
@@ -71,17 +82,61 @@ public class GameController {
      */
     private void prepareGameStart(GameState gameState) {
         this.homeScreenView.setVisible(false);
-        this.gameModel.setGameState(gameState);
+        this.gameModel.setBoardSize(this.homeScreenView.getBoardSize());
+        this.gameModel.setComputerStrategy(this.homeScreenView.getStrategyId());
         this.initializePlayers(gameState);
+        this.showGameView();
+    }
+
+    /**
+     * @brief Zeigt die Spielansicht für die angelegte Partie an und startet die Actionlistner des BoardControllers.
+     */
+    private void showGameView() {
         this.gameView.setVisible(true);
         this.gameView.setupGameInterface(this.gameModel.getPlayerOne(), this.gameModel.getPlayerTwo());
         this.gameView.updateGameModePanel(detectGameMode());
-        this.gameModel.startGame();
         this.boardController.startGameListeners();
     }
 
     /**
-     * @brief Initialisiert die Spieler basierend auf dem Spielzustand und setzt sie ins gameModel.
+     * @brief Setzt das gespeicherte Spiel fort. Namen und Schiffsplatzierung entfallen, die Partie wird mit den
+     *        gespeicherten Boards, Statistiken und dem Spieler am Zug angezeigt. Kann der Spielstand nicht geladen
+     *        werden, bleibt der Startbildschirm geöffnet.
+     */
+    public void resumeGame() {
+        try {
+            SaveGame.load(this.gameEngine, Paths.get(SaveGame.DEFAULT_PATH));
+        } catch (IOException e) {
+            JOptionPane.showMessageDialog(this.homeScreenView, "Das Spiel konnte nicht geladen werden: " + e.getMessage());
+            return;
+        }
+        this.homeScreenView.setVisible(false);
+        this.showGameView();
+        if (this.gameModel.getGameState() != GameState.DEBUG) {
+            this.gameView.getPlayerBoardOne().createLabelForBoard();
+            this.gameView.getPlayerBoardTwo().createLabelForBoard();
+        }
+        this.runGameLoop();
+        if (this.gameEngine.isGameOver()) {
+            this.gameOver(this.gameEngine.getWinner());
+        }
+    }
+
+    /**
+     * @brief Speichert das laufende Spiel, sodass es vom Startbildschirm aus fortgesetzt werden kann. Ein vorhandener
+     *        Spielstand wird ersetzt.
+     */
+    public void saveGame() {
+        try {
+            SaveGame.save(this.gameEngine, Paths.get(SaveGame.DEFAULT_PATH));
+            this.gameView.getGameInfoView().updateStatusMessageLabel("Das Spiel wurde gespeichert");
+        } catch (IOException | IllegalStateException e) {
+            JOptionPane.showMessageDialog(this.gameView, "Das Spiel konnte nicht gespeichert werden: " + e.getMessage());
+        }
+    }
+
+    /**
+     * @brief Fragt die Namen der Spieler ab und legt mit ihnen eine neue Partie in der Engine an.
      * @param gameState Der aktuelle Spielzustand.
      */
     private void initializePlayers(GameState gameState) {
@@ -90,7 +145,7 @@ public class GameController {
         String playerTwoName = (gameState == GameState.NORMAL || gameState == GameState.DEBUG)
                 ? initializeOptionPanelForPlayerName("Bitte Namen für Spieler 2 eingeben:")
                 : "Default Player";
-        this.gameModel.createPlayerWithNames(playerOneName, playerTwoName);
+        this.gameEngine.createMatch(gameState, playerOneName, playerTwoName);
     }
 
     /**
@@ -135,9 +190,11 @@ public class GameController {
     }
 
     /**
-     * @brief Schließt die Schiffsplatzierung ab und entfernt die Panels der Spieler von der Schiffplatzierung
+     * @brief Schließt die Schiffsplatzierung ab, übernimmt die im Hintergrund gesuchte Flotte des Computers und
+     *        entfernt die Panels der Spieler von der Schiffplatzierung
      */
     private void endShipPlacement() {
+        this.gameEngine.finishPlacement();
         this.removePanelForShipPlacement();
     }
 
@@ -172,8 +229,8 @@ public class GameController {
     /**
      * @brief Führt die Hauptspielschleife aus. Dabei wird das gegnerische Board abgedeckt und die View update sich.
      *        Wenn sich das Game im Debug-Modus befindet, dann werden beide Boards aufgedeckt.
-     *        Wenn der Computer-Modus aktiv ist, dann wird überprüft, welcher Spieler an Zug ist und führt
-     *        einen Computerzug, wenn dieser dran ist.
+     *        Wenn der Computer-Modus aktiv ist, dann wird überprüft, welcher Spieler an Zug ist und plant
+     *        einen Computerzug als eigene Aufgabe im Event-Dispatch-Thread ein, wenn dieser dran ist.
 
      */
     public void runGameLoop() {
@@ -181,99 +238,99 @@ public class GameController {
 
         this.boardController.updateGameView();
 
+        if (this.gameEngine.isGameOver()) {
+            return;
+        }
         if (this.gameModel.getGameState() == GameState.DEBUG) {
             this.boardController.enableBothBoards();
         } else {
             this.boardController.toggleBoardsForCurrentPlayer();
-            if (!(this.gameModel.getCurrentPlayer() instanceof ComputerPlayerModel)) {
+            if (!(this.gameModel.getCurrentPlayer() instanceof ComputerPlayerModel) || this.computerMoveScheduled) {
                 return;
             }
-            this.makeComputerMove();
+            this.computerMoveScheduled = true;
+            SwingUtilities.invokeLater(this::makeComputerMove);
         }
     }
 
     /**
      * @brief Zeigt den Game Over Bildschirm an, wenn ein Spieler gewonnen hat.
+     * @param winner Der Gewinner der Partie.
      */
-    public void showGameOverScreen() {
-        String winner = this.gameModel.getCurrentPlayer().getPlayerName();
-        this.gameView.showGameOverDialog(winner);
+    public void showGameOverScreen(PlayerModel winner) {
+        this.gameView.showGameOverDialog(winner.getPlayerName());
         System.exit(0);
     }
 
     /**
-     * @brief Führt den Zug des Computerspielers aus. Der Computer ist so lange am Zug wie sein Zu ein Schiff getroffen hat.
-     *        Wenn er nicht trifft, dann switcht der Spieler und der GameLoop startet.
+     * @brief Lässt den Computer über die Engine einen Schuss abgeben und startet danach den GameLoop. Trifft der
+     *        Computer, bleibt er am Zug und der GameLoop plant seinen nächsten Schuss ein. Der Event-Dispatch-Thread
+     *        ist so je Aufruf höchstens für die Frist eines Zuges blockiert, und die Ansicht wird zwischen den Schüssen
+     *        gezeichnet.
      */
     public void makeComputerMove() {
-        boolean hit;
-        do {
-            this.gameModel.getPlayerTwo().getPlayerStatus().updateTotalClicks();
-            hit = this.showComputerMoveHit();
-            if(hit){
-                for( ShipModel ship : this.gameModel.getPlayerOne().getBoard().getPlayerShips()){
-                    ship.checkShipStatus();
-                }
-            }
-            this.updateGameAfterMove();
-        } while (hit && !this.gameModel.isGameOver());
-        this.gameModel.switchPlayer();
-        this.runGameLoop();
+        this.computerMoveScheduled = false;
+        if (this.gameEngine.playComputerTurn()) {
+            this.runGameLoop();
+        }
     }
 
     /**
-     * @brief Überprüft, ob der Zug vom Computer ein Schiff getroffen hat.
-     * @return true, wenn der Zug ein Treffer war.
+     * @brief Zeigt einen Schuss des Computers auf dem Board des Spielers an. Schüsse der Spieler zeigt der
+     *        BoardController selbst an.
+     * @param shooter Der schießende Spieler.
+     * @param target Der beschossene Spieler.
+     * @param cordX Die X-Koordinate des Schusses.
+     * @param cordY Die Y-Koordinate des Schusses.
+     * @param shotResult Das Ergebnis des Schusses.
      */
-    private boolean showComputerMoveHit() {
-        if (!(this.gameModel.getCurrentPlayer() instanceof ComputerPlayerModel)) {
-            return false;
+    @Override
+    public void shotFired(PlayerModel shooter, PlayerModel target, int cordX, int cordY, ShotResult shotResult) {
+        if (!(shooter instanceof ComputerPlayerModel)) {
+            return;
         }
-
-        boolean hit = ((ComputerPlayerModel) this.gameModel.getCurrentPlayer()).makeMove(this.gameModel.getPlayerOne());
-        int lastX = ((ComputerPlayerModel) this.gameModel.getCurrentPlayer()).getLastMoveX();
-        int lastY = ((ComputerPlayerModel) this.gameModel.getCurrentPlayer()).getLastMoveY();
-        for (ShipModel ship : this.gameModel.getPlayerOne().getBoard().getPlayerShips()){
-            if(ship.isSunk()){
-                this.gameView.getPlayerBoardOne().updateRevealedShip(ship);
-                this.boardController.markSurroundingCellsAsMiss(ship, this.gameView.getPlayerBoardOne(),this.gameModel.getPlayerOne().getBoard());
-            }
+        BoardModel playerBoard = target.getBoard();
+        if (shotResult.isSunk()) {
+            this.gameView.getPlayerBoardOne().updateShipArea(playerBoard.getShip(shotResult.getShipId()), playerBoard);
         }
-        this.updatePlayerBoardAfterComputerMove(lastX, lastY);
-        return hit;
+        this.updatePlayerBoardAfterComputerMove(cordX, cordY, shotResult);
+        this.updateGameAfterMove();
+    }
+
+    /**
+     * @brief Zeigt den Game Over Bildschirm an, sobald die aktuelle Eingabe vollständig angezeigt wurde.
+     * @param winner Der Gewinner der Partie.
+     */
+    @Override
+    public void gameOver(PlayerModel winner) {
+        SwingUtilities.invokeLater(() -> this.showGameOverScreen(winner));
     }
 
     /**
      * @brief Aktualisiert das Board eines Spielers nach einem Zug eines Computers.
      * @param lastX X-Koordinate des letzten Zuges.
      * @param lastY Y-Koordinate des letzten Zuges.
+     * @param shotResult Das Ergebnis des letzten Zuges.
      */
-    private void updatePlayerBoardAfterComputerMove(int lastX, int lastY) {
+    private void updatePlayerBoardAfterComputerMove(int lastX, int lastY, ShotResult shotResult) {
         BoardView playerBoardView = this.gameView.getPlayerBoardOne();
-        CellModel targetCell = this.gameModel.getPlayerOne().getBoard().getCell(lastX, lastY);
 
-        if (targetCell.getCellState() == CellState.FREE) {
+        if (shotResult.getType() == ShotType.MISS) {
             // Wenn das Schiff verfehlt wurde, wird dies auf dem Board angezeigt
-            playerBoardView.markAsMiss(playerBoardView.getLabelForCell(lastX, lastY));
-        } else if (targetCell.getCellState() == CellState.SET) {
+            playerBoardView.updateCell(lastX, lastY, this.gameModel.getPlayerOne().getBoard());
+        } else if (shotResult.isHit()) {
             // Treffer wird auf dem Board angezeigt
             playerBoardView.updateBoard(this.gameModel.getPlayerOne().getBoard());
         }
     }
 
     /**
-     * @brief Aktualisiert das Die Statistiken im gameMOdel für die Spieler und updatet nach einem Zug.
+     * @brief Aktualisiert die Statistikanzeigen und Boards der Spieler nach einem Zug.
      */
     private void updateGameAfterMove() {
-        this.gameModel.getPlayerTwo().getPlayerStatus().calculateShunkShips(this.gameModel.getPlayerOne().getBoard());
-        this.gameModel.getPlayerTwo().getPlayerStatus().calculateHits(this.gameModel.getPlayerOne().getBoard());
         this.gameView.getStatsViewOne().updateStats(this.gameModel.getPlayerTwo());
         this.gameView.getStatsViewTwo().updateStats(this.gameModel.getPlayerOne());
         this.gameView.getPlayerBoardOne().updateBoard(this.gameModel.getPlayerOne().getBoard());
         this.gameView.getPlayerBoardTwo().updateBoard(this.gameModel.getPlayerTwo().getBoard());
-
-        if (this.gameModel.isGameOver()) {
-            this.showGameOverScreen();
-        }
     }
-}
\ No newline at end of file
+}
@@ -4,6 +4,7 @@
 
 package controller;
 
+import engine.GameEngine;
 import model.*;
 import view.*;
 
@@ -24,6 +25,8 @@ import java.util.List;
 public class ShipController {
     // Instanz die Daten hält
     private GameModel gameModel;
+    // Die Engine, über welche die Schiffe platziert werden
+    private GameEngine gameEngine;
     // Instanz die Spielansicht hält
     private GameView gameView;
     // Index des aktuell zu platzierenden Schiffs
@@ -34,17 +37,23 @@ public class ShipController {
     private List<Integer> playerOneShips;
     // Liste der Schiffsgrößen für Spieler 2
     private List<Integer> playerTwoShips;
+    // Zelle, Ausrichtung und Schiff der zuletzt geprüften Vorschau, -1 wenn keine Prüfung vorliegt
+    private long previewKey;
+    // Ergebnis der zuletzt geprüften Vorschau
+    private boolean previewValid;
 
     /**
      * @brief Konstruktor für den ShipController der die Klassenvariablen setzt.
-     * @param gameModel Instanz der GameModel die Daten.
+     * @param gameEngine Die Engine des Spiels.
      * @param gameView Die Spielansicht.
      */
-    public ShipController(GameModel gameModel, GameView gameView) {
-        this.gameModel = gameModel;
+    public ShipController(GameEngine gameEngine, GameView gameView) {
+        this.gameEngine = gameEngine;
+        this.gameModel = gameEngine.getGameModel();
         this.gameView = gameView;
         this.currentShipIndex = 0;
         this.isHorizontal = true;
+        this.previewKey = -1;
 
         this.initializeShipLists();
     }
@@ -178,9 +187,8 @@ public class ShipController {
         currentBoard.updateBoard(currentPlayer.getBoard());
         // Entfernt die blauen Labels vom Board
         currentBoard.removeGraphics();
-        this.gameModel.resetShipPlacement();
         // wechselt den Spieler
-        this.gameModel.switchPlayer();
+        this.gameEngine.nextPlacementTurn();
     }
 
     /**
@@ -255,71 +263,53 @@ public class ShipController {
 
         int shipSize = remainingShips.get(currentShipIndex);
 
-        // Überprüfe, ob die Platzierung gültig ist und platziere das Schiff
-        if (this.currentShipIndex < remainingShips.size() && this.gameModel.placeNextShip(x, y, shipSize, !this.isHorizontal)) {
+        // Überprüfe, ob die Platzierung gültig ist und die übrigen Schiffe danach noch passen
+        if (!this.isSafePlacement(x, y, shipSize, remainingShips)) {
+            JOptionPane.showMessageDialog(this.gameView, this.isValidPlacement(x, y, shipSize)
+                    ? "Mit dieser Platzierung können die restlichen Schiffe nicht mehr platziert werden. Versuche es erneut."
+                    : "Ungültige Schiffsplatzierung. Versuche es erneut.");
+            return;
+        }
+
+        if (this.gameEngine.placeShip(x, y, shipSize, !this.isHorizontal)) {
             board.addGraphicsToCells(x, y, shipSize, this.isHorizontal);
             remainingShips.remove(this.currentShipIndex);
+            this.previewKey = -1;
 
             if (remainingShips.isEmpty()) {
                 completePlacement(board, onComplete);
             } else {
                 shrinkShipIndex(remainingShips);
-                // Überprüfe, ob die verbleibenden Schiffe noch platziert werden können
-                if (!canPlaceRemainingShips(remainingShips)) {
-                    // Spiel ist vorbei, wenn kein Schiff mehr platziert werden kann.
-                    showGameOverDialog();
-                }
             }
-        } else {
-            JOptionPane.showMessageDialog(this.gameView, "Ungültige Schiffsplatzierung. Versuche es erneut.");
         }
     }
 
     /**
-     * @brief Überprüft, ob alle verbleibenden Schiffe platziert werden können.
-     * @param remainingShips Liste der verbleibenden Schiffe.
-     * @return true, wenn alle Schiffe platziert werden können, sonst false.
-     *
-     * Durchläuft alle möglichen Positionen und Ausrichtungen für jedes verbleibende Schiff,
-     * um zu prüfen, ob eine gültige Platzierung möglich ist.
+     * @brief Überprüft, ob das Schiff an der angegebenen Stelle gültig platziert werden kann.
+     * @param x Die Zeile des Startpunktes.
+     * @param y Die Spalte des Startpunktes.
+     * @param shipSize Die Länge des Schiffs.
+     * @return true, wenn die Platzierung gültig ist.
      */
-    private boolean canPlaceRemainingShips(List<Integer> remainingShips) {
-        BoardModel currentBoard = this.gameModel.getCurrentPlayer().getBoard();
-        // Überprüft ob die Restlichen Schiffgrößen platziert werden können
-        for (Integer shipSize : remainingShips) {
-            // default wert ist false, wenn platziert werden kann, dann ändert er sich zu true
-            boolean canPlace = false;
-            for (int x = 0; x < 10; x++) {
-                for (int y = 0; y < 10; y++) {
-                    // Überprüft alle möglichen Schiffe platzierungen auf dem Board
-                    if (currentBoard.isValidShipPlacement(x, y, true, shipSize) ||
-                            currentBoard.isValidShipPlacement(x, y, false, shipSize)) {
-                        canPlace = true;
-                        break;
-                    }
-                }
-                if (canPlace){
-                    break;
-                }
-            }
-            if (!canPlace) {
-                return false;
-            }
-        }
-        return true;
+    private boolean isValidPlacement(int x, int y, int shipSize) {
+        return this.gameModel.getCurrentPlayer().getBoard().isValidShipPlacement(x, y, !this.isHorizontal, shipSize);
     }
 
     /**
-     * @brief Zeigt einen Dialog an, der das Spiel beendet.
+     * @brief Überprüft, ob das Schiff an der angegebenen Stelle platziert werden kann, ohne dass die restlichen Schiffe
+     *        danach nicht mehr auf das Board passen.
+     * @param x Die Zeile des Startpunktes.
+     * @param y Die Spalte des Startpunktes.
+     * @param shipSize Die Länge des Schiffs.
+     * @param remainingShips Liste der verbleibenden Schiffe, einschließlich des zu platzierenden Schiffs.
+     * @return true, wenn die Platzierung gültig ist und alle restlichen Schiffe danach noch platziert werden können.
      *
-     * Wird aufgerufen, wenn keine gültige Platzierung für die verbleibenden Schiffe möglich ist und beendet das Spiel.
+     * Die Prüfung ist exakt und berücksichtigt, dass sich die restlichen Schiffe gegenseitig den Platz nehmen.
      */
-    private void showGameOverDialog() {
-        JOptionPane.showMessageDialog(this.gameView,
-                "Es können nicht alle Schiffe platziert werden. Das Spiel muss neu gestartet werden.",
-                "Spiel beendet",
-                JOptionPane.ERROR_MESSAGE);
-        System.exit(0);
+    private boolean isSafePlacement(int x, int y, int shipSize, List<Integer> remainingShips) {
+        List<Integer> otherShips = new ArrayList<>(remainingShips);
+        otherShips.remove(this.currentShipIndex);
+        return this.gameModel.getCurrentPlayer().getBoard().canPlaceShipAndFleet(x, y, !this.isHorizontal, shipSize, otherShips);
     }
 
     /**
@@ -388,6 +378,25 @@ public class ShipController {
         int x = (mouseX / board.getCellSize()) * board.getCellSize();
         int y = (mouseY / board.getCellSize()) * board.getCellSize();
 
-        board.updateShipPreview(x, y, width, height);
+        board.updateShipPreview(x, y, width, height, this.isPreviewValid(mouseY / board.getCellSize(), mouseX / board.getCellSize(), remainingShips));
+    }
+
+    /**
+     * @brief Überprüft, ob die Vorschau an der angegebenen Zelle eine erlaubte Platzierung zeigt.
+     * @param row Die Zeile unter der Maus.
+     * @param col Die Spalte unter der Maus.
+     * @param remainingShips Liste der verbleibenden Schiffe.
+     * @return true, wenn das Schiff dort platziert werden kann.
+     *
+     * Das Ergebnis wird für die zuletzt geprüfte Zelle gemerkt, da Mausbewegungen innerhalb einer Zelle
+     * keine neue Prüfung erfordern.
+     */
+    private boolean isPreviewValid(int row, int col, List<Integer> remainingShips) {
+        long key = ((((long) row << 16 | col) << 8 | this.currentShipIndex) << 8 | remainingShips.size()) << 1 | (this.isHorizontal ? 1 : 0);
+        if (key != this.previewKey) {
+            this.previewValid = this.isSafePlacement(row, col, remainingShips.get(this.currentShipIndex), remainingShips);
+            this.previewKey = key;
+        }
+        return this.previewValid;
     }
 }
\ No newline at end of file
@@ -0,0 +1,414 @@
+/**
+ * @file GameEngine.java
+ */
+
+package engine;
+
+import model.ComputerPlayerModel;
+import model.GameModel;
+import model.MoveLog;
+import model.PlayerModel;
+import model.ShotResult;
+import utils.GamePhase;
+import utils.GameState;
+import utils.ShotType;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.SplittableRandom;
+
+/**
+ * @class GameEngine
+ * @brief Führt eine Partie ohne Oberfläche nach den Spielregeln aus: Partie anlegen, Flotten platzieren, schießen,
+ *        den Zustand abfragen und Ereignisse abonnieren.
+ *        Wer nicht trifft, gibt den Zug ab, im Debug-Modus bleibt der Spieler am Zug. Ein bereits beschossenes Feld
+ *        zählt nicht als Zug. Die Engine arbeitet direkt auf dem GameModel und benötigt weder Swing noch ein Display,
+ *        sodass Partien auf Servern und in Benchmarks so schnell laufen wie das Modell selbst. Die Swing-Controller
+ *        sind nur noch Adapter, die Eingaben an die Engine weitergeben und ihre Ereignisse anzeigen.
+ *        Eine Engine ist nicht threadsicher und wird von genau einem Thread bedient.
+ */
+public class GameEngine {
+    // Die Daten der Partie
+    private final GameModel gameModel;
+    // Die angemeldeten Beobachter
+    private final List<GameListener> listeners;
+    // Der aktuelle Abschnitt der Partie, null solange keine Partie angelegt wurde
+    private GamePhase phase;
+    // Der Gewinner der Partie oder null, solange sie läuft
+    private PlayerModel winner;
+
+    /**
+     * @brief Konstruktor, der eine Engine mit einem neuen GameModel erstellt.
+     */
+    public GameEngine() {
+        this(new GameModel());
+    }
+
+    /**
+     * @brief Konstruktor, der eine Engine über einem vorhandenen GameModel erstellt.
+     * @param gameModel Die Daten der Partie.
+     */
+    public GameEngine(GameModel gameModel) {
+        this.gameModel = gameModel;
+        this.listeners = new ArrayList<>();
+    }
+
+    /**
+     * @brief Gibt die Daten der Partie zurück, etwa um Spielfeldgröße und Strategie des Computers festzulegen.
+     * @return Das GameModel der Partie.
+     */
+    public GameModel getGameModel() {
+        return this.gameModel;
+    }
+
+    /**
+     * @brief Meldet einen Beobachter an.
+     * @param listener Der Beobachter.
+     */
+    public void addListener(GameListener listener) {
+        this.listeners.add(listener);
+    }
+
+    /**
+     * @brief Meldet einen Beobachter ab.
+     * @param listener Der Beobachter.
+     */
+    public void removeListener(GameListener listener) {
+        this.listeners.remove(listener);
+    }
+
+    /**
+     * @brief Legt eine neue Partie im angegebenen Spielmodus an. Im Debug-Modus werden beide Flotten zufällig
+     *        platziert und die Partie beginnt sofort, sonst beginnt die Schiffsplatzierung.
+     * @param gameState Der Spielmodus.
+     * @param playerOneName Der Name des ersten Spielers.
+     * @param playerTwoName Der Name des zweiten Spielers, im Computer-Modus ohne Bedeutung.
+     */
+    public void createMatch(GameState gameState, String playerOneName, String playerTwoName) {
+        this.gameModel.setGameState(gameState);
+        this.gameModel.createPlayerWithNames(playerOneName, playerTwoName);
+        this.startMatch();
+    }
+
+    /**
+     * @brief Legt eine neue Partie zwischen zwei vorhandenen Spielern an, etwa zwischen zwei Computergegnern. Es wird
+     *        nach den Regeln des normalen Spielmodus gespielt, beide Spieler platzieren ihre Schiffe selbst.
+     * @param playerOne Der erste Spieler.
+     * @param playerTwo Der zweite Spieler.
+     */
+    public void createMatch(PlayerModel playerOne, PlayerModel playerTwo) {
+        this.gameModel.setGameState(GameState.NORMAL);
+        this.gameModel.setPlayers(playerOne, playerTwo);
+        this.startMatch();
+    }
+
+    /**
+     * @brief Legt eine gespeicherte Partie mit ihrem Seed wieder an. Die Spieler und der Computergegner erhalten damit
+     *        dieselben Zufallsgeneratoren wie in der gespeicherten Partie. Danach werden die gespeicherten Flotten
+     *        direkt auf die Boards gesetzt und die Partie mit resumeBattle fortgesetzt.
+     * @param gameState Der Spielmodus.
+     * @param seed Der Seed der gespeicherten Partie.
+     * @param playerOneName Der Name des ersten Spielers.
+     * @param playerTwoName Der Name des zweiten Spielers, im Computer-Modus ohne Bedeutung.
+     */
+    public void resumeMatch(GameState gameState, long seed, String playerOneName, String playerTwoName) {
+        this.gameModel.setGameState(gameState);
+        this.gameModel.setSeed(seed);
+        this.gameModel.createPlayerWithNames(playerOneName, playerTwoName);
+        this.gameModel.resetShipPlacement();
+        this.winner = null;
+        this.phase = GamePhase.PLACEMENT;
+    }
+
+    /**
+     * @brief Setzt eine mit resumeMatch angelegte Partie fort, nachdem beide Flotten platziert wurden. Die gespielten
+     *        Schüsse werden erneut ausgeführt, ohne die Beobachter zu benachrichtigen, und die Computergegner bauen
+     *        ihr Wissen aus dem Board ihres Gegners auf. Endete die Partie mit dem letzten Schuss, ist sie danach
+     *        beendet.
+     * @param moves Alle Schüsse des Verlaufs, gepackt wie im MoveLog, einschließlich der zurückgenommenen.
+     * @param played Die Anzahl der gespielten Schüsse am Anfang von moves.
+     * @param currentPlayer Der Spieler, der am Zug ist, 0 für den ersten, 1 für den zweiten Spieler.
+     * @throws IllegalStateException Wenn keine Partie mit resumeMatch angelegt wurde.
+     * @throws IllegalArgumentException Wenn ein Schuss ein anderes Ergebnis hat als gespeichert.
+     */
+    public void resumeBattle(int[] moves, int played, int currentPlayer) {
+        if (this.phase != GamePhase.PLACEMENT) {
+            throw new IllegalStateException("Es wurde keine Partie zum Fortsetzen angelegt");
+        }
+        this.gameModel.restoreMoves(moves, played, currentPlayer);
+        this.phase = GamePhase.BATTLE;
+        if (played > 0) {
+            int last = moves[played - 1];
+            if (this.gameModel.playerAt(MoveLog.target(last)).getBoard().allShipsAreHit()) {
+                this.phase = GamePhase.GAME_OVER;
+                this.winner = this.gameModel.playerAt(MoveLog.shooter(last));
+            }
+        }
+        this.synchronizeComputers();
+        this.fireTurnChanged();
+    }
+
+    /**
+     * @brief Startet die angelegte Partie im GameModel und setzt den Abschnitt der Partie.
+     */
+    private void startMatch() {
+        this.winner = null;
+        this.gameModel.startGame();
+        this.phase = this.gameModel.getGameState() == GameState.DEBUG ? GamePhase.BATTLE : GamePhase.PLACEMENT;
+    }
+
+    /**
+     * @brief Platziert das nächste Schiff des aktuellen Spielers.
+     * @param startX Die X-Koordinate des Startpunktes.
+     * @param startY Die Y-Koordinate des Startpunktes.
+     * @param length Die Länge des Schiffes.
+     * @param horizontal Gibt an, ob das Schiff entlang der X-Achse liegt.
+     * @return true, wenn das Schiff platziert wurde.
+     */
+    public boolean placeShip(int startX, int startY, int length, boolean horizontal) {
+        if (this.phase != GamePhase.PLACEMENT) {
+            return false;
+        }
+        return this.gameModel.placeNextShip(startX, startY, length, horizontal);
+    }
+
+    /**
+     * @brief Platziert die gesamte Flotte eines Spielers zufällig mit einem Generator aus der Zufallsquelle der Partie.
+     * @param player Der Spieler, dessen Flotte platziert wird.
+     */
+    public void placeFleetRandomly(PlayerModel player) {
+        this.placeFleetRandomly(player, this.gameModel.splitRandom());
+    }
+
+    /**
+     * @brief Platziert die gesamte Flotte eines Spielers zufällig.
+     * @param player Der Spieler, dessen Flotte platziert wird.
+     * @param random Der Zufallsgenerator, der die Platzierung bestimmt.
+     */
+    public void placeFleetRandomly(PlayerModel player, SplittableRandom random) {
+        if (this.phase != GamePhase.PLACEMENT) {
+            throw new IllegalStateException("Flotten können nur während der Schiffsplatzierung platziert werden");
+        }
+        player.getBoard().placeAllShips(random);
+    }
+
+    /**
+     * @brief Übergibt die Schiffsplatzierung an den anderen Spieler.
+     */
+    public void nextPlacementTurn() {
+        this.gameModel.resetShipPlacement();
+        this.gameModel.switchPlayer();
+        this.fireTurnChanged();
+    }
+
+    /**
+     * @brief Beendet die Schiffsplatzierung. Die Flotte des Computers wird übernommen, und der aktuelle Spieler
+     *        beginnt mit dem ersten Schuss.
+     */
+    public void finishPlacement() {
+        if (this.phase != GamePhase.PLACEMENT) {
+            return;
+        }
+        this.gameModel.completeComputerFleet();
+        this.phase = GamePhase.BATTLE;
+    }
+
+    /**
+     * @brief Der aktuelle Spieler schießt auf das Board seines Gegners.
+     * @param cordX Die X-Koordinate des Schusses.
+     * @param cordY Die Y-Koordinate des Schusses.
+     * @return Das Ergebnis des Schusses oder ShotResult.INVALID, wenn gerade nicht geschossen werden darf.
+     */
+    public ShotResult fire(int cordX, int cordY) {
+        return this.fireAt(this.getOpponent(), cordX, cordY);
+    }
+
+    /**
+     * @brief Der aktuelle Spieler schießt auf das Board des angegebenen Spielers. Im Debug-Modus darf auf beide Boards
+     *        geschossen werden.
+     * @param target Der Spieler, dessen Board beschossen wird.
+     * @param cordX Die X-Koordinate des Schusses.
+     * @param cordY Die Y-Koordinate des Schusses.
+     * @return Das Ergebnis des Schusses oder ShotResult.INVALID, wenn gerade nicht geschossen werden darf.
+     */
+    public ShotResult fireAt(PlayerModel target, int cordX, int cordY) {
+        if (this.phase != GamePhase.BATTLE) {
+            return ShotResult.INVALID;
+        }
+        PlayerModel shooter = this.gameModel.getCurrentPlayer();
+        ShotResult result = shooter.fireAt(target.getBoard(), cordX, cordY);
+        this.gameModel.recordShot(shooter, target, cordX, cordY, result);
+        this.completeShot(shooter, target, cordX, cordY, result);
+        return result;
+    }
+
+    /**
+     * @brief Lässt den Computer schießen, solange er am Zug ist und die Partie läuft.
+     */
+    public void playComputerTurns() {
+        while (this.playComputerTurn()) {
+            // Nach einem Treffer bleibt der Computer am Zug
+        }
+    }
+
+    /**
+     * @brief Lässt den Computer einen einzelnen Schuss abgeben, wenn er am Zug ist und die Partie läuft. Der Aufruf
+     *        dauert damit höchstens eine Entscheidung des Computers, auch wenn er danach am Zug bleibt.
+     * @return true, wenn der Computer geschossen hat.
+     */
+    public boolean playComputerTurn() {
+        if (this.phase != GamePhase.BATTLE || !(this.gameModel.getCurrentPlayer() instanceof ComputerPlayerModel)) {
+            return false;
+        }
+        ComputerPlayerModel computer = (ComputerPlayerModel) this.gameModel.getCurrentPlayer();
+        PlayerModel target = this.getOpponent();
+        ShotResult result = computer.makeMove(target);
+        if (result.getType() == ShotType.INVALID) {
+            // Der Computer hat keine Felder mehr zur Auswahl
+            return false;
+        }
+        this.gameModel.recordShot(computer, target, computer.getLastMoveX(), computer.getLastMoveY(), result);
+        this.completeShot(computer, target, computer.getLastMoveX(), computer.getLastMoveY(), result);
+        return true;
+    }
+
+    /**
+     * @brief Nimmt den letzten Schuss zurück, auch nach dem Ende der Partie. Der Schütze ist danach wieder am Zug.
+     *        Board, Schiffe, Statistik und das Wissen eines Computers als Schütze werden in konstanter Zeit
+     *        wiederhergestellt.
+     * @return true, wenn ein Schuss zurückgenommen wurde.
+     */
+    public boolean undo() {
+        if ((this.phase != GamePhase.BATTLE && this.phase != GamePhase.GAME_OVER) || !this.gameModel.getMoveLog().canUndo()) {
+            return false;
+        }
+        int move = this.gameModel.undoShot();
+        this.phase = GamePhase.BATTLE;
+        this.winner = null;
+        PlayerModel shooter = this.gameModel.playerAt(MoveLog.shooter(move));
+        PlayerModel target = this.gameModel.playerAt(MoveLog.target(move));
+        if (shooter instanceof ComputerPlayerModel) {
+            ((ComputerPlayerModel) shooter).unobserveShot(MoveLog.x(move), MoveLog.y(move), MoveLog.type(move), target);
+        }
+        for (GameListener listener : new ArrayList<>(this.listeners)) {
+            listener.shotUndone(shooter, target, MoveLog.x(move), MoveLog.y(move));
+        }
+        this.fireTurnChanged();
+        return true;
+    }
+
+    /**
+     * @brief Wiederholt den zuletzt zurückgenommenen Schuss nach den Spielregeln. Ein neuer Schuss verwirft alle
+     *        zurückgenommenen Schüsse.
+     * @return Das Ergebnis des Schusses oder ShotResult.INVALID, wenn es nichts zu wiederholen gibt.
+     * @throws IllegalStateException Wenn der Schuss ein anderes Ergebnis hat als gespeichert. Board und Verlauf
+     *         bleiben dann unverändert.
+     */
+    public ShotResult redo() {
+        MoveLog moveLog = this.gameModel.getMoveLog();
+        if (this.phase != GamePhase.BATTLE || !moveLog.canRedo()) {
+            return ShotResult.INVALID;
+        }
+        ShotResult result = this.gameModel.redoShot();
+        int move = moveLog.get(moveLog.size() - 1);
+        PlayerModel shooter = this.gameModel.playerAt(MoveLog.shooter(move));
+        PlayerModel target = this.gameModel.playerAt(MoveLog.target(move));
+        if (shooter instanceof ComputerPlayerModel) {
+            ((ComputerPlayerModel) shooter).observeShot(MoveLog.x(move), MoveLog.y(move), result, target);
+        }
+        this.completeShot(shooter, target, MoveLog.x(move), MoveLog.y(move), result);
+        return result;
+    }
+
+    /**
+     * @brief Gleicht das Wissen aller Computergegner mit dem Board ihres Gegners ab, nachdem ein gespeicherter
+     *        Verlauf nachgespielt wurde.
+     */
+    private void synchronizeComputers() {
+        PlayerModel playerOne = this.gameModel.getPlayerOne();
+        PlayerModel playerTwo = this.gameModel.getPlayerTwo();
+        if (playerOne instanceof ComputerPlayerModel) {
+            ((ComputerPlayerModel) playerOne).synchronize(playerTwo);
+        }
+        if (playerTwo instanceof ComputerPlayerModel) {
+            ((ComputerPlayerModel) playerTwo).synchronize(playerOne);
+        }
+    }
+
+    /**
+     * @brief Meldet einen Schuss an die Beobachter und wendet die Spielregeln an: Wer alle Schiffe des Gegners
+     *        versenkt, gewinnt, wer nicht trifft, gibt den Zug ab.
+     * @param shooter Der schießende Spieler.
+     * @param target Der beschossene Spieler.
+     * @param cordX Die X-Koordinate des Schusses.
+     * @param cordY Die Y-Koordinate des Schusses.
+     * @param result Das Ergebnis des Schusses.
+     */
+    private void completeShot(PlayerModel shooter, PlayerModel target, int cordX, int cordY, ShotResult result) {
+        if (result.getType() == ShotType.REPEAT || result.getType() == ShotType.INVALID) {
+            return;
+        }
+        for (GameListener listener : new ArrayList<>(this.listeners)) {
+            listener.shotFired(shooter, target, cordX, cordY, result);
+        }
+        if (target.getBoard().allShipsAreHit()) {
+            this.phase = GamePhase.GAME_OVER;
+            this.winner = shooter;
+            for (GameListener listener : new ArrayList<>(this.listeners)) {
+                listener.gameOver(shooter);
+            }
+        } else if (!result.isHit() && this.gameModel.getGameState() != GameState.DEBUG) {
+            this.gameModel.switchPlayer();
+            this.fireTurnChanged();
+        }
+    }
+
+    /**
+     * @brief Meldet den Spieler, der nun am Zug ist, an die Beobachter.
+     */
+    private void fireTurnChanged() {
+        for (GameListener listener : new ArrayList<>(this.listeners)) {
+            listener.turnChanged(this.gameModel.getCurrentPlayer());
+        }
+    }
+
+    /**
+     * @brief Gibt den aktuellen Abschnitt der Partie zurück.
+     * @return Der Abschnitt oder null, wenn noch keine Partie angelegt wurde.
+     */
+    public GamePhase getPhase() {
+        return this.phase;
+    }
+
+    /**
+     * @brief Gibt den Spieler zurück, der am Zug ist.
+     * @return Der aktuelle Spieler.
+     */
+    public PlayerModel getCurrentPlayer() {
+        return this.gameModel.getCurrentPlayer();
+    }
+
+    /**
+     * @brief Gibt den Gegner des aktuellen Spielers zurück.
+     * @return Der Spieler, der gerade nicht am Zug ist.
+     */
+    public PlayerModel getOpponent() {
+        return this.gameModel.getCurrentPlayer() == this.gameModel.getPlayerOne() ? this.gameModel.getPlayerTwo() : this.gameModel.getPlayerOne();
+    }
+
+    /**
+     * @brief Überprüft, ob die Partie beendet ist.
+     * @return true, wenn ein Spieler alle Schiffe des Gegners versenkt hat.
+     */
+    public boolean isGameOver() {
+        return this.phase == GamePhase.GAME_OVER;
+    }
+
+    /**
+     * @brief Gibt den Gewinner der Partie zurück.
+     * @return Der Gewinner oder null, solange die Partie läuft.
+     */
+    public PlayerModel getWinner() {
+        return this.winner;
+    }
+}
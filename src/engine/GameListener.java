@@ -0,0 +1,50 @@
+/**
+ * @file GameListener.java
+ */
+
+package engine;
+
+import model.PlayerModel;
+import model.ShotResult;
+
+/**
+ * @interface GameListener
+ * @brief Wird von der GameEngine über den Verlauf einer Partie informiert. Alle Methoden werden in dem Thread
+ *        aufgerufen, der die Engine bedient, und haben eine leere Standardimplementierung.
+ */
+public interface GameListener {
+    /**
+     * @brief Ein Spieler hat auf ein neues Feld geschossen.
+     * @param shooter Der schießende Spieler.
+     * @param target Der Spieler, dessen Board beschossen wurde.
+     * @param cordX Die X-Koordinate des Schusses.
+     * @param cordY Die Y-Koordinate des Schusses.
+     * @param result Das Ergebnis des Schusses.
+     */
+    default void shotFired(PlayerModel shooter, PlayerModel target, int cordX, int cordY, ShotResult result) {
+    }
+
+    /**
+     * @brief Ein Schuss wurde zurückgenommen, die Zelle hat wieder ihren vorherigen Zustand.
+     * @param shooter Der Spieler, der geschossen hatte.
+     * @param target Der Spieler, dessen Board beschossen wurde.
+     * @param cordX Die X-Koordinate des Schusses.
+     * @param cordY Die Y-Koordinate des Schusses.
+     */
+    default void shotUndone(PlayerModel shooter, PlayerModel target, int cordX, int cordY) {
+    }
+
+    /**
+     * @brief Ein anderer Spieler ist nun am Zug.
+     * @param currentPlayer Der Spieler, der nun am Zug ist.
+     */
+    default void turnChanged(PlayerModel currentPlayer) {
+    }
+
+    /**
+     * @brief Die Partie ist beendet.
+     * @param winner Der Spieler, der alle Schiffe des Gegners versenkt hat.
+     */
+    default void gameOver(PlayerModel winner) {
+    }
+}
@@ -0,0 +1,419 @@
+/**
+ * @file Tournament.java
+ */
+
+package engine;
+
+import ai.ShotStrategies;
+import ai.ShotStrategyProvider;
+import model.BoardModel;
+import model.ComputerPlayerModel;
+import model.PlayerModel;
+import persistence.ReplayWriter;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.SplittableRandom;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * @class Tournament
+ * @brief Lässt zwei Computerstrategien ohne Oberfläche gegeneinander spielen und wertet die Partien aus.
+ *        Aufruf: java engine.Tournament [Strategie 1] [Strategie 2] [Partien] [Größe] [Datei] [Threads] [Seed]
+ *        [Replay-Datei]
+ *        oder über BattleShipMain mit --tournament und denselben Argumenten. Ohne Argumente spielen zwei
+ *        Standardstrategien DEFAULT_GAMES Partien auf dem Standardspielfeld auf allen Prozessorkernen.
+ *        Jeder Thread hat eine eigene GameEngine und zwei eigene Computergegner, deren Boards per reset für jede
+ *        Partie wiederverwendet werden. Der Seed jeder Partie hängt nur vom Seed des Turniers und der Nummer der Partie
+ *        ab, sodass das Ergebnis nicht davon abhängt, welcher Thread die Partie spielt, und jede Partie über den Seed
+ *        aus der CSV-Datei wiederholt werden kann. Jede Partie wird als Zeile einer CSV-Datei
+ *        geschrieben, im Speicher bleiben nur die Zähler und die Verteilung der Schüsse bis zum Sieg. Ist eine
+ *        Replay-Datei angegeben, werden zusätzlich alle Partien mit Flotten und Schüssen über den ReplayWriter
+ *        gespeichert.
+ */
+public final class Tournament {
+    // Standardanzahl der Partien
+    public static final int DEFAULT_GAMES = 10000;
+    // Standarddatei für die Ergebnisse der Partien
+    public static final String DEFAULT_PATH = "tournament.csv";
+    // Anzahl der Partien, die ein Thread sammelt, bevor er sie in die Datei schreibt
+    private static final int FLUSH_GAMES = 256;
+    // Kopfzeile der CSV-Datei
+    private static final String CSV_HEADER = "game,seed,starter,winner,winner_shots,loser_shots";
+
+    // Die Strategien der beiden Spieler
+    private final ShotStrategyProvider[] providers;
+    // Breite und Höhe der Spielfelder
+    private final int boardSize;
+    // Anzahl der Partien
+    private final int games;
+    // Anzahl der Threads
+    private final int threads;
+    // Seed, aus dem der Zufall aller Partien abgeleitet wird
+    private final long seed;
+
+    /**
+     * @brief Konstruktor, der ein Turnier zwischen zwei Strategien erstellt.
+     * @param first Die Strategie des ersten Spielers.
+     * @param second Die Strategie des zweiten Spielers.
+     * @param boardSize Die Breite und Höhe der Spielfelder.
+     * @param games Die Anzahl der Partien.
+     * @param threads Die Anzahl der Threads, die gleichzeitig spielen.
+     * @param seed Der Seed, aus dem der Zufall aller Partien abgeleitet wird.
+     */
+    public Tournament(ShotStrategyProvider first, ShotStrategyProvider second, int boardSize, int games, int threads, long seed) {
+        if (games < 0 || threads < 1) {
+            throw new IllegalArgumentException("Ungültiges Turnier: " + games + " Partien mit " + threads + " Threads");
+        }
+        this.providers = new ShotStrategyProvider[]{first, second};
+        this.boardSize = boardSize;
+        this.games = games;
+        this.threads = threads;
+        this.seed = seed;
+    }
+
+    /**
+     * @brief Startet ein Turnier von der Kommandozeile und gibt die Auswertung aus.
+     * @param args Strategie 1, Strategie 2, Partien, Größe, Datei, Threads, Seed und Replay-Datei, jeweils optional.
+     * @throws IOException Wenn die Ergebnisdatei nicht geschrieben werden kann.
+     */
+    public static void main(String[] args) throws IOException {
+        ShotStrategyProvider first = ShotStrategies.byId(args.length > 0 ? args[0] : ShotStrategies.DEFAULT_ID);
+        ShotStrategyProvider second = ShotStrategies.byId(args.length > 1 ? args[1] : ShotStrategies.DEFAULT_ID);
+        int games = args.length > 2 ? Integer.parseInt(args[2]) : DEFAULT_GAMES;
+        int boardSize = args.length > 3 ? Integer.parseInt(args[3]) : BoardModel.DEFAULT_WIDTH;
+        Path path = Paths.get(args.length > 4 ? args[4] : DEFAULT_PATH);
+        int threads = args.length > 5 ? Integer.parseInt(args[5]) : Runtime.getRuntime().availableProcessors();
+        long seed = args.length > 6 ? Long.parseLong(args[6]) : System.nanoTime();
+        Path replayPath = args.length > 7 ? Paths.get(args[7]) : null;
+
+        System.out.println("Turnier " + first.getId() + " gegen " + second.getId() + ": " + games + " Partien auf "
+                + boardSize + "x" + boardSize + " mit " + threads + " Threads, Seed " + seed);
+        Result result = new Tournament(first, second, boardSize, games, threads, seed).run(path, replayPath);
+        System.out.print(result.report());
+        System.out.println("Partien nach " + path + " geschrieben");
+        if (replayPath != null) {
+            System.out.println("Replays nach " + replayPath + " geschrieben");
+        }
+    }
+
+    /**
+     * @brief Spielt alle Partien und schreibt jede Partie als Zeile in die Ergebnisdatei. Blockiert, bis alle Partien
+     *        gespielt sind. Die Datei wird dabei fortlaufend geschrieben, die Zeilen stehen in der Reihenfolge, in der
+     *        die Partien enden.
+     * @param path Die Ergebnisdatei, eine vorhandene Datei wird überschrieben.
+     * @return Die Auswertung des Turniers.
+     * @throws IOException Wenn die Ergebnisdatei nicht geschrieben werden kann.
+     */
+    public Result run(Path path) throws IOException {
+        return this.run(path, null);
+    }
+
+    /**
+     * @brief Spielt alle Partien wie run(path) und speichert sie zusätzlich in einer Replay-Datei. Schlägt das
+     *        Turnier fehl, wird die Replay-Datei verworfen und eine vorhandene Datei bleibt unverändert.
+     * @param path Die Ergebnisdatei, eine vorhandene Datei wird überschrieben.
+     * @param replayPath Die Replay-Datei oder null, wenn keine Replays gespeichert werden.
+     * @return Die Auswertung des Turniers.
+     * @throws IOException Wenn eine der Dateien nicht geschrieben werden kann.
+     */
+    public Result run(Path path, Path replayPath) throws IOException {
+        AtomicInteger nextGame = new AtomicInteger();
+        ExecutorService executor = Executors.newFixedThreadPool(this.threads);
+        try (Writer writer = Files.newBufferedWriter(path, StandardCharsets.UTF_8);
+             ReplayWriter replays = replayPath != null ? new ReplayWriter(replayPath) : null) {
+            try {
+                writer.write(CSV_HEADER);
+                writer.write('\n');
+                long start = System.nanoTime();
+                List<Future<Result>> futures = new ArrayList<>();
+                for (int i = 0; i < this.threads; i++) {
+                    futures.add(executor.submit(new Worker(nextGame, writer, replays)));
+                }
+                Result total = new Result(this.providers, this.boardSize);
+                for (Future<Result> future : futures) {
+                    total.add(future.get());
+                }
+                total.elapsedNanos = System.nanoTime() - start;
+                return total;
+            } catch (Throwable e) {
+                // Eine unvollständige Replay-Datei darf eine vorhandene nicht ersetzen
+                if (replays != null) {
+                    try {
+                        replays.abort();
+                    } catch (IOException suppressed) {
+                        e.addSuppressed(suppressed);
+                    }
+                }
+                throw e;
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IOException("Das Turnier wurde unterbrochen", e);
+        } catch (ExecutionException e) {
+            if (e.getCause() instanceof UncheckedIOException) {
+                throw ((UncheckedIOException) e.getCause()).getCause();
+            }
+            throw new IllegalStateException("Eine Partie des Turniers ist fehlgeschlagen", e.getCause());
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    /**
+     * @brief Leitet den Seed einer Partie aus dem Seed des Turniers und der Nummer der Partie ab. Die Bits werden wie
+     *        bei SplitMix64 gemischt, damit benachbarte Partien keine verschobenen Zufallsfolgen erhalten.
+     * @param seed Der Seed des Turniers.
+     * @param game Die Nummer der Partie.
+     * @return Der Seed der Partie.
+     */
+    static long gameSeed(long seed, int game) {
+        long z = seed + (game + 1L) * 0x9E3779B97F4A7C15L;
+        z = (z ^ (z >>> 30)) * 0xBF58476D1CE4E5B9L;
+        z = (z ^ (z >>> 27)) * 0x94D049BB133111EBL;
+        return z ^ (z >>> 31);
+    }
+
+    /**
+     * @class Worker
+     * @brief Spielt in einem Thread Partien, bis alle Partien des Turniers vergeben sind. Engine, Spieler und Boards
+     *        werden für alle Partien des Threads wiederverwendet.
+     */
+    private final class Worker implements Callable<Result> {
+        // Die Nummer der nächsten noch nicht vergebenen Partie, wird von allen Threads geteilt
+        private final AtomicInteger nextGame;
+        // Die gemeinsame Ergebnisdatei
+        private final Writer writer;
+        // Die gemeinsame Replay-Datei oder null
+        private final ReplayWriter replays;
+
+        /**
+         * @brief Konstruktor, der einen Thread des Turniers erstellt.
+         * @param nextGame Der gemeinsame Zähler der vergebenen Partien.
+         * @param writer Die gemeinsame Ergebnisdatei.
+         * @param replays Die gemeinsame Replay-Datei oder null.
+         */
+        Worker(AtomicInteger nextGame, Writer writer, ReplayWriter replays) {
+            this.nextGame = nextGame;
+            this.writer = writer;
+            this.replays = replays;
+        }
+
+        @Override
+        public Result call() {
+            Result result = new Result(providers, boardSize);
+            GameEngine engine = new GameEngine();
+            ComputerPlayerModel[] players = new ComputerPlayerModel[2];
+            for (int i = 0; i < players.length; i++) {
+                players[i] = new ComputerPlayerModel((i + 1) + ": " + providers[i].getId(), boardSize, providers[i], new SplittableRandom(seed));
+            }
+            StringBuilder lines = new StringBuilder();
+            int pending = 0;
+            int game;
+            while ((game = this.nextGame.getAndIncrement()) < games) {
+                long gameSeed = gameSeed(seed, game);
+                engine.getGameModel().setSeed(gameSeed);
+                engine.createMatch(players[0], players[1]);
+                int starter = engine.getCurrentPlayer() == players[0] ? 0 : 1;
+                for (ComputerPlayerModel player : players) {
+                    player.reset(engine.getGameModel().splitRandom());
+                }
+                engine.placeFleetRandomly(players[0]);
+                engine.placeFleetRandomly(players[1]);
+                engine.finishPlacement();
+                engine.playComputerTurns();
+
+                PlayerModel winnerModel = engine.getWinner();
+                if (winnerModel == null) {
+                    throw new IllegalStateException("Partie " + game + " endete ohne Gewinner");
+                }
+                int winner = winnerModel == players[0] ? 0 : 1;
+                int winnerShots = players[winner].getPlayerStatus().getTotalClicks();
+                int loserShots = players[1 - winner].getPlayerStatus().getTotalClicks();
+                result.record(winner, winnerShots);
+                if (this.replays != null) {
+                    try {
+                        this.replays.write(engine.getGameModel());
+                    } catch (IOException e) {
+                        throw new UncheckedIOException(e);
+                    }
+                }
+                lines.append(game).append(',').append(gameSeed).append(',').append(starter + 1).append(',')
+                        .append(winner + 1).append(',').append(winnerShots).append(',').append(loserShots).append('\n');
+                if (++pending == FLUSH_GAMES) {
+                    this.flush(lines);
+                    pending = 0;
+                }
+            }
+            this.flush(lines);
+            return result;
+        }
+
+        /**
+         * @brief Schreibt die gesammelten Zeilen in die gemeinsame Ergebnisdatei und leert den Puffer.
+         * @param lines Die gesammelten Zeilen.
+         */
+        private void flush(StringBuilder lines) {
+            if (lines.length() == 0) {
+                return;
+            }
+            synchronized (this.writer) {
+                try {
+                    this.writer.append(lines);
+                } catch (IOException e) {
+                    throw new UncheckedIOException(e);
+                }
+            }
+            lines.setLength(0);
+        }
+    }
+
+    /**
+     * @class Result
+     * @brief Die Auswertung eines Turniers: Siege je Spieler, die Verteilung der Schüsse bis zum Sieg und die
+     *        Spielgeschwindigkeit. Die Verteilung wird als Histogramm über die Anzahl der Schüsse gezählt, ihr Speicher
+     *        hängt also nur von der Spielfeldgröße und nicht von der Anzahl der Partien ab.
+     */
+    public static final class Result {
+        // Die Strategien der beiden Spieler
+        private final ShotStrategyProvider[] providers;
+        // Anzahl der Siege je Spieler
+        private final long[] wins;
+        // Anzahl der Siege je Spieler und Anzahl der Schüsse des Siegers
+        private final long[][] shotsToWin;
+        // Dauer des Turniers in Nanosekunden
+        private long elapsedNanos;
+
+        /**
+         * @brief Konstruktor, der eine leere Auswertung erstellt.
+         * @param providers Die Strategien der beiden Spieler.
+         * @param boardSize Die Breite und Höhe der Spielfelder.
+         */
+        Result(ShotStrategyProvider[] providers, int boardSize) {
+            this.providers = providers;
+            this.wins = new long[2];
+            this.shotsToWin = new long[2][boardSize * boardSize + 1];
+        }
+
+        /**
+         * @brief Zählt eine beendete Partie.
+         * @param winner Der Index des Siegers, 0 oder 1.
+         * @param shots Die Anzahl der Schüsse des Siegers.
+         */
+        void record(int winner, int shots) {
+            this.wins[winner]++;
+            this.shotsToWin[winner][shots]++;
+        }
+
+        /**
+         * @brief Übernimmt die Zähler einer anderen Auswertung, etwa die eines Threads.
+         * @param other Die andere Auswertung.
+         */
+        void add(Result other) {
+            for (int player = 0; player < 2; player++) {
+                this.wins[player] += other.wins[player];
+                for (int shots = 0; shots < this.shotsToWin[player].length; shots++) {
+                    this.shotsToWin[player][shots] += other.shotsToWin[player][shots];
+                }
+            }
+        }
+
+        /**
+         * @brief Gibt die Anzahl der gespielten Partien zurück.
+         * @return Die Anzahl der Partien.
+         */
+        public long getGames() {
+            return this.wins[0] + this.wins[1];
+        }
+
+        /**
+         * @brief Gibt die Anzahl der Siege eines Spielers zurück.
+         * @param player Der Index des Spielers, 0 oder 1.
+         * @return Die Anzahl der Siege.
+         */
+        public long getWins(int player) {
+            return this.wins[player];
+        }
+
+        /**
+         * @brief Gibt den Anteil der Partien zurück, die ein Spieler gewonnen hat.
+         * @param player Der Index des Spielers, 0 oder 1.
+         * @return Die Siegquote zwischen 0 und 1.
+         */
+        public double getWinRate(int player) {
+            return this.getGames() == 0 ? 0 : (double) this.wins[player] / this.getGames();
+        }
+
+        /**
+         * @brief Gibt die durchschnittliche Anzahl der Schüsse zurück, die ein Spieler für seine Siege gebraucht hat.
+         * @param player Der Index des Spielers, 0 oder 1.
+         * @return Der Durchschnitt oder 0, wenn der Spieler nie gewonnen hat.
+         */
+        public double getMeanShotsToWin(int player) {
+            long sum = 0;
+            for (int shots = 0; shots < this.shotsToWin[player].length; shots++) {
+                sum += shots * this.shotsToWin[player][shots];
+            }
+            return this.wins[player] == 0 ? 0 : (double) sum / this.wins[player];
+        }
+
+        /**
+         * @brief Gibt ein Quantil der Schüsse bis zum Sieg eines Spielers zurück.
+         * @param player Der Index des Spielers, 0 oder 1.
+         * @param quantile Das Quantil zwischen 0 und 1, etwa 0.5 für den Median.
+         * @return Die kleinste Anzahl an Schüssen, mit der mindestens dieser Anteil der Siege errungen wurde, oder 0,
+         *         wenn der Spieler nie gewonnen hat.
+         */
+        public int getShotsToWinQuantile(int player, double quantile) {
+            long needed = Math.max(1, (long) Math.ceil(quantile * this.wins[player]));
+            long seen = 0;
+            for (int shots = 0; shots < this.shotsToWin[player].length; shots++) {
+                seen += this.shotsToWin[player][shots];
+                if (seen >= needed) {
+                    return shots;
+                }
+            }
+            return 0;
+        }
+
+        /**
+         * @brief Gibt zurück, wie viele Partien je Sekunde gespielt wurden.
+         * @return Die Partien je Sekunde.
+         */
+        public double getGamesPerSecond() {
+            return this.elapsedNanos == 0 ? 0 : this.getGames() * 1e9 / this.elapsedNanos;
+        }
+
+        /**
+         * @brief Erstellt die Auswertung als lesbaren Text.
+         * @return Der Text mit einer Zeile je Spieler und einer Zeile zur Geschwindigkeit.
+         */
+        public String report() {
+            StringBuilder report = new StringBuilder();
+            for (int player = 0; player < 2; player++) {
+                report.append(String.format(Locale.ROOT,
+                        "Spieler %d (%s): %d Siege (%.1f %%), Schüsse bis zum Sieg: Mittel %.2f, P10 %d, Median %d, P90 %d, Max %d%n",
+                        player + 1, this.providers[player].getId(), this.wins[player], 100 * this.getWinRate(player),
+                        this.getMeanShotsToWin(player), this.getShotsToWinQuantile(player, 0.1),
+                        this.getShotsToWinQuantile(player, 0.5), this.getShotsToWinQuantile(player, 0.9),
+                        this.getShotsToWinQuantile(player, 1.0)));
+            }
+            report.append(String.format(Locale.ROOT, "%d Partien in %.2f s, %.1f Partien/s%n",
+                    this.getGames(), this.elapsedNanos / 1e9, this.getGamesPerSecond()));
+            return report.toString();
+        }
+    }
+}
@@ -0,0 +1,254 @@
+/**
+ * @file BitBoard.java
+ */
+
+package model;
+
+import java.util.Arrays;
+
+/**
+ * @class BitBoard
+ * @brief Speichert genau ein Bit pro Zelle eines Spielfeldes in long-Wörtern.
+ *        Die Zelle (cordX, cordY) liegt auf dem Bit mit dem Index cordX * height + cordY. Dadurch lassen sich
+ *        Belegungs- und Überschneidungsprüfungen mit wenigen UND/ODER-Operationen durchführen.
+ *        Die Wörter sind in Blöcke zu je 4096 Bits aufgeteilt, die erst beim ersten Setzen eines Bits angelegt werden.
+ *        Auf großen Spielfeldern wächst der Speicherbedarf daher mit der Anzahl der Schiffe und Schüsse und nicht mit
+ *        der Fläche. Kleine Spielfelder bestehen aus genau einem Block mit der benötigten Anzahl an Wörtern.
+ */
+public class BitBoard {
+    // Anzahl der Bits in einem Wort
+    private static final int WORD_BITS = 64;
+    // Zweierlogarithmus der Anzahl an Bits in einem Block
+    static final int CHUNK_SHIFT = 12;
+    // Anzahl der Bits in einem Block
+    static final int CHUNK_BITS = 1 << CHUNK_SHIFT;
+
+    // Die Blöcke, welche die Bits des Spielfeldes enthalten, noch nicht benötigte Blöcke sind null
+    private final long[][] chunks;
+    // Anzahl der Wörter je Block
+    private final int chunkWords;
+    // Anzahl der Zellen, die dieses BitBoard abbildet
+    private final int size;
+
+    /**
+     * @brief Konstruktor, der ein leeres BitBoard für die angegebene Anzahl an Zellen erstellt.
+     * @param size Die Anzahl der Zellen.
+     */
+    public BitBoard(int size) {
+        this.size = size;
+        this.chunkWords = Math.min(CHUNK_BITS / WORD_BITS, wordCount(size));
+        this.chunks = new long[(size + CHUNK_BITS - 1) >>> CHUNK_SHIFT][];
+    }
+
+    /**
+     * @brief Berechnet, wie viele long-Wörter für die angegebene Anzahl an Zellen benötigt werden.
+     * @param size Die Anzahl der Zellen.
+     * @return Die Anzahl der benötigten Wörter.
+     */
+    public static int wordCount(int size) {
+        return (size + WORD_BITS - 1) / WORD_BITS;
+    }
+
+    /**
+     * @brief Gibt die Anzahl der Zellen zurück, die dieses BitBoard abbildet.
+     * @return Die Anzahl der Zellen.
+     */
+    public int size() {
+        return this.size;
+    }
+
+    /**
+     * @brief Gibt zurück, ob das Bit an dem angegebenen Index gesetzt ist.
+     * @param index Der Index der Zelle.
+     * @return true, wenn das Bit gesetzt ist.
+     */
+    public boolean get(int index) {
+        long[] chunk = this.chunks[index >>> CHUNK_SHIFT];
+        return chunk != null && (chunk[(index & (CHUNK_BITS - 1)) >>> 6] & (1L << index)) != 0;
+    }
+
+    /**
+     * @brief Setzt das Bit an dem angegebenen Index.
+     * @param index Der Index der Zelle.
+     */
+    public void set(int index) {
+        long[] chunk = this.chunks[index >>> CHUNK_SHIFT];
+        if (chunk == null) {
+            chunk = new long[this.chunkWords];
+            this.chunks[index >>> CHUNK_SHIFT] = chunk;
+        }
+        chunk[(index & (CHUNK_BITS - 1)) >>> 6] |= 1L << index;
+    }
+
+    /**
+     * @brief Löscht das Bit an dem angegebenen Index.
+     * @param index Der Index der Zelle.
+     */
+    public void clear(int index) {
+        long[] chunk = this.chunks[index >>> CHUNK_SHIFT];
+        if (chunk != null) {
+            chunk[(index & (CHUNK_BITS - 1)) >>> 6] &= ~(1L << index);
+        }
+    }
+
+    /**
+     * @brief Löscht alle Bits des BitBoards. Bereits angelegte Blöcke bleiben für die Wiederverwendung erhalten.
+     */
+    public void clearAll() {
+        for (long[] chunk : this.chunks) {
+            if (chunk != null) {
+                Arrays.fill(chunk, 0L);
+            }
+        }
+    }
+
+    /**
+     * @brief Übernimmt alle Bits eines anderen BitBoards gleicher Größe. Bereits angelegte Blöcke werden dabei
+     *        wiederverwendet.
+     * @param other Das BitBoard, dessen Bits übernommen werden.
+     */
+    public void copyFrom(BitBoard other) {
+        this.loadChunks(other.chunks);
+    }
+
+    /**
+     * @brief Kopiert die Blöcke des BitBoards, etwa für ein BoardSnapshot. Nicht angelegte Blöcke bleiben null.
+     * @return Eine Kopie der Blöcke.
+     */
+    long[][] copyChunks() {
+        long[][] copy = new long[this.chunks.length][];
+        for (int i = 0; i < copy.length; i++) {
+            copy[i] = this.chunks[i] == null ? null : this.chunks[i].clone();
+        }
+        return copy;
+    }
+
+    /**
+     * @brief Übernimmt die Bits aus Blöcken, wie sie copyChunks liefert. Bereits angelegte Blöcke werden dabei
+     *        wiederverwendet, die übergebenen Blöcke werden nicht verändert.
+     * @param source Die Blöcke, deren Bits übernommen werden.
+     */
+    void loadChunks(long[][] source) {
+        for (int i = 0; i < this.chunks.length; i++) {
+            if (source[i] == null) {
+                if (this.chunks[i] != null) {
+                    Arrays.fill(this.chunks[i], 0L);
+                }
+            } else if (this.chunks[i] == null) {
+                this.chunks[i] = source[i].clone();
+            } else {
+                System.arraycopy(source[i], 0, this.chunks[i], 0, source[i].length);
+            }
+        }
+    }
+
+    /**
+     * @brief Gibt alle Wörter des BitBoards als zusammenhängendes Array zurück. Nicht angelegte Blöcke werden mit
+     *        Nullen aufgefüllt. Gedacht für kleine Spielfelder, etwa um einen Zustand als Schlüssel zu verwenden.
+     * @return Eine Kopie aller Wörter.
+     */
+    public long[] toLongArray() {
+        long[] words = new long[wordCount(this.size)];
+        for (int i = 0; i < this.chunks.length; i++) {
+            if (this.chunks[i] != null) {
+                System.arraycopy(this.chunks[i], 0, words, i * (CHUNK_BITS / WORD_BITS), this.chunks[i].length);
+            }
+        }
+        return words;
+    }
+
+    /**
+     * @brief Überprüft, ob sich das BitBoard mit einer Maske überschneidet. Die Maske beschreibt die Wörter des ersten
+     *        Blocks und ist daher nur für Spielfelder mit höchstens 4096 Zellen geeignet.
+     * @param masks Das Array, in dem die Maske liegt.
+     * @param offset Die Position des ersten Wortes der Maske im Array.
+     * @param count Die Anzahl der Wörter der Maske.
+     * @return true, wenn mindestens ein Bit sowohl im BitBoard als auch in der Maske gesetzt ist.
+     */
+    public boolean intersects(long[] masks, int offset, int count) {
+        long[] chunk = this.chunks[0];
+        if (chunk == null) {
+            return false;
+        }
+        for (int i = 0; i < count; i++) {
+            if ((chunk[i] & masks[offset + i]) != 0) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * @brief Zählt die Bits, die sowohl im BitBoard als auch in einer Maske gesetzt sind. Wie bei intersects beschreibt
+     *        die Maske die Wörter des ersten Blocks.
+     * @param masks Das Array, in dem die Maske liegt.
+     * @param offset Die Position des ersten Wortes der Maske im Array.
+     * @param count Die Anzahl der Wörter der Maske.
+     * @return Die Anzahl der gemeinsamen Bits.
+     */
+    public int intersectionCount(long[] masks, int offset, int count) {
+        long[] chunk = this.chunks[0];
+        if (chunk == null) {
+            return 0;
+        }
+        int bits = 0;
+        for (int i = 0; i < count; i++) {
+            bits += Long.bitCount(chunk[i] & masks[offset + i]);
+        }
+        return bits;
+    }
+
+    /**
+     * @brief Setzt alle Bits einer Maske. Wie bei intersects beschreibt die Maske die Wörter des ersten Blocks.
+     * @param masks Das Array, in dem die Maske liegt.
+     * @param offset Die Position des ersten Wortes der Maske im Array.
+     * @param count Die Anzahl der Wörter der Maske.
+     */
+    public void or(long[] masks, int offset, int count) {
+        if (this.chunks[0] == null) {
+            this.chunks[0] = new long[this.chunkWords];
+        }
+        long[] chunk = this.chunks[0];
+        for (int i = 0; i < count; i++) {
+            chunk[i] |= masks[offset + i];
+        }
+    }
+
+    /**
+     * @brief Sucht ab dem angegebenen Index das erste nicht gesetzte Bit.
+     * @param from Der Index, ab dem gesucht wird.
+     * @return Der Index des ersten nicht gesetzten Bits oder size(), wenn alle folgenden Bits gesetzt sind.
+     */
+    public int nextClearBit(int from) {
+        int index = from;
+        while (index < this.size) {
+            long[] chunk = this.chunks[index >>> CHUNK_SHIFT];
+            if (chunk == null) {
+                return index;
+            }
+            int word = (index & (CHUNK_BITS - 1)) >>> 6;
+            long free = ~chunk[word] & (-1L << index);
+            if (free != 0) {
+                return Math.min(this.size, (index & ~(WORD_BITS - 1)) + Long.numberOfTrailingZeros(free));
+            }
+            index = (index & ~(WORD_BITS - 1)) + WORD_BITS;
+        }
+        return this.size;
+    }
+
+    /**
+     * @brief Zählt die gesetzten Bits.
+     * @return Die Anzahl der gesetzten Bits.
+     */
+    public int cardinality() {
+        int count = 0;
+        for (long[] chunk : this.chunks) {
+            if (chunk != null) {
+                for (long word : chunk) {
+                    count += Long.bitCount(word);
+                }
+            }
+        }
+        return count;
+    }
+}
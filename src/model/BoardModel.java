@@ -5,47 +5,141 @@
 package model;
 
 import utils.CellState;
+import utils.ShotType;
 
 import java.util.*;
 
 /**
  * @class BoardModel
  * @brief Verantwortlich für die Verwaltung des Boards und der Schiffe eines Spielers.
+ *        Der Zustand der Zellen wird in BitBoards gespeichert. CellModel-Objekte werden nur noch als Ansicht auf
+ *        eine einzelne Zelle erzeugt.
  */
 public class BoardModel {
     // Die Länge der Boote, die auf dem Board platziert werden.
     public static final int[] BOAT_SIZES = {5, 4, 4, 3, 3, 3, 2, 2, 2, 2};
 
-    private final CellModel[][] board;
     private final ArrayList<ShipModel> playerShips;
 
-    // Höhe des Spielfelds.
-    public static final int HEIGHT = 10;
-    //Breite des Spielfelds
-    public static final int WIDTH = 10; ///
+    // Zellen, die von einem Schiff belegt sind
+    private final BitBoard occupied;
+    // Zellen, die von einem Schiff belegt sind oder direkt an ein Schiff angrenzen
+    private final BitBoard blocked;
+    // Schiffszellen, die getroffen wurden
+    private final BitBoard hit;
+    // Freie Zellen, die beschossen wurden
+    private final BitBoard miss;
+    // Freie Zellen, die aufgedeckt wurden, weil sie an ein versenktes Schiff angrenzen
+    private final BitBoard revealed;
+    // Vorberechnete Platzierungen des Regelwerks, die von allen Boards gleicher Größe geteilt werden
+    private final PlacementTable placementTable;
+    // Id des Schiffes je Zelle (Index in playerShips + 1), 0 steht für eine Zelle ohne Schiff
+    private final ShipIdGrid shipIds;
+    // Solver für die Frage, ob die restliche Flotte noch platziert werden kann, wird erst bei Bedarf erstellt
+    private FleetSolver fleetSolver;
+    // Generator für zufällige Flotten, wird erst bei Bedarf erstellt und danach wiederverwendet
+    private FleetGenerator fleetGenerator;
+    // Anzahl der Schiffe, die noch nicht versenkt wurden
+    private int remainingShips;
+    // Anzahl der Schiffszellen, die noch nicht getroffen wurden
+    private int remainingShipCells;
+
+    // Standardhöhe des Spielfelds.
+    public static final int DEFAULT_HEIGHT = 10;
+    // Standardbreite des Spielfelds
+    public static final int DEFAULT_WIDTH = 10;
+    // Größte erlaubte Breite und Höhe eines Spielfelds
+    public static final int MAX_SIZE = 1000;
+
+    // Höhe des Spielfelds
+    private final int height;
+    // Breite des Spielfelds
+    private final int width;
 
     /**
-     * @brief Konstruktor, der das Board initialisiert und die Zellen erstellt.
+     * @brief Konstruktor, der ein Board in der Standardgröße initialisiert.
      */
     public BoardModel() {
-        this.board = new CellModel[HEIGHT][WIDTH];
+        this(DEFAULT_WIDTH, DEFAULT_HEIGHT);
+    }
+
+    /**
+     * @brief Konstruktor, der ein Board in der angegebenen Größe initialisiert.
+     *        Die Zellen werden in dünn besetzten BitBoards gespeichert, sodass auch große Spielfelder nur so viel
+     *        Speicher belegen, wie Schiffe und Schüsse benötigen.
+     * @param width Die Breite des Spielfelds.
+     * @param height Die Höhe des Spielfelds.
+     */
+    public BoardModel(int width, int height) {
+        if (width < 1 || height < 1 || width > MAX_SIZE || height > MAX_SIZE) {
+            throw new IllegalArgumentException("Ungültige Spielfeldgröße: " + width + "x" + height);
+        }
+        this.width = width;
+        this.height = height;
         this.playerShips = new ArrayList<>();
-        this.createBoard();
+        this.occupied = new BitBoard(width * height);
+        this.blocked = new BitBoard(width * height);
+        this.hit = new BitBoard(width * height);
+        this.miss = new BitBoard(width * height);
+        this.revealed = new BitBoard(width * height);
+        this.shipIds = new ShipIdGrid(width * height);
+        this.placementTable = PlacementTable.forRuleset(width, height, BOAT_SIZES);
+    }
+
+    /**
+     * @brief Gibt die Breite des Spielfelds zurück.
+     * @return Die Breite des Spielfelds.
+     */
+    public int getWidth() {
+        return this.width;
+    }
+
+    /**
+     * @brief Gibt die Höhe des Spielfelds zurück.
+     * @return Die Höhe des Spielfelds.
+     */
+    public int getHeight() {
+        return this.height;
     }
 
     /**
      * @brief Gibt eine Zelle des Spielfeldes zurück.
+     *        Die Zelle ist nur eine Ansicht auf den aktuellen Zustand. Änderungen an ihr wirken sich nicht auf das
+     *        Board aus, dafür ist changeCellInBoard zu verwenden.
      * @param cordX Die X-Koordinate der Zelle.
      * @param cordY Die Y-Koordinate der Zelle.
      * @return Die Zelle an der angegebenen Position und wenn die Koordinate nicht existiert null.
      */
     public CellModel getCell(int cordX, int cordY) {
         if (this.isValidCoordinate(cordX, cordY)) {
-            return this.board[cordX][cordY];
+            return new CellModel(cordX, cordY, this.getCellState(cordX, cordY));
         }
         return null;
     }
 
+    /**
+     * @brief Gibt den Zustand einer Zelle des Spielfeldes zurück, ohne ein CellModel zu erzeugen.
+     * @param cordX Die X-Koordinate der Zelle.
+     * @param cordY Die Y-Koordinate der Zelle.
+     * @return Der Zustand der Zelle und wenn die Koordinate nicht existiert null.
+     */
+    public CellState getCellState(int cordX, int cordY) {
+        if (!this.isValidCoordinate(cordX, cordY)) {
+            return null;
+        }
+        int index = this.toIndex(cordX, cordY);
+        if (this.hit.get(index)) {
+            return CellState.HIT;
+        }
+        if (this.occupied.get(index)) {
+            return CellState.SET;
+        }
+        if (this.miss.get(index)) {
+            return CellState.MISS;
+        }
+        return this.revealed.get(index) ? CellState.REVEALED : CellState.FREE;
+    }
+
     /**
      * @brief Gibt die Liste aller Schiffe, die auf dem Board platzierten wurden, zurück.
      * @return Eine Liste von Schiffen.
@@ -55,25 +149,85 @@ public class BoardModel {
     }
 
     /**
-     * @brief Erstellt ein Board, indem alle Zellen auf den Zustand CellState.FREE gesetzt werden.
+     * @brief Gibt die Anzahl der Schiffe zurück, die noch nicht versenkt wurden.
+     * @return Die Anzahl der verbleibenden Schiffe.
      */
-    private void createBoard() {
-        for (int cordX = 0; cordX < WIDTH; cordX++) {
-            for (int cordY = 0; cordY < HEIGHT; cordY++) {
-                this.board[cordX][cordY] = new CellModel(cordX, cordY, CellState.FREE);
-            }
+    public int getRemainingShips() {
+        return this.remainingShips;
+    }
+
+    /**
+     * @brief Gibt die Anzahl der Schiffszellen zurück, die noch nicht getroffen wurden.
+     * @return Die Anzahl der verbleibenden Schiffszellen.
+     */
+    public int getRemainingShipCells() {
+        return this.remainingShipCells;
+    }
+
+    /**
+     * @brief Gibt die Zellen zurück, die von einem Schiff belegt sind oder direkt an ein Schiff angrenzen.
+     * @return Das BitBoard der gesperrten Zellen.
+     */
+    BitBoard getBlocked() {
+        return this.blocked;
+    }
+
+    /**
+     * @brief Gibt das Schiff zurück, das auf der angegebenen Zelle liegt.
+     *        Die Zelle wird über das Id-Raster mit einem einzigen Arrayzugriff dem Schiff zugeordnet.
+     * @param cordX Die X-Koordinate der Zelle.
+     * @param cordY Die Y-Koordinate der Zelle.
+     * @return Das Schiff auf der Zelle oder null, wenn dort kein Schiff liegt.
+     */
+    public ShipModel getShipAt(int cordX, int cordY) {
+        if (!this.isValidCoordinate(cordX, cordY)) {
+            return null;
         }
+        int shipId = this.shipIds.get(this.toIndex(cordX, cordY));
+        return shipId == 0 ? null : this.playerShips.get(shipId - 1);
     }
 
     /**
-     * @brief Ändert den Zustand einer Zelle auf dem Board.
+     * @brief Berechnet den Index einer Zelle in den BitBoards.
      * @param cordX Die X-Koordinate der Zelle.
      * @param cordY Die Y-Koordinate der Zelle.
-     * @param cellState Der neue Zustand der Zelle.
+     * @return Der Index der Zelle.
+     */
+    int toIndex(int cordX, int cordY) {
+        return cordX * this.height + cordY;
+    }
+
+    /**
+     * @brief Markiert eine Zelle des Boards als beschossen oder aufgedeckt. Schiffe werden nur über placeShip gesetzt
+     *        und über reset entfernt, damit Id-Raster, gesperrte Zellen und Zähler zu den BitBoards passen.
+     * @param cordX Die X-Koordinate der Zelle.
+     * @param cordY Die Y-Koordinate der Zelle.
+     * @param cellState Der neue Zustand der Zelle, MISS, REVEALED oder HIT.
+     * @throws IllegalArgumentException Wenn der Zustand SET oder FREE ist.
      */
     public void changeCellInBoard(int cordX, int cordY, CellState cellState) {
-        if (this.isValidCoordinate(cordX, cordY)) {
-            this.board[cordX][cordY].updateCellState(cellState);
+        if (!this.isValidCoordinate(cordX, cordY)) {
+            return;
+        }
+        int index = this.toIndex(cordX, cordY);
+        switch (cellState) {
+            case MISS:
+                if (!this.occupied.get(index)) {
+                    this.miss.set(index);
+                }
+                break;
+            case REVEALED:
+                if (!this.occupied.get(index)) {
+                    this.revealed.set(index);
+                }
+                break;
+            case HIT:
+                if (this.shipIds.get(index) != 0 && !this.hit.get(index)) {
+                    this.hitShipCell(index);
+                }
+                break;
+            default:
+                throw new IllegalArgumentException("Der Zustand " + cellState + " kann nur über placeShip oder reset gesetzt werden");
         }
     }
 
@@ -90,53 +244,256 @@ public class BoardModel {
             return false;
         }
 
+        // Sperrt die Zellen des Schiffes samt der angrenzenden Zellen für weitere Schiffe.
+        this.placementTable.block(length, this.placementTable.placementIndex(startX, startY, horizontal), this.blocked);
         ShipModel ship = new ShipModel(this, startX, startY, length, horizontal);
         this.playerShips.add(ship);
+        short shipId = (short) this.playerShips.size();
+        for (int i = 0; i < length; i++) {
+            int index = horizontal ? this.toIndex(startX + i, startY) : this.toIndex(startX, startY + i);
+            this.occupied.set(index);
+            this.shipIds.set(index, shipId);
+        }
+        this.remainingShips++;
+        this.remainingShipCells += length;
         return true;
     }
 
     /**
-     * @brief Platziert alle Schiffe zufällig auf dem Board.
+     * @brief Setzt das Board auf ein leeres, unbeschossenes Spielfeld zurück. Die BitBoards und das Id-Raster behalten
+     *        ihre Blöcke, sodass ein Board für viele Partien verwendet werden kann, ohne neuen Speicher anzulegen.
      */
-    public void placeAllShips() {
-        Random random = new Random();
-        for (int length : BOAT_SIZES) {
-            boolean placed = false;
-            while (!placed) {
-                int startX = random.nextInt(WIDTH);
-                int startY = random.nextInt(HEIGHT);
-                boolean horizontal = random.nextBoolean();
+    public void reset() {
+        this.occupied.clearAll();
+        this.blocked.clearAll();
+        this.hit.clearAll();
+        this.miss.clearAll();
+        this.revealed.clearAll();
+        this.shipIds.clear();
+        this.playerShips.clear();
+        this.remainingShips = 0;
+        this.remainingShipCells = 0;
+    }
 
-                if (this.placeShip(startX, startY, horizontal, length)) {
-                    placed = true;
-                }
+    /**
+     * @brief Erstellt ein unveränderliches Abbild des Boards. Es werden nur die Blöcke der BitBoards und des Id-Rasters
+     *        sowie je Schiff drei Zahlen kopiert.
+     * @return Das Abbild des aktuellen Zustands.
+     */
+    public BoardSnapshot snapshot() {
+        int ships = this.playerShips.size();
+        int[] placements = new int[ships];
+        int[] lengths = new int[ships];
+        int[] remainingHits = new int[ships];
+        for (int i = 0; i < ships; i++) {
+            ShipModel ship = this.playerShips.get(i);
+            placements[i] = this.placementTable.placementIndex(ship.getCellX(0), ship.getCellY(0), ship.isHorizontal());
+            lengths[i] = ship.getLength();
+            remainingHits[i] = ship.getRemainingHits();
+        }
+        return new BoardSnapshot(this.width, this.height, this.occupied.copyChunks(), this.hit.copyChunks(),
+                this.miss.copyChunks(), this.revealed.copyChunks(), this.shipIds.copyChunks(), placements, lengths,
+                remainingHits, this.remainingShips, this.remainingShipCells);
+    }
+
+    /**
+     * @brief Übernimmt den Zustand eines Abbilds. Die BitBoards und das Id-Raster kopieren die Blöcke des Abbilds in
+     *        ihre vorhandenen Blöcke, nur die Schiffe werden neu erstellt.
+     * @param snapshot Das Abbild eines Boards gleicher Größe.
+     */
+    public void restore(BoardSnapshot snapshot) {
+        if (snapshot.getWidth() != this.width || snapshot.getHeight() != this.height) {
+            throw new IllegalArgumentException("Das Abbild passt nicht auf ein Spielfeld der Größe " + this.width + "x" + this.height);
+        }
+        this.occupied.loadChunks(snapshot.getOccupiedChunks());
+        this.hit.loadChunks(snapshot.getHitChunks());
+        this.miss.loadChunks(snapshot.getMissChunks());
+        this.revealed.loadChunks(snapshot.getRevealedChunks());
+        this.shipIds.loadChunks(snapshot.getShipIdChunks());
+        this.blocked.clearAll();
+        this.playerShips.clear();
+        for (int i = 0; i < snapshot.getShipCount(); i++) {
+            int placement = snapshot.getShipPlacement(i);
+            int length = snapshot.getShipLength(i);
+            int cell = placement >>> 1;
+            ShipModel ship = new ShipModel(this, cell / this.height, cell % this.height, length, (placement & 1) != 0);
+            for (int hits = length - snapshot.getRemainingHits(i); hits > 0; hits--) {
+                ship.registerHit();
             }
+            ship.checkShipStatus();
+            this.placementTable.block(length, placement, this.blocked);
+            this.playerShips.add(ship);
         }
+        this.remainingShips = snapshot.getRemainingShips();
+        this.remainingShipCells = snapshot.getRemainingShipCells();
     }
 
     /**
-     * @brief Stellt fest, ob ein Angriff einen Teil eines Schiffes auf dem Board getroffen hat.
-     * @param cordX Die X-Koordinate des Angriffes.
-     * @param cordY Die Y-Koordinate des Angriffes.
-     * @return Das getroffene Schiff, falls eines getroffen wurde.
+     * @brief Platziert alle Schiffe zufällig auf dem Board. Der gleiche Seed ergibt die gleiche Flotte.
+     * @param seed Der Seed für den Zufallsgenerator.
      */
-    public ShipModel registerHit(int cordX, int cordY) {
+    public void placeAllShips(long seed) {
+        this.placeAllShips(new SplittableRandom(seed));
+    }
+
+    /**
+     * @brief Platziert alle Schiffe zufällig auf dem Board. Jedes Schiff wird gleichverteilt aus den gültigen
+     *        Platzierungen gewählt, die Suche endet garantiert.
+     * @param random Der Zufallsgenerator, der die Platzierung bestimmt.
+     */
+    public void placeAllShips(SplittableRandom random) {
+        if (this.fleetGenerator == null) {
+            this.fleetGenerator = new FleetGenerator(this.width, this.height, BOAT_SIZES);
+        }
+        if (!this.fleetGenerator.placeFleet(this, random)) {
+            throw new IllegalStateException("Die Flotte passt nicht auf ein Spielfeld der Größe " + this.width + "x" + this.height);
+        }
+    }
+
+    /**
+     * @brief Führt einen Schuss auf die angegebene Zelle aus und aktualisiert dabei Zellen, Schiffe und Zähler.
+     *        Dies ist der einzige Weg, über den Spieler und Computer auf das Board schießen.
+     * @param cordX Die X-Koordinate des Schusses.
+     * @param cordY Die Y-Koordinate des Schusses.
+     * @return Das Ergebnis des Schusses.
+     */
+    public ShotResult fire(int cordX, int cordY) {
+        if (!this.isValidCoordinate(cordX, cordY)) {
+            return ShotResult.INVALID;
+        }
+
+        int index = this.toIndex(cordX, cordY);
+        if (this.hit.get(index) || this.miss.get(index)) {
+            return ShotResult.REPEAT;
+        }
+        if (!this.occupied.get(index)) {
+            this.miss.set(index);
+            return ShotResult.MISS;
+        }
+        ShipModel ship = this.hitShipCell(index);
+        if (!ship.isSunk()) {
+            return ShotResult.HIT;
+        }
+        this.revealSurroundings(ship);
+        return ShotResult.sunk(this.shipIds.get(index) - 1);
+    }
+
+    /**
+     * @brief Nimmt den Schuss auf die angegebene Zelle zurück und stellt Zellen, Schiff und Zähler wieder her.
+     *        Schüsse müssen in umgekehrter Reihenfolge zurückgenommen werden, wie es der MoveLog tut.
+     * @param cordX Die X-Koordinate des Schusses.
+     * @param cordY Die Y-Koordinate des Schusses.
+     * @return Das Ergebnis des zurückgenommenen Schusses oder null, wenn die Zelle nicht beschossen wurde.
+     */
+    public ShotType undoShot(int cordX, int cordY) {
         if (!this.isValidCoordinate(cordX, cordY)) {
             return null;
         }
+        int index = this.toIndex(cordX, cordY);
+        if (this.miss.get(index)) {
+            this.miss.clear(index);
+            return ShotType.MISS;
+        }
+        if (!this.hit.get(index)) {
+            return null;
+        }
+        this.hit.clear(index);
+        this.remainingShipCells++;
+        ShipModel ship = this.playerShips.get(this.shipIds.get(index) - 1);
+        boolean wasSunk = ship.isSunk();
+        ship.unregisterHit();
+        if (!wasSunk) {
+            return ShotType.HIT;
+        }
+        this.remainingShips++;
+        this.hideSurroundings(ship, this.shipIds.get(index));
+        return ShotType.SUNK;
+    }
 
-        if (this.getCell(cordX, cordY).getCellState() == CellState.SET) {
-            this.getCell(cordX, cordY).updateCellState(CellState.HIT);
-            for (ShipModel ship : this.playerShips) {
-                if (ship.isHit(cordX, cordY)) {
-                    ship.checkShipStatus();
-                    return ship;
+    /**
+     * @brief Verdeckt die aufgedeckten Zellen um ein Schiff, das nicht mehr versenkt ist. Zellen, die auch an ein
+     *        anderes versenktes Schiff angrenzen, bleiben aufgedeckt.
+     * @param ship Das Schiff.
+     * @param shipId Die Id des Schiffes im Id-Raster.
+     */
+    private void hideSurroundings(ShipModel ship, int shipId) {
+        int startX = ship.getCellX(0);
+        int startY = ship.getCellY(0);
+        int endX = ship.getCellX(ship.getLength() - 1);
+        int endY = ship.getCellY(ship.getLength() - 1);
+        for (int x = Math.max(0, startX - 1); x <= Math.min(this.width - 1, endX + 1); x++) {
+            for (int y = Math.max(0, startY - 1); y <= Math.min(this.height - 1, endY + 1); y++) {
+                int index = this.toIndex(x, y);
+                if (this.revealed.get(index) && !this.touchesOtherSunkShip(x, y, shipId)) {
+                    this.revealed.clear(index);
+                }
+            }
+        }
+    }
+
+    /**
+     * @brief Überprüft, ob eine Zelle an ein versenktes Schiff mit einer anderen Id angrenzt.
+     * @param cordX Die X-Koordinate der Zelle.
+     * @param cordY Die Y-Koordinate der Zelle.
+     * @param shipId Die Id des Schiffes, das nicht berücksichtigt wird.
+     * @return true, wenn ein anderes versenktes Schiff angrenzt.
+     */
+    private boolean touchesOtherSunkShip(int cordX, int cordY, int shipId) {
+        for (int x = Math.max(0, cordX - 1); x <= Math.min(this.width - 1, cordX + 1); x++) {
+            for (int y = Math.max(0, cordY - 1); y <= Math.min(this.height - 1, cordY + 1); y++) {
+                int otherId = this.shipIds.get(this.toIndex(x, y));
+                if (otherId != 0 && otherId != shipId && this.playerShips.get(otherId - 1).isSunk()) {
+                    return true;
+                }
+            }
+        }
+        return false;
+    }
+
+    /**
+     * @brief Deckt alle freien, noch nicht beschossenen Zellen um ein versenktes Schiff auf.
+     * @param ship Das versenkte Schiff.
+     */
+    private void revealSurroundings(ShipModel ship) {
+        int startX = ship.getCellX(0);
+        int startY = ship.getCellY(0);
+        int endX = ship.getCellX(ship.getLength() - 1);
+        int endY = ship.getCellY(ship.getLength() - 1);
+        for (int x = Math.max(0, startX - 1); x <= Math.min(this.width - 1, endX + 1); x++) {
+            for (int y = Math.max(0, startY - 1); y <= Math.min(this.height - 1, endY + 1); y++) {
+                int index = this.toIndex(x, y);
+                if (!this.occupied.get(index) && !this.miss.get(index)) {
+                    this.revealed.set(index);
                 }
             }
-        } else if (this.getCell(cordX, cordY).getCellState() == CellState.FREE) {
-            this.getCell(cordX, cordY).updateCellState(CellState.FREE);
         }
-        return null;
+    }
+
+    /**
+     * @brief Gibt das Schiff mit der angegebenen Id zurück.
+     * @param shipId Die Id des Schiffes, wie sie in ShotResult.getShipId() geliefert wird.
+     * @return Das Schiff.
+     */
+    public ShipModel getShip(int shipId) {
+        return this.playerShips.get(shipId);
+    }
+
+    /**
+     * @brief Markiert eine bisher nicht getroffene Schiffszelle als getroffen und aktualisiert die Zähler des Schiffes
+     *        und des Boards.
+     * @param index Der Index der Zelle.
+     * @return Das getroffene Schiff.
+     */
+    private ShipModel hitShipCell(int index) {
+        this.hit.set(index);
+        this.remainingShipCells--;
+        ShipModel ship = this.playerShips.get(this.shipIds.get(index) - 1);
+        ship.registerHit();
+        ship.checkShipStatus();
+        if (ship.isSunk()) {
+            this.remainingShips--;
+        }
+        return ship;
     }
 
     /**
@@ -144,12 +501,7 @@ public class BoardModel {
      * @return true, wenn alle Schiffe versenkt wurden.
      */
     public boolean allShipsAreHit() {
-        for (ShipModel ship : this.playerShips) {
-            if (!ship.isSunk()) {
-                return false;
-            }
-        }
-        return true;
+        return this.remainingShips == 0;
     }
 
     /**
@@ -159,11 +511,13 @@ public class BoardModel {
      * @return true, wenn die Koordinaten gültig sind.
      */
     private boolean isValidCoordinate(int cordX, int cordY) {
-        return cordX >= 0 && cordX < WIDTH && cordY >= 0 && cordY < HEIGHT;
+        return cordX >= 0 && cordX < this.width && cordY >= 0 && cordY < this.height;
     }
 
     /**
      * @brief Überprüft, ob die Platzierung eines Schiffes den Regeln entsprechen.
+     *        Da jedes platzierte Schiff samt seiner Nachbarzellen im BitBoard blocked gesperrt ist, reicht ein Vergleich
+     *        mit der vorberechneten Maske der Schiffszellen.
      * @param startX Die X-Koordinate des Startpunktes des Schiffs.
      * @param startY Die Y-Koordinate des Startpunktes des Schiffs.
      * @param horizontal Gibt an, ob das Schiff horizontal oder vertikal platziert wird.
@@ -171,24 +525,61 @@ public class BoardModel {
      * @return true, wenn die Platzierung gültig ist; false sonst.
      */
     public boolean isValidShipPlacement(int startX, int startY, boolean horizontal, int length) {
-        if (!this.isValidCoordinate(startX, startY)) {
+        if (!this.isValidCoordinate(startX, startY) || length < 1) {
             return false;
         }
+        return this.placementTable.fits(length, this.placementTable.placementIndex(startX, startY, horizontal), this.blocked);
+    }
+
+    /**
+     * @brief Überprüft, ob ein Schiff der angegebenen Länge noch irgendwo auf dem Board platziert werden kann.
+     * @param length Die Länge des Schiffs.
+     * @return true, wenn es mindestens eine gültige Platzierung gibt.
+     */
+    public boolean hasValidPlacement(int length) {
+        for (int placement = 0; placement < this.placementTable.placementCount(); placement++) {
+            if (this.placementTable.fits(length, placement, this.blocked)) {
+                return true;
+            }
+        }
+        return false;
+    }
 
-        int endX = horizontal ? startX + length - 1 : startX;
-        int endY = horizontal ? startY : startY + length - 1;
+    /**
+     * @brief Überprüft, ob sich die angegebenen Schiffe noch gemeinsam auf dem Board platzieren lassen.
+     *        Anders als hasValidPlacement berücksichtigt die Prüfung, dass sich die Schiffe gegenseitig den Platz nehmen.
+     * @param shipLengths Die Längen der noch zu platzierenden Schiffe.
+     * @return true, wenn es eine gültige Platzierung aller Schiffe gibt.
+     */
+    public boolean canPlaceFleet(List<Integer> shipLengths) {
+        return this.getFleetSolver().canPlace(this.blocked, shipLengths);
+    }
 
-        if (!this.isValidCoordinate(endX, endY)) {
+    /**
+     * @brief Überprüft, ob ein Schiff an der angegebenen Stelle platziert werden kann, ohne dass die übrigen Schiffe
+     *        danach nicht mehr auf das Board passen.
+     * @param startX Die X-Koordinate des Startpunktes des Schiffs.
+     * @param startY Die Y-Koordinate des Startpunktes des Schiffs.
+     * @param horizontal Gibt an, ob das Schiff horizontal oder vertikal platziert wird.
+     * @param length Die Länge des Schiffs.
+     * @param remainingLengths Die Längen der Schiffe, die danach noch platziert werden müssen.
+     * @return true, wenn die Platzierung gültig ist und die übrigen Schiffe danach noch passen.
+     */
+    public boolean canPlaceShipAndFleet(int startX, int startY, boolean horizontal, int length, List<Integer> remainingLengths) {
+        if (!this.isValidShipPlacement(startX, startY, horizontal, length)) {
             return false;
         }
+        return this.getFleetSolver().canPlaceAfter(this.blocked, this.placementTable.placementIndex(startX, startY, horizontal), length, remainingLengths);
+    }
 
-        for (int x = Math.max(0, startX - 1); x <= Math.min(WIDTH - 1, endX + 1); x++) {
-            for (int y = Math.max(0, startY - 1); y <= Math.min(HEIGHT - 1, endY + 1); y++) {
-                if (this.getCell(x, y).getCellState() == CellState.SET) {
-                    return false;
-                }
-            }
+    /**
+     * @brief Gibt den Solver für die Flottenplatzierung zurück und erstellt ihn beim ersten Aufruf.
+     * @return Der Solver für dieses Board.
+     */
+    private FleetSolver getFleetSolver() {
+        if (this.fleetSolver == null) {
+            this.fleetSolver = new FleetSolver(this.width, this.height, BOAT_SIZES);
         }
-        return true;
+        return this.fleetSolver;
     }
-}
\ No newline at end of file
+}
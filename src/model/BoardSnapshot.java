@@ -0,0 +1,340 @@
+/**
+ * @file BoardSnapshot.java
+ */
+
+package model;
+
+import utils.CellState;
+
+/**
+ * @class BoardSnapshot
+ * @brief Unveränderliches Abbild eines Boards in wenigen primitiven Arrays, etwa für eine Vorausschau, die viele
+ *        Varianten eines Boards durchspielt.
+ *        Die Zellen liegen wie im BitBoard in Blöcken zu je 4096 Bits, die Schiffs-Ids wie im ShipIdGrid. Dazu kommen
+ *        Platzierung, Länge und verbleibende Treffer jedes Schiffes. withShot erzeugt ein neues Abbild, das alle nicht
+ *        betroffenen Blöcke mit dem bisherigen teilt: Kopiert werden nur das Array der Blockverweise, die geänderten
+ *        Blöcke und bei einem Treffer die Treffer je Schiff. Die Arrays eines Abbilds werden nach dem Erstellen nie mehr
+ *        verändert, deshalb dürfen Abbilder ohne Synchronisation zwischen Threads geteilt werden.
+ */
+public final class BoardSnapshot {
+    private final int width;
+    private final int height;
+    // Anzahl der Wörter je Block
+    private final int chunkWords;
+    // Blöcke der Schiffszellen
+    private final long[][] occupied;
+    // Blöcke der getroffenen Schiffszellen
+    private final long[][] hit;
+    // Blöcke der beschossenen freien Zellen
+    private final long[][] miss;
+    // Blöcke der aufgedeckten freien Zellen um versenkte Schiffe
+    private final long[][] revealed;
+    // Blöcke der Schiffs-Ids je Zelle (Index des Schiffes + 1), 0 steht für eine Zelle ohne Schiff
+    private final short[][] shipIds;
+    // Platzierung jedes Schiffes als (Index der ersten Zelle << 1) | horizontal
+    private final int[] shipPlacements;
+    // Länge jedes Schiffes
+    private final int[] shipLengths;
+    // Anzahl der noch nicht getroffenen Zellen jedes Schiffes
+    private final int[] remainingHits;
+    // Anzahl der Schiffe, die noch nicht versenkt wurden
+    private final int remainingShips;
+    // Anzahl der Schiffszellen, die noch nicht getroffen wurden
+    private final int remainingShipCells;
+
+    /**
+     * @brief Konstruktor, der ein Abbild aus seinen Arrays erstellt. Die Arrays werden übernommen und nicht kopiert.
+     * @param width Die Breite des Spielfelds.
+     * @param height Die Höhe des Spielfelds.
+     * @param occupied Die Blöcke der Schiffszellen.
+     * @param hit Die Blöcke der getroffenen Schiffszellen.
+     * @param miss Die Blöcke der beschossenen freien Zellen.
+     * @param revealed Die Blöcke der aufgedeckten Zellen.
+     * @param shipIds Die Blöcke der Schiffs-Ids.
+     * @param shipPlacements Die Platzierung jedes Schiffes.
+     * @param shipLengths Die Länge jedes Schiffes.
+     * @param remainingHits Die noch nicht getroffenen Zellen jedes Schiffes.
+     * @param remainingShips Die Anzahl der nicht versenkten Schiffe.
+     * @param remainingShipCells Die Anzahl der nicht getroffenen Schiffszellen.
+     */
+    BoardSnapshot(int width, int height, long[][] occupied, long[][] hit, long[][] miss, long[][] revealed,
+                  short[][] shipIds, int[] shipPlacements, int[] shipLengths, int[] remainingHits,
+                  int remainingShips, int remainingShipCells) {
+        this.width = width;
+        this.height = height;
+        this.chunkWords = Math.min(BitBoard.CHUNK_BITS / 64, BitBoard.wordCount(width * height));
+        this.occupied = occupied;
+        this.hit = hit;
+        this.miss = miss;
+        this.revealed = revealed;
+        this.shipIds = shipIds;
+        this.shipPlacements = shipPlacements;
+        this.shipLengths = shipLengths;
+        this.remainingHits = remainingHits;
+        this.remainingShips = remainingShips;
+        this.remainingShipCells = remainingShipCells;
+    }
+
+    /**
+     * @brief Gibt die Breite des Spielfelds zurück.
+     * @return Die Breite des Spielfelds.
+     */
+    public int getWidth() {
+        return this.width;
+    }
+
+    /**
+     * @brief Gibt die Höhe des Spielfelds zurück.
+     * @return Die Höhe des Spielfelds.
+     */
+    public int getHeight() {
+        return this.height;
+    }
+
+    /**
+     * @brief Gibt den Zustand einer Zelle zurück.
+     * @param cordX Die X-Koordinate der Zelle.
+     * @param cordY Die Y-Koordinate der Zelle.
+     * @return Der Zustand der Zelle und wenn die Koordinate nicht existiert null.
+     */
+    public CellState getCellState(int cordX, int cordY) {
+        if (!this.isValidCoordinate(cordX, cordY)) {
+            return null;
+        }
+        int index = cordX * this.height + cordY;
+        if (get(this.hit, index)) {
+            return CellState.HIT;
+        }
+        if (get(this.occupied, index)) {
+            return CellState.SET;
+        }
+        if (get(this.miss, index)) {
+            return CellState.MISS;
+        }
+        return get(this.revealed, index) ? CellState.REVEALED : CellState.FREE;
+    }
+
+    /**
+     * @brief Gibt die Anzahl der Schiffe auf dem Board zurück.
+     * @return Die Anzahl der Schiffe.
+     */
+    public int getShipCount() {
+        return this.shipLengths.length;
+    }
+
+    /**
+     * @brief Gibt die Anzahl der noch nicht getroffenen Zellen eines Schiffes zurück.
+     * @param shipId Die Id des Schiffes, wie sie in ShotResult.getShipId() geliefert wird.
+     * @return Die verbleibenden Treffer bis zum Versenken.
+     */
+    public int getRemainingHits(int shipId) {
+        return this.remainingHits[shipId];
+    }
+
+    /**
+     * @brief Gibt die Anzahl der Schiffe zurück, die noch nicht versenkt wurden.
+     * @return Die Anzahl der verbleibenden Schiffe.
+     */
+    public int getRemainingShips() {
+        return this.remainingShips;
+    }
+
+    /**
+     * @brief Gibt die Anzahl der Schiffszellen zurück, die noch nicht getroffen wurden.
+     * @return Die Anzahl der verbleibenden Schiffszellen.
+     */
+    public int getRemainingShipCells() {
+        return this.remainingShipCells;
+    }
+
+    /**
+     * @brief Überprüft, ob alle Schiffe versenkt wurden.
+     * @return true, wenn alle Schiffe versenkt wurden.
+     */
+    public boolean allShipsAreHit() {
+        return this.remainingShips == 0;
+    }
+
+    /**
+     * @brief Berechnet das Ergebnis eines Schusses, ohne ein neues Abbild zu erzeugen. Das Ergebnis entspricht dem
+     *        von BoardModel.fire auf einem Board in diesem Zustand.
+     * @param cordX Die X-Koordinate des Schusses.
+     * @param cordY Die Y-Koordinate des Schusses.
+     * @return Das Ergebnis des Schusses.
+     */
+    public ShotResult resultOf(int cordX, int cordY) {
+        if (!this.isValidCoordinate(cordX, cordY)) {
+            return ShotResult.INVALID;
+        }
+        int index = cordX * this.height + cordY;
+        if (get(this.hit, index) || get(this.miss, index)) {
+            return ShotResult.REPEAT;
+        }
+        if (!get(this.occupied, index)) {
+            return ShotResult.MISS;
+        }
+        int ship = shipId(this.shipIds, index) - 1;
+        return this.remainingHits[ship] == 1 ? ShotResult.sunk(ship) : ShotResult.HIT;
+    }
+
+    /**
+     * @brief Erzeugt das Abbild nach einem Schuss auf die angegebene Zelle. Das Abbild selbst bleibt unverändert.
+     * @param cordX Die X-Koordinate des Schusses.
+     * @param cordY Die Y-Koordinate des Schusses.
+     * @return Das neue Abbild oder dieses, wenn der Schuss ungültig ist oder die Zelle schon beschossen wurde.
+     */
+    public BoardSnapshot withShot(int cordX, int cordY) {
+        ShotResult result = this.resultOf(cordX, cordY);
+        int index = cordX * this.height + cordY;
+        switch (result.getType()) {
+            case MISS:
+                return new BoardSnapshot(this.width, this.height, this.occupied, this.hit,
+                        this.withBit(this.miss, this.miss.clone(), index), this.revealed, this.shipIds,
+                        this.shipPlacements, this.shipLengths, this.remainingHits, this.remainingShips,
+                        this.remainingShipCells);
+            case HIT:
+            case SUNK:
+                int ship = shipId(this.shipIds, index) - 1;
+                int[] hits = this.remainingHits.clone();
+                hits[ship]--;
+                long[][] newRevealed = result.isSunk() ? this.revealAround(ship) : this.revealed;
+                return new BoardSnapshot(this.width, this.height, this.occupied,
+                        this.withBit(this.hit, this.hit.clone(), index), this.miss, newRevealed, this.shipIds,
+                        this.shipPlacements, this.shipLengths, hits,
+                        this.remainingShips - (result.isSunk() ? 1 : 0), this.remainingShipCells - 1);
+            default:
+                return this;
+        }
+    }
+
+    /**
+     * @brief Deckt alle freien, noch nicht beschossenen Zellen um ein Schiff auf.
+     * @param ship Der Index des Schiffes.
+     * @return Die neuen Blöcke der aufgedeckten Zellen.
+     */
+    private long[][] revealAround(int ship) {
+        int start = this.shipPlacements[ship] >>> 1;
+        boolean horizontal = (this.shipPlacements[ship] & 1) != 0;
+        int startX = start / this.height;
+        int startY = start % this.height;
+        int endX = horizontal ? startX + this.shipLengths[ship] - 1 : startX;
+        int endY = horizontal ? startY : startY + this.shipLengths[ship] - 1;
+        long[][] chunks = this.revealed.clone();
+        for (int x = Math.max(0, startX - 1); x <= Math.min(this.width - 1, endX + 1); x++) {
+            for (int y = Math.max(0, startY - 1); y <= Math.min(this.height - 1, endY + 1); y++) {
+                int index = x * this.height + y;
+                if (!get(this.occupied, index) && !get(this.miss, index)) {
+                    chunks = this.withBit(this.revealed, chunks, index);
+                }
+            }
+        }
+        return chunks;
+    }
+
+    /**
+     * @brief Setzt ein Bit in einer Kopie der Blockverweise. Ein Block wird nur kopiert, solange er noch mit dem
+     *        ursprünglichen Abbild geteilt wird, sodass mehrere Bits im gleichen Block nur eine Kopie kosten.
+     * @param original Die Blöcke des ursprünglichen Abbilds.
+     * @param chunks Die bereits kopierten Blockverweise, die verändert werden.
+     * @param index Der Index der Zelle.
+     * @return Die veränderten Blockverweise.
+     */
+    private long[][] withBit(long[][] original, long[][] chunks, int index) {
+        int chunkIndex = index >>> BitBoard.CHUNK_SHIFT;
+        if (chunks[chunkIndex] == original[chunkIndex]) {
+            chunks[chunkIndex] = original[chunkIndex] == null ? new long[this.chunkWords] : original[chunkIndex].clone();
+        }
+        chunks[chunkIndex][(index & (BitBoard.CHUNK_BITS - 1)) >>> 6] |= 1L << index;
+        return chunks;
+    }
+
+    /**
+     * @brief Liest ein Bit aus Blöcken.
+     * @param chunks Die Blöcke.
+     * @param index Der Index der Zelle.
+     * @return true, wenn das Bit gesetzt ist.
+     */
+    private static boolean get(long[][] chunks, int index) {
+        long[] chunk = chunks[index >>> BitBoard.CHUNK_SHIFT];
+        return chunk != null && (chunk[(index & (BitBoard.CHUNK_BITS - 1)) >>> 6] & (1L << index)) != 0;
+    }
+
+    /**
+     * @brief Liest eine Schiffs-Id aus Blöcken.
+     * @param chunks Die Blöcke.
+     * @param index Der Index der Zelle.
+     * @return Die Id des Schiffes oder 0.
+     */
+    private static int shipId(short[][] chunks, int index) {
+        short[] chunk = chunks[index >>> BitBoard.CHUNK_SHIFT];
+        return chunk == null ? 0 : chunk[index & (BitBoard.CHUNK_BITS - 1)];
+    }
+
+    /**
+     * @brief Überprüft, ob die angegebenen Koordinaten innerhalb des Spielfeldes liegen.
+     * @param cordX Die X-Koordinate.
+     * @param cordY Die Y-Koordinate.
+     * @return true, wenn die Koordinaten gültig sind.
+     */
+    private boolean isValidCoordinate(int cordX, int cordY) {
+        return cordX >= 0 && cordX < this.width && cordY >= 0 && cordY < this.height;
+    }
+
+    /**
+     * @brief Gibt die Blöcke der Schiffszellen für BoardModel.restore zurück.
+     * @return Die Blöcke, die nicht verändert werden dürfen.
+     */
+    long[][] getOccupiedChunks() {
+        return this.occupied;
+    }
+
+    /**
+     * @brief Gibt die Blöcke der getroffenen Schiffszellen für BoardModel.restore zurück.
+     * @return Die Blöcke, die nicht verändert werden dürfen.
+     */
+    long[][] getHitChunks() {
+        return this.hit;
+    }
+
+    /**
+     * @brief Gibt die Blöcke der beschossenen freien Zellen für BoardModel.restore zurück.
+     * @return Die Blöcke, die nicht verändert werden dürfen.
+     */
+    long[][] getMissChunks() {
+        return this.miss;
+    }
+
+    /**
+     * @brief Gibt die Blöcke der aufgedeckten Zellen für BoardModel.restore zurück.
+     * @return Die Blöcke, die nicht verändert werden dürfen.
+     */
+    long[][] getRevealedChunks() {
+        return this.revealed;
+    }
+
+    /**
+     * @brief Gibt die Blöcke der Schiffs-Ids für BoardModel.restore zurück.
+     * @return Die Blöcke, die nicht verändert werden dürfen.
+     */
+    short[][] getShipIdChunks() {
+        return this.shipIds;
+    }
+
+    /**
+     * @brief Gibt die Platzierung eines Schiffes zurück.
+     * @param shipId Die Id des Schiffes.
+     * @return Die Platzierung als (Index der ersten Zelle << 1) | horizontal.
+     */
+    int getShipPlacement(int shipId) {
+        return this.shipPlacements[shipId];
+    }
+
+    /**
+     * @brief Gibt die Länge eines Schiffes zurück.
+     * @param shipId Die Id des Schiffes.
+     * @return Die Länge des Schiffes.
+     */
+    int getShipLength(int shipId) {
+        return this.shipLengths[shipId];
+    }
+}
@@ -11,6 +11,8 @@ import utils.CellState;
  * @brief Diese Klasse stellt eine einzelne Zelle auf einem Spielfeld dar. Sie enthält Informationen über den Zustand der Zelle,
  *        sowie deren Position auf dem Spielfeld, welche durch X- und Y-Koordinaten angegeben werden.
  *        Diese Klasse ermöglicht es, die einzelnen Zellkomponenten zu erhalten, zu aktualisieren und zu überprüfen, ob die Zelle getroffen wurde.
+ *        Das BoardModel speichert seine Zellen in BitBoards und erzeugt CellModel-Objekte nur noch als Ansicht auf
+ *        eine Zelle.
  */
 public class CellModel {
     private CellState cellState;
@@ -4,29 +4,246 @@
 
 package model;
 
+import ai.AnytimeSearch;
+import ai.AnytimeStrategy;
+import ai.DecisionStats;
+import ai.MovePool;
+import ai.OpeningBook;
+import ai.OpeningStrategy;
+import ai.ShotKnowledge;
+import ai.ShotStrategies;
+import ai.ShotStrategy;
+import ai.ShotStrategyProvider;
 import utils.CellState;
+import utils.ShotType;
 
-import java.util.*;
+import java.util.SplittableRandom;
 
 /**
  * @class ComputerPlayerModel
  * @brief Ein spezieller Spieler der PlayerModel-Klasse, die Logik für einen Computergegner implementiert.
+ *        Das Ziel jedes Zuges wählt eine austauschbare ShotStrategy. Der Computer pflegt das Wissen über das
+ *        gegnerische Board, misst die Entscheidungszeit der Strategie und schießt zufällig, wenn die Strategie keine
+ *        Zelle findet. Strategien, die jederzeit abgebrochen werden können, erhalten eine feste Frist je Zug.
+ *        Steht das Regelwerk im OpeningBook, werden die ersten Züge ohne Treffer aus dem Buch gespielt.
  */
 public class ComputerPlayerModel extends PlayerModel {
-    // alle erlaubte Spielzüge des Computers
-    private List<int[]> computerMove;
+    // Die noch nicht beschossenen Zellen, aus denen zufällig gewählt wird, wenn die Strategie keine Zelle findet
+    private final MovePool movePool;
     // X-Koordinate des letzten Zuges des Computers
     private int lastMoveX;
     // Y-Koordinate des letzten Zuges des Computers
     private int lastMoveY;
+    // Wissen über das Board des Gegners aus den eigenen Schüssen
+    private final ShotKnowledge knowledge;
+    // Anbieter der verwendeten Strategie
+    private final ShotStrategyProvider strategyProvider;
+    // Strategie, die das Ziel jedes Zuges wählt
+    private ShotStrategy strategy;
+    // Die Strategie, die tatsächlich befragt wird, gegebenenfalls mit Frist je Zug
+    private ShotStrategy decider;
+    // Entscheidungszeiten der Strategie
+    private final DecisionStats decisionStats;
+    // Zufallsgenerator für zufällige Züge, lebt bis zur nächsten Partie mit reset
+    private SplittableRandom random;
+    // Die Frist je Zug in Millisekunden, 0 für keine Frist
+    private long deadlineMillis;
+    // Die Eröffnung des Regelwerks oder null, wenn keine gespielt wird
+    private final OpeningBook.Line opening;
+    // Die Symmetrie, mit der die Eröffnung in der laufenden Partie gespielt wird
+    private int openingSymmetry;
 
     /**
-     * @brief Konstruktor, der einen Computergegner mit einem festen Namen erstellt und alle möglichen Spielzüge erstellt.
+     * @brief Konstruktor, der einen Computergegner mit einem vorgegebenen Zufallsgenerator erstellt. Mit dem gleichen
+     *        Seed trifft der Computer bei gleichem Spielverlauf die gleichen Entscheidungen. Der Zufallsgenerator wird aus
+     *        der Zufallsquelle der Partie abgeleitet oder aus einem festen Seed erstellt.
      * @param playerName Der Name des Computergegners.
+     * @param boardSize Die Breite und Höhe der Spielfelder.
+     * @param strategyProvider Der Anbieter der Strategie.
+     * @param random Der Zufallsgenerator des Computers.
      */
-    public ComputerPlayerModel(String playerName) {
-        super(playerName);
-        this.initializeAvailableMoves();
+    public ComputerPlayerModel(String playerName, int boardSize, ShotStrategyProvider strategyProvider, SplittableRandom random) {
+        super(playerName, boardSize);
+        this.knowledge = new ShotKnowledge(boardSize, boardSize, BoardModel.BOAT_SIZES);
+        this.strategyProvider = strategyProvider;
+        this.strategy = strategyProvider.create(boardSize, boardSize, random.split());
+        this.decisionStats = new DecisionStats();
+        this.random = random;
+        this.opening = strategyProvider.usesOpeningBook()
+                ? OpeningBook.getDefault().find(boardSize, boardSize, BoardModel.BOAT_SIZES)
+                : null;
+        this.chooseOpeningSymmetry(random);
+        this.decider = this.withOpening(this.strategy);
+        this.movePool = new MovePool(boardSize * boardSize);
+    }
+
+    /**
+     * @brief Gibt den Anbieter der verwendeten Strategie zurück.
+     * @return Der Anbieter der Strategie.
+     */
+    public ShotStrategyProvider getStrategyProvider() {
+        return strategyProvider;
+    }
+
+    /**
+     * @brief Legt die Frist je Zug fest. Strategien, die AnytimeSearch implementieren, werden danach im Hintergrund
+     *        ausgeführt und nach Ablauf der Frist abgebrochen, das bis dahin beste Ziel wird verwendet. Andere Strategien
+     *        bleiben unverändert.
+     * @param deadlineMillis Die Frist je Zug in Millisekunden, 0 für keine Frist.
+     */
+    public void setDecisionDeadline(long deadlineMillis) {
+        this.deadlineMillis = deadlineMillis;
+        if (deadlineMillis > 0 && this.strategy instanceof AnytimeSearch) {
+            this.decider = this.withOpening(new AnytimeStrategy(this.strategy, deadlineMillis, this.random.split()));
+        } else {
+            this.decider = this.withOpening(this.strategy);
+        }
+    }
+
+    /**
+     * @brief Bereitet den Computer auf eine neue Partie auf Spielfeldern gleicher Größe vor. Board, Wissen und
+     *        Zugvorrat werden geleert und wiederverwendet, die Strategie wird mit dem neuen Zufallsgenerator neu
+     *        erstellt, damit sie keinen Zustand aus der vorherigen Partie mitnimmt. Die Frist je Zug bleibt erhalten.
+     * @param random Der Zufallsgenerator des Computers für die neue Partie.
+     */
+    public void reset(SplittableRandom random) {
+        super.reset();
+        int boardSize = this.getBoard().getWidth();
+        this.knowledge.reset();
+        this.movePool.reset();
+        this.random = random;
+        this.strategy = this.strategyProvider.create(boardSize, boardSize, random.split());
+        this.chooseOpeningSymmetry(random);
+        this.setDecisionDeadline(this.deadlineMillis);
+    }
+
+    /**
+     * @brief Bereitet den Computer auf eine neue Partie vor und leitet den Zufall der Partie aus dem bisherigen
+     *        Zufallsgenerator ab.
+     */
+    @Override
+    public void reset() {
+        this.reset(this.random.split());
+    }
+
+    /**
+     * @brief Baut das Wissen über das Board des Gegners aus dessen aktuellem Zustand neu auf, etwa nachdem ein
+     *        Spielstand geladen wurde. Jede beschossene Zelle gilt als eigener Schuss des Computers. Die Strategie wird
+     *        neu erstellt, da sie Zustand aus den bisherigen Zügen halten kann. Die Eröffnung behält ihre Symmetrie und
+     *        wird nur fortgesetzt, solange das neu aufgebaute Wissen genau ihren ersten Zügen entspricht.
+     * @param opponent Der gegnerische Spieler.
+     */
+    public void synchronize(PlayerModel opponent) {
+        BoardModel board = opponent.getBoard();
+        this.knowledge.reset();
+        this.movePool.reset();
+        for (int x = 0; x < board.getWidth(); x++) {
+            for (int y = 0; y < board.getHeight(); y++) {
+                CellState state = board.getCellState(x, y);
+                if (state == CellState.MISS) {
+                    this.knowledge.observe(x, y, ShotResult.MISS, board);
+                    this.movePool.remove(x * board.getHeight() + y);
+                } else if (state == CellState.HIT && !board.getShipAt(x, y).isSunk()) {
+                    this.knowledge.observe(x, y, ShotResult.HIT, board);
+                    this.movePool.remove(x * board.getHeight() + y);
+                }
+            }
+        }
+        // Versenkte Schiffe werden Zelle für Zelle beobachtet, die letzte Zelle meldet das Versenken
+        for (int shipId = 0; shipId < board.getPlayerShips().size(); shipId++) {
+            ShipModel ship = board.getShip(shipId);
+            if (!ship.isSunk()) {
+                continue;
+            }
+            for (int i = 0; i < ship.getLength(); i++) {
+                ShotResult result = i == ship.getLength() - 1 ? ShotResult.sunk(shipId) : ShotResult.HIT;
+                this.knowledge.observe(ship.getCellX(i), ship.getCellY(i), result, board);
+                this.movePool.remove(ship.getCellX(i) * board.getHeight() + ship.getCellY(i));
+            }
+        }
+        int boardSize = this.getBoard().getWidth();
+        this.strategy = this.strategyProvider.create(boardSize, boardSize, this.random.split());
+        this.setDecisionDeadline(this.deadlineMillis);
+    }
+
+    /**
+     * @brief Übernimmt einen eigenen Schuss, der nicht über makeMove ausgeführt wurde, etwa bei redo, in Wissen,
+     *        Zugvorrat und Strategie.
+     * @param cordX Die X-Koordinate des Schusses.
+     * @param cordY Die Y-Koordinate des Schusses.
+     * @param result Das Ergebnis des Schusses.
+     * @param opponent Der gegnerische Spieler.
+     */
+    public void observeShot(int cordX, int cordY, ShotResult result, PlayerModel opponent) {
+        int index = cordX * opponent.getBoard().getHeight() + cordY;
+        this.movePool.remove(index);
+        this.knowledge.observe(cordX, cordY, result, opponent.getBoard());
+        this.decider.observe(index, result, this.knowledge);
+    }
+
+    /**
+     * @brief Nimmt einen eigenen Schuss aus Wissen, Zugvorrat und Strategie zurück, nachdem er auf dem Board des
+     *        Gegners zurückgenommen wurde. Der Aufwand hängt nicht von der Größe des Spielfelds ab, und die Strategie
+     *        behält ihren Zustand und ihren Zufallsgenerator.
+     * @param cordX Die X-Koordinate des Schusses.
+     * @param cordY Die Y-Koordinate des Schusses.
+     * @param type Das Ergebnis des zurückgenommenen Schusses.
+     * @param opponent Der gegnerische Spieler.
+     */
+    public void unobserveShot(int cordX, int cordY, ShotType type, PlayerModel opponent) {
+        int index = cordX * opponent.getBoard().getHeight() + cordY;
+        this.knowledge.unobserve(cordX, cordY, type, opponent.getBoard());
+        this.movePool.restore(index);
+        this.decider.unobserve(index, type, this.knowledge);
+    }
+
+    /**
+     * @brief Wählt die Symmetrie der Eröffnung für eine neue Partie, falls eine Eröffnung gespielt wird.
+     * @param random Der Zufallsgenerator der Partie.
+     */
+    private void chooseOpeningSymmetry(SplittableRandom random) {
+        if (this.opening != null) {
+            int boardSize = this.getBoard().getWidth();
+            this.openingSymmetry = OpeningStrategy.randomSymmetry(boardSize, boardSize, random);
+        }
+    }
+
+    /**
+     * @brief Stellt einer Strategie die Eröffnung des Regelwerks voran, falls eine vorhanden ist. Die Eröffnung setzt
+     *        beim aktuellen Wissen fort, eine neue Partie beginnt also bei ihrem ersten Zug.
+     * @param strategy Die Strategie nach dem Ende der Eröffnung.
+     * @return Die Strategie mit Eröffnung oder die Strategie selbst.
+     */
+    private ShotStrategy withOpening(ShotStrategy strategy) {
+        if (this.opening == null) {
+            return strategy;
+        }
+        int boardSize = this.getBoard().getWidth();
+        return new OpeningStrategy(strategy, this.opening, boardSize, boardSize, this.openingSymmetry, this.knowledge);
+    }
+
+    /**
+     * @brief Gibt das Wissen über das Board des Gegners zurück, etwa um es in den Prüfprogrammen zu vergleichen.
+     * @return Das Wissen.
+     */
+    ShotKnowledge getKnowledge() {
+        return this.knowledge;
+    }
+
+    /**
+     * @brief Gibt die noch nicht beschossenen Zellen zurück, etwa um sie in den Prüfprogrammen zu vergleichen.
+     * @return Der Zugvorrat.
+     */
+    MovePool getMovePool() {
+        return this.movePool;
+    }
+
+    /**
+     * @brief Gibt die gemessenen Entscheidungszeiten der Strategie zurück.
+     * @return Die Entscheidungszeiten.
+     */
+    public DecisionStats getDecisionStats() {
+        return decisionStats;
     }
 
     /**
@@ -45,43 +262,27 @@ public class ComputerPlayerModel extends PlayerModel {
         return lastMoveY;
     }
 
-    /**
-     * @brief Erstellt eine Liste der verfügbaren Züge, die der Computer machen kann.
-     */
-    private void initializeAvailableMoves() {
-        computerMove = new ArrayList<>();
-        for (int i = 0; i < BoardModel.WIDTH; i++) {
-            for (int j = 0; j < BoardModel.HEIGHT; j++) {
-                computerMove.add(new int[]{i, j});
-            }
-        }
-    }
-
     /**
      * @brief Führt einen Zug des Computers gegen den gegnerischen Spieler aus.
      * @param opponent Der gegnerische Spieler.
-     * @return true, wenn der Computer ein Schiff getroffen hat.
-     */
-    public boolean makeMove(PlayerModel opponent) {
-        boolean result = false;
-        if (!computerMove.isEmpty()) {
-            Random random = new Random();
-            int index = random.nextInt(computerMove.size());
-            // Auswahl eines zufälligen Index um aus der Klassenvariable computerMove einen Zug zu bekommen.
-            int[] move = computerMove.remove(index);
-            lastMoveX = move[0];
-            lastMoveY = move[1];
-
-            BoardModel opponentBoard = opponent.getBoard();
-            CellModel targetCell = opponentBoard.getCell(move[0], move[1]);
-
-            if (targetCell.getCellState() == CellState.FREE) {
-                result = false;
-            } else {
-                result = targetCell.getCellState() == CellState.SET;
-                targetCell.updateCellState(CellState.HIT);
+     * @return Das Ergebnis des Schusses oder ShotResult.INVALID, wenn keine Züge mehr übrig sind.
+     */
+    public ShotResult makeMove(PlayerModel opponent) {
+        long start = System.nanoTime();
+        int target = this.decider.chooseTarget(this.knowledge);
+        this.decisionStats.record(System.nanoTime() - start);
+        if (target < 0 || this.knowledge.isShot(target)) {
+            target = this.movePool.draw(this.random);
+            if (target < 0) {
+                return ShotResult.INVALID;
             }
         }
+        int height = opponent.getBoard().getHeight();
+        lastMoveX = target / height;
+        lastMoveY = target % height;
+
+        ShotResult result = this.fireAt(opponent.getBoard(), lastMoveX, lastMoveY);
+        this.observeShot(lastMoveX, lastMoveY, result, opponent);
         return result;
     }
-}
\ No newline at end of file
+}
@@ -0,0 +1,193 @@
+/**
+ * @file FleetGenerator.java
+ */
+
+package model;
+
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.SplittableRandom;
+
+/**
+ * @class FleetGenerator
+ * @brief Platziert eine Flotte zufällig auf einem Board und terminiert dabei garantiert.
+ *        Jedes Schiff wird gleichverteilt aus den aktuell gültigen Platzierungen gewählt. Zuerst wird dafür eine
+ *        zufällige Platzierung gezogen und verworfen, wenn sie nicht passt. Findet sich so nach wenigen Versuchen keine,
+ *        werden alle gültigen Platzierungen aufgezählt. Passt ein späteres Schiff nicht mehr, wird zurückgegangen und
+ *        eine andere Platzierung versucht. Da jede Platzierung je Zustand nur einmal versucht wird und gescheiterte
+ *        Zustände auf kleinen Spielfeldern gemerkt werden, endet die Suche immer.
+ *        Eine Instanz verwendet ihre Arbeitsspeicher wieder und ist nicht threadsicher.
+ */
+public class FleetGenerator {
+    // Anzahl der zufälligen Versuche, bevor die gültigen Platzierungen aufgezählt werden
+    private static final int REJECTION_ATTEMPTS = 32;
+
+    private final PlacementTable placementTable;
+    // Die Schiffslängen, absteigend sortiert
+    private final int[] lengths;
+    // Gesperrte Zellen je Suchtiefe
+    private final BitBoard[] levels;
+    // Gewählte Platzierung je Suchtiefe
+    private final int[] placements;
+    // Zwischenspeicher für die aufgezählten Platzierungen je Suchtiefe
+    private final int[][] candidates;
+    // Zustände, aus denen keine vollständige Flotte mehr platziert werden kann
+    private final HashSet<OccupancyKey> failedStates;
+    // Gibt an, ob gescheiterte Zustände gemerkt werden
+    private final boolean memoize;
+
+    /**
+     * @brief Konstruktor, der den Generator für ein Regelwerk erstellt.
+     * @param width Die Breite des Spielfelds.
+     * @param height Die Höhe des Spielfelds.
+     * @param shipLengths Die Längen der zu platzierenden Schiffe.
+     */
+    public FleetGenerator(int width, int height, int[] shipLengths) {
+        this.placementTable = PlacementTable.forRuleset(width, height, shipLengths);
+        int[] sorted = shipLengths.clone();
+        Arrays.sort(sorted);
+        this.lengths = new int[sorted.length];
+        for (int i = 0; i < sorted.length; i++) {
+            this.lengths[i] = sorted[sorted.length - 1 - i];
+        }
+        this.levels = new BitBoard[this.lengths.length + 1];
+        for (int i = 0; i < this.levels.length; i++) {
+            this.levels[i] = new BitBoard(width * height);
+        }
+        this.placements = new int[this.lengths.length];
+        this.candidates = new int[this.lengths.length][];
+        this.failedStates = new HashSet<>();
+        this.memoize = width * height <= PlacementTable.MAX_TABLE_CELLS;
+    }
+
+    /**
+     * @brief Platziert die Flotte zufällig auf dem Board. Bereits platzierte Schiffe bleiben erhalten.
+     * @param board Das Board, auf dem die Flotte platziert wird.
+     * @param random Der Zufallsgenerator, der die Platzierung bestimmt.
+     * @return true, wenn alle Schiffe platziert wurden; false, wenn die Flotte nicht auf das Board passt. In diesem
+     *         Fall bleibt das Board unverändert.
+     */
+    public boolean placeFleet(BoardModel board, SplittableRandom random) {
+        this.levels[0].copyFrom(board.getBlocked());
+        if (!this.generate(random)) {
+            return false;
+        }
+        for (int depth = 0; depth < this.lengths.length; depth++) {
+            int cell = this.placements[depth] >>> 1;
+            board.placeShip(cell / board.getHeight(), cell % board.getHeight(), (this.placements[depth] & 1) != 0, this.lengths[depth]);
+        }
+        return true;
+    }
+
+    /**
+     * @brief Erzeugt eine zufällige Flotte auf einem leeren Spielfeld, ohne sie auf einem Board zu platzieren.
+     * @param random Der Zufallsgenerator, der die Platzierung bestimmt.
+     * @return Die Platzierungen der Schiffe in der Reihenfolge von getLengths() oder null, wenn die Flotte nicht auf
+     *         das Spielfeld passt.
+     */
+    public int[] generatePlacements(SplittableRandom random) {
+        this.levels[0].clearAll();
+        return this.generate(random) ? this.placements.clone() : null;
+    }
+
+    /**
+     * @brief Gibt die Schiffslängen in der Reihenfolge zurück, in der die Platzierungen erzeugt werden.
+     * @return Die absteigend sortierten Schiffslängen.
+     */
+    public int[] getLengths() {
+        return this.lengths.clone();
+    }
+
+    /**
+     * @brief Sucht ausgehend von den gesperrten Zellen der ersten Suchtiefe Platzierungen für alle Schiffe.
+     * @param random Der Zufallsgenerator.
+     * @return true, wenn alle Schiffe platziert werden konnten.
+     */
+    private boolean generate(SplittableRandom random) {
+        this.failedStates.clear();
+        return this.place(0, random);
+    }
+
+    /**
+     * @brief Platziert das Schiff der angegebenen Suchtiefe und alle folgenden Schiffe.
+     * @param depth Die Suchtiefe, also der Index des Schiffes in lengths.
+     * @param random Der Zufallsgenerator.
+     * @return true, wenn alle verbleibenden Schiffe platziert werden konnten.
+     */
+    private boolean place(int depth, SplittableRandom random) {
+        if (depth == this.lengths.length) {
+            return true;
+        }
+        BitBoard blocked = this.levels[depth];
+        int length = this.lengths[depth];
+
+        // Gleichverteilte Auswahl durch Verwerfen unpassender Platzierungen
+        int rejected = -1;
+        for (int attempt = 0; attempt < REJECTION_ATTEMPTS; attempt++) {
+            int placement = random.nextInt(this.placementTable.placementCount());
+            if (this.placementTable.fits(length, placement, blocked)) {
+                if (this.tryPlacement(depth, placement, random)) {
+                    return true;
+                }
+                rejected = placement;
+                break;
+            }
+        }
+
+        // Gleichverteilte Auswahl ohne Zurücklegen aus allen übrigen gültigen Platzierungen
+        int count = this.collectCandidates(depth, length, blocked, rejected);
+        int[] options = this.candidates[depth];
+        while (count > 0) {
+            int i = random.nextInt(count);
+            int placement = options[i];
+            options[i] = options[--count];
+            if (this.tryPlacement(depth, placement, random)) {
+                return true;
+            }
+        }
+        if (this.memoize) {
+            this.failedStates.add(new OccupancyKey(depth, blocked));
+        }
+        return false;
+    }
+
+    /**
+     * @brief Wählt eine Platzierung für die aktuelle Suchtiefe und fährt mit dem nächsten Schiff fort.
+     * @param depth Die Suchtiefe.
+     * @param placement Der Index der Platzierung.
+     * @param random Der Zufallsgenerator.
+     * @return true, wenn alle verbleibenden Schiffe platziert werden konnten.
+     */
+    private boolean tryPlacement(int depth, int placement, SplittableRandom random) {
+        BitBoard next = this.levels[depth + 1];
+        next.copyFrom(this.levels[depth]);
+        this.placementTable.block(this.lengths[depth], placement, next);
+        this.placements[depth] = placement;
+        if (this.memoize && this.failedStates.contains(new OccupancyKey(depth + 1, next))) {
+            return false;
+        }
+        return this.place(depth + 1, random);
+    }
+
+    /**
+     * @brief Sammelt alle gültigen Platzierungen eines Schiffes im Zwischenspeicher der Suchtiefe.
+     * @param depth Die Suchtiefe.
+     * @param length Die Länge des Schiffes.
+     * @param blocked Die gesperrten Zellen.
+     * @param excluded Eine bereits erfolglos versuchte Platzierung oder -1.
+     * @return Die Anzahl der gesammelten Platzierungen.
+     */
+    private int collectCandidates(int depth, int length, BitBoard blocked, int excluded) {
+        int count = 0;
+        for (int placement = 0; placement < this.placementTable.placementCount(); placement++) {
+            if (placement != excluded && this.placementTable.fits(length, placement, blocked)) {
+                if (this.candidates[depth] == null || count == this.candidates[depth].length) {
+                    int capacity = this.candidates[depth] == null ? 64 : count * 2;
+                    this.candidates[depth] = this.candidates[depth] == null ? new int[capacity] : Arrays.copyOf(this.candidates[depth], capacity);
+                }
+                this.candidates[depth][count++] = placement;
+            }
+        }
+        return count;
+    }
+}
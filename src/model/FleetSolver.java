@@ -0,0 +1,245 @@
+/**
+ * @file FleetSolver.java
+ */
+
+package model;
+
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.List;
+
+/**
+ * @class FleetSolver
+ * @brief Entscheidet exakt, ob sich eine Menge von Schiffen noch gemeinsam auf einem teilweise belegten Board
+ *        platzieren lässt.
+ *        Die Suche geht die Zellen in Indexreihenfolge durch. Für die erste freie Zelle wird entweder ein Schiff
+ *        gewählt, das dort beginnt, oder die Zelle bleibt leer. Dadurch wird jede Anordnung genau einmal betrachtet,
+ *        auch wenn mehrere Schiffe gleich lang sind. Da sich Schiffe nicht berühren dürfen, kann jeder 2x2-Block des
+ *        Spielfelds Zellen von höchstens einem Schiff enthalten. Ein Schiff der Länge L berührt mindestens L/2
+ *        (aufgerundet) solcher Blöcke, wodurch aussichtslose Zustände früh verworfen werden. Zustände aus verbleibenden Schiffen und gesperrten Zellen, die
+ *        keine Lösung haben, werden auf kleinen Spielfeldern gemerkt.
+ *        Eine Instanz verwendet ihre Arbeitsspeicher wieder und ist nicht threadsicher.
+ */
+public class FleetSolver {
+    private final PlacementTable placementTable;
+    private final int width;
+    private final int height;
+    private final int cells;
+    // Die unterschiedlichen Schiffslängen des Regelwerks, absteigend sortiert
+    private final int[] lengths;
+    // Stellenwert der Anzahl je Schiffslänge im Schlüssel der verbleibenden Schiffe
+    private final long[] radix;
+    // Gesperrte Zellen je Suchtiefe
+    private BitBoard[] levels;
+    // Anzahl der verbleibenden Schiffe je Schiffslänge
+    private final int[] counts;
+    // Zustände ohne Lösung
+    private final HashSet<OccupancyKey> failedStates;
+    // Gibt an, ob Zustände ohne Lösung gemerkt werden
+    private final boolean memoize;
+
+    /**
+     * @brief Konstruktor, der den Solver für ein Regelwerk erstellt.
+     * @param width Die Breite des Spielfelds.
+     * @param height Die Höhe des Spielfelds.
+     * @param shipLengths Die Längen aller Schiffe des Regelwerks.
+     */
+    public FleetSolver(int width, int height, int[] shipLengths) {
+        this.placementTable = PlacementTable.forRuleset(width, height, shipLengths);
+        this.width = width;
+        this.height = height;
+        this.cells = width * height;
+        int[] distinct = Arrays.stream(shipLengths).distinct().sorted().toArray();
+        this.lengths = new int[distinct.length];
+        this.radix = new long[distinct.length];
+        long place = 1;
+        boolean fitsInKey = true;
+        for (int i = 0; i < distinct.length; i++) {
+            this.lengths[i] = distinct[distinct.length - 1 - i];
+            int maxCount = 0;
+            for (int length : shipLengths) {
+                if (length == this.lengths[i]) {
+                    maxCount++;
+                }
+            }
+            this.radix[i] = place;
+            fitsInKey &= place <= Long.MAX_VALUE / (maxCount + 1);
+            place *= maxCount + 1;
+        }
+        this.counts = new int[distinct.length];
+        this.levels = new BitBoard[0];
+        this.failedStates = new HashSet<>();
+        this.memoize = fitsInKey && this.cells <= PlacementTable.MAX_TABLE_CELLS;
+    }
+
+    /**
+     * @brief Überprüft, ob sich die Schiffe gemeinsam platzieren lassen.
+     * @param blocked Die belegten Zellen samt ihrer angrenzenden Zellen.
+     * @param shipLengths Die Längen der zu platzierenden Schiffe.
+     * @return true, wenn es eine gültige Platzierung aller Schiffe gibt.
+     */
+    public boolean canPlace(BitBoard blocked, List<Integer> shipLengths) {
+        Arrays.fill(this.counts, 0);
+        int remainingCells = 0;
+        int remainingBlocks = 0;
+        for (int length : shipLengths) {
+            this.counts[this.lengthIndex(length)]++;
+            remainingCells += length;
+            remainingBlocks += (length + 1) / 2;
+        }
+        if (shipLengths.isEmpty()) {
+            return true;
+        }
+        if (this.levels.length < shipLengths.size() + 1) {
+            this.levels = new BitBoard[shipLengths.size() + 1];
+            for (int i = 0; i < this.levels.length; i++) {
+                this.levels[i] = new BitBoard(this.cells);
+            }
+        }
+        this.failedStates.clear();
+        this.levels[0].copyFrom(blocked);
+        return this.solve(0, shipLengths.size(), remainingCells, remainingBlocks);
+    }
+
+    /**
+     * @brief Überprüft, ob sich ein Schiff an der angegebenen Stelle platzieren lässt und die übrigen Schiffe danach
+     *        noch gemeinsam platziert werden können.
+     * @param blocked Die belegten Zellen samt ihrer angrenzenden Zellen.
+     * @param placement Der Index der Platzierung des Schiffes.
+     * @param length Die Länge des Schiffes.
+     * @param remainingLengths Die Längen der übrigen Schiffe.
+     * @return true, wenn die Platzierung gültig ist und die übrigen Schiffe danach noch passen.
+     */
+    public boolean canPlaceAfter(BitBoard blocked, int placement, int length, List<Integer> remainingLengths) {
+        if (!this.placementTable.fits(length, placement, blocked)) {
+            return false;
+        }
+        BitBoard next = new BitBoard(this.cells);
+        next.copyFrom(blocked);
+        this.placementTable.block(length, placement, next);
+        return this.canPlace(next, remainingLengths);
+    }
+
+    /**
+     * @brief Sucht eine Platzierung der verbleibenden Schiffe ausgehend von den gesperrten Zellen der Suchtiefe.
+     * @param depth Die Suchtiefe, also die Anzahl der bereits platzierten Schiffe.
+     * @param remainingShips Die Anzahl der verbleibenden Schiffe.
+     * @param remainingCells Die Anzahl der Zellen, welche die verbleibenden Schiffe belegen.
+     * @param remainingBlocks Die Anzahl der 2x2-Blöcke, welche die verbleibenden Schiffe mindestens berühren.
+     * @return true, wenn sich die verbleibenden Schiffe platzieren lassen.
+     */
+    private boolean solve(int depth, int remainingShips, int remainingCells, int remainingBlocks) {
+        BitBoard blocked = this.levels[depth];
+        OccupancyKey key = null;
+        if (this.memoize) {
+            key = new OccupancyKey(this.countsKey(), blocked);
+            if (this.failedStates.contains(key)) {
+                return false;
+            }
+            if (this.countFreeBlocks(blocked) < remainingBlocks) {
+                this.failedStates.add(key);
+                return false;
+            }
+        }
+
+        BitBoard next = this.levels[depth + 1];
+        int freeCells = this.cells - blocked.cardinality();
+        int cell = blocked.nextClearBit(0);
+        while (cell < this.cells && freeCells >= remainingCells) {
+            for (int i = 0; i < this.lengths.length; i++) {
+                if (this.counts[i] == 0) {
+                    continue;
+                }
+                int length = this.lengths[i];
+                // Ein Schiff der Länge 1 hat nur eine Ausrichtung
+                for (int orientation = length == 1 ? 1 : 0; orientation < 2; orientation++) {
+                    int placement = (cell << 1) | orientation;
+                    if (!this.placementTable.fits(length, placement, blocked)) {
+                        continue;
+                    }
+                    if (remainingShips == 1) {
+                        return true;
+                    }
+                    next.copyFrom(blocked);
+                    this.placementTable.block(length, placement, next);
+                    this.counts[i]--;
+                    boolean solved = this.solve(depth + 1, remainingShips - 1, remainingCells - length, remainingBlocks - (length + 1) / 2);
+                    this.counts[i]++;
+                    if (solved) {
+                        return true;
+                    }
+                }
+            }
+            // Die Zelle bleibt leer
+            blocked.set(cell);
+            freeCells--;
+            cell = blocked.nextClearBit(cell + 1);
+        }
+        if (key != null) {
+            this.failedStates.add(key);
+        }
+        return false;
+    }
+
+    /**
+     * @brief Zählt die 2x2-Blöcke, die noch mindestens eine freie Zelle enthalten. Das Spielfeld wird dafür auf alle vier
+     *        möglichen Arten in Blöcke zerlegt und die kleinste Anzahl verwendet.
+     * @param blocked Die gesperrten Zellen.
+     * @return Die kleinste Anzahl an Blöcken mit freien Zellen.
+     */
+    private int countFreeBlocks(BitBoard blocked) {
+        int min = Integer.MAX_VALUE;
+        for (int offsetX = 0; offsetX < 2; offsetX++) {
+            for (int offsetY = 0; offsetY < 2; offsetY++) {
+                int count = 0;
+                for (int x = -offsetX; x < this.width; x += 2) {
+                    for (int y = -offsetY; y < this.height; y += 2) {
+                        if (this.isFree(blocked, x, y) || this.isFree(blocked, x + 1, y)
+                                || this.isFree(blocked, x, y + 1) || this.isFree(blocked, x + 1, y + 1)) {
+                            count++;
+                        }
+                    }
+                }
+                min = Math.min(min, count);
+            }
+        }
+        return min;
+    }
+
+    /**
+     * @brief Überprüft, ob eine Zelle auf dem Spielfeld liegt und nicht gesperrt ist.
+     * @param blocked Die gesperrten Zellen.
+     * @param cordX Die X-Koordinate der Zelle.
+     * @param cordY Die Y-Koordinate der Zelle.
+     * @return true, wenn die Zelle frei ist.
+     */
+    private boolean isFree(BitBoard blocked, int cordX, int cordY) {
+        return cordX >= 0 && cordX < this.width && cordY >= 0 && cordY < this.height && !blocked.get(cordX * this.height + cordY);
+    }
+
+    /**
+     * @brief Kodiert die Anzahl der verbleibenden Schiffe je Länge in einer Zahl.
+     * @return Der Schlüssel der verbleibenden Schiffe.
+     */
+    private long countsKey() {
+        long key = 0;
+        for (int i = 0; i < this.counts.length; i++) {
+            key += this.counts[i] * this.radix[i];
+        }
+        return key;
+    }
+
+    /**
+     * @brief Gibt den Index einer Schiffslänge in lengths zurück.
+     * @param length Die Länge des Schiffes.
+     * @return Der Index der Schiffslänge.
+     */
+    private int lengthIndex(int length) {
+        for (int i = 0; i < this.lengths.length; i++) {
+            if (this.lengths[i] == length) {
+                return i;
+            }
+        }
+        throw new IllegalArgumentException("Die Schiffslänge " + length + " gehört nicht zum Regelwerk");
+    }
+}
@@ -4,14 +4,24 @@
 
 package model;
 
+import ai.FleetPlacementOptimizer;
+import ai.ShotStrategies;
 import utils.GameState;
+import utils.ShotType;
 
 import java.util.Objects;
-import java.util.Random;
+import java.util.SplittableRandom;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ThreadLocalRandom;
 
 /**
  * @class GameModel
  * @brief Verantwortlich für die Verwaltung der Spielzustände, Spieler und Schiffsplatzierungen.
+ *        Jede Partie hat genau eine Zufallsquelle, die aus dem Seed der Partie erstellt wird. Jeder Verbraucher
+ *        (Startspieler, zufällige Flotten, Computergegner, Flottensuche) erhält in fester Reihenfolge per split() einen
+ *        eigenen Generator, sodass der gleiche Seed bei gleichen Eingaben die gleiche Partie ergibt.
  */
 public class GameModel {
 
@@ -27,6 +37,28 @@ public class GameModel {
     private static final String DEFAULT_PLAYER_NAME = "Default Player";
     // Länge der Schiffe
     private static final int[] SHIP_SIZES = {5, 4, 4, 3, 3, 3, 2, 2, 2, 2};
+    // Breite und Höhe der Spielfelder
+    private int boardSize = BoardModel.DEFAULT_WIDTH;
+    // Kennung der Strategie des Computergegners
+    private String computerStrategyId = ShotStrategies.DEFAULT_ID;
+    // Standardfrist je Zug des Computergegners in Millisekunden
+    public static final long DEFAULT_COMPUTER_DEADLINE_MILLIS = 50;
+    // Frist je Zug des Computergegners in Millisekunden, 0 für keine Frist
+    private long computerDeadlineMillis = DEFAULT_COMPUTER_DEADLINE_MILLIS;
+    // Sucht eine schwer zu findende Flotte für den Computer, null wenn keine Suche läuft
+    private FleetPlacementOptimizer fleetOptimizer;
+    // Ergebnis der laufenden Suche nach der Flotte des Computers
+    private CompletableFuture<int[]> computerFleet;
+    // Seed der nächsten Partie oder null, wenn er zufällig gewählt wird
+    private Long nextSeed;
+    // Gibt an, ob der Seed der laufenden Partie vorgegeben wurde und die Partie daher reproduzierbar sein soll
+    private boolean seedFixed;
+    // Seed der laufenden Partie
+    private long seed;
+    // Zufallsquelle der laufenden Partie
+    private SplittableRandom random;
+    // Verlauf aller Schüsse der laufenden Partie
+    private final MoveLog moveLog = new MoveLog();
 
     /**
      * @brief Konstruktor der Klasse GameModel.
@@ -75,6 +107,221 @@ public class GameModel {
         return SHIP_SIZES;
     }
 
+    /**
+     * @brief Gibt die Breite und Höhe der Spielfelder zurück.
+     * @return Die Größe der Spielfelder.
+     */
+    public int getBoardSize() {
+        return this.boardSize;
+    }
+
+    /**
+     * @brief Setzt die Breite und Höhe der Spielfelder. Wirkt sich auf alle danach erstellten Spieler aus.
+     * @param boardSize Die neue Größe der Spielfelder.
+     */
+    public void setBoardSize(int boardSize) {
+        if (boardSize < 1 || boardSize > BoardModel.MAX_SIZE) {
+            throw new IllegalArgumentException("Ungültige Spielfeldgröße: " + boardSize);
+        }
+        this.boardSize = boardSize;
+    }
+
+    /**
+     * @brief Gibt die Kennung der Strategie des Computergegners zurück.
+     * @return Die Kennung der Strategie.
+     */
+    public String getComputerStrategyId() {
+        return this.computerStrategyId;
+    }
+
+    /**
+     * @brief Setzt die Strategie des Computergegners. Wirkt sich auf danach erstellte Computergegner aus.
+     * @param strategyId Die Kennung einer in ShotStrategies verfügbaren Strategie.
+     */
+    public void setComputerStrategy(String strategyId) {
+        this.computerStrategyId = ShotStrategies.byId(strategyId).getId();
+    }
+
+    /**
+     * @brief Gibt die Frist je Zug des Computergegners zurück.
+     * @return Die Frist in Millisekunden, 0 für keine Frist.
+     */
+    public long getComputerDeadlineMillis() {
+        return this.computerDeadlineMillis;
+    }
+
+    /**
+     * @brief Setzt die Frist je Zug des Computergegners, etwa 5 oder 50 Millisekunden. Wirkt sich auf danach erstellte
+     *        Computergegner aus.
+     * @param deadlineMillis Die Frist in Millisekunden, 0 für keine Frist.
+     */
+    public void setComputerDeadlineMillis(long deadlineMillis) {
+        if (deadlineMillis < 0) {
+            throw new IllegalArgumentException("Ungültige Frist: " + deadlineMillis);
+        }
+        this.computerDeadlineMillis = deadlineMillis;
+    }
+
+    /**
+     * @brief Gibt den Seed der laufenden Partie zurück. Mit setSeed vor einer neuen Partie lässt sie sich wiederholen.
+     * @return Der Seed der laufenden Partie.
+     */
+    public long getSeed() {
+        return this.seed;
+    }
+
+    /**
+     * @brief Legt den Seed der nächsten Partie fest. Ohne Seed wird für jede Partie ein zufälliger gewählt.
+     *        Bei gleichen Eingaben der Spieler ergibt der gleiche Seed die gleiche Partie. Damit auch die Züge des
+     *        Computers nicht von der Rechenzeit abhängen, muss er ohne Frist je Zug spielen, und seine Flottensuche
+     *        prüft in einer Partie mit vorgegebenem Seed immer alle Kandidaten.
+     * @param seed Der Seed der nächsten Partie.
+     */
+    public void setSeed(long seed) {
+        this.nextSeed = seed;
+    }
+
+    /**
+     * @brief Gibt einen eigenen Zufallsgenerator für einen weiteren Verbraucher der laufenden Partie zurück, etwa für
+     *        eine zufällige Flotte. Die Generatoren werden in der Reihenfolge der Aufrufe aus der Zufallsquelle der
+     *        Partie abgeleitet.
+     * @return Der abgeleitete Zufallsgenerator.
+     */
+    public SplittableRandom splitRandom() {
+        return this.random.split();
+    }
+
+    /**
+     * @brief Erstellt die Zufallsquelle einer neuen Partie aus dem vorgegebenen oder einem zufälligen Seed.
+     */
+    private void beginMatch() {
+        this.seedFixed = this.nextSeed != null;
+        this.seed = this.seedFixed ? this.nextSeed : ThreadLocalRandom.current().nextLong();
+        this.nextSeed = null;
+        this.random = new SplittableRandom(this.seed);
+        this.moveLog.clear();
+    }
+
+    /**
+     * @brief Gibt den Verlauf aller Schüsse der laufenden Partie zurück.
+     * @return Der Verlauf.
+     */
+    public MoveLog getMoveLog() {
+        return this.moveLog;
+    }
+
+    /**
+     * @brief Trägt einen Schuss in den Verlauf ein. Ungültige Schüsse und Schüsse auf bereits beschossene Zellen sind
+     *        keine Züge und werden nicht eingetragen, sodass sie weder die zurückgenommenen Schüsse verwerfen noch
+     *        zurückgenommen werden müssen. Die Statistik des Schützen zählt sie weiterhin als Klick.
+     * @param shooter Der schießende Spieler.
+     * @param target Der beschossene Spieler.
+     * @param cordX Die X-Koordinate des Schusses.
+     * @param cordY Die Y-Koordinate des Schusses.
+     * @param result Das Ergebnis des Schusses.
+     */
+    public void recordShot(PlayerModel shooter, PlayerModel target, int cordX, int cordY, ShotResult result) {
+        if (result.getType() != ShotType.INVALID && result.getType() != ShotType.REPEAT) {
+            this.moveLog.append(MoveLog.pack(this.indexOf(shooter), this.indexOf(target), cordX, cordY, result.getType()));
+        }
+    }
+
+    /**
+     * @brief Nimmt den letzten Schuss des Verlaufs zurück: Board, Schiffe und Statistik des Schützen werden
+     *        wiederhergestellt, und der Schütze ist wieder am Zug. Der Aufwand hängt nicht von der Länge der Partie ab.
+     * @return Der gepackte zurückgenommene Schuss.
+     * @throws IllegalStateException Wenn kein Schuss gespielt ist.
+     */
+    public int undoShot() {
+        int move = this.moveLog.undo();
+        PlayerModel shooter = this.playerAt(MoveLog.shooter(move));
+        this.playerAt(MoveLog.target(move)).getBoard().undoShot(MoveLog.x(move), MoveLog.y(move));
+        shooter.getPlayerStatus().revertShot(MoveLog.type(move));
+        this.currentPlayer = shooter;
+        return move;
+    }
+
+    /**
+     * @brief Wiederholt den zuletzt zurückgenommenen Schuss. Der Schütze ist danach am Zug, den Zugwechsel nach den
+     *        Spielregeln übernimmt der Aufrufer.
+     *        Der wiederholte Schuss ist danach der letzte Eintrag des Verlaufs. Ergibt er ein anderes Ergebnis als
+     *        gespeichert, werden Board und Verlauf wieder wie vor dem Aufruf hergestellt.
+     * @return Das Ergebnis des wiederholten Schusses.
+     * @throws IllegalStateException Wenn kein Schuss zurückgenommen ist oder der Schuss nicht mehr zum Board passt.
+     */
+    public ShotResult redoShot() {
+        int move = this.moveLog.redo();
+        PlayerModel shooter = this.playerAt(MoveLog.shooter(move));
+        BoardModel board = this.playerAt(MoveLog.target(move)).getBoard();
+        ShotResult result = board.fire(MoveLog.x(move), MoveLog.y(move));
+        if (result.getType() != MoveLog.type(move)) {
+            if (result.getType() != ShotType.INVALID && result.getType() != ShotType.REPEAT) {
+                board.undoShot(MoveLog.x(move), MoveLog.y(move));
+            }
+            this.moveLog.undo();
+            throw new IllegalStateException("Der wiederholte Schuss ergibt " + result.getType() + " statt " + MoveLog.type(move));
+        }
+        shooter.getPlayerStatus().recordShot(result);
+        this.currentPlayer = shooter;
+        return result;
+    }
+
+    /**
+     * @brief Stellt den Verlauf einer gespeicherten Partie wieder her. Alle Schüsse einschließlich der
+     *        zurückgenommenen werden auf die bereits platzierten Flotten geschossen und mit ihrem gespeicherten Ergebnis
+     *        verglichen, die zurückgenommenen danach wieder zurückgenommen. Boards, Schiffe und Statistiken entstehen
+     *        dadurch wie in der gespeicherten Partie, und jeder zurückgenommene Schuss lässt sich später fehlerfrei
+     *        wiederholen.
+     * @param moves Alle Schüsse des Verlaufs, gepackt wie im MoveLog, einschließlich der zurückgenommenen.
+     * @param played Die Anzahl der gespielten Schüsse am Anfang von moves.
+     * @param currentPlayer Der Spieler, der danach am Zug ist, 0 für den ersten, 1 für den zweiten Spieler.
+     * @throws IllegalArgumentException Wenn ein Schuss auf das eigene Board zielt, kein gültiges Ergebnis oder ein
+     *         anderes Ergebnis hat als gespeichert.
+     */
+    public void restoreMoves(int[] moves, int played, int currentPlayer) {
+        if (played < 0 || played > moves.length) {
+            throw new IllegalArgumentException("Ungültige Anzahl gespielter Schüsse: " + played);
+        }
+        this.moveLog.clear();
+        for (int i = 0; i < moves.length; i++) {
+            int move = moves[i];
+            if (MoveLog.type(move) == ShotType.INVALID) {
+                throw new IllegalArgumentException("Schuss " + i + " hat kein gültiges Ergebnis");
+            }
+            if (MoveLog.shooter(move) == MoveLog.target(move)) {
+                throw new IllegalArgumentException("Schuss " + i + " zielt auf das eigene Board");
+            }
+            ShotResult result = this.playerAt(MoveLog.shooter(move))
+                    .fireAt(this.playerAt(MoveLog.target(move)).getBoard(), MoveLog.x(move), MoveLog.y(move));
+            if (result.getType() != MoveLog.type(move)) {
+                throw new IllegalArgumentException("Schuss " + i + " passt nicht zu den Flotten");
+            }
+            this.moveLog.append(move);
+        }
+        for (int i = played; i < moves.length; i++) {
+            this.undoShot();
+        }
+        this.currentPlayer = this.playerAt(currentPlayer);
+    }
+
+    /**
+     * @brief Gibt den Index eines Spielers im Verlauf zurück.
+     * @param player Der Spieler.
+     * @return 0 für den ersten, 1 für den zweiten Spieler.
+     */
+    private int indexOf(PlayerModel player) {
+        return player == this.playerOne ? 0 : 1;
+    }
+
+    /**
+     * @brief Gibt den Spieler zu einem Index im Verlauf zurück.
+     * @param index 0 für den ersten, 1 für den zweiten Spieler.
+     * @return Der Spieler.
+     */
+    public PlayerModel playerAt(int index) {
+        return index == 0 ? this.playerOne : this.playerTwo;
+    }
+
     /**
      * @brief Setzt den aktuellen Spielzustand.
      * @param gameState Der neue Spielzustand.
@@ -89,7 +336,7 @@ public class GameModel {
      * @return Ein neues PlayerModel-Objekt.
      */
     public PlayerModel createPlayer(String playerName) {
-        return new PlayerModel(playerName);
+        return new PlayerModel(playerName, this.boardSize);
     }
 
     /**
@@ -98,21 +345,35 @@ public class GameModel {
      * @param playerTwoName Der Name des zweiten Spielers oder "Computer" für den Computergegner.
      */
     public void createPlayerWithNames(String playerOneName, String playerTwoName) {
+        this.beginMatch();
         this.playerOne = this.createPlayer(!Objects.equals(playerOneName, "") ? playerOneName : DEFAULT_PLAYER_NAME);
         if (this.gameState.equals(GameState.COMPUTER)) {
-            this.playerTwo = new ComputerPlayerModel("Computer");
+            ComputerPlayerModel computer = new ComputerPlayerModel("Computer", this.boardSize, ShotStrategies.byId(this.computerStrategyId), this.random.split());
+            computer.setDecisionDeadline(this.computerDeadlineMillis);
+            this.playerTwo = computer;
         } else {
             this.playerTwo = this.createPlayer(!Objects.equals(playerTwoName, "") ? playerTwoName : DEFAULT_PLAYER_NAME);
         }
     }
 
+    /**
+     * @brief Setzt beide Spieler direkt, etwa für Partien ohne Oberfläche zwischen zwei Computergegnern. Wie bei
+     *        createPlayerWithNames beginnt damit eine neue Partie mit eigener Zufallsquelle.
+     * @param playerOne Der erste Spieler.
+     * @param playerTwo Der zweite Spieler.
+     */
+    public void setPlayers(PlayerModel playerOne, PlayerModel playerTwo) {
+        this.beginMatch();
+        this.playerOne = playerOne;
+        this.playerTwo = playerTwo;
+    }
+
     /**
      * @brief Wählt zufällig einen Spieler aus, der das Spiel beginnt.
      * @return Der zufällig ausgewählte Spieler.
      */
     private PlayerModel randomPlayer() {
-        Random random = new Random();
-        return (random.nextInt(10) < 5) ? this.playerOne : this.playerTwo;
+        return this.random.nextBoolean() ? this.playerOne : this.playerTwo;
     }
 
 
@@ -133,13 +394,13 @@ public class GameModel {
                 break;
             case DEBUG:
                 // Setzt für beide Spieler alle Schiffe automatisch.
-                this.playerOne.getBoard().placeAllShips();
-                this.playerTwo.getBoard().placeAllShips();
+                this.playerOne.getBoard().placeAllShips(this.random.split());
+                this.playerTwo.getBoard().placeAllShips(this.random.split());
                 this.currentPlayer = this.randomPlayer();
                 break;
             case COMPUTER:
-                // Setzt für den Computer alle Schiffe automatisch.
-                this.playerTwo.getBoard().placeAllShips();
+                // Die Flotte des Computers wird im Hintergrund gesucht, während der Spieler seine Schiffe platziert.
+                this.startComputerFleetSearch();
                 this.currentPlayer = this.playerOne;
                 break;
             default:
@@ -149,6 +410,48 @@ public class GameModel {
         this.resetShipPlacement();
     }
 
+    /**
+     * @brief Startet im Hintergrund die Suche nach einer Flotte für den Computer, die für einen Gegner mit
+     *        Wahrscheinlichkeitsdichte schwer zu finden ist. Bei vorgegebenem Seed hat die Suche kein Zeitbudget,
+     *        damit ihr Ergebnis nicht von der Rechenzeit abhängt.
+     */
+    private void startComputerFleetSearch() {
+        FleetPlacementOptimizer optimizer = new FleetPlacementOptimizer(ForkJoinPool.commonPool(), this.boardSize,
+                this.boardSize, BoardModel.BOAT_SIZES, FleetPlacementOptimizer.DEFAULT_CANDIDATES,
+                this.seedFixed ? 0 : FleetPlacementOptimizer.DEFAULT_BUDGET_MILLIS);
+        SplittableRandom random = this.random.split();
+        this.fleetOptimizer = optimizer;
+        this.computerFleet = CompletableFuture.supplyAsync(() -> optimizer.optimize(random));
+    }
+
+    /**
+     * @brief Beendet die Suche nach der Flotte des Computers und platziert die beste bis dahin gefundene Flotte auf
+     *        seinem Board. Muss nach der Schiffsplatzierung des Spielers und vor dem ersten Schuss aufgerufen werden.
+     *        Schlägt die Suche fehl, wird die Flotte zufällig platziert. Bei vorgegebenem Seed wird die Suche nicht
+     *        vorzeitig beendet.
+     */
+    public void completeComputerFleet() {
+        if (this.computerFleet == null) {
+            return;
+        }
+        if (!this.seedFixed) {
+            this.fleetOptimizer.stop();
+        }
+        int[] placements;
+        try {
+            placements = this.computerFleet.join();
+        } catch (CompletionException e) {
+            placements = null;
+        }
+        if (placements != null) {
+            this.fleetOptimizer.placeFleet(this.playerTwo.getBoard(), placements);
+        } else {
+            this.playerTwo.getBoard().placeAllShips(this.random.split());
+        }
+        this.fleetOptimizer = null;
+        this.computerFleet = null;
+    }
+
     /**
      * @brief Platziert das Schiff auf dem Board des aktuellen Spielers.
      * @param startX Die X-Koorinate, an der das Schiff platziert werden soll.
@@ -179,10 +482,10 @@ public class GameModel {
     }
 
     /**
-     * @brief Überprüft, ob das Spiel beendet ist. Dabei werden der Status aller Schiffe der Spieler geprüft.
+     * @brief Überprüft, ob das Spiel beendet ist. Dabei wird die Anzahl der verbleibenden Schiffe beider Spieler geprüft.
      * @return true, wenn das Spiel vorbei ist.
      */
     public boolean isGameOver() {
-        return this.playerOne.getBoard().allShipsAreHit() || this.playerTwo.getBoard().allShipsAreHit();
+        return this.playerOne.getBoard().getRemainingShips() == 0 || this.playerTwo.getBoard().getRemainingShips() == 0;
     }
 }
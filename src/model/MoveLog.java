@@ -0,0 +1,213 @@
+/**
+ * @file MoveLog.java
+ */
+
+package model;
+
+import utils.ShotType;
+
+import java.util.Arrays;
+
+/**
+ * @class MoveLog
+ * @brief Verlauf aller Schüsse einer Partie, in dem Züge zurückgenommen und wiederholt werden können.
+ *        Jeder Schuss wird als ein int gespeichert: Bit 0-1 Ergebnis, Bit 2-11 Y-Koordinate, Bit 12-21 X-Koordinate,
+ *        Bit 22 beschossener Spieler und Bit 23 schießender Spieler (0 für den ersten, 1 für den zweiten Spieler).
+ *        Schüsse auf bereits beschossene Zellen sind keine Züge und werden nicht gespeichert.
+ *        Die Schüsse liegen in einem wachsenden int-Array, dessen vordere position Einträge gespielt sind. Dahinter
+ *        liegen die zurückgenommenen Schüsse, die mit redo wiederholt werden können, bis ein neuer Schuss sie
+ *        verwirft. Eine Partie auf dem Standardspielfeld belegt damit weniger als ein Kilobyte.
+ */
+public final class MoveLog {
+    // Anfangsgröße des Arrays
+    private static final int INITIAL_CAPACITY = 32;
+    // Anzahl der Bits je Koordinate, reicht für BoardModel.MAX_SIZE
+    private static final int COORDINATE_BITS = 10;
+    // Maske einer Koordinate
+    private static final int COORDINATE_MASK = (1 << COORDINATE_BITS) - 1;
+    // Position der Y-Koordinate
+    private static final int Y_SHIFT = 2;
+    // Position der X-Koordinate
+    private static final int X_SHIFT = Y_SHIFT + COORDINATE_BITS;
+    // Position des beschossenen Spielers
+    private static final int TARGET_SHIFT = X_SHIFT + COORDINATE_BITS;
+    // Position des schießenden Spielers
+    private static final int SHOOTER_SHIFT = TARGET_SHIFT + 1;
+    // Die gespeicherten Ergebnisse in der Reihenfolge ihrer Kodierung, der freie Code 3 wird als INVALID gelesen
+    private static final ShotType[] TYPES = {ShotType.MISS, ShotType.HIT, ShotType.SUNK, ShotType.INVALID};
+
+    // Die gepackten Schüsse
+    private int[] moves;
+    // Anzahl der gespeicherten Schüsse, einschließlich der zurückgenommenen
+    private int size;
+    // Anzahl der gespielten Schüsse
+    private int position;
+
+    /**
+     * @brief Konstruktor, der einen leeren Verlauf erstellt.
+     */
+    public MoveLog() {
+        this.moves = new int[INITIAL_CAPACITY];
+    }
+
+    /**
+     * @brief Packt einen Schuss in ein int.
+     * @param shooter Der schießende Spieler, 0 oder 1.
+     * @param target Der beschossene Spieler, 0 oder 1.
+     * @param cordX Die X-Koordinate des Schusses.
+     * @param cordY Die Y-Koordinate des Schusses.
+     * @param type Das Ergebnis des Schusses, MISS, HIT oder SUNK.
+     * @return Der gepackte Schuss.
+     */
+    public static int pack(int shooter, int target, int cordX, int cordY, ShotType type) {
+        int code;
+        switch (type) {
+            case MISS:
+                code = 0;
+                break;
+            case HIT:
+                code = 1;
+                break;
+            case SUNK:
+                code = 2;
+                break;
+            default:
+                throw new IllegalArgumentException("Nur Fehlschüsse und Treffer werden gespeichert, nicht " + type);
+        }
+        return shooter << SHOOTER_SHIFT | target << TARGET_SHIFT | cordX << X_SHIFT | cordY << Y_SHIFT | code;
+    }
+
+    /**
+     * @brief Gibt den schießenden Spieler eines gepackten Schusses zurück.
+     * @param move Der gepackte Schuss.
+     * @return 0 für den ersten, 1 für den zweiten Spieler.
+     */
+    public static int shooter(int move) {
+        return move >>> SHOOTER_SHIFT & 1;
+    }
+
+    /**
+     * @brief Gibt den beschossenen Spieler eines gepackten Schusses zurück.
+     * @param move Der gepackte Schuss.
+     * @return 0 für den ersten, 1 für den zweiten Spieler.
+     */
+    public static int target(int move) {
+        return move >>> TARGET_SHIFT & 1;
+    }
+
+    /**
+     * @brief Gibt die X-Koordinate eines gepackten Schusses zurück.
+     * @param move Der gepackte Schuss.
+     * @return Die X-Koordinate.
+     */
+    public static int x(int move) {
+        return move >>> X_SHIFT & COORDINATE_MASK;
+    }
+
+    /**
+     * @brief Gibt die Y-Koordinate eines gepackten Schusses zurück.
+     * @param move Der gepackte Schuss.
+     * @return Die Y-Koordinate.
+     */
+    public static int y(int move) {
+        return move >>> Y_SHIFT & COORDINATE_MASK;
+    }
+
+    /**
+     * @brief Gibt das Ergebnis eines gepackten Schusses zurück.
+     * @param move Der gepackte Schuss.
+     * @return MISS, HIT, SUNK oder INVALID, wenn der Schuss nicht mit pack erzeugt wurde.
+     */
+    public static ShotType type(int move) {
+        return TYPES[move & 3];
+    }
+
+    /**
+     * @brief Hängt einen gespielten Schuss an. Zurückgenommene Schüsse werden dabei verworfen.
+     * @param move Der gepackte Schuss.
+     */
+    public void append(int move) {
+        if (this.position == this.moves.length) {
+            this.moves = Arrays.copyOf(this.moves, this.moves.length * 2);
+        }
+        this.moves[this.position++] = move;
+        this.size = this.position;
+    }
+
+    /**
+     * @brief Überprüft, ob ein Schuss zurückgenommen werden kann.
+     * @return true, wenn mindestens ein Schuss gespielt ist.
+     */
+    public boolean canUndo() {
+        return this.position > 0;
+    }
+
+    /**
+     * @brief Überprüft, ob ein zurückgenommener Schuss wiederholt werden kann.
+     * @return true, wenn mindestens ein Schuss zurückgenommen und nicht verworfen ist.
+     */
+    public boolean canRedo() {
+        return this.position < this.size;
+    }
+
+    /**
+     * @brief Nimmt den letzten gespielten Schuss zurück.
+     * @return Der gepackte Schuss, dessen Wirkung der Aufrufer rückgängig macht.
+     * @throws IllegalStateException Wenn kein Schuss gespielt ist.
+     */
+    public int undo() {
+        if (!this.canUndo()) {
+            throw new IllegalStateException("Es gibt keinen Schuss zum Zurücknehmen");
+        }
+        return this.moves[--this.position];
+    }
+
+    /**
+     * @brief Wiederholt den zuletzt zurückgenommenen Schuss.
+     * @return Der gepackte Schuss, den der Aufrufer erneut ausführt.
+     * @throws IllegalStateException Wenn kein Schuss zurückgenommen ist.
+     */
+    public int redo() {
+        if (!this.canRedo()) {
+            throw new IllegalStateException("Es gibt keinen Schuss zum Wiederholen");
+        }
+        return this.moves[this.position++];
+    }
+
+    /**
+     * @brief Gibt einen gespielten Schuss zurück.
+     * @param index Der Index des Schusses, beginnend bei 0.
+     * @return Der gepackte Schuss.
+     */
+    public int get(int index) {
+        if (index < 0 || index >= this.position) {
+            throw new IndexOutOfBoundsException("Schuss " + index + " von " + this.position);
+        }
+        return this.moves[index];
+    }
+
+    /**
+     * @brief Gibt die Anzahl der gespielten Schüsse zurück.
+     * @return Die Anzahl der Schüsse ohne die zurückgenommenen.
+     */
+    public int size() {
+        return this.position;
+    }
+
+    /**
+     * @brief Gibt alle gespeicherten Schüsse zurück, etwa um den Verlauf zu speichern.
+     * @return Eine Kopie mit den gespielten Schüssen, gefolgt von den zurückgenommenen, die noch wiederholt werden
+     *         können.
+     */
+    public int[] toArray() {
+        return Arrays.copyOf(this.moves, this.size);
+    }
+
+    /**
+     * @brief Leert den Verlauf für eine neue Partie. Das Array bleibt für die Wiederverwendung erhalten.
+     */
+    public void clear() {
+        this.size = 0;
+        this.position = 0;
+    }
+}
@@ -0,0 +1,46 @@
+/**
+ * @file OccupancyKey.java
+ */
+
+package model;
+
+import java.util.Arrays;
+
+/**
+ * @class OccupancyKey
+ * @brief Unveränderlicher Schlüssel aus einem Suchzustand und der Belegung eines kleinen Spielfelds.
+ *        Wird von den Suchverfahren für die Flottenplatzierung und vom exakten Endspiel-Solver des Computers
+ *        verwendet, um bereits untersuchte Zustände zu merken.
+ */
+public final class OccupancyKey {
+    // Kennzahl des Suchzustands, etwa die Tiefe oder die Anzahl der verbleibenden Schiffe je Länge
+    private final long state;
+    // Die Wörter der Belegung
+    private final long[] words;
+    private final int hash;
+
+    /**
+     * @brief Konstruktor, der den Schlüssel aus einem Suchzustand und einer Belegung erzeugt.
+     * @param state Die Kennzahl des Suchzustands.
+     * @param occupancy Die Belegung des Spielfelds, deren Bits kopiert werden.
+     */
+    public OccupancyKey(long state, BitBoard occupancy) {
+        this.state = state;
+        this.words = occupancy.toLongArray();
+        this.hash = 31 * Long.hashCode(state) + Arrays.hashCode(this.words);
+    }
+
+    @Override
+    public boolean equals(Object other) {
+        if (!(other instanceof OccupancyKey)) {
+            return false;
+        }
+        OccupancyKey key = (OccupancyKey) other;
+        return this.hash == key.hash && this.state == key.state && Arrays.equals(this.words, key.words);
+    }
+
+    @Override
+    public int hashCode() {
+        return this.hash;
+    }
+}
@@ -0,0 +1,274 @@
+/**
+ * @file PlacementTable.java
+ */
+
+package model;
+
+import java.util.Arrays;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * @class PlacementTable
+ * @brief Enthält für ein Regelwerk (Spielfeldgröße und Schiffslängen) alle möglichen Schiffsplatzierungen.
+ *        Eine Platzierung wird über den Index (cordX * height + cordY) * 2 + (horizontal ? 1 : 0) angesprochen.
+ *        Für kleine Spielfelder werden je Schiffslänge und Platzierung die Maske der Schiffszellen (footprint) und die
+ *        Maske der Schiffszellen samt angrenzender Zellen (halo) vorberechnet. Eine Platzierung ist dann gültig, wenn
+ *        (occupiedWithHalo & footprint) == 0 gilt. Große Spielfelder prüfen die Zellen einzeln, da die Masken dort
+ *        mehr Speicher belegen würden als das Spielfeld selbst.
+ *        Die Tabellen werden je Regelwerk einmal erzeugt und von allen Boards des Prozesses gemeinsam verwendet.
+ */
+public final class PlacementTable {
+    // Größte Anzahl an Zellen, für die Masken vorberechnet werden
+    static final int MAX_TABLE_CELLS = 1024;
+
+    // Bereits erzeugte Tabellen je Regelwerk
+    private static final Map<String, PlacementTable> CACHE = new ConcurrentHashMap<>();
+
+    private final int width;
+    private final int height;
+    // Anzahl der Wörter einer Maske
+    private final int words;
+    // Die unterschiedlichen Schiffslängen des Regelwerks
+    private final int[] lengths;
+    // Index der Schiffslänge in lengths, -1 für Längen außerhalb des Regelwerks
+    private final int[] lengthIndex;
+    // Masken der Schiffszellen je Längenindex, hintereinander für alle Platzierungen
+    private final long[][] footprints;
+    // Masken der Schiffszellen samt angrenzender Zellen je Längenindex
+    private final long[][] halos;
+
+    /**
+     * @brief Konstruktor, der die Tabelle für ein Regelwerk erzeugt.
+     * @param width Die Breite des Spielfelds.
+     * @param height Die Höhe des Spielfelds.
+     * @param lengths Die unterschiedlichen Schiffslängen, aufsteigend sortiert.
+     */
+    private PlacementTable(int width, int height, int[] lengths) {
+        this.width = width;
+        this.height = height;
+        this.words = BitBoard.wordCount(width * height);
+        this.lengths = lengths;
+        this.lengthIndex = new int[lengths[lengths.length - 1] + 1];
+        Arrays.fill(this.lengthIndex, -1);
+        for (int i = 0; i < lengths.length; i++) {
+            this.lengthIndex[lengths[i]] = i;
+        }
+
+        if (width * height <= MAX_TABLE_CELLS) {
+            this.footprints = new long[lengths.length][];
+            this.halos = new long[lengths.length][];
+            for (int i = 0; i < lengths.length; i++) {
+                this.createMasks(i);
+            }
+        } else {
+            this.footprints = null;
+            this.halos = null;
+        }
+    }
+
+    /**
+     * @brief Gibt die gemeinsam genutzte Tabelle für ein Regelwerk zurück und erzeugt sie beim ersten Aufruf.
+     * @param width Die Breite des Spielfelds.
+     * @param height Die Höhe des Spielfelds.
+     * @param shipLengths Die Längen aller Schiffe der Flotte.
+     * @return Die Tabelle des Regelwerks.
+     */
+    public static PlacementTable forRuleset(int width, int height, int[] shipLengths) {
+        int[] lengths = Arrays.stream(shipLengths).distinct().sorted().toArray();
+        String key = width + "x" + height + Arrays.toString(lengths);
+        return CACHE.computeIfAbsent(key, k -> new PlacementTable(width, height, lengths));
+    }
+
+    /**
+     * @brief Gibt die Breite des Spielfelds zurück.
+     * @return Die Breite des Spielfelds.
+     */
+    public int getWidth() {
+        return this.width;
+    }
+
+    /**
+     * @brief Gibt die Höhe des Spielfelds zurück.
+     * @return Die Höhe des Spielfelds.
+     */
+    public int getHeight() {
+        return this.height;
+    }
+
+    /**
+     * @brief Berechnet den Index einer Platzierung.
+     * @param cordX Die X-Koordinate der ersten Schiffzelle.
+     * @param cordY Die Y-Koordinate der ersten Schiffzelle.
+     * @param horizontal Die Ausrichtung des Schiffes.
+     * @return Der Index der Platzierung.
+     */
+    public int placementIndex(int cordX, int cordY, boolean horizontal) {
+        return ((cordX * this.height + cordY) << 1) | (horizontal ? 1 : 0);
+    }
+
+    /**
+     * @brief Gibt die Anzahl der Platzierungsindizes zurück. Darin sind auch Platzierungen enthalten, die über den
+     *        Rand des Spielfelds hinausragen.
+     * @return Die Anzahl der Platzierungsindizes.
+     */
+    public int placementCount() {
+        return this.width * this.height * 2;
+    }
+
+    /**
+     * @brief Überprüft, ob ein Schiff mit der angegebenen Platzierung vollständig auf dem Spielfeld liegt.
+     * @param length Die Länge des Schiffes.
+     * @param placement Der Index der Platzierung.
+     * @return true, wenn alle Zellen des Schiffes auf dem Spielfeld liegen.
+     */
+    public boolean isInBounds(int length, int placement) {
+        int cell = placement >>> 1;
+        if ((placement & 1) != 0) {
+            return cell / this.height + length <= this.width;
+        }
+        return cell % this.height + length <= this.height;
+    }
+
+    /**
+     * @brief Überprüft, ob ein Schiff mit der angegebenen Platzierung keine gesperrte Zelle belegt.
+     * @param length Die Länge des Schiffes.
+     * @param placement Der Index der Platzierung.
+     * @param blocked Die belegten Zellen samt ihrer angrenzenden Zellen.
+     * @return true, wenn die Platzierung gültig ist.
+     */
+    public boolean fits(int length, int placement, BitBoard blocked) {
+        if (!this.isInBounds(length, placement)) {
+            return false;
+        }
+        int li = this.maskIndex(length);
+        if (li >= 0) {
+            return !blocked.intersects(this.footprints[li], placement * this.words, this.words);
+        }
+        int index = placement >>> 1;
+        int step = (placement & 1) != 0 ? this.height : 1;
+        for (int i = 0; i < length; i++, index += step) {
+            if (blocked.get(index)) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * @brief Zählt, wie viele Zellen eines Schiffes mit der angegebenen Platzierung im BitBoard gesetzt sind.
+     * @param length Die Länge des Schiffes.
+     * @param placement Der Index einer Platzierung, die auf dem Spielfeld liegt.
+     * @param bits Das BitBoard, dessen Bits gezählt werden.
+     * @return Die Anzahl der gesetzten Schiffszellen.
+     */
+    public int countOverlap(int length, int placement, BitBoard bits) {
+        int li = this.maskIndex(length);
+        if (li >= 0) {
+            return bits.intersectionCount(this.footprints[li], placement * this.words, this.words);
+        }
+        int count = 0;
+        int index = placement >>> 1;
+        int step = (placement & 1) != 0 ? this.height : 1;
+        for (int i = 0; i < length; i++, index += step) {
+            if (bits.get(index)) {
+                count++;
+            }
+        }
+        return count;
+    }
+
+    /**
+     * @brief Zählt, wie viele Zellen eines Schiffes mit der angegebenen Platzierung samt der angrenzenden Zellen im
+     *        BitBoard gesetzt sind.
+     * @param length Die Länge des Schiffes.
+     * @param placement Der Index einer Platzierung, die auf dem Spielfeld liegt.
+     * @param bits Das BitBoard, dessen Bits gezählt werden.
+     * @return Die Anzahl der gesetzten Zellen des Schiffes und seiner Nachbarzellen.
+     */
+    public int countHaloOverlap(int length, int placement, BitBoard bits) {
+        int li = this.maskIndex(length);
+        if (li >= 0) {
+            return bits.intersectionCount(this.halos[li], placement * this.words, this.words);
+        }
+        int startX = (placement >>> 1) / this.height;
+        int startY = (placement >>> 1) % this.height;
+        int endX = (placement & 1) != 0 ? startX + length - 1 : startX;
+        int endY = (placement & 1) != 0 ? startY : startY + length - 1;
+        int count = 0;
+        for (int x = Math.max(0, startX - 1); x <= Math.min(this.width - 1, endX + 1); x++) {
+            for (int y = Math.max(0, startY - 1); y <= Math.min(this.height - 1, endY + 1); y++) {
+                if (bits.get(x * this.height + y)) {
+                    count++;
+                }
+            }
+        }
+        return count;
+    }
+
+    /**
+     * @brief Sperrt die Zellen eines Schiffes samt der angrenzenden Zellen.
+     * @param length Die Länge des Schiffes.
+     * @param placement Der Index einer gültigen Platzierung.
+     * @param blocked Die belegten Zellen samt ihrer angrenzenden Zellen, die erweitert werden.
+     */
+    public void block(int length, int placement, BitBoard blocked) {
+        int li = this.maskIndex(length);
+        if (li >= 0) {
+            blocked.or(this.halos[li], placement * this.words, this.words);
+            return;
+        }
+        int startX = (placement >>> 1) / this.height;
+        int startY = (placement >>> 1) % this.height;
+        int endX = (placement & 1) != 0 ? startX + length - 1 : startX;
+        int endY = (placement & 1) != 0 ? startY : startY + length - 1;
+        for (int x = Math.max(0, startX - 1); x <= Math.min(this.width - 1, endX + 1); x++) {
+            for (int y = Math.max(0, startY - 1); y <= Math.min(this.height - 1, endY + 1); y++) {
+                blocked.set(x * this.height + y);
+            }
+        }
+    }
+
+    /**
+     * @brief Gibt den Index der vorberechneten Masken für eine Schiffslänge zurück.
+     * @param length Die Länge des Schiffes.
+     * @return Der Längenindex oder -1, wenn für diese Länge keine Masken vorliegen.
+     */
+    private int maskIndex(int length) {
+        if (this.footprints == null || length >= this.lengthIndex.length) {
+            return -1;
+        }
+        return this.lengthIndex[length];
+    }
+
+    /**
+     * @brief Berechnet die Masken aller Platzierungen einer Schiffslänge.
+     * @param li Der Index der Schiffslänge.
+     */
+    private void createMasks(int li) {
+        int length = this.lengths[li];
+        long[] footprint = new long[this.placementCount() * this.words];
+        long[] halo = new long[this.placementCount() * this.words];
+        for (int placement = 0; placement < this.placementCount(); placement++) {
+            if (!this.isInBounds(length, placement)) {
+                continue;
+            }
+            int offset = placement * this.words;
+            int startX = (placement >>> 1) / this.height;
+            int startY = (placement >>> 1) % this.height;
+            int endX = (placement & 1) != 0 ? startX + length - 1 : startX;
+            int endY = (placement & 1) != 0 ? startY : startY + length - 1;
+            for (int x = Math.max(0, startX - 1); x <= Math.min(this.width - 1, endX + 1); x++) {
+                for (int y = Math.max(0, startY - 1); y <= Math.min(this.height - 1, endY + 1); y++) {
+                    int index = x * this.height + y;
+                    halo[offset + (index >>> 6)] |= 1L << index;
+                    if (x >= startX && x <= endX && y >= startY && y <= endY) {
+                        footprint[offset + (index >>> 6)] |= 1L << index;
+                    }
+                }
+            }
+        }
+        this.footprints[li] = footprint;
+        this.halos[li] = halo;
+    }
+}
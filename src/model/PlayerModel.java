@@ -4,8 +4,6 @@
 
 package model;
 
-import utils.CellState;
-
 /**
  * @class PlayerModel
  * @brief Verantwortlich für den Namen, sowie das Board und des Status eines Spielers.
@@ -21,8 +19,17 @@ public class PlayerModel {
      * @param playerName Der Name des Spielers.
      */
     public PlayerModel(String playerName) {
+        this(playerName, BoardModel.DEFAULT_WIDTH);
+    }
+
+    /**
+     * @brief Konstruktor, der einen Spieler mit einem quadratischen Board der angegebenen Größe erstellt.
+     * @param playerName Der Name des Spielers.
+     * @param boardSize Die Breite und Höhe des Boards.
+     */
+    public PlayerModel(String playerName, int boardSize) {
         this.playerName = playerName;
-        this.board = new BoardModel();
+        this.board = new BoardModel(boardSize, boardSize);
         this.playerStatus = new PlayerStatus();
     }
 
@@ -49,4 +56,26 @@ public class PlayerModel {
     public PlayerStatus getPlayerStatus() {
         return playerStatus;
     }
+
+    /**
+     * @brief Bereitet den Spieler auf eine neue Partie vor: Das Board wird geleert und die Statistik zurückgesetzt.
+     *        Board und Status bleiben dieselben Objekte und werden wiederverwendet.
+     */
+    public void reset() {
+        this.board.reset();
+        this.playerStatus.reset();
+    }
+
+    /**
+     * @brief Schießt auf das Board des Gegners und zählt das Ergebnis in der eigenen Statistik.
+     * @param opponentBoard Das Board des Gegners.
+     * @param cordX Die X-Koordinate des Schusses.
+     * @param cordY Die Y-Koordinate des Schusses.
+     * @return Das Ergebnis des Schusses.
+     */
+    public ShotResult fireAt(BoardModel opponentBoard, int cordX, int cordY) {
+        ShotResult shotResult = opponentBoard.fire(cordX, cordY);
+        this.playerStatus.recordShot(shotResult);
+        return shotResult;
+    }
 }
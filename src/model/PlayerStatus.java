@@ -4,9 +4,13 @@
 
 package model;
 
+import utils.ShotType;
+
 /**
  * @class PlayerStatus
  * @brief Verantwortlich für die Aufzeichnung und Berechnung von Spielerstatistiken.
+ *        Die Statistiken werden bei jedem Schuss anhand seines Ergebnisses mitgezählt, statt das gegnerische Board
+ *        erneut zu durchlaufen.
  */
 public class PlayerStatus {
     // Gesamtzahl der Klicks
@@ -25,6 +29,15 @@ public class PlayerStatus {
         this.shunkShips = 0;
     }
 
+    /**
+     * @brief Setzt alle Statistiken auf ihre Standardwerte zurück.
+     */
+    void reset() {
+        this.totalClicks = 0;
+        this.hits = 0;
+        this.shunkShips = 0;
+    }
+
     /**
      * @brief Gibt die Gesamtzahl der Klicks zurück, die ein Spieler gemacht hat.
      * @return Die Gesamtzahl der Klicks.
@@ -57,32 +70,87 @@ public class PlayerStatus {
     }
 
     /**
-     * @brief Berechnet die Anzahl der Treffer.
-     * @param boardModel Das Board, das die aktuellen Schiffe und Zellen enthält.
+     * @brief Zählt einen Schuss anhand seines Ergebnisses.
+     * @param shotResult Das Ergebnis des Schusses.
      */
-    public void calculateHits(BoardModel boardModel) {
-        int temp = 0;
-        for (ShipModel ship : boardModel.getPlayerShips()) {
-            for (CellModel cell : ship.getShipCells()) {
-                if (cell.isHit()) {
-                    temp++;
-                }
-            }
+    public void recordShot(ShotResult shotResult) {
+        switch (shotResult.getType()) {
+            case MISS:
+                this.recordMiss();
+                break;
+            case HIT:
+                this.recordHit(false);
+                break;
+            case SUNK:
+                this.recordHit(true);
+                break;
+            case REPEAT:
+                this.recordRepeat();
+                break;
+            default:
+                break;
         }
-        this.hits = temp;
     }
 
     /**
-     * @brief Berechnet die Anzahl der versenkten Schiffe.
-     * @param boardModel Das Board, das die aktuellen Schiffe und Zellen enthält.
+     * @brief Nimmt einen gezählten Schuss zurück, etwa wenn ein Zug rückgängig gemacht wird.
+     * @param type Das Ergebnis des zurückgenommenen Schusses.
+     */
+    void revertShot(ShotType type) {
+        switch (type) {
+            case SUNK:
+                this.shunkShips--;
+                this.hits--;
+                this.totalClicks--;
+                break;
+            case HIT:
+                this.hits--;
+                this.totalClicks--;
+                break;
+            case MISS:
+                this.totalClicks--;
+                break;
+            default:
+                break;
+        }
+    }
+
+    /**
+     * @brief Zählt einen Schuss, der kein Schiff getroffen hat.
+     */
+    public void recordMiss() {
+        this.totalClicks++;
+    }
+
+    /**
+     * @brief Zählt einen Schuss, der ein Schiff getroffen hat.
+     * @param sunk Gibt an, ob das Schiff durch diesen Treffer versenkt wurde.
+     */
+    public void recordHit(boolean sunk) {
+        this.totalClicks++;
+        this.hits++;
+        if (sunk) {
+            this.shunkShips++;
+        }
+    }
+
+    /**
+     * @brief Zählt einen Schuss auf eine bereits getroffene Zelle. Dieser zählt nur als Klick.
+     */
+    public void recordRepeat() {
+        this.totalClicks++;
+    }
+
+    /**
+     * @brief Zählt mehrere Schüsse auf bereits beschossene Zellen auf einmal, etwa beim Laden eines Spielstands, da
+     *        sie nicht im MoveLog stehen.
+     * @param count Die Anzahl der Schüsse.
+     * @throws IllegalArgumentException Wenn die Anzahl negativ ist.
      */
-    public void calculateShunkShips(BoardModel boardModel) {
-        int temp = 0;
-        for (ShipModel ship : boardModel.getPlayerShips()) {
-            if (ship.isSunk()) {
-                temp++;
-            }
+    public void recordRepeats(int count) {
+        if (count < 0) {
+            throw new IllegalArgumentException("Ungültige Anzahl wiederholter Schüsse: " + count);
         }
-        this.shunkShips = temp;
+        this.totalClicks += count;
     }
 }
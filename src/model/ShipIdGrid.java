@@ -0,0 +1,95 @@
+/**
+ * @file ShipIdGrid.java
+ */
+
+package model;
+
+import java.util.Arrays;
+
+/**
+ * @class ShipIdGrid
+ * @brief Ordnet jeder Zelle eines Spielfeldes die Id des Schiffes zu, das auf ihr liegt (0 für kein Schiff).
+ *        Wie beim BitBoard werden die Werte in Blöcken zu je 4096 Zellen gespeichert, die erst beim ersten Schreiben
+ *        angelegt werden.
+ */
+class ShipIdGrid {
+    // Die Blöcke mit den Schiffs-Ids, noch nicht benötigte Blöcke sind null
+    private final short[][] chunks;
+    // Anzahl der Zellen je Block
+    private final int chunkSize;
+
+    /**
+     * @brief Konstruktor, der ein leeres Raster für die angegebene Anzahl an Zellen erstellt.
+     * @param size Die Anzahl der Zellen.
+     */
+    ShipIdGrid(int size) {
+        this.chunkSize = Math.min(BitBoard.CHUNK_BITS, size);
+        this.chunks = new short[(size + BitBoard.CHUNK_BITS - 1) >>> BitBoard.CHUNK_SHIFT][];
+    }
+
+    /**
+     * @brief Gibt die Schiffs-Id der Zelle zurück.
+     * @param index Der Index der Zelle.
+     * @return Die Id des Schiffes oder 0, wenn dort kein Schiff liegt.
+     */
+    short get(int index) {
+        short[] chunk = this.chunks[index >>> BitBoard.CHUNK_SHIFT];
+        return chunk == null ? 0 : chunk[index & (BitBoard.CHUNK_BITS - 1)];
+    }
+
+    /**
+     * @brief Setzt die Schiffs-Id der Zelle.
+     * @param index Der Index der Zelle.
+     * @param shipId Die Id des Schiffes.
+     */
+    void set(int index, short shipId) {
+        short[] chunk = this.chunks[index >>> BitBoard.CHUNK_SHIFT];
+        if (chunk == null) {
+            chunk = new short[this.chunkSize];
+            this.chunks[index >>> BitBoard.CHUNK_SHIFT] = chunk;
+        }
+        chunk[index & (BitBoard.CHUNK_BITS - 1)] = shipId;
+    }
+
+    /**
+     * @brief Setzt alle Zellen auf 0 zurück. Bereits angelegte Blöcke bleiben für die Wiederverwendung erhalten.
+     */
+    void clear() {
+        for (short[] chunk : this.chunks) {
+            if (chunk != null) {
+                Arrays.fill(chunk, (short) 0);
+            }
+        }
+    }
+
+    /**
+     * @brief Kopiert die Blöcke des Rasters, etwa für ein BoardSnapshot. Nicht angelegte Blöcke bleiben null.
+     * @return Eine Kopie der Blöcke.
+     */
+    short[][] copyChunks() {
+        short[][] copy = new short[this.chunks.length][];
+        for (int i = 0; i < copy.length; i++) {
+            copy[i] = this.chunks[i] == null ? null : this.chunks[i].clone();
+        }
+        return copy;
+    }
+
+    /**
+     * @brief Übernimmt die Schiffs-Ids aus Blöcken, wie sie copyChunks liefert. Die übergebenen Blöcke werden nicht
+     *        verändert.
+     * @param source Die Blöcke, deren Ids übernommen werden.
+     */
+    void loadChunks(short[][] source) {
+        for (int i = 0; i < this.chunks.length; i++) {
+            if (source[i] == null) {
+                if (this.chunks[i] != null) {
+                    Arrays.fill(this.chunks[i], (short) 0);
+                }
+            } else if (this.chunks[i] == null) {
+                this.chunks[i] = source[i].clone();
+            } else {
+                System.arraycopy(source[i], 0, this.chunks[i], 0, source[i].length);
+            }
+        }
+    }
+}
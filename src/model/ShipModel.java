@@ -4,8 +4,6 @@
 
 package model;
 
-import utils.CellState;
-
 import java.util.*;
 
 /**
@@ -14,15 +12,22 @@ import java.util.*;
  *        Weiterhin wird der den Zustand des Schiffes geprüft.
  */
 public class ShipModel {
-    private final List<CellModel> shipCells;
+    // Das Board, auf dem das Schiff platziert ist
+    private final BoardModel boardModel;
+    // X-Koordinate der ersten Schiffzelle
+    private final int startX;
+    // Y-Koordinate der ersten Schiffzelle
+    private final int startY;
     private final int length;
     private final boolean horizontal;
     private boolean sunk;
+    // Anzahl der Zellen des Schiffes, die noch nicht getroffen wurden
+    private int remainingHits;
 
     /**
      * @brief Der Konstruktor belegt alle Klassenvariablen mit Werten.
-     *        Mittels der Koordinaten der ersten Zelle, sowie die Länge und Ausrichtung dieser, werden die restlichen
-     *        Zellen des Schiffes berechnet und auf das Board gesetzt.
+     *        Die Zellen des Schiffes werden nicht gespeichert, sondern aus der ersten Zelle, der Länge und der
+     *        Ausrichtung berechnet. Das Belegen der Zellen auf dem Board übernimmt BoardModel.placeShip.
      * @param boardModel Das Board, auf dem das Schiff platziert wird.
      * @param startX Die X-Koordinate der ersten Schiffzelle.
      * @param startY Die Y-Koordinate der ersten Schiffzelle.
@@ -30,28 +35,60 @@ public class ShipModel {
      * @param horizontal Gibt die Ausrichtung (horizontal (true) oder vertikal(false)) des Schiffes an.
      */
     public ShipModel(BoardModel boardModel, int startX, int startY, int length, boolean horizontal) {
+        this.boardModel = boardModel;
+        this.startX = startX;
+        this.startY = startY;
         this.length = length;
         this.horizontal = horizontal;
         this.sunk = false;
-        this.shipCells = new ArrayList<>();
-
-        for (int i = 0; i < this.length; i++) {
-            // Ermittlung der X-Koordinate abhängig von der Ausrichtung des Schiffes.
-            int currentX = this.horizontal ? boardModel.getCell(startX, startY).getX() + i : boardModel.getCell(startX, startY).getX();
-            // Ermittlung der Y-Koordinate abhängig von der Ausrichtung des Schiffes.
-            int currentY = this.horizontal ? boardModel.getCell(startX, startY).getY() : boardModel.getCell(startX, startY).getY() + i;
-            // Der Zellstatus wird auf SET gestellt.
-            boardModel.getCell(currentX, currentY).updateCellState(CellState.SET);
-            this.shipCells.add(boardModel.getCell(currentX, currentY));
-        }
+        this.remainingHits = length;
     }
 
     /**
      * @brief Gibt alle Zellen des Schiffes zurück.
+     *        Die Zellen sind Ansichten auf den aktuellen Zustand des Boards.
      * @return Liste der Zellen des Schiffs
      */
     public List<CellModel> getShipCells() {
-        return this.shipCells;
+        List<CellModel> shipCells = new ArrayList<>(this.length);
+        for (int i = 0; i < this.length; i++) {
+            shipCells.add(this.boardModel.getCell(this.getCellX(i), this.getCellY(i)));
+        }
+        return shipCells;
+    }
+
+    /**
+     * @brief Gibt die X-Koordinate der i-ten Zelle des Schiffes zurück.
+     * @param i Der Index der Zelle innerhalb des Schiffes.
+     * @return Die X-Koordinate der Zelle.
+     */
+    public int getCellX(int i) {
+        return this.horizontal ? this.startX + i : this.startX;
+    }
+
+    /**
+     * @brief Gibt die Y-Koordinate der i-ten Zelle des Schiffes zurück.
+     * @param i Der Index der Zelle innerhalb des Schiffes.
+     * @return Die Y-Koordinate der Zelle.
+     */
+    public int getCellY(int i) {
+        return this.horizontal ? this.startY : this.startY + i;
+    }
+
+    /**
+     * @brief Gibt die Länge des Schiffes zurück.
+     * @return Die Länge des Schiffes.
+     */
+    public int getLength() {
+        return this.length;
+    }
+
+    /**
+     * @brief Gibt die Ausrichtung des Schiffes zurück.
+     * @return true, wenn das Schiff horizontal liegt.
+     */
+    public boolean isHorizontal() {
+        return this.horizontal;
     }
 
     /**
@@ -69,12 +106,35 @@ public class ShipModel {
      * @return true, wenn das Schiff an dieser Position getroffen wurde.
      */
     public boolean isHit(int cordX, int cordY) {
-        for (CellModel cell : this.shipCells) {
-            if (cell.getX() == cordX && cell.getY() == cordY) {
-                return true;
-            }
+        if (this.horizontal) {
+            return cordY == this.startY && cordX >= this.startX && cordX < this.startX + this.length;
         }
-        return false;
+        return cordX == this.startX && cordY >= this.startY && cordY < this.startY + this.length;
+    }
+
+    /**
+     * @brief Gibt die Anzahl der Zellen zurück, die noch nicht getroffen wurden.
+     * @return Die Anzahl der verbleibenden Treffer bis zum Versenken.
+     */
+    public int getRemainingHits() {
+        return this.remainingHits;
+    }
+
+    /**
+     * @brief Zählt einen neuen Treffer auf einer bisher nicht getroffenen Zelle des Schiffes.
+     *        Wird ausschließlich vom BoardModel aufgerufen, das doppelte Treffer bereits aussortiert.
+     */
+    void registerHit() {
+        this.remainingHits--;
+    }
+
+    /**
+     * @brief Nimmt einen Treffer zurück. Ein versenktes Schiff ist danach wieder nicht versenkt.
+     *        Wird ausschließlich vom BoardModel aufgerufen, wenn ein Schuss zurückgenommen wird.
+     */
+    void unregisterHit() {
+        this.remainingHits++;
+        this.sunk = false;
     }
 
     /**
@@ -82,11 +142,8 @@ public class ShipModel {
      * die Klassenvariable sunk auf true.
      */
     public void checkShipStatus() {
-        for (CellModel cell : this.shipCells) {
-            if (cell.getCellState() != CellState.HIT) {
-                return;
-            }
+        if (this.remainingHits == 0) {
+            this.sunk = true;
         }
-        this.sunk = true;
     }
-}
\ No newline at end of file
+}
@@ -0,0 +1,85 @@
+/**
+ * @file ShotResult.java
+ */
+
+package model;
+
+import utils.ShotType;
+
+/**
+ * @class ShotResult
+ * @brief Das unveränderliche Ergebnis eines Schusses, welches von BoardModel.fire zurückgegeben wird.
+ *        Für jedes Ergebnis ohne Schiff gibt es genau eine gemeinsame Instanz, die Ergebnisse für versenkte Schiffe
+ *        werden je Schiffs-Id zwischengespeichert. Ein Schuss erzeugt daher keine neuen Objekte.
+ */
+public final class ShotResult {
+    // Anzahl der Schiffs-Ids, deren SUNK-Ergebnis zwischengespeichert wird
+    private static final int CACHED_SHIP_IDS = 256;
+    private static final ShotResult[] SUNK_RESULTS = new ShotResult[CACHED_SHIP_IDS];
+
+    public static final ShotResult MISS = new ShotResult(ShotType.MISS, -1);
+    public static final ShotResult HIT = new ShotResult(ShotType.HIT, -1);
+    public static final ShotResult REPEAT = new ShotResult(ShotType.REPEAT, -1);
+    public static final ShotResult INVALID = new ShotResult(ShotType.INVALID, -1);
+
+    static {
+        for (int shipId = 0; shipId < CACHED_SHIP_IDS; shipId++) {
+            SUNK_RESULTS[shipId] = new ShotResult(ShotType.SUNK, shipId);
+        }
+    }
+
+    private final ShotType type;
+    // Id des versenkten Schiffes (Index in BoardModel.getPlayerShips()), sonst -1
+    private final int shipId;
+
+    /**
+     * @brief Konstruktor, der das Ergebnis festlegt.
+     * @param type Die Art des Ergebnisses.
+     * @param shipId Die Id des versenkten Schiffes oder -1.
+     */
+    private ShotResult(ShotType type, int shipId) {
+        this.type = type;
+        this.shipId = shipId;
+    }
+
+    /**
+     * @brief Gibt das Ergebnis für ein versenktes Schiff zurück.
+     * @param shipId Die Id des versenkten Schiffes.
+     * @return Das Ergebnis vom Typ SUNK.
+     */
+    public static ShotResult sunk(int shipId) {
+        return shipId < CACHED_SHIP_IDS ? SUNK_RESULTS[shipId] : new ShotResult(ShotType.SUNK, shipId);
+    }
+
+    /**
+     * @brief Gibt die Art des Ergebnisses zurück.
+     * @return Die Art des Ergebnisses.
+     */
+    public ShotType getType() {
+        return this.type;
+    }
+
+    /**
+     * @brief Gibt die Id des versenkten Schiffes zurück.
+     * @return Die Id des Schiffes oder -1, wenn kein Schiff versenkt wurde.
+     */
+    public int getShipId() {
+        return this.shipId;
+    }
+
+    /**
+     * @brief Überprüft, ob der Schuss ein Schiff getroffen hat.
+     * @return true bei HIT und SUNK.
+     */
+    public boolean isHit() {
+        return this.type == ShotType.HIT || this.type == ShotType.SUNK;
+    }
+
+    /**
+     * @brief Überprüft, ob der Schuss ein Schiff versenkt hat.
+     * @return true bei SUNK.
+     */
+    public boolean isSunk() {
+        return this.type == ShotType.SUNK;
+    }
+}
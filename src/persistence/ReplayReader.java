@@ -0,0 +1,410 @@
+/**
+ * @file ReplayReader.java
+ */
+
+package persistence;
+
+import model.BoardModel;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * @class ReplayReader
+ * @brief Liest eine Replay-Datei, die per FileChannel.map in den Speicher eingeblendet wird. Eine Partie wird über
+ *        eine Replay-Ansicht direkt aus der eingeblendeten Datei gelesen und nie auf den Heap kopiert.
+ *
+ *        Aufbau der Datei (big-endian):
+ *        - Kopf: MAGIC (int), VERSION (int)
+ *        - je Partie: Breite (short), Höhe (short), Seed (long), Anzahl der Schiffe des Regelwerks (byte),
+ *          Schiffslängen (byte je Schiff), je Spieler Anzahl der Schiffe (byte) und je Schiff Länge << 24 |
+ *          (Zellindex << 1) | horizontal (int), Anzahl der Schüsse (int), Schüsse wie im MoveLog gepackt (int je Schuss)
+ *        - Index: Position jeder Partie in der Datei (long je Partie)
+ *        - Dateiende: Position des Index (long), Anzahl der Partien (int), MAGIC (int)
+ *
+ *        Dateien über 2 GB werden in mehreren Abschnitten eingeblendet, die jeweils an einer Partie beginnen.
+ */
+public final class ReplayReader implements Closeable {
+    // Kennung am Anfang und am Ende der Datei ("SVRP")
+    static final int MAGIC = 0x53565250;
+    // Version des Dateiformats
+    static final int VERSION = 1;
+    // Größe des Kopfes in Bytes
+    static final int HEADER_BYTES = 8;
+    // Größe des Dateiendes in Bytes
+    static final int TRAILER_BYTES = 16;
+    // Größte Länge eines eingeblendeten Abschnitts
+    private static final long MAX_SEGMENT = Integer.MAX_VALUE;
+    // Position der Schiffslänge in einem gepackten Schiff
+    private static final int LENGTH_SHIFT = 24;
+
+    private final FileChannel channel;
+    // Die eingeblendeten Abschnitte mit den Partien
+    private MappedByteBuffer[] segments;
+    // Position jedes Abschnitts in der Datei
+    private long[] segmentStarts;
+    // Der eingeblendete Index
+    private final MappedByteBuffer index;
+    // Anzahl der Partien
+    private final int count;
+
+    /**
+     * @brief Konstruktor, der eine Replay-Datei öffnet, einblendet und ihren Index prüft. Danach liegt jede Partie
+     *        vollständig vor der nächsten, sodass eine Replay-Ansicht nicht über ihre Partie hinaus lesen kann.
+     * @param path Der Pfad der Datei.
+     * @throws IOException Wenn die Datei nicht gelesen werden kann, keine Replay-Datei dieser Version ist oder ihr
+     *         Index nicht zu den Partien passt.
+     */
+    public ReplayReader(Path path) throws IOException {
+        this.channel = FileChannel.open(path, StandardOpenOption.READ);
+        try {
+            long size = this.channel.size();
+            if (size < HEADER_BYTES + TRAILER_BYTES) {
+                throw new IOException("Keine Replay-Datei");
+            }
+            ByteBuffer head = this.channel.map(FileChannel.MapMode.READ_ONLY, 0, HEADER_BYTES);
+            ByteBuffer trailer = this.channel.map(FileChannel.MapMode.READ_ONLY, size - TRAILER_BYTES, TRAILER_BYTES);
+            if (head.getInt(0) != MAGIC || trailer.getInt(12) != MAGIC) {
+                throw new IOException("Keine vollständige Replay-Datei");
+            }
+            if (head.getInt(4) != VERSION) {
+                throw new IOException("Nicht unterstützte Version " + head.getInt(4));
+            }
+            long indexOffset = trailer.getLong(0);
+            this.count = trailer.getInt(8);
+            if (this.count < 0 || indexOffset < HEADER_BYTES || indexOffset + 8L * this.count != size - TRAILER_BYTES) {
+                throw new IOException("Beschädigter Index");
+            }
+            this.index = this.channel.map(FileChannel.MapMode.READ_ONLY, indexOffset, 8L * this.count);
+            this.validateIndex(indexOffset);
+            this.mapSegments(indexOffset);
+            this.validateGames(indexOffset);
+        } catch (IOException | RuntimeException e) {
+            this.channel.close();
+            throw e;
+        }
+    }
+
+    /**
+     * @brief Prüft, dass die Positionen der Partien streng steigend zwischen Kopf und Index liegen und keine Partie
+     *        größer als ein Abschnitt ist.
+     * @param end Die Position hinter der letzten Partie.
+     * @throws IOException Wenn der Index beschädigt ist.
+     */
+    private void validateIndex(long end) throws IOException {
+        long previous = HEADER_BYTES - 1;
+        for (int game = 0; game < this.count; game++) {
+            long offset = this.offset(game);
+            if (offset <= previous || offset >= end) {
+                throw new IOException("Beschädigter Index: Partie " + game + " liegt nicht zwischen Kopf und Index");
+            }
+            previous = offset;
+        }
+        for (int game = 0; game < this.count; game++) {
+            if (this.end(game, end) - this.offset(game) > MAX_SEGMENT) {
+                throw new IOException("Beschädigter Index: Partie " + game + " ist zu groß");
+            }
+        }
+    }
+
+    /**
+     * @brief Prüft, dass jede Partie nach ihren eigenen Anzahlen genau den Platz bis zur nächsten Partie einnimmt.
+     * @param end Die Position hinter der letzten Partie.
+     * @throws IOException Wenn eine Partie beschädigt ist.
+     */
+    private void validateGames(long end) throws IOException {
+        for (int game = 0; game < this.count; game++) {
+            int segment = this.segmentOf(this.offset(game));
+            int start = (int) (this.offset(game) - this.segmentStarts[segment]);
+            int limit = (int) (this.end(game, end) - this.segmentStarts[segment]);
+            if (Replay.length(this.segments[segment], start, limit) != limit - start) {
+                throw new IOException("Beschädigte Partie " + game);
+            }
+        }
+    }
+
+    /**
+     * @brief Blendet die Partien in Abschnitten von höchstens MAX_SEGMENT Bytes ein. Ein Abschnitt endet immer an
+     *        einer Partiegrenze, sodass jede Partie vollständig in einem Abschnitt liegt.
+     * @param end Die Position hinter der letzten Partie.
+     * @throws IOException Wenn nicht eingeblendet werden kann.
+     */
+    private void mapSegments(long end) throws IOException {
+        List<MappedByteBuffer> mapped = new ArrayList<>();
+        List<Long> starts = new ArrayList<>();
+        int game = 0;
+        while (game < this.count) {
+            long start = this.offset(game);
+            int next = game + 1;
+            while (next < this.count && this.end(next, end) - start <= MAX_SEGMENT) {
+                next++;
+            }
+            starts.add(start);
+            mapped.add(this.channel.map(FileChannel.MapMode.READ_ONLY, start, this.end(next - 1, end) - start));
+            game = next;
+        }
+        this.segments = mapped.toArray(new MappedByteBuffer[0]);
+        this.segmentStarts = starts.stream().mapToLong(Long::longValue).toArray();
+    }
+
+    /**
+     * @brief Gibt die Position hinter einer Partie zurück.
+     * @param game Der Index der Partie.
+     * @param end Die Position hinter der letzten Partie.
+     * @return Die Position, an der die nächste Partie oder der Index beginnt.
+     */
+    private long end(int game, long end) {
+        return game + 1 < this.count ? this.offset(game + 1) : end;
+    }
+
+    /**
+     * @brief Gibt die Position einer Partie in der Datei zurück.
+     * @param game Der Index der Partie.
+     * @return Die Position in Bytes.
+     */
+    private long offset(int game) {
+        return this.index.getLong(8 * game);
+    }
+
+    /**
+     * @brief Gibt die Anzahl der Partien in der Datei zurück.
+     * @return Die Anzahl der Partien.
+     */
+    public int getCount() {
+        return this.count;
+    }
+
+    /**
+     * @brief Gibt eine Ansicht auf eine Partie zurück. Die Ansicht liest direkt aus der eingeblendeten Datei und ist
+     *        nur gültig, solange der Leser geöffnet ist.
+     * @param game Der Index der Partie, beginnend bei 0.
+     * @return Die Ansicht auf die Partie.
+     */
+    public Replay getReplay(int game) {
+        if (game < 0 || game >= this.count) {
+            throw new IndexOutOfBoundsException("Partie " + game + " von " + this.count);
+        }
+        long offset = this.offset(game);
+        int segment = this.segmentOf(offset);
+        return new Replay(this.segments[segment], (int) (offset - this.segmentStarts[segment]));
+    }
+
+    /**
+     * @brief Bestimmt den Abschnitt, in dem eine Partie liegt.
+     * @param offset Die Position der Partie in der Datei.
+     * @return Der Index des Abschnitts.
+     */
+    private int segmentOf(long offset) {
+        int segment = this.segments.length - 1;
+        while (this.segmentStarts[segment] > offset) {
+            segment--;
+        }
+        return segment;
+    }
+
+    /**
+     * @brief Packt ein Schiff in ein int, wie es in der Datei steht.
+     * @param cell Der Index der ersten Zelle des Schiffes.
+     * @param horizontal Gibt an, ob das Schiff horizontal liegt.
+     * @param length Die Länge des Schiffes.
+     * @return Das gepackte Schiff.
+     */
+    static int packShip(int cell, boolean horizontal, int length) {
+        return length << LENGTH_SHIFT | cell << 1 | (horizontal ? 1 : 0);
+    }
+
+    /**
+     * @brief Setzt ein gepacktes Schiff auf ein Board.
+     * @param board Das Board.
+     * @param ship Das gepackte Schiff.
+     * @return true, wenn das Schiff platziert wurde.
+     */
+    static boolean placeShip(BoardModel board, int ship) {
+        int cell = (ship & ((1 << LENGTH_SHIFT) - 1)) >>> 1;
+        return board.placeShip(cell / board.getHeight(), cell % board.getHeight(), (ship & 1) != 0, ship >>> LENGTH_SHIFT);
+    }
+
+    @Override
+    public void close() throws IOException {
+        this.channel.close();
+    }
+
+    /**
+     * @class Replay
+     * @brief Ansicht auf eine Partie in der eingeblendeten Datei. Alle Werte werden bei jedem Aufruf mit absoluten
+     *        Zugriffen aus dem Puffer gelesen, die Ansicht selbst besteht nur aus einigen Positionen.
+     */
+    public static final class Replay {
+        // Der Abschnitt, in dem die Partie liegt
+        private final ByteBuffer buffer;
+        // Position der Partie im Abschnitt
+        private final int start;
+        // Position der Schiffe jedes Spielers im Abschnitt
+        private final int[] ships;
+        // Position der Anzahl der Schüsse im Abschnitt
+        private final int moves;
+
+        /**
+         * @brief Konstruktor, der die Positionen der Abschnitte einer Partie bestimmt.
+         * @param buffer Der Abschnitt, in dem die Partie liegt.
+         * @param start Die Position der Partie im Abschnitt.
+         */
+        Replay(ByteBuffer buffer, int start) {
+            this.buffer = buffer;
+            this.start = start;
+            this.ships = new int[2];
+            this.ships[0] = start + 13 + Byte.toUnsignedInt(buffer.get(start + 12));
+            this.ships[1] = this.ships[0] + 1 + 4 * Byte.toUnsignedInt(buffer.get(this.ships[0]));
+            this.moves = this.ships[1] + 1 + 4 * Byte.toUnsignedInt(buffer.get(this.ships[1]));
+        }
+
+        /**
+         * @brief Bestimmt die Länge einer Partie aus ihren Anzahlen, ohne hinter eine Grenze zu lesen.
+         * @param buffer Der Abschnitt, in dem die Partie liegt.
+         * @param start Die Position der Partie im Abschnitt.
+         * @param limit Die Position hinter der Partie im Abschnitt.
+         * @return Die Länge in Bytes oder -1, wenn die Anzahlen über die Grenze hinaus zeigen.
+         */
+        static long length(ByteBuffer buffer, int start, int limit) {
+            long position = start + 13L;
+            if (position > limit) {
+                return -1;
+            }
+            position += Byte.toUnsignedInt(buffer.get(start + 12));
+            for (int player = 0; player < 2; player++) {
+                if (position >= limit) {
+                    return -1;
+                }
+                position += 1 + 4L * Byte.toUnsignedInt(buffer.get((int) position));
+            }
+            if (position + 4 > limit) {
+                return -1;
+            }
+            int moves = buffer.getInt((int) position);
+            return moves < 0 ? -1 : position + 4 + 4L * moves - start;
+        }
+
+        /**
+         * @brief Gibt die Breite des Spielfelds zurück.
+         * @return Die Breite des Spielfelds.
+         */
+        public int getWidth() {
+            return this.buffer.getShort(this.start);
+        }
+
+        /**
+         * @brief Gibt die Höhe des Spielfelds zurück.
+         * @return Die Höhe des Spielfelds.
+         */
+        public int getHeight() {
+            return this.buffer.getShort(this.start + 2);
+        }
+
+        /**
+         * @brief Gibt den Seed der Partie zurück.
+         * @return Der Seed.
+         */
+        public long getSeed() {
+            return this.buffer.getLong(this.start + 4);
+        }
+
+        /**
+         * @brief Gibt die Schiffslängen des Regelwerks zurück.
+         * @return Die Längen in der Reihenfolge des Regelwerks.
+         */
+        public int[] getFleet() {
+            int[] fleet = new int[Byte.toUnsignedInt(this.buffer.get(this.start + 12))];
+            for (int i = 0; i < fleet.length; i++) {
+                fleet[i] = Byte.toUnsignedInt(this.buffer.get(this.start + 13 + i));
+            }
+            return fleet;
+        }
+
+        /**
+         * @brief Gibt die Anzahl der Schiffe eines Spielers zurück.
+         * @param player 0 für den ersten, 1 für den zweiten Spieler.
+         * @return Die Anzahl der Schiffe.
+         */
+        public int getShipCount(int player) {
+            return Byte.toUnsignedInt(this.buffer.get(this.ships[player]));
+        }
+
+        /**
+         * @brief Gibt den Index der ersten Zelle eines Schiffes zurück.
+         * @param player 0 für den ersten, 1 für den zweiten Spieler.
+         * @param ship Der Index des Schiffes.
+         * @return Der Zellindex x * Höhe + y.
+         */
+        public int getShipCell(int player, int ship) {
+            return (this.ship(player, ship) & ((1 << LENGTH_SHIFT) - 1)) >>> 1;
+        }
+
+        /**
+         * @brief Gibt zurück, ob ein Schiff horizontal liegt.
+         * @param player 0 für den ersten, 1 für den zweiten Spieler.
+         * @param ship Der Index des Schiffes.
+         * @return true, wenn das Schiff entlang der X-Achse liegt.
+         */
+        public boolean isShipHorizontal(int player, int ship) {
+            return (this.ship(player, ship) & 1) != 0;
+        }
+
+        /**
+         * @brief Gibt die Länge eines Schiffes zurück.
+         * @param player 0 für den ersten, 1 für den zweiten Spieler.
+         * @param ship Der Index des Schiffes.
+         * @return Die Länge des Schiffes.
+         */
+        public int getShipLength(int player, int ship) {
+            return this.ship(player, ship) >>> LENGTH_SHIFT;
+        }
+
+        /**
+         * @brief Liest ein gepacktes Schiff.
+         * @param player 0 für den ersten, 1 für den zweiten Spieler.
+         * @param ship Der Index des Schiffes.
+         * @return Das gepackte Schiff.
+         */
+        private int ship(int player, int ship) {
+            return this.buffer.getInt(this.ships[player] + 1 + 4 * ship);
+        }
+
+        /**
+         * @brief Platziert die Flotte eines Spielers auf einem leeren Board, etwa um die Partie Schuss für Schuss
+         *        nachzuspielen.
+         * @param player 0 für den ersten, 1 für den zweiten Spieler.
+         * @param board Ein leeres Board in der Größe der Partie.
+         */
+        public void placeFleet(int player, BoardModel board) {
+            for (int ship = 0; ship < this.getShipCount(player); ship++) {
+                if (!placeShip(board, this.ship(player, ship))) {
+                    throw new IllegalStateException("Die Flotte der Partie passt nicht auf das Board");
+                }
+            }
+        }
+
+        /**
+         * @brief Gibt die Anzahl der Schüsse der Partie zurück.
+         * @return Die Anzahl der Schüsse.
+         */
+        public int getMoveCount() {
+            return this.buffer.getInt(this.moves);
+        }
+
+        /**
+         * @brief Gibt einen Schuss der Partie zurück, gepackt wie im MoveLog.
+         * @param move Der Index des Schusses, beginnend bei 0.
+         * @return Der gepackte Schuss, auszuwerten mit MoveLog.shooter, MoveLog.x, MoveLog.type usw.
+         */
+        public int getMove(int move) {
+            return this.buffer.getInt(this.moves + 4 + 4 * move);
+        }
+    }
+}
@@ -0,0 +1,187 @@
+/**
+ * @file ReplayWriter.java
+ */
+
+package persistence;
+
+import model.BoardModel;
+import model.GameModel;
+import model.MoveLog;
+import model.ShipModel;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.Arrays;
+
+/**
+ * @class ReplayWriter
+ * @brief Schreibt vollständige Partien nacheinander in eine Replay-Datei, deren Aufbau in ReplayReader beschrieben ist.
+ *        Jede Partie wird sofort geschrieben, im Speicher bleibt nur ihre Position für den Index am Ende der Datei.
+ *        Die Datei entsteht unter einem temporären Namen und wird erst beim Schließen umbenannt, sodass ein Leser nie
+ *        eine Datei ohne Index sieht. Schlägt das Schreiben fehl, verwirft abort die temporäre Datei, und eine
+ *        vorhandene Datei bleibt unverändert. Die Methoden sind synchronisiert, mehrere Threads dürfen in dieselbe
+ *        Datei schreiben.
+ */
+public final class ReplayWriter implements Closeable {
+    // Anfangsgröße des Puffers für eine Partie
+    private static final int INITIAL_BUFFER = 4096;
+
+    // Der endgültige Pfad der Datei
+    private final Path path;
+    // Die temporäre Datei, in die geschrieben wird
+    private final Path temp;
+    // Der Kanal der temporären Datei
+    private final FileChannel channel;
+    // Puffer, in dem eine Partie vor dem Schreiben kodiert wird
+    private ByteBuffer buffer;
+    // Position jeder geschriebenen Partie in der Datei
+    private long[] offsets;
+    // Anzahl der geschriebenen Partien
+    private int count;
+    // Gibt an, ob die Datei bereits geschlossen wurde
+    private boolean closed;
+
+    /**
+     * @brief Konstruktor, der eine neue Replay-Datei beginnt. Eine vorhandene Datei wird erst beim Schließen ersetzt.
+     * @param path Der Pfad der Datei.
+     * @throws IOException Wenn die temporäre Datei nicht angelegt werden kann.
+     */
+    public ReplayWriter(Path path) throws IOException {
+        this.path = path.toAbsolutePath();
+        this.temp = Files.createTempFile(this.path.getParent(), this.path.getFileName().toString(), ".tmp");
+        this.channel = FileChannel.open(this.temp, StandardOpenOption.WRITE, StandardOpenOption.TRUNCATE_EXISTING);
+        this.buffer = ByteBuffer.allocate(INITIAL_BUFFER);
+        this.offsets = new long[64];
+        this.buffer.putInt(ReplayReader.MAGIC).putInt(ReplayReader.VERSION).flip();
+        this.writeBuffer();
+    }
+
+    /**
+     * @brief Schreibt eine Partie mit Regelwerk, Seed, den Flotten beider Spieler und allen gespielten Schüssen aus dem
+     *        MoveLog. Zurückgenommene Schüsse werden nicht geschrieben.
+     * @param game Die Partie.
+     * @throws IOException Wenn nicht geschrieben werden kann.
+     */
+    public synchronized void write(GameModel game) throws IOException {
+        if (this.closed) {
+            throw new IOException("Die Replay-Datei ist bereits geschlossen");
+        }
+        BoardModel one = game.getPlayerOne().getBoard();
+        BoardModel two = game.getPlayerTwo().getBoard();
+        int[] fleet = game.getShipSizes();
+        MoveLog moves = game.getMoveLog();
+        this.ensureCapacity(12 + 1 + fleet.length + 2 + 4 * (one.getPlayerShips().size() + two.getPlayerShips().size())
+                + 4 + 4 * moves.size());
+
+        this.buffer.clear();
+        this.buffer.putShort((short) one.getWidth()).putShort((short) one.getHeight()).putLong(game.getSeed());
+        this.buffer.put((byte) fleet.length);
+        for (int length : fleet) {
+            this.buffer.put((byte) length);
+        }
+        this.putShips(one);
+        this.putShips(two);
+        this.buffer.putInt(moves.size());
+        for (int i = 0; i < moves.size(); i++) {
+            this.buffer.putInt(moves.get(i));
+        }
+        this.buffer.flip();
+
+        if (this.count == this.offsets.length) {
+            this.offsets = Arrays.copyOf(this.offsets, this.count * 2);
+        }
+        this.offsets[this.count++] = this.channel.position();
+        this.writeBuffer();
+    }
+
+    /**
+     * @brief Schreibt die Schiffe eines Boards als Anzahl und je Schiff ein int aus Länge und Platzierung.
+     * @param board Das Board.
+     */
+    private void putShips(BoardModel board) {
+        this.buffer.put((byte) board.getPlayerShips().size());
+        for (ShipModel ship : board.getPlayerShips()) {
+            int cell = ship.getCellX(0) * board.getHeight() + ship.getCellY(0);
+            this.buffer.putInt(ReplayReader.packShip(cell, ship.isHorizontal(), ship.getLength()));
+        }
+    }
+
+    /**
+     * @brief Vergrößert den Puffer, falls er die angegebene Anzahl an Bytes nicht aufnehmen kann.
+     * @param bytes Die benötigte Anzahl an Bytes.
+     */
+    private void ensureCapacity(int bytes) {
+        if (this.buffer.capacity() < bytes) {
+            this.buffer = ByteBuffer.allocate(Math.max(bytes, this.buffer.capacity() * 2));
+        }
+    }
+
+    /**
+     * @brief Schreibt den Inhalt des Puffers vollständig in die Datei.
+     * @throws IOException Wenn nicht geschrieben werden kann.
+     */
+    private void writeBuffer() throws IOException {
+        while (this.buffer.hasRemaining()) {
+            this.channel.write(this.buffer);
+        }
+    }
+
+    /**
+     * @brief Gibt die Anzahl der bisher geschriebenen Partien zurück.
+     * @return Die Anzahl der Partien.
+     */
+    public synchronized int getCount() {
+        return this.count;
+    }
+
+    /**
+     * @brief Verwirft die bisher geschriebenen Partien und löscht die temporäre Datei, ohne die Datei am endgültigen
+     *        Pfad zu ersetzen. Ein folgendes close hat keine Wirkung mehr.
+     * @throws IOException Wenn die temporäre Datei nicht gelöscht werden kann.
+     */
+    public synchronized void abort() throws IOException {
+        if (this.closed) {
+            return;
+        }
+        this.closed = true;
+        try {
+            this.channel.close();
+        } finally {
+            Files.deleteIfExists(this.temp);
+        }
+    }
+
+    /**
+     * @brief Schreibt den Index und das Dateiende, schließt die Datei und ersetzt damit die Datei am endgültigen Pfad.
+     * @throws IOException Wenn nicht geschrieben oder umbenannt werden kann.
+     */
+    @Override
+    public synchronized void close() throws IOException {
+        if (this.closed) {
+            return;
+        }
+        this.closed = true;
+        try {
+            long indexOffset = this.channel.position();
+            this.ensureCapacity(8 * this.count + ReplayReader.TRAILER_BYTES);
+            this.buffer.clear();
+            for (int i = 0; i < this.count; i++) {
+                this.buffer.putLong(this.offsets[i]);
+            }
+            this.buffer.putLong(indexOffset).putInt(this.count).putInt(ReplayReader.MAGIC).flip();
+            this.writeBuffer();
+            this.channel.force(false);
+            this.channel.close();
+            Files.move(this.temp, this.path, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        } finally {
+            this.channel.close();
+            Files.deleteIfExists(this.temp);
+        }
+    }
+}
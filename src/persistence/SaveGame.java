@@ -0,0 +1,318 @@
+/**
+ * @file SaveGame.java
+ */
+
+package persistence;
+
+import ai.ShotStrategies;
+import engine.GameEngine;
+import model.BoardModel;
+import model.GameModel;
+import model.MoveLog;
+import model.PlayerModel;
+import model.PlayerStatus;
+import model.ShipModel;
+import utils.GamePhase;
+import utils.GameState;
+
+import java.io.IOException;
+import java.nio.BufferUnderflowException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+
+/**
+ * @class SaveGame
+ * @brief Speichert eine laufende Partie in eine Datei und setzt sie daraus fort.
+ *        Gespeichert werden nur die Eingaben der Partie: Regelwerk, Seed, Einstellungen des Computergegners, Namen,
+ *        Flotten und der MoveLog. Beim Laden werden die Flotten gesetzt und die gespielten Schüsse erneut ausgeführt,
+ *        woraus beide Boards und die Statistiken der Spieler exakt wieder entstehen. Der Computergegner wird mit dem
+ *        Seed der Partie erstellt und baut sein Wissen aus dem Board seines Gegners auf. Auf dem Standardspielfeld
+ *        ist eine Datei kleiner als ein Kilobyte und in deutlich unter einer Millisekunde geladen.
+ *
+ *        Aufbau der Datei (big-endian):
+ *        - Kopf: MAGIC (int), VERSION (int)
+ *        - Partie: Spielmodus in der Reihenfolge von GameState (byte), Breite (short), Höhe (short), Seed (long),
+ *          Frist des Computergegners (long), Kennung seiner Strategie (Text), Spieler am Zug (byte)
+ *        - je Spieler: Name (Text), Klicks, Treffer und versenkte Schiffe (je int), Anzahl der Schiffe (byte) und je
+ *          Schiff gepackt wie in ReplayReader (int)
+ *        - Verlauf: Anzahl aller Schüsse (int), Anzahl der gespielten Schüsse (int), Schüsse wie im MoveLog gepackt
+ *          (int je Schuss)
+ *        - Dateiende: MAGIC (int)
+ *
+ *        Ein Text besteht aus seiner Länge in Bytes (short) und den Bytes in UTF-8. Treffer und versenkte Schiffe
+ *        dienen beim Laden zur Prüfung, ob die erneut ausgeführten Schüsse dieselbe Partie ergeben. Die Klicks
+ *        enthalten zusätzlich die Schüsse auf bereits beschossene Zellen, die nicht im Verlauf stehen.
+ */
+public final class SaveGame {
+    // Kennung am Anfang und am Ende der Datei ("SVSG")
+    static final int MAGIC = 0x53565347;
+    // Version des Dateiformats
+    static final int VERSION = 1;
+    // Standardpfad des Spielstands
+    public static final String DEFAULT_PATH = "savegame.bin";
+
+    /**
+     * @brief Privater Konstruktor, die Klasse bietet nur statische Methoden an.
+     */
+    private SaveGame() {
+    }
+
+    /**
+     * @brief Speichert die laufende Partie einer Engine. Die Datei entsteht unter einem temporären Namen und ersetzt
+     *        eine vorhandene Datei erst, wenn sie vollständig geschrieben ist.
+     * @param engine Die Engine mit der Partie.
+     * @param path Der Pfad der Datei.
+     * @throws IOException Wenn nicht geschrieben werden kann.
+     * @throws IllegalStateException Wenn die Partie noch bei der Schiffsplatzierung ist.
+     */
+    public static void save(GameEngine engine, Path path) throws IOException {
+        if (engine.getPhase() != GamePhase.BATTLE && engine.getPhase() != GamePhase.GAME_OVER) {
+            throw new IllegalStateException("Eine Partie kann erst nach der Schiffsplatzierung gespeichert werden");
+        }
+        GameModel game = engine.getGameModel();
+        ByteBuffer buffer = encode(game);
+
+        Path absolute = path.toAbsolutePath();
+        Path temp = Files.createTempFile(absolute.getParent(), absolute.getFileName().toString(), ".tmp");
+        try {
+            try (FileChannel channel = FileChannel.open(temp, StandardOpenOption.WRITE, StandardOpenOption.TRUNCATE_EXISTING)) {
+                while (buffer.hasRemaining()) {
+                    channel.write(buffer);
+                }
+                channel.force(false);
+            }
+            Files.move(temp, absolute, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        } finally {
+            Files.deleteIfExists(temp);
+        }
+    }
+
+    /**
+     * @brief Kodiert eine Partie in einen Puffer, der genau den Inhalt der Datei enthält.
+     * @param game Die Partie.
+     * @return Der zum Schreiben bereite Puffer.
+     */
+    private static ByteBuffer encode(GameModel game) {
+        PlayerModel one = game.getPlayerOne();
+        PlayerModel two = game.getPlayerTwo();
+        byte[] strategy = game.getComputerStrategyId().getBytes(StandardCharsets.UTF_8);
+        byte[] nameOne = name(one);
+        byte[] nameTwo = name(two);
+        MoveLog moves = game.getMoveLog();
+        int[] recorded = moves.toArray();
+        int bytes = 8 + 1 + 4 + 16 + 2 + strategy.length + 1
+                + 2 * (2 + 12 + 1) + nameOne.length + nameTwo.length
+                + 4 * (one.getBoard().getPlayerShips().size() + two.getBoard().getPlayerShips().size())
+                + 8 + 4 * recorded.length + 4;
+
+        ByteBuffer buffer = ByteBuffer.allocate(bytes);
+        buffer.putInt(MAGIC).putInt(VERSION);
+        buffer.put((byte) game.getGameState().ordinal());
+        buffer.putShort((short) one.getBoard().getWidth()).putShort((short) one.getBoard().getHeight());
+        buffer.putLong(game.getSeed()).putLong(game.getComputerDeadlineMillis());
+        buffer.putShort((short) strategy.length).put(strategy);
+        buffer.put((byte) (game.getCurrentPlayer() == one ? 0 : 1));
+        putPlayer(buffer, one, nameOne);
+        putPlayer(buffer, two, nameTwo);
+        buffer.putInt(recorded.length).putInt(moves.size());
+        for (int move : recorded) {
+            buffer.putInt(move);
+        }
+        buffer.putInt(MAGIC).flip();
+        return buffer;
+    }
+
+    /**
+     * @brief Gibt den Namen eines Spielers in UTF-8 zurück. Ein fehlender Name wird leer gespeichert und beim Laden
+     *        durch den Standardnamen ersetzt.
+     * @param player Der Spieler.
+     * @return Die Bytes des Namens.
+     */
+    private static byte[] name(PlayerModel player) {
+        String name = player.getPlayerName();
+        byte[] bytes = (name == null ? "" : name).getBytes(StandardCharsets.UTF_8);
+        if (bytes.length > Short.MAX_VALUE) {
+            throw new IllegalArgumentException("Der Name von " + name + " ist zu lang");
+        }
+        return bytes;
+    }
+
+    /**
+     * @brief Schreibt Name, Statistik und Flotte eines Spielers.
+     * @param buffer Der Puffer.
+     * @param player Der Spieler.
+     * @param name Die Bytes seines Namens.
+     */
+    private static void putPlayer(ByteBuffer buffer, PlayerModel player, byte[] name) {
+        PlayerStatus status = player.getPlayerStatus();
+        BoardModel board = player.getBoard();
+        buffer.putShort((short) name.length).put(name);
+        buffer.putInt(status.getTotalClicks()).putInt(status.getHits()).putInt(status.getSunkShips());
+        buffer.put((byte) board.getPlayerShips().size());
+        for (ShipModel ship : board.getPlayerShips()) {
+            int cell = ship.getCellX(0) * board.getHeight() + ship.getCellY(0);
+            buffer.putInt(ReplayReader.packShip(cell, ship.isHorizontal(), ship.getLength()));
+        }
+    }
+
+    /**
+     * @brief Lädt eine gespeicherte Partie und setzt sie in der Engine fort. Die Einstellungen des Computergegners
+     *        und die Spielfeldgröße des GameModels werden dabei auf die der gespeicherten Partie gesetzt. Die Datei
+     *        wird vollständig gelesen und geprüft, bevor die Engine verändert wird, ein beschädigter Spielstand lässt
+     *        die laufende Partie und die Einstellungen also unverändert.
+     * @param engine Die Engine, in der die Partie fortgesetzt wird.
+     * @param path Der Pfad der Datei.
+     * @throws IOException Wenn die Datei nicht gelesen werden kann, kein Spielstand dieser Version ist oder nicht
+     *         dieselbe Partie ergibt.
+     */
+    public static void load(GameEngine engine, Path path) throws IOException {
+        ByteBuffer buffer;
+        try (FileChannel channel = FileChannel.open(path, StandardOpenOption.READ)) {
+            long size = channel.size();
+            if (size < 12 || size > Integer.MAX_VALUE) {
+                throw new IOException("Kein Spielstand");
+            }
+            buffer = channel.map(FileChannel.MapMode.READ_ONLY, 0, size);
+        }
+        if (buffer.getInt(0) != MAGIC || buffer.getInt(buffer.limit() - 4) != MAGIC) {
+            throw new IOException("Kein vollständiger Spielstand");
+        }
+        if (buffer.getInt(4) != VERSION) {
+            throw new IOException("Nicht unterstützte Version " + buffer.getInt(4));
+        }
+        try {
+            decode(engine, buffer.position(8));
+        } catch (BufferUnderflowException | IllegalArgumentException | IllegalStateException e) {
+            throw new IOException("Beschädigter Spielstand: " + e.getMessage(), e);
+        }
+    }
+
+    /**
+     * @brief Liest eine Partie ab der Position des Puffers, prüft sie und setzt sie erst dann in der Engine fort.
+     * @param engine Die Engine, in der die Partie fortgesetzt wird.
+     * @param buffer Der Puffer, dessen Position hinter dem Kopf der Datei steht.
+     * @throws IOException Wenn eine Länge nicht in die Datei passt oder die erneut ausgeführten Schüsse nicht
+     *         dieselbe Partie ergeben.
+     */
+    private static void decode(GameEngine engine, ByteBuffer buffer) throws IOException {
+        GameState[] states = GameState.values();
+        int state = buffer.get();
+        if (state < 0 || state >= states.length) {
+            throw new IllegalArgumentException("Unbekannter Spielmodus " + state);
+        }
+        int width = buffer.getShort();
+        int height = buffer.getShort();
+        if (width != height) {
+            throw new IllegalArgumentException("Nicht quadratisches Spielfeld " + width + "x" + height);
+        }
+        if (width < 1 || width > BoardModel.MAX_SIZE) {
+            throw new IllegalArgumentException("Ungültige Spielfeldgröße " + width);
+        }
+        long seed = buffer.getLong();
+        long deadlineMillis = buffer.getLong();
+        if (deadlineMillis < 0) {
+            throw new IllegalArgumentException("Ungültige Frist " + deadlineMillis);
+        }
+        String strategyId = ShotStrategies.byId(getString(buffer)).getId();
+        int currentPlayer = buffer.get();
+        if (currentPlayer != 0 && currentPlayer != 1) {
+            throw new IllegalArgumentException("Unbekannter Spieler " + currentPlayer);
+        }
+        String[] names = new String[2];
+        int[][] statistics = new int[2][];
+        int[][] fleets = new int[2][];
+        for (int player = 0; player < 2; player++) {
+            names[player] = getString(buffer);
+            statistics[player] = new int[]{buffer.getInt(), buffer.getInt(), buffer.getInt()};
+            fleets[player] = new int[checkLength(buffer, Byte.toUnsignedInt(buffer.get()), 4, "Schiffe")];
+            for (int ship = 0; ship < fleets[player].length; ship++) {
+                fleets[player][ship] = buffer.getInt();
+            }
+        }
+        int count = buffer.getInt();
+        int played = buffer.getInt();
+        int[] moves = new int[checkLength(buffer, count, 4, "Schüsse")];
+        for (int i = 0; i < moves.length; i++) {
+            moves[i] = buffer.getInt();
+        }
+        if (buffer.remaining() != 4) {
+            throw new IllegalArgumentException("Unerwartete Daten am Ende");
+        }
+
+        // Die Partie wird zuerst auf eigenen Boards nachgespielt, damit ein Fehler die Engine nicht mehr erreicht
+        GameModel trial = new GameModel();
+        trial.setPlayers(new PlayerModel(names[0], width), new PlayerModel(names[1], width));
+        placeFleets(trial, fleets);
+        trial.restoreMoves(moves, played, currentPlayer);
+        int[] repeats = new int[2];
+        for (int player = 0; player < 2; player++) {
+            PlayerStatus status = trial.playerAt(player).getPlayerStatus();
+            repeats[player] = statistics[player][0] - status.getTotalClicks();
+            if (repeats[player] < 0 || status.getHits() != statistics[player][1] || status.getSunkShips() != statistics[player][2]) {
+                throw new IOException("Die Schüsse ergeben eine andere Statistik für Spieler " + (player + 1));
+            }
+        }
+
+        GameModel game = engine.getGameModel();
+        game.setBoardSize(width);
+        game.setComputerStrategy(strategyId);
+        game.setComputerDeadlineMillis(deadlineMillis);
+        engine.resumeMatch(states[state], seed, names[0], names[1]);
+        placeFleets(game, fleets);
+        engine.resumeBattle(moves, played, currentPlayer);
+        // Schüsse auf bereits beschossene Zellen stehen nicht im Verlauf, zählen aber als Klick
+        for (int player = 0; player < 2; player++) {
+            game.playerAt(player).getPlayerStatus().recordRepeats(repeats[player]);
+        }
+    }
+
+    /**
+     * @brief Setzt die gespeicherten Flotten beider Spieler auf ihre Boards.
+     * @param game Die Partie mit beiden Spielern.
+     * @param fleets Die gepackten Schiffe je Spieler.
+     * @throws IllegalArgumentException Wenn eine Flotte nicht auf das Board passt.
+     */
+    private static void placeFleets(GameModel game, int[][] fleets) {
+        for (int player = 0; player < 2; player++) {
+            BoardModel board = game.playerAt(player).getBoard();
+            for (int ship : fleets[player]) {
+                if (!ReplayReader.placeShip(board, ship)) {
+                    throw new IllegalArgumentException("Die Flotte von Spieler " + (player + 1) + " passt nicht auf das Board");
+                }
+            }
+        }
+    }
+
+    /**
+     * @brief Prüft eine gelesene Anzahl, bevor dafür Speicher angelegt wird.
+     * @param buffer Der Puffer, dessen Position hinter der Anzahl steht.
+     * @param count Die gelesene Anzahl.
+     * @param bytesEach Die Bytes je Eintrag.
+     * @param what Die Bezeichnung der Einträge für die Fehlermeldung.
+     * @return Die Anzahl.
+     * @throws IOException Wenn die Anzahl negativ ist oder die Einträge nicht mehr in die Datei passen.
+     */
+    private static int checkLength(ByteBuffer buffer, int count, int bytesEach, String what) throws IOException {
+        if (count < 0 || count > buffer.remaining() / bytesEach) {
+            throw new IOException("Beschädigter Spielstand: " + count + " " + what + " passen nicht in die Datei");
+        }
+        return count;
+    }
+
+    /**
+     * @brief Liest einen Text aus Länge und Bytes in UTF-8.
+     * @param buffer Der Puffer.
+     * @return Der Text.
+     * @throws IOException Wenn die Länge nicht in die Datei passt.
+     */
+    private static String getString(ByteBuffer buffer) throws IOException {
+        byte[] bytes = new byte[checkLength(buffer, buffer.getShort(), 1, "Bytes eines Textes")];
+        buffer.get(bytes);
+        return new String(bytes, StandardCharsets.UTF_8);
+    }
+}
@@ -15,4 +15,8 @@ public enum CellState {
     SET,
     // Die Zelle besitzt ein Teil eines Schiffes, welches durch einen Spieler getroffen wurde
     HIT,
+    // Die Zelle enthält kein Schiff und wurde von einem Spieler beschossen.
+    MISS,
+    // Die Zelle enthält kein Schiff und wurde aufgedeckt, weil sie an ein versenktes Schiff angrenzt.
+    REVEALED,
 }
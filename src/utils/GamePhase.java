@@ -0,0 +1,18 @@
+/**
+ * @file GamePhase.java
+ */
+
+package utils;
+
+/**
+ * @enum GamePhase
+ * @brief Zeigt an, in welchem Abschnitt sich eine laufende Partie befindet.
+ */
+public enum GamePhase {
+    // Die Spieler platzieren ihre Schiffe.
+    PLACEMENT,
+    // Die Spieler schießen abwechselnd auf das Board des Gegners.
+    BATTLE,
+    // Alle Schiffe eines Spielers sind versenkt.
+    GAME_OVER
+}
@@ -0,0 +1,22 @@
+/**
+ * @file ShotType.java
+ */
+
+package utils;
+
+/**
+ * @enum ShotType
+ * @brief Zeigt die möglichen Ergebnisse eines Schusses auf ein Board.
+ */
+public enum ShotType {
+    // Der Schuss hat eine freie Zelle getroffen.
+    MISS,
+    // Der Schuss hat ein Schiff getroffen, das danach noch nicht versenkt ist.
+    HIT,
+    // Der Schuss hat die letzte Zelle eines Schiffes getroffen und es damit versenkt.
+    SUNK,
+    // Die Zelle wurde bereits beschossen.
+    REPEAT,
+    // Die Koordinate liegt außerhalb des Spielfeldes.
+    INVALID
+}
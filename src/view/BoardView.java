@@ -37,15 +37,45 @@ public class BoardView extends JPanel {
      */
     private List<JLabel> graphicsLabels;
 
+    /**
+     * @brief Größte Zellgröße in Pixeln, die bei kleinen Spielbrettern verwendet wird.
+     */
+    private static final int MAX_CELL_SIZE = 40;
+
+    /**
+     * @brief Kleinste Zellgröße in Pixeln, die bei großen Spielbrettern verwendet wird.
+     */
+    private static final int MIN_CELL_SIZE = 8;
+
+    /**
+     * @brief Fläche in Pixeln, auf die ein Spielbrett beim Berechnen der Zellgröße verteilt wird.
+     */
+    private static final int BOARD_PIXELS = 400;
+
+    /**
+     * @brief Definiert die Standardanzahl der Reihen und Spalten auf dem Spielbrett.
+     */
+    public static final int DEFAULT_BOARD_SIZE = 10;
+
+    /**
+     * @brief Farbe der Schiffsvorschau, wenn das Schiff an dieser Stelle platziert werden kann.
+     */
+    private static final Color PREVIEW_VALID_COLOR = new Color(110, 110, 255, 255);
+
+    /**
+     * @brief Farbe der Schiffsvorschau, wenn das Schiff an dieser Stelle nicht platziert werden kann.
+     */
+    private static final Color PREVIEW_INVALID_COLOR = new Color(255, 110, 110, 255);
+
     /**
      * @brief Bestimmt die Größe jeder Zelle auf dem Spielbrett in Pixeln.
      */
-    private static final int CELL_SIZE = 40;
+    private final int cellSize;
 
     /**
      * @brief Definiert die Anzahl der Reihen und Spalten auf dem Spielbrett.
      */
-    public static final int BOARD_SIZE = 10;
+    private final int boardSize;
 
     /**
      * @brief Panel, das die Zellen des Spielbretts in einem Grid-Layout organisiert.
@@ -64,6 +94,19 @@ public class BoardView extends JPanel {
      * und das Gesamtlayout des Spielbretts festzulegen.
      */
     public BoardView() {
+        this(DEFAULT_BOARD_SIZE);
+    }
+
+    /**
+     * @brief Konstruktor, der ein Spielbrett mit der angegebenen Anzahl an Reihen und Spalten erstellt.
+     *
+     * Die Zellgröße wird so gewählt, dass das Spielbrett ungefähr dieselbe Fläche wie das Standardspielbrett belegt.
+     *
+     * @param boardSize Die Anzahl der Reihen und Spalten.
+     */
+    public BoardView(int boardSize) {
+        this.boardSize = boardSize;
+        this.cellSize = Math.max(MIN_CELL_SIZE, Math.min(MAX_CELL_SIZE, BOARD_PIXELS / boardSize));
         initializeComponents();
         configureMainPanel();
         configureBoardView();
@@ -91,7 +134,16 @@ public class BoardView extends JPanel {
      * @return Die Größe einer Zelle in Pixeln.
      */
     public int getCellSize() {
-        return CELL_SIZE;
+        return this.cellSize;
+    }
+
+    /**
+     * @brief Gibt die Anzahl der Reihen und Spalten des Spielbretts zurück.
+     *
+     * @return Die Anzahl der Reihen und Spalten.
+     */
+    public int getBoardSize() {
+        return this.boardSize;
     }
 
 
@@ -132,7 +184,7 @@ public class BoardView extends JPanel {
      * - Initialisiert die Liste für die temporären, grafischen Elemente.
      */
     private void initializeComponents() {
-        this.labels = new JLabel[BOARD_SIZE][BOARD_SIZE];
+        this.labels = new JLabel[boardSize][boardSize];
         this.graphicsLabels = new ArrayList<>();
     }
 
@@ -176,9 +228,9 @@ public class BoardView extends JPanel {
      * @return Ein JPanel, das das Grid-Layout des Spielbretts enthält.
      */
     private JPanel createGridPanel() {
-        JPanel gridPanel = new JPanel(new GridLayout(BOARD_SIZE, BOARD_SIZE));
-        for (int i = 0; i < BOARD_SIZE; i++) {
-            for (int j = 0; j < BOARD_SIZE; j++) {
+        JPanel gridPanel = new JPanel(new GridLayout(boardSize, boardSize));
+        for (int i = 0; i < boardSize; i++) {
+            for (int j = 0; j < boardSize; j++) {
                 JLabel label = createStyledLabel(i, j);
                 labels[i][j] = label;
                 gridPanel.add(label);
@@ -196,16 +248,15 @@ public class BoardView extends JPanel {
      * @return Ein JPanel, das die numerischen Beschriftungen enthält.
      */
     private JPanel createNumericLabelsPanel() {
-        JPanel labelsPanel = new JPanel(new GridLayout(1, 10));
+        JPanel labelsPanel = new JPanel(new GridLayout(1, boardSize));
 
         JLabel emptyLabel = new JLabel("", SwingConstants.CENTER);
         emptyLabel.setPreferredSize(new Dimension(10, 10));
         labelsPanel.add(emptyLabel);
 
-        int[] numbers = {1, 2, 3, 4, 5, 6, 7, 8, 9, 10};
-        for (int number : numbers) {
+        for (int number = 1; number <= boardSize; number++) {
             JLabel label = new JLabel(String.valueOf(number), SwingConstants.CENTER);
-            label.setPreferredSize(new Dimension(20, 20));
+            label.setPreferredSize(new Dimension(cellSize / 2, cellSize / 2));
             labelsPanel.add(label);
         }
 
@@ -215,22 +266,37 @@ public class BoardView extends JPanel {
     /**
      * @brief Erstellt ein Panel mit alphabetischen Beschriftungen für die Reihen des Spielbretts.
      *
-     * Diese Methode erstellt ein JPanel, das eine Spalte von alphabetischen Labels (A bis J) enthält,
-     * die als Beschriftung für die Reihen des Spielbretts dienen.
+     * Diese Methode erstellt ein JPanel, das eine Spalte von alphabetischen Labels (A bis J bei der Standardgröße)
+     * enthält, die als Beschriftung für die Reihen des Spielbretts dienen.
      *
      * @return Ein JPanel, das die alphabetischen Beschriftungen enthält.
      */
     private JPanel createAlphabeticLabelsPanel() {
-        JPanel labelsPanel = new JPanel(new GridLayout(10, 1));
-        char[] labels = {'A', 'B', 'C', 'D', 'E', 'F', 'G', 'H', 'I', 'J'};
-        for (char labelChar : labels) {
-            JLabel label = new JLabel(String.valueOf(labelChar), SwingConstants.CENTER);
-            label.setPreferredSize(new Dimension(this.CELL_SIZE, this.CELL_SIZE));
+        JPanel labelsPanel = new JPanel(new GridLayout(boardSize, 1));
+        for (int row = 0; row < boardSize; row++) {
+            JLabel label = new JLabel(rowName(row), SwingConstants.CENTER);
+            label.setPreferredSize(new Dimension(this.cellSize, this.cellSize));
             labelsPanel.add(label);
         }
         return labelsPanel;
     }
 
+    /**
+     * @brief Erzeugt die alphabetische Beschriftung einer Reihe.
+     *
+     * Nach Z wird wie bei Tabellenkalkulationen mit AA, AB, ... fortgefahren.
+     *
+     * @param row Der Index der Reihe.
+     * @return Die Beschriftung der Reihe.
+     */
+    private static String rowName(int row) {
+        StringBuilder name = new StringBuilder();
+        for (int value = row + 1; value > 0; value = (value - 1) / 26) {
+            name.insert(0, (char) ('A' + (value - 1) % 26));
+        }
+        return name.toString();
+    }
+
     /**
      * @brief Erstellt ein gestyltes JLabel für eine Zelle im Spielbrett.
      *
@@ -248,7 +314,7 @@ public class BoardView extends JPanel {
         label.setOpaque(true);
         label.setBackground(Color.WHITE);
         label.setBorder(BorderFactory.createLineBorder(new Color(0xc5c5ff), 1));
-        label.setPreferredSize(new Dimension(CELL_SIZE, CELL_SIZE));
+        label.setPreferredSize(new Dimension(cellSize, cellSize));
         label.setHorizontalAlignment(SwingConstants.CENTER);
         label.setVerticalAlignment(SwingConstants.CENTER);
 
@@ -319,7 +385,7 @@ public class BoardView extends JPanel {
     private void initializeShipPreviewLabel(JPanel panel) {
         shipPreviewLabel = new JLabel();
         shipPreviewLabel.setOpaque(true);
-        shipPreviewLabel.setBackground(new Color(110, 110, 255, 255));
+        shipPreviewLabel.setBackground(PREVIEW_VALID_COLOR);
         shipPreviewLabel.setVisible(false);
         panel.add(shipPreviewLabel);
     }
@@ -333,8 +399,8 @@ public class BoardView extends JPanel {
      * @param panel Das JPanel, dem die Labels hinzugefügt werden.
      */
     private void addLabelsToGridPanel(JPanel panel) {
-        for (int i = 0; i < BOARD_SIZE; i++) {
-            for (int j = 0; j < BOARD_SIZE; j++) {
+        for (int i = 0; i < boardSize; i++) {
+            for (int j = 0; j < boardSize; j++) {
                 JLabel label = createStyledLabel(i, j);
                 labels[i][j] = label;
                 panel.add(label);
@@ -364,8 +430,8 @@ public class BoardView extends JPanel {
      * @param playerBoard Das `BoardModel`, das den aktuellen Zustand des Spielbretts enthält.
      */
     public void updateBoard(BoardModel playerBoard) {
-        for (int row = 0; row < BOARD_SIZE; row++) {
-            for (int col = 0; col < BOARD_SIZE; col++) {
+        for (int row = 0; row < boardSize; row++) {
+            for (int col = 0; col < boardSize; col++) {
                 updateCell(row, col, playerBoard);
             }
         }
@@ -383,6 +449,22 @@ public class BoardView extends JPanel {
      * @param height Die Höhe der Vorschau.
      */
     public void updateShipPreview(int x, int y, int width, int height) {
+        updateShipPreview(x, y, width, height, true);
+    }
+
+    /**
+     * @brief Zeigt die Vorschau eines Schiffes an und färbt sie je nach Gültigkeit der Platzierung.
+     *
+     * Eine gültige Platzierung wird blau, eine ungültige rot dargestellt.
+     *
+     * @param x Die x-Koordinate der Vorschau.
+     * @param y Die y-Koordinate der Vorschau.
+     * @param width Die Breite der Vorschau.
+     * @param height Die Höhe der Vorschau.
+     * @param valid Gibt an, ob das Schiff an dieser Stelle platziert werden kann.
+     */
+    public void updateShipPreview(int x, int y, int width, int height, boolean valid) {
+        shipPreviewLabel.setBackground(valid ? PREVIEW_VALID_COLOR : PREVIEW_INVALID_COLOR);
         shipPreviewLabel.setBounds(x, y, width, height);
         shipPreviewLabel.setVisible(true);
     }
@@ -399,27 +481,47 @@ public class BoardView extends JPanel {
     public void updateRevealedShip(ShipModel ship) {
         for (CellModel cell : ship.getShipCells()) {
             JLabel cellLabel = getLabelForCell(cell.getX(), cell.getY());
-            cellLabel.setIcon(IconView.createCrossIcon(Color.RED, CELL_SIZE / 2));
+            cellLabel.setIcon(IconView.createCrossIcon(Color.RED, cellSize / 2));
             cellLabel.setBackground(Color.RED);
         }
     }
 
+    /**
+     * @brief Aktualisiert die Darstellung eines versenkten Schiffs und der angrenzenden Zellen aus dem Spielmodell.
+     *
+     * Es werden nur die Zellen des Schiffs und die direkt angrenzenden Zellen neu gezeichnet. Da das `BoardModel`
+     * die angrenzenden Zellen selbst als aufgedeckt markiert, muss die Umgebung nicht erneut berechnet werden.
+     *
+     * @param ship Das versenkte Schiff.
+     * @param playerBoard Das `BoardModel`, das den aktuellen Zustand der Zellen enthält.
+     */
+    public void updateShipArea(ShipModel ship, BoardModel playerBoard) {
+        int startX = Math.max(0, ship.getCellX(0) - 1);
+        int startY = Math.max(0, ship.getCellY(0) - 1);
+        int endX = Math.min(boardSize - 1, ship.getCellX(ship.getLength() - 1) + 1);
+        int endY = Math.min(boardSize - 1, ship.getCellY(ship.getLength() - 1) + 1);
+        for (int row = startX; row <= endX; row++) {
+            for (int col = startY; col <= endY; col++) {
+                updateCell(row, col, playerBoard);
+            }
+        }
+    }
+
     /**
      * @brief Aktualisiert die grafische Darstellung einer Zelle basierend auf ihrem Zustand im Spielmodell.
      *
      * Diese Methode wird verwendet, um den Zustand einer Zelle auf dem Spielbrett anzuzeigen.
-     * Abhängig vom Zustand der Zelle im übergebenen `BoardModel` (frei, gesetzt oder getroffen)
+     * Abhängig vom Zustand der Zelle im übergebenen `BoardModel` (frei, gesetzt, getroffen, verfehlt oder aufgedeckt)
      * wird das entsprechende visuelle Darstellung (Farbe, Icon) auf das zugehörige `JLabel` angewendet.
      *
      * @param row Die Zeile der Zelle, die aktualisiert werden soll.
      * @param col Die Spalte der Zelle, die aktualisiert werden soll.
      * @param playerBoard Das `BoardModel`, das den aktuellen Zustand der Zelle enthält.
      */
-    private void updateCell(int row, int col, BoardModel playerBoard) {
-        CellModel cell = playerBoard.getCell(row, col);
+    public void updateCell(int row, int col, BoardModel playerBoard) {
         JLabel label = labels[row][col];
 
-        switch (cell.getCellState()) {
+        switch (playerBoard.getCellState(row, col)) {
             case FREE:
                 updateFreeCell(label);
                 break;
@@ -427,7 +529,15 @@ public class BoardView extends JPanel {
                 updateSetCell(label);
                 break;
             case HIT:
-                updateHitCell(label);
+                if (playerBoard.getShipAt(row, col).isSunk()) {
+                    updateSunkCell(label);
+                } else {
+                    updateHitCell(label);
+                }
+                break;
+            case MISS:
+            case REVEALED:
+                markAsMiss(label);
                 break;
             default:
                 label.setBackground(Color.WHITE);
@@ -442,6 +552,7 @@ public class BoardView extends JPanel {
      * @param label Das JLabel der zu aktualisierenden Zelle.
      */
     private void updateFreeCell(JLabel label) {
+        label.setIcon(null);
         label.setBackground(Color.WHITE);
     }
 
@@ -453,6 +564,7 @@ public class BoardView extends JPanel {
      * @param label Das JLabel der zu aktualisierenden Zelle.
      */
     private void updateSetCell(JLabel label) {
+        label.setIcon(null);
         label.setBackground(Color.BLUE);
     }
 
@@ -464,7 +576,17 @@ public class BoardView extends JPanel {
      * @param label Das JLabel der zu aktualisierenden Zelle.
      */
     private void updateHitCell(JLabel label) {
-        label.setIcon(IconView.createCrossIcon(Color.RED, CELL_SIZE / 4));
+        label.setIcon(IconView.createCrossIcon(Color.RED, cellSize / 4));
+    }
+
+    /**
+     * @brief Aktualisiert die Zelle eines versenkten Schiffs mit einem großen Kreuz und rotem Hintergrund.
+     *
+     * @param label Das JLabel der zu aktualisierenden Zelle.
+     */
+    private void updateSunkCell(JLabel label) {
+        label.setIcon(IconView.createCrossIcon(Color.RED, cellSize / 2));
+        label.setBackground(Color.RED);
     }
 
     /**
@@ -483,11 +605,11 @@ public class BoardView extends JPanel {
             int x = horizontal ? startX : startX + i;
             int y = horizontal ? startY + i : startY;
 
-            if (x < BOARD_SIZE && y < BOARD_SIZE) {
+            if (x < boardSize && y < boardSize) {
                 JLabel graphicLabel = new JLabel();
                 graphicLabel.setOpaque(true);
                 graphicLabel.setBackground(new Color(0, 21, 255, 128));
-                graphicLabel.setBounds(y * CELL_SIZE, x * CELL_SIZE, CELL_SIZE, CELL_SIZE);
+                graphicLabel.setBounds(y * cellSize, x * cellSize, cellSize, cellSize);
                 graphicsLabels.add(graphicLabel);
                 gridPanel.add(graphicLabel);
             }
@@ -505,8 +627,8 @@ public class BoardView extends JPanel {
     public void toggleGridVisibility(boolean visible) {
         gridPanel.setVisible(visible);
 
-        for (int i = 0; i < BOARD_SIZE; i++) {
-            for (int j = 0; j < BOARD_SIZE; j++) {
+        for (int i = 0; i < boardSize; i++) {
+            for (int j = 0; j < boardSize; j++) {
                 labels[i][j].setVisible(!visible);
             }
         }
@@ -522,7 +644,7 @@ public class BoardView extends JPanel {
      * @param label Das `JLabel`, das als Fehlschuss markiert werden soll.
      */
     public void markAsMiss(JLabel label) {
-        label.setIcon(IconView.createPointIcon(Color.BLACK, CELL_SIZE / 4));
+        label.setIcon(IconView.createPointIcon(Color.BLACK, cellSize / 4));
     }
 
 
@@ -530,7 +652,7 @@ public class BoardView extends JPanel {
      * @brief Zeichnet die Gitterlinien auf dem Spielbrett.
      *
      * Diese Methode wird verwendet, um die vertikalen und horizontalen Gitterlinien des Spielbretts zu zeichnen.
-     * Die Linien werden basierend auf der Größe des Spielbretts (`BOARD_SIZE`) und der Größe der Zellen (`CELL_SIZE`) berechnet und gezeichnet.
+     * Die Linien werden basierend auf der Größe des Spielbretts (`boardSize`) und der Größe der Zellen (`cellSize`) berechnet und gezeichnet.
      *
      * @param g Das `Graphics`-Objekt, das zum Zeichnen der Gitterlinien verwendet wird.
      */
@@ -538,15 +660,15 @@ public class BoardView extends JPanel {
         g.setColor(new Color(200, 200, 200));  // Setzt die Farbe der Gitterlinien auf ein helles Grau
 
         // Zeichnet die vertikalen Gitterlinien
-        for (int i = 0; i <= BOARD_SIZE; i++) {
-            int x = i * CELL_SIZE;
-            g.drawLine(x, 0, x, BOARD_SIZE * CELL_SIZE);
+        for (int i = 0; i <= boardSize; i++) {
+            int x = i * cellSize;
+            g.drawLine(x, 0, x, boardSize * cellSize);
         }
 
         // Zeichnet die horizontalen Gitterlinien
-        for (int i = 0; i <= BOARD_SIZE; i++) {
-            int y = i * CELL_SIZE;
-            g.drawLine(0, y, BOARD_SIZE * CELL_SIZE, y);
+        for (int i = 0; i <= boardSize; i++) {
+            int y = i * cellSize;
+            g.drawLine(0, y, boardSize * cellSize, y);
         }
     }
 
@@ -6,7 +6,7 @@ import java.awt.*;
 /**
  * @class GameControlView
  * @brief Diese Klasse stellt eine Benutzeroberfläche zur Steuerung des Spiels bereit.
- * Sie enthält Buttons, um zum Hauptmenü zurückzukehren, das Spiel zu pausieren oder das Spiel zu verlassen.
+ * Sie enthält Buttons, um das Spiel zu pausieren, zu speichern oder das Spiel zu verlassen.
  */
 public class GameControlView extends JPanel {
 
@@ -15,6 +15,11 @@ public class GameControlView extends JPanel {
      */
     private JButton pauseGameButton;
 
+    /**
+     * @brief Button zum Speichern des Spiels.
+     */
+    private JButton saveGameButton;
+
     /**
      * @brief Button zum Verlassen des Spiels.
      */
@@ -27,9 +32,11 @@ public class GameControlView extends JPanel {
         this.setLayout(new FlowLayout());
 
         this.pauseGameButton = new JButton("Spiel pausieren");
+        this.saveGameButton = new JButton("Spiel speichern");
         this.endGameButton = new JButton("Spiel verlassen");
 
         this.add(this.pauseGameButton);
+        this.add(this.saveGameButton);
         this.add(this.endGameButton);
 
         this.setBorder(BorderFactory.createEmptyBorder(10, 10, 10, 10));
@@ -44,6 +51,15 @@ public class GameControlView extends JPanel {
         return this.pauseGameButton;
     }
 
+    /**
+     * @brief Gibt den Button zum Speichern des Spiels zurück.
+     *
+     * @return Der Button zum Speichern des Spiels.
+     */
+    public JButton getSaveGameButton() {
+        return this.saveGameButton;
+    }
+
     /**
      * @brief Gibt den Button zum Verlassen des Spiels zurück.
      *
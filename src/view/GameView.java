@@ -194,8 +194,8 @@ public class GameView extends JFrame {
      * @param playerTwo Das Model des zweiten Spielers, welche das Spielfeld und weitere Informationen enthalen.
      */
     private void initializePlayerBoards(PlayerModel playerOne, PlayerModel playerTwo) {
-        this.playerBoardOne = new BoardView();
-        this.playerBoardTwo = new BoardView();
+        this.playerBoardOne = new BoardView(playerOne.getBoard().getWidth());
+        this.playerBoardTwo = new BoardView(playerTwo.getBoard().getWidth());
         this.playerBoardOne.updateBoard(playerOne.getBoard());
         this.playerBoardTwo.updateBoard(playerTwo.getBoard());
     }
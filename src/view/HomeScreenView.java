@@ -1,7 +1,11 @@
 package view;
 
+import ai.ShotStrategies;
+import ai.ShotStrategyProvider;
+
 import javax.swing.*;
 import java.awt.*;
+import java.util.List;
 
 /**
  * @class HomeScreenView
@@ -25,11 +29,41 @@ public class HomeScreenView extends JFrame {
      */
     private JButton debugModeButton;
 
+    /**
+     * @brief Button zum Fortsetzen des gespeicherten Spiels.
+     */
+    private JButton loadGameButton;
+
     /**
      * @brief Button zum Beenden des Spiels.
      */
     private JButton exitButton;
 
+    /**
+     * @brief Auswahl der Breite und Höhe der Spielfelder.
+     */
+    private JSpinner boardSizeSpinner;
+
+    /**
+     * @brief Auswahl der Strategie des Computergegners.
+     */
+    private JComboBox<String> strategyComboBox;
+
+    /**
+     * @brief Die auswählbaren Strategien in der Reihenfolge der Auswahlliste.
+     */
+    private List<ShotStrategyProvider> strategies;
+
+    /**
+     * @brief Kleinste auswählbare Spielfeldgröße, bei der die Standardflotte noch Platz findet.
+     */
+    private static final int MIN_BOARD_SIZE = 10;
+
+    /**
+     * @brief Größte auswählbare Spielfeldgröße, die sich im Spielfenster noch darstellen lässt.
+     */
+    private static final int MAX_BOARD_SIZE = 30;
+
     /**
      * @brief Konstruktor, der die Benutzeroberfläche des Startbildschirms initialisiert.
      */
@@ -56,20 +90,42 @@ public class HomeScreenView extends JFrame {
         titleLabel.setFont(new Font("Serif", Font.BOLD, 24));
         mainPanel.add(titleLabel);
 
-        JPanel buttonPanel = new JPanel(new GridLayout(2, 2, 10, 10));
+        JPanel buttonPanel = new JPanel(new GridLayout(3, 2, 10, 10));
         buttonPanel.setBorder(BorderFactory.createEmptyBorder(10, 10, 10, 10));
 
         this.localGameButton = new JButton("Normales Spiel starten");
         this.computerGameButton = new JButton("Computer Spiel starten");
         this.debugModeButton = new JButton("Debug Modus starten");
+        this.loadGameButton = new JButton("Gespeichertes Spiel laden");
         this.exitButton = new JButton("Spiel beenden");
 
         buttonPanel.add(this.localGameButton);
         buttonPanel.add(this.computerGameButton);
         buttonPanel.add(this.debugModeButton);
+        buttonPanel.add(this.loadGameButton);
         buttonPanel.add(this.exitButton);
 
-        mainPanel.add(buttonPanel);
+        JPanel boardSizePanel = new JPanel(new FlowLayout());
+        this.boardSizeSpinner = new JSpinner(new SpinnerNumberModel(MIN_BOARD_SIZE, MIN_BOARD_SIZE, MAX_BOARD_SIZE, 1));
+        boardSizePanel.add(new JLabel("Spielfeldgröße:"));
+        boardSizePanel.add(this.boardSizeSpinner);
+
+        this.strategies = ShotStrategies.available();
+        this.strategyComboBox = new JComboBox<>();
+        for (ShotStrategyProvider strategy : this.strategies) {
+            this.strategyComboBox.addItem(strategy.getDisplayName());
+            if (strategy.getId().equals(ShotStrategies.DEFAULT_ID)) {
+                this.strategyComboBox.setSelectedIndex(this.strategyComboBox.getItemCount() - 1);
+            }
+        }
+        boardSizePanel.add(new JLabel("Computer:"));
+        boardSizePanel.add(this.strategyComboBox);
+
+        JPanel optionsPanel = new JPanel(new BorderLayout());
+        optionsPanel.add(buttonPanel, BorderLayout.CENTER);
+        optionsPanel.add(boardSizePanel, BorderLayout.SOUTH);
+
+        mainPanel.add(optionsPanel);
 
         this.setVisible(true);
     }
@@ -102,6 +158,15 @@ public class HomeScreenView extends JFrame {
         return this.debugModeButton;
     }
 
+    /**
+     * @brief Gibt den Button zum Fortsetzen des gespeicherten Spiels zurück.
+     *
+     * @return den Button zum Fortsetzen des gespeicherten Spiels.
+     */
+    public JButton getLoadGameButton() {
+        return this.loadGameButton;
+    }
+
     /**
      * @brief Gibt den Button zum Beenden des Spiels zurück.
      *
@@ -110,4 +175,22 @@ public class HomeScreenView extends JFrame {
     public JButton getExitButton() {
         return this.exitButton;
     }
+
+    /**
+     * @brief Gibt die ausgewählte Breite und Höhe der Spielfelder zurück.
+     *
+     * @return die ausgewählte Spielfeldgröße.
+     */
+    public int getBoardSize() {
+        return (Integer) this.boardSizeSpinner.getValue();
+    }
+
+    /**
+     * @brief Gibt die Kennung der ausgewählten Strategie des Computergegners zurück.
+     *
+     * @return die Kennung der ausgewählten Strategie.
+     */
+    public String getStrategyId() {
+        return this.strategies.get(this.strategyComboBox.getSelectedIndex()).getId();
+    }
 }
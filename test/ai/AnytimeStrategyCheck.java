@@ -0,0 +1,254 @@
+/**
+ * @file AnytimeStrategyCheck.java
+ */
+
+package ai;
+
+import model.BoardModel;
+import model.ShotResult;
+import utils.ShotType;
+
+import java.util.ArrayDeque;
+import java.util.Deque;
+import java.util.SplittableRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * @class AnytimeStrategyCheck
+ * @brief Prüft die AnytimeStrategy mit festen Seeds:
+ *        - Das Abbild, auf dem jede Suche läuft, entspricht genau dem aktuellen Wissen, auch nach Rücknahmen, nach dem
+ *          Verwerfen der Änderungsliste und nach einem Wechsel des Wissens.
+ *        - Eine fehlgeschlagene Suche wird festgehalten, und die Dichteberechnung wählt weiterhin gültige Ziele.
+ *        - Läuft die abgebrochene Suche des letzten Zuges noch, wählt die Dichteberechnung innerhalb der Frist ein Ziel.
+ */
+public final class AnytimeStrategyCheck {
+    // Spielfeldgröße der Partien
+    private static final int SIZE = 10;
+    // Anzahl der Partien für den Vergleich des Abbilds
+    private static final int GAMES = 30;
+    // Frist je Zug in Millisekunden für die langsame Suche
+    private static final long DEADLINE_MILLIS = 20;
+
+    /**
+     * @brief Privater Konstruktor, die Klasse wird nur über main ausgeführt.
+     */
+    private AnytimeStrategyCheck() {
+    }
+
+    /**
+     * @brief Führt die Prüfung aus und bricht beim ersten Unterschied mit einem AssertionError ab.
+     * @param args Keine Argumente.
+     */
+    public static void main(String[] args) {
+        int searches = checkSnapshots();
+        checkFailure();
+        checkBusySearch();
+        System.out.println("AnytimeStrategyCheck: " + searches + " Abbilder verglichen");
+    }
+
+    /**
+     * @brief Spielt Partien mit zufälligen Rücknahmen und vergleicht in jeder Suche das Abbild mit dem Wissen.
+     * @return Die Anzahl der verglichenen Abbilder.
+     */
+    private static int checkSnapshots() {
+        int searches = 0;
+        for (int game = 0; game < GAMES; game++) {
+            SplittableRandom random = new SplittableRandom(game);
+            BoardModel board = new BoardModel(SIZE, SIZE);
+            board.placeAllShips(random.split());
+            ShotKnowledge knowledge = new ShotKnowledge(SIZE, SIZE, BoardModel.BOAT_SIZES);
+            ComparingSearch search = new ComparingSearch();
+            AnytimeStrategy strategy = new AnytimeStrategy(search, 1000, random.split());
+            Deque<int[]> shots = new ArrayDeque<>();
+
+            while (board.getRemainingShips() > 0) {
+                search.expected = knowledge;
+                int target = strategy.chooseTarget(knowledge);
+                searches++;
+                check(search.mismatch == null, "Partie " + game + ", Schuss " + shots.size() + ": " + search.mismatch);
+                check(target >= 0 && !knowledge.isShot(target), "Partie " + game + ": ungültiges Ziel " + target);
+                ShotResult result = board.fire(target / SIZE, target % SIZE);
+                knowledge.observe(target / SIZE, target % SIZE, result, board);
+                shots.push(new int[]{target, result.getType().ordinal()});
+                for (int undo = random.nextInt(8) == 0 ? random.nextInt(4) : 0; undo > 0 && !shots.isEmpty(); undo--) {
+                    int[] shot = shots.pop();
+                    board.undoShot(shot[0] / SIZE, shot[0] % SIZE);
+                    knowledge.unobserve(shot[0] / SIZE, shot[0] % SIZE, ShotType.values()[shot[1]], board);
+                }
+            }
+
+            // Ein anderes Wissen wird vollständig übernommen
+            ShotKnowledge other = new ShotKnowledge(SIZE, SIZE, BoardModel.BOAT_SIZES);
+            search.expected = other;
+            strategy.chooseTarget(other);
+            searches++;
+            check(search.mismatch == null, "Partie " + game + ", anderes Wissen: " + search.mismatch);
+        }
+        return searches;
+    }
+
+    /**
+     * @brief Prüft, dass eine fehlgeschlagene Suche festgehalten wird und danach die Dichteberechnung spielt.
+     */
+    private static void checkFailure() {
+        RuntimeException error = new IllegalStateException("Absichtlicher Fehler");
+        AnytimeStrategy strategy = new AnytimeStrategy(new FailingSearch(error), 1000, new SplittableRandom(1));
+        ShotKnowledge knowledge = new ShotKnowledge(SIZE, SIZE, BoardModel.BOAT_SIZES);
+        BoardModel board = new BoardModel(SIZE, SIZE);
+        board.placeAllShips(new SplittableRandom(2));
+        for (int move = 0; move < 5; move++) {
+            int target = strategy.chooseTarget(knowledge);
+            check(target >= 0 && !knowledge.isShot(target), "fehlgeschlagene Suche, Zug " + move + ": kein Ziel");
+            check(strategy.getFailure() == error, "fehlgeschlagene Suche, Zug " + move + ": Fehler nicht festgehalten");
+            knowledge.observe(target / SIZE, target % SIZE, board.fire(target / SIZE, target % SIZE), board);
+        }
+    }
+
+    /**
+     * @brief Prüft, dass ein Zug während einer noch laufenden Suche ein Ziel innerhalb der Frist erhält.
+     */
+    private static void checkBusySearch() {
+        SlowSearch search = new SlowSearch();
+        AnytimeStrategy strategy = new AnytimeStrategy(search, DEADLINE_MILLIS, new SplittableRandom(3));
+        ShotKnowledge knowledge = new ShotKnowledge(SIZE, SIZE, BoardModel.BOAT_SIZES);
+        strategy.chooseTarget(knowledge);
+        long start = System.nanoTime();
+        int target = strategy.chooseTarget(knowledge);
+        long millis = TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start);
+        check(target >= 0 && !knowledge.isShot(target), "laufende Suche: kein Ziel");
+        check(millis < SlowSearch.DURATION_MILLIS, "laufende Suche: der Zug dauerte " + millis + " ms");
+        search.release();
+    }
+
+    /**
+     * @brief Vergleicht ein Abbild mit dem Wissen, von dem es stammt.
+     * @param actual Das Abbild.
+     * @param expected Das Wissen.
+     * @return Die Beschreibung des ersten Unterschieds oder null.
+     */
+    private static String compare(ShotKnowledge actual, ShotKnowledge expected) {
+        for (int index = 0; index < expected.getCellCount(); index++) {
+            if (actual.isShot(index) != expected.isShot(index)) {
+                return "beschossene Zelle " + index;
+            }
+            if (actual.getEmpty().get(index) != expected.getEmpty().get(index)) {
+                return "leere Zelle " + index;
+            }
+            if (actual.getOpenHits().get(index) != expected.getOpenHits().get(index)) {
+                return "offener Treffer " + index;
+            }
+        }
+        if (actual.getOpenHitCount() != expected.getOpenHitCount() || actual.getRemainingShips() != expected.getRemainingShips()) {
+            return "Zähler";
+        }
+        for (int length = 0; length < expected.getLengths().length; length++) {
+            if (actual.getRemaining(length) != expected.getRemaining(length)) {
+                return "verbleibende Schiffe der Länge " + length;
+            }
+        }
+        return null;
+    }
+
+    /**
+     * @brief Führt einen AssertionError aus, wenn die Bedingung nicht erfüllt ist.
+     * @param condition Die Bedingung.
+     * @param message Die Meldung bei einem Fehler.
+     */
+    private static void check(boolean condition, String message) {
+        if (!condition) {
+            throw new AssertionError(message);
+        }
+    }
+
+    /**
+     * @class ComparingSearch
+     * @brief Vergleicht das Abbild jeder Suche mit dem Wissen, während der aufrufende Thread wartet, und meldet die
+     *        erste unbeschossene Zelle.
+     */
+    private static final class ComparingSearch implements ShotStrategy, AnytimeSearch {
+        // Das Wissen, dem das Abbild entsprechen muss
+        private volatile ShotKnowledge expected;
+        // Der erste gefundene Unterschied oder null
+        private volatile String mismatch;
+
+        @Override
+        public int chooseTarget(ShotKnowledge knowledge) {
+            return -1;
+        }
+
+        @Override
+        public void search(ShotKnowledge knowledge, AnytimeDecision decision) {
+            if (knowledge == this.expected) {
+                this.mismatch = "die Suche erhält das Wissen selbst statt eines Abbilds";
+                return;
+            }
+            String difference = compare(knowledge, this.expected);
+            if (difference != null && this.mismatch == null) {
+                this.mismatch = difference;
+            }
+            for (int index = 0; index < knowledge.getCellCount(); index++) {
+                if (!knowledge.isShot(index)) {
+                    decision.offer(index);
+                    return;
+                }
+            }
+        }
+    }
+
+    /**
+     * @class FailingSearch
+     * @brief Eine Suche, die immer mit einem Fehler endet.
+     */
+    private static final class FailingSearch implements ShotStrategy, AnytimeSearch {
+        private final RuntimeException error;
+
+        /**
+         * @brief Konstruktor, der die Suche mit ihrem Fehler erstellt.
+         * @param error Der Fehler jeder Suche.
+         */
+        private FailingSearch(RuntimeException error) {
+            this.error = error;
+        }
+
+        @Override
+        public int chooseTarget(ShotKnowledge knowledge) {
+            throw this.error;
+        }
+
+        @Override
+        public void search(ShotKnowledge knowledge, AnytimeDecision decision) {
+            throw this.error;
+        }
+    }
+
+    /**
+     * @class SlowSearch
+     * @brief Eine Suche, die den Abbruch nicht beachtet und erst nach einer festen Dauer oder nach release endet.
+     */
+    private static final class SlowSearch implements ShotStrategy, AnytimeSearch {
+        // Dauer einer Suche in Millisekunden
+        private static final long DURATION_MILLIS = 2000;
+        // Gibt an, ob wartende Suchen enden sollen
+        private volatile boolean released;
+
+        @Override
+        public int chooseTarget(ShotKnowledge knowledge) {
+            return -1;
+        }
+
+        @Override
+        public void search(ShotKnowledge knowledge, AnytimeDecision decision) {
+            long end = System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(DURATION_MILLIS);
+            while (!this.released && System.nanoTime() < end) {
+                Thread.onSpinWait();
+            }
+        }
+
+        /**
+         * @brief Beendet alle laufenden Suchen.
+         */
+        private void release() {
+            this.released = true;
+        }
+    }
+}
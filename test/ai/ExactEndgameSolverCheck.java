@@ -0,0 +1,247 @@
+/**
+ * @file ExactEndgameSolverCheck.java
+ */
+
+package ai;
+
+import model.BoardModel;
+import model.ShotResult;
+import utils.ShotType;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.SplittableRandom;
+
+/**
+ * @class ExactEndgameSolverCheck
+ * @brief Vergleicht die Trefferwahrscheinlichkeiten des ExactEndgameSolvers in zufällig gespielten Endspielen mit
+ *        einer vollständigen Aufzählung aller Anordnungen der verbleibenden Schiffe, die die Regeln des Solvers direkt
+ *        nachprüft.
+ */
+public final class ExactEndgameSolverCheck {
+    // Anzahl der gespielten Partien
+    private static final int GAMES = 60;
+    // Höchste geschätzte Anzahl an Anordnungen, bei der die vollständige Aufzählung verglichen wird
+    private static final double COMPARE_LIMIT = 2e4;
+    // Erlaubte Abweichung je Zelle
+    private static final double TOLERANCE = 1e-9;
+
+    /**
+     * @brief Privater Konstruktor, die Klasse wird nur über main ausgeführt.
+     */
+    private ExactEndgameSolverCheck() {
+    }
+
+    /**
+     * @brief Führt die Prüfung aus und bricht beim ersten Unterschied mit einem AssertionError ab.
+     * @param args Keine Argumente.
+     */
+    public static void main(String[] args) {
+        ExactEndgameSolver solver = new ExactEndgameSolver();
+        int compared = 0;
+        for (int game = 0; game < GAMES; game++) {
+            SplittableRandom random = new SplittableRandom(game);
+            BoardModel board = new BoardModel(10, 10);
+            board.placeAllShips(random.split());
+            ShotKnowledge knowledge = new ShotKnowledge(10, 10, BoardModel.BOAT_SIZES);
+            int[] order = shuffledCells(100, random);
+            for (int shot = 0; shot < order.length && knowledge.getRemainingShips() > 0; shot++) {
+                int x = order[shot] / 10;
+                int y = order[shot] % 10;
+                ShotResult result = board.fire(x, y);
+                check(result.getType() != ShotType.REPEAT && result.getType() != ShotType.INVALID, "Partie " + game + ": ungültiger Schuss");
+                knowledge.observe(x, y, result, board);
+                if (knowledge.getRemainingShips() == 0 || ExactEndgameSolver.estimate(knowledge) > COMPARE_LIMIT) {
+                    continue;
+                }
+
+                double[] expected = enumerate(knowledge);
+                double[] actual = solver.hitProbabilities(knowledge, new AnytimeDecision());
+                String position = "Partie " + game + " nach " + (shot + 1) + " Schüssen";
+                check(actual != null, position + ": keine Wahrscheinlichkeiten");
+                for (int index = 0; index < expected.length; index++) {
+                    check(Math.abs(actual[index] - expected[index]) < TOLERANCE,
+                            position + ", Zelle " + index + ": erwartet " + expected[index] + ", erhalten " + actual[index]);
+                }
+                compared++;
+            }
+        }
+        check(compared > GAMES, "zu wenige Endspiele verglichen: " + compared);
+        System.out.println("ExactEndgameSolverCheck: " + compared + " Endspiele aus " + GAMES + " Partien geprüft");
+    }
+
+    /**
+     * @brief Mischt die Indizes aller Zellen.
+     * @param cells Die Anzahl der Zellen.
+     * @param random Der Zufallsgenerator.
+     * @return Die Zellen in zufälliger Reihenfolge.
+     */
+    private static int[] shuffledCells(int cells, SplittableRandom random) {
+        int[] order = new int[cells];
+        for (int i = 0; i < cells; i++) {
+            order[i] = i;
+        }
+        for (int i = cells - 1; i > 0; i--) {
+            int j = random.nextInt(i + 1);
+            int swap = order[i];
+            order[i] = order[j];
+            order[j] = swap;
+        }
+        return order;
+    }
+
+    /**
+     * @brief Zählt alle gültigen Anordnungen der verbleibenden Schiffe und berechnet daraus den Anteil der
+     *        Anordnungen, in denen jede Zelle belegt ist.
+     * @param knowledge Das Wissen über das gegnerische Board.
+     * @return Die Trefferwahrscheinlichkeit je Zelle.
+     */
+    private static double[] enumerate(ShotKnowledge knowledge) {
+        List<Integer> lengths = new ArrayList<>();
+        int[] ruleset = knowledge.getLengths();
+        for (int li = 0; li < ruleset.length; li++) {
+            for (int k = 0; k < knowledge.getRemaining(li); k++) {
+                lengths.add(ruleset[li]);
+            }
+        }
+        lengths.sort((a, b) -> b - a);
+
+        Enumeration enumeration = new Enumeration(knowledge, lengths.stream().mapToInt(Integer::intValue).toArray());
+        enumeration.place(0, -1);
+        double[] probabilities = new double[knowledge.getCellCount()];
+        for (int index = 0; index < probabilities.length; index++) {
+            probabilities[index] = enumeration.covered[index] / (double) enumeration.total;
+        }
+        return probabilities;
+    }
+
+    /**
+     * @brief Führt einen AssertionError aus, wenn die Bedingung nicht erfüllt ist.
+     * @param condition Die Bedingung.
+     * @param message Die Meldung bei einem Fehler.
+     */
+    private static void check(boolean condition, String message) {
+        if (!condition) {
+            throw new AssertionError(message);
+        }
+    }
+
+    /**
+     * @class Enumeration
+     * @brief Rekursive Aufzählung der Anordnungen. Gleich lange Schiffe werden nur in aufsteigender Reihenfolge ihrer
+     *        Platzierung gesetzt, damit jede Anordnung genau einmal gezählt wird.
+     */
+    private static final class Enumeration {
+        private final ShotKnowledge knowledge;
+        private final int width;
+        private final int height;
+        private final int[] lengths;
+        // Anzahl der Schiffe, die jede Zelle belegen oder berühren
+        private final int[] halo;
+        // Anzahl der Schiffe, die jede Zelle belegen
+        private final int[] occupied;
+        // Anzahl der gültigen Anordnungen, in denen jede Zelle belegt ist
+        private final long[] covered;
+        // Anzahl der gültigen Anordnungen
+        private long total;
+
+        /**
+         * @brief Konstruktor, der eine leere Aufzählung erstellt.
+         * @param knowledge Das Wissen über das gegnerische Board.
+         * @param lengths Die Längen der verbleibenden Schiffe, absteigend sortiert.
+         */
+        private Enumeration(ShotKnowledge knowledge, int[] lengths) {
+            this.knowledge = knowledge;
+            this.width = knowledge.getWidth();
+            this.height = knowledge.getHeight();
+            this.lengths = lengths;
+            this.halo = new int[knowledge.getCellCount()];
+            this.occupied = new int[knowledge.getCellCount()];
+            this.covered = new long[knowledge.getCellCount()];
+        }
+
+        /**
+         * @brief Setzt das Schiff mit dem gegebenen Index auf jede mögliche Platzierung und zählt die vollständigen
+         *        Anordnungen.
+         * @param ship Der Index des zu setzenden Schiffes.
+         * @param previous Die Platzierung des vorherigen Schiffes, wenn es gleich lang ist, sonst -1.
+         */
+        private void place(int ship, int previous) {
+            if (ship == this.lengths.length) {
+                for (int index = 0; index < this.occupied.length; index++) {
+                    if (this.knowledge.getOpenHits().get(index) && this.occupied[index] == 0) {
+                        return;
+                    }
+                }
+                this.total++;
+                for (int index = 0; index < this.occupied.length; index++) {
+                    this.covered[index] += this.occupied[index];
+                }
+                return;
+            }
+            int length = this.lengths[ship];
+            for (int x = 0; x < this.width; x++) {
+                for (int y = 0; y < this.height; y++) {
+                    for (int horizontal = 0; horizontal < (length == 1 ? 1 : 2); horizontal++) {
+                        int placement = (x * this.height + y) << 1 | horizontal;
+                        if (placement <= previous || !this.fits(x, y, horizontal == 1, length)) {
+                            continue;
+                        }
+                        this.mark(x, y, horizontal == 1, length, 1);
+                        boolean same = ship + 1 < this.lengths.length && this.lengths[ship + 1] == length;
+                        this.place(ship + 1, same ? placement : -1);
+                        this.mark(x, y, horizontal == 1, length, -1);
+                    }
+                }
+            }
+        }
+
+        /**
+         * @brief Prüft, ob ein Schiff im Board liegt, keine leere Zelle belegt, kein gesetztes Schiff berührt und nicht
+         *        vollständig getroffen ist.
+         * @param x Die X-Koordinate des Anfangs.
+         * @param y Die Y-Koordinate des Anfangs.
+         * @param horizontal Gibt an, ob das Schiff entlang der X-Achse liegt.
+         * @param length Die Länge des Schiffes.
+         * @return true, wenn das Schiff gesetzt werden darf.
+         */
+        private boolean fits(int x, int y, boolean horizontal, int length) {
+            boolean allHit = true;
+            for (int i = 0; i < length; i++) {
+                int cx = horizontal ? x + i : x;
+                int cy = horizontal ? y : y + i;
+                if (cx >= this.width || cy >= this.height) {
+                    return false;
+                }
+                int index = cx * this.height + cy;
+                if (this.knowledge.getEmpty().get(index) || this.halo[index] > 0) {
+                    return false;
+                }
+                allHit &= this.knowledge.getOpenHits().get(index);
+            }
+            return !allHit;
+        }
+
+        /**
+         * @brief Setzt oder entfernt ein Schiff samt seiner Nachbarzellen.
+         * @param x Die X-Koordinate des Anfangs.
+         * @param y Die Y-Koordinate des Anfangs.
+         * @param horizontal Gibt an, ob das Schiff entlang der X-Achse liegt.
+         * @param length Die Länge des Schiffes.
+         * @param delta 1 zum Setzen, -1 zum Entfernen.
+         */
+        private void mark(int x, int y, boolean horizontal, int length, int delta) {
+            int endX = horizontal ? x + length - 1 : x;
+            int endY = horizontal ? y : y + length - 1;
+            for (int cx = Math.max(0, x - 1); cx <= Math.min(this.width - 1, endX + 1); cx++) {
+                for (int cy = Math.max(0, y - 1); cy <= Math.min(this.height - 1, endY + 1); cy++) {
+                    int index = cx * this.height + cy;
+                    this.halo[index] += delta;
+                    if (cx >= x && cx <= endX && cy >= y && cy <= endY) {
+                        this.occupied[index] += delta;
+                    }
+                }
+            }
+        }
+    }
+}
@@ -0,0 +1,123 @@
+/**
+ * @file OpeningBookCheck.java
+ */
+
+package ai;
+
+import model.BoardModel;
+import model.ShotResult;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * @class OpeningBookCheck
+ * @brief Prüft, dass ein mit OpeningBookBuilder geschriebenes Buch genau die Züge der Dichte auf dem Spielfeld mit
+ *        den bisherigen Fehlschüssen enthält und dass abgeschnittene oder beschädigte Dateien schon beim Laden
+ *        abgelehnt werden.
+ */
+public final class OpeningBookCheck {
+    // Anzahl der Züge je Regelwerk im geprüften Buch
+    private static final int PLIES = 6;
+
+    /**
+     * @brief Privater Konstruktor, die Klasse wird nur über main ausgeführt.
+     */
+    private OpeningBookCheck() {
+    }
+
+    /**
+     * @brief Führt alle Prüfungen aus und bricht beim ersten Fehler mit einem AssertionError ab.
+     * @param args Keine Argumente.
+     * @throws IOException Wenn die temporären Dateien nicht geschrieben werden können.
+     */
+    public static void main(String[] args) throws IOException {
+        Path path = Files.createTempFile("opening-book", ".bin");
+        try {
+            OpeningBookBuilder.write(path, List.of(new int[]{10, 10}, new int[]{12, 12}), BoardModel.BOAT_SIZES, PLIES);
+            OpeningBook book = OpeningBook.load(path);
+            checkLine(book, 10);
+            checkLine(book, 12);
+            check(book.find(11, 11, BoardModel.BOAT_SIZES) == null, "Regelwerk 11x11 darf nicht im Buch stehen");
+
+            byte[] bytes = Files.readAllBytes(path);
+            for (int length = 0; length < bytes.length; length++) {
+                Files.write(path, Arrays.copyOf(bytes, length));
+                checkRejected(path, "abgeschnitten auf " + length + " Bytes");
+            }
+            checkRejected(path, bytes, 8, Integer.MAX_VALUE, "Anzahl der Regelwerke");
+            checkRejected(path, bytes, 20, -1, "Anzahl der Schiffe");
+            checkRejected(path, bytes, 12 + 12 + 4 * BoardModel.BOAT_SIZES.length, 1000, "Anzahl der Züge");
+            checkRejected(path, bytes, bytes.length - 4, 10000, "Zug außerhalb des Spielfelds");
+        } finally {
+            Files.deleteIfExists(path);
+        }
+        System.out.println("OpeningBookCheck: alle Prüfungen bestanden");
+    }
+
+    /**
+     * @brief Vergleicht die Eröffnung eines Regelwerks mit einer neuen Berechnung der Dichte.
+     * @param book Das Buch.
+     * @param size Breite und Höhe des Spielfelds.
+     */
+    private static void checkLine(OpeningBook book, int size) {
+        OpeningBook.Line line = book.find(size, size, BoardModel.BOAT_SIZES);
+        check(line != null && line.getPlies() == PLIES, "Eröffnung " + size + "x" + size + " fehlt");
+        ShotKnowledge knowledge = new ShotKnowledge(size, size, BoardModel.BOAT_SIZES);
+        ProbabilityDensity density = new ProbabilityDensity();
+        for (int ply = 0; ply < PLIES; ply++) {
+            int[] heat = density.compute(knowledge);
+            int move = line.getMove(ply);
+            check(!knowledge.isShot(move), size + "x" + size + ": Zug " + ply + " ist bereits beschossen");
+            for (int cell = 0; cell < size * size; cell++) {
+                check(knowledge.isShot(cell) || heat[cell] <= heat[move], size + "x" + size + ": Zug " + ply + " ist kein Maximum der Dichte");
+            }
+            knowledge.observe(move / size, move % size, ShotResult.MISS, null);
+        }
+    }
+
+    /**
+     * @brief Schreibt eine Kopie der Datei mit einem geänderten int und prüft, dass sie abgelehnt wird.
+     * @param path Der Pfad der Datei.
+     * @param bytes Der unveränderte Inhalt.
+     * @param position Die Position des geänderten int.
+     * @param value Der neue Wert.
+     * @param description Die Beschreibung der Änderung.
+     * @throws IOException Wenn die Datei nicht geschrieben werden kann.
+     */
+    private static void checkRejected(Path path, byte[] bytes, int position, int value, String description) throws IOException {
+        byte[] changed = bytes.clone();
+        ByteBuffer.wrap(changed).putInt(position, value);
+        Files.write(path, changed);
+        checkRejected(path, description);
+    }
+
+    /**
+     * @brief Prüft, dass load eine Datei mit einer IOException ablehnt.
+     * @param path Der Pfad der Datei.
+     * @param description Die Beschreibung der Beschädigung.
+     */
+    private static void checkRejected(Path path, String description) {
+        try {
+            OpeningBook.load(path);
+        } catch (IOException e) {
+            return;
+        }
+        throw new AssertionError("Beschädigtes Buch wurde geladen: " + description);
+    }
+
+    /**
+     * @brief Bricht mit einem AssertionError ab, wenn die Bedingung nicht erfüllt ist.
+     * @param condition Die Bedingung.
+     * @param message Die Beschreibung des Fehlers.
+     */
+    private static void check(boolean condition, String message) {
+        if (!condition) {
+            throw new AssertionError(message);
+        }
+    }
+}
@@ -0,0 +1,133 @@
+/**
+ * @file OpeningStrategyCheck.java
+ */
+
+package ai;
+
+import model.BoardModel;
+import model.ShotResult;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.SplittableRandom;
+
+/**
+ * @class OpeningStrategyCheck
+ * @brief Prüft, in welchen Stellungen die OpeningStrategy die Eröffnung fortsetzt. Eine Hilfsstrategie liefert ein
+ *        festes Ziel, sodass sich jede Entscheidung für oder gegen die Eröffnung direkt ablesen lässt. Geprüft wird
+ *        jede Symmetrie nach jedem Zug der Eröffnung, nach abweichenden Schüssen, nach Treffern und nach
+ *        beschossenen Buchzellen.
+ */
+public final class OpeningStrategyCheck {
+    // Spielfeldgröße der Eröffnung
+    private static final int SIZE = 10;
+    // Anzahl der Züge der Eröffnung
+    private static final int PLIES = 6;
+    // Ziel der Hilfsstrategie, an dem das Verlassen der Eröffnung erkannt wird
+    private static final int FALLBACK = -7;
+
+    /**
+     * @brief Privater Konstruktor, die Klasse wird nur über main ausgeführt.
+     */
+    private OpeningStrategyCheck() {
+    }
+
+    /**
+     * @brief Führt die Prüfung aus und bricht beim ersten Unterschied mit einem AssertionError ab.
+     * @param args Keine Argumente.
+     * @throws IOException Wenn das Eröffnungsbuch nicht geschrieben werden kann.
+     */
+    public static void main(String[] args) throws IOException {
+        Path path = Files.createTempFile("opening-strategy", ".bin");
+        try {
+            OpeningBookBuilder.write(path, List.of(new int[]{SIZE, SIZE}), BoardModel.BOAT_SIZES, PLIES);
+            OpeningBook.Line line = OpeningBook.load(path).find(SIZE, SIZE, BoardModel.BOAT_SIZES);
+            check(line != null && line.getPlies() == PLIES, "das Eröffnungsbuch enthält das Regelwerk nicht");
+            ShotStrategy fallback = knowledge -> FALLBACK;
+            BoardModel board = new BoardModel(SIZE, SIZE);
+            board.placeAllShips(new SplittableRandom(3));
+
+            for (int symmetry = 0; symmetry < 8; symmetry++) {
+                int[] moves = new int[PLIES];
+                ShotKnowledge knowledge = new ShotKnowledge(SIZE, SIZE, BoardModel.BOAT_SIZES);
+                for (int ply = 0; ply < PLIES; ply++) {
+                    // Ein Neuaufbau aus dem Wissen setzt an derselben Stelle fort wie die laufende Strategie
+                    OpeningStrategy rebuilt = new OpeningStrategy(fallback, line, SIZE, SIZE, symmetry, knowledge);
+                    moves[ply] = rebuilt.chooseTarget(knowledge);
+                    check(moves[ply] >= 0 && !knowledge.isShot(moves[ply]), "Symmetrie " + symmetry + ", Zug " + ply + ": kein Buchzug");
+                    knowledge.observe(moves[ply] / SIZE, moves[ply] % SIZE, ShotResult.MISS, board);
+                }
+                OpeningStrategy finished = new OpeningStrategy(fallback, line, SIZE, SIZE, symmetry, knowledge);
+                check(finished.chooseTarget(knowledge) == FALLBACK, "Symmetrie " + symmetry + ": Eröffnung nach ihrem Ende");
+
+                // Dieselbe Strategie spielt ohne Neuaufbau die gleichen Züge
+                ShotKnowledge live = new ShotKnowledge(SIZE, SIZE, BoardModel.BOAT_SIZES);
+                OpeningStrategy strategy = new OpeningStrategy(fallback, line, SIZE, SIZE, symmetry, live);
+                for (int ply = 0; ply < PLIES; ply++) {
+                    check(strategy.chooseTarget(live) == moves[ply], "Symmetrie " + symmetry + ", Zug " + ply + ": anderer Zug ohne Neuaufbau");
+                    live.observe(moves[ply] / SIZE, moves[ply] % SIZE, ShotResult.MISS, board);
+                    strategy.observe(moves[ply], ShotResult.MISS, live);
+                }
+
+                checkLeaves(line, symmetry, moves, board, fallback);
+            }
+        } finally {
+            Files.deleteIfExists(path);
+        }
+        System.out.println("OpeningStrategyCheck: alle Prüfungen bestanden");
+    }
+
+    /**
+     * @brief Prüft, dass die Eröffnung nicht fortgesetzt wird, wenn das Wissen von ihren ersten Zügen abweicht.
+     * @param line Die Eröffnung.
+     * @param symmetry Die Symmetrie.
+     * @param moves Die Züge der Eröffnung unter dieser Symmetrie.
+     * @param board Ein Board, aus dem versenkte Schiffe gelesen werden.
+     * @param fallback Die Hilfsstrategie.
+     */
+    private static void checkLeaves(OpeningBook.Line line, int symmetry, int[] moves, BoardModel board, ShotStrategy fallback) {
+        String prefix = "Symmetrie " + symmetry + ": ";
+
+        // Ein offener Treffer auf einem Buchzug
+        ShotKnowledge hit = new ShotKnowledge(SIZE, SIZE, BoardModel.BOAT_SIZES);
+        hit.observe(moves[0] / SIZE, moves[0] % SIZE, ShotResult.HIT, board);
+        check(new OpeningStrategy(fallback, line, SIZE, SIZE, symmetry, hit).chooseTarget(hit) == FALLBACK,
+                prefix + "Eröffnung trotz offenem Treffer");
+
+        // Ein Fehlschuss neben der Eröffnung
+        ShotKnowledge other = new ShotKnowledge(SIZE, SIZE, BoardModel.BOAT_SIZES);
+        int cell = 0;
+        while (cell == moves[0] || cell == moves[1]) {
+            cell++;
+        }
+        other.observe(moves[0] / SIZE, moves[0] % SIZE, ShotResult.MISS, board);
+        other.observe(cell / SIZE, cell % SIZE, ShotResult.MISS, board);
+        check(new OpeningStrategy(fallback, line, SIZE, SIZE, symmetry, other).chooseTarget(other) == FALLBACK,
+                prefix + "Eröffnung trotz abweichendem Schuss");
+
+        // Die Buchzüge in anderer Reihenfolge zählen nur, wenn sie genau den ersten Zügen entsprechen
+        ShotKnowledge skipped = new ShotKnowledge(SIZE, SIZE, BoardModel.BOAT_SIZES);
+        skipped.observe(moves[1] / SIZE, moves[1] % SIZE, ShotResult.MISS, board);
+        check(new OpeningStrategy(fallback, line, SIZE, SIZE, symmetry, skipped).chooseTarget(skipped) == FALLBACK,
+                prefix + "Eröffnung nach übersprungenem Zug");
+
+        // Eine laufende Eröffnung gibt ab, statt eine bereits beschossene Zelle zu wählen
+        ShotKnowledge live = new ShotKnowledge(SIZE, SIZE, BoardModel.BOAT_SIZES);
+        OpeningStrategy strategy = new OpeningStrategy(fallback, line, SIZE, SIZE, symmetry, live);
+        live.observe(moves[0] / SIZE, moves[0] % SIZE, ShotResult.MISS, board);
+        check(strategy.chooseTarget(live) == FALLBACK, prefix + "Eröffnung wählt eine beschossene Zelle");
+    }
+
+    /**
+     * @brief Führt einen AssertionError aus, wenn die Bedingung nicht erfüllt ist.
+     * @param condition Die Bedingung.
+     * @param message Die Meldung bei einem Fehler.
+     */
+    private static void check(boolean condition, String message) {
+        if (!condition) {
+            throw new AssertionError(message);
+        }
+    }
+}
@@ -0,0 +1,160 @@
+/**
+ * @file BoardSnapshotCheck.java
+ */
+
+package model;
+
+import utils.CellState;
+import utils.ShotType;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.SplittableRandom;
+
+/**
+ * @class BoardSnapshotCheck
+ * @brief Spielt zufällige Partien gleichzeitig auf einem BoardModel mit fire und auf BoardSnapshots mit withShot.
+ *        Nach jedem Schuss müssen resultOf und fire das gleiche Ergebnis liefern und Board und Abbild Zelle für Zelle
+ *        übereinstimmen. Zwischendurch wird das Board mit restore auf ein früheres Abbild zurückgesetzt und die Partie
+ *        von dort weitergespielt, und frühere Abbilder dürfen sich durch spätere Schüsse nicht verändert haben.
+ */
+public final class BoardSnapshotCheck {
+    // Spielfeldgrößen der Partien, die letzte verteilt ihre Zellen auf mehrere Blöcke
+    private static final int[][] SIZES = {{10, 10}, {10, 10}, {17, 13}, {8, 23}, {70, 65}};
+    // Alle wie viele Schüsse ein Abbild für die späteren Prüfungen aufbewahrt wird
+    private static final int CHECKPOINT_INTERVAL = 16;
+    // Höchste Anzahl an Rücksprüngen je Partie
+    private static final int MAX_RESTORES = 6;
+
+    /**
+     * @brief Privater Konstruktor, die Klasse wird nur über main ausgeführt.
+     */
+    private BoardSnapshotCheck() {
+    }
+
+    /**
+     * @brief Führt die Prüfung aus und bricht beim ersten Unterschied mit einem AssertionError ab.
+     * @param args Keine Argumente.
+     */
+    public static void main(String[] args) {
+        int shots = 0;
+        int restores = 0;
+        for (int game = 0; game < SIZES.length; game++) {
+            SplittableRandom random = new SplittableRandom(100 + game);
+            int width = SIZES[game][0];
+            int height = SIZES[game][1];
+            BoardModel board = new BoardModel(width, height);
+            board.placeAllShips(random.split());
+            BoardSnapshot snapshot = board.snapshot();
+            compare(board, snapshot, "Partie " + game + " am Anfang");
+
+            List<BoardSnapshot> checkpoints = new ArrayList<>();
+            List<CellState[]> expectedStates = new ArrayList<>();
+            int gameRestores = 0;
+            for (int step = 0; !board.allShipsAreHit(); step++) {
+                String position = "Partie " + game + ", Schuss " + step;
+                if (step % CHECKPOINT_INTERVAL == 0) {
+                    checkpoints.add(snapshot);
+                    expectedStates.add(states(board));
+                }
+                if (gameRestores < MAX_RESTORES && step > 0 && random.nextInt(4 * width * height / 3) == 0) {
+                    int target = random.nextInt(checkpoints.size());
+                    snapshot = checkpoints.get(target);
+                    board.restore(snapshot);
+                    compare(board, snapshot, position + " nach restore");
+                    compare(board, board.snapshot(), position + " nach restore und snapshot");
+                    for (int i = 0; i < checkpoints.size(); i++) {
+                        check(Arrays.equals(states(checkpoints.get(i)), expectedStates.get(i)),
+                                position + ": Abbild " + i + " hat sich verändert");
+                    }
+                    checkpoints.subList(target + 1, checkpoints.size()).clear();
+                    expectedStates.subList(target + 1, expectedStates.size()).clear();
+                    gameRestores++;
+                }
+
+                // Auch Schüsse außerhalb des Spielfelds und auf bereits beschossene Zellen werden verglichen
+                int x = random.nextInt(width + 2) - 1;
+                int y = random.nextInt(height + 2) - 1;
+                ShotResult predicted = snapshot.resultOf(x, y);
+                BoardSnapshot next = snapshot.withShot(x, y);
+                ShotResult result = board.fire(x, y);
+                check(predicted.getType() == result.getType() && predicted.getShipId() == result.getShipId(),
+                        position + " auf " + x + "/" + y + ": resultOf " + predicted.getType() + ", fire " + result.getType());
+                check(result.getType() != ShotType.REPEAT && result.getType() != ShotType.INVALID || next == snapshot,
+                        position + ": withShot ohne Wirkung muss das Abbild selbst liefern");
+                snapshot = next;
+                compare(board, snapshot, position);
+                shots++;
+            }
+            for (int i = 0; i < checkpoints.size(); i++) {
+                check(Arrays.equals(states(checkpoints.get(i)), expectedStates.get(i)),
+                        "Partie " + game + ": Abbild " + i + " hat sich verändert");
+            }
+            check(snapshot.allShipsAreHit(), "Partie " + game + ": das Abbild meldet nicht das Ende der Partie");
+            restores += gameRestores;
+        }
+        check(restores > SIZES.length, "zu wenige Rücksprünge: " + restores);
+        System.out.println("BoardSnapshotCheck: " + SIZES.length + " Partien mit " + shots + " Schüssen und "
+                + restores + " Rücksprüngen geprüft");
+    }
+
+    /**
+     * @brief Vergleicht ein Board Zelle für Zelle und Schiff für Schiff mit einem Abbild.
+     * @param board Das Board.
+     * @param snapshot Das Abbild.
+     * @param position Die Beschreibung der Stellung für die Fehlermeldung.
+     */
+    private static void compare(BoardModel board, BoardSnapshot snapshot, String position) {
+        for (int x = 0; x < board.getWidth(); x++) {
+            for (int y = 0; y < board.getHeight(); y++) {
+                check(board.getCellState(x, y) == snapshot.getCellState(x, y), position + ": Zelle " + x + "/" + y
+                        + " ist " + board.getCellState(x, y) + ", im Abbild " + snapshot.getCellState(x, y));
+            }
+        }
+        check(board.getPlayerShips().size() == snapshot.getShipCount(), position + ": Anzahl der Schiffe");
+        for (int id = 0; id < snapshot.getShipCount(); id++) {
+            check(board.getShip(id).getRemainingHits() == snapshot.getRemainingHits(id), position + ": Treffer von Schiff " + id);
+        }
+        check(board.getRemainingShips() == snapshot.getRemainingShips(), position + ": verbleibende Schiffe");
+        check(board.getRemainingShipCells() == snapshot.getRemainingShipCells(), position + ": verbleibende Schiffszellen");
+        check(board.allShipsAreHit() == snapshot.allShipsAreHit(), position + ": Ende der Partie");
+    }
+
+    /**
+     * @brief Liest die Zustände aller Zellen eines Boards.
+     * @param board Das Board.
+     * @return Die Zustände in Indexreihenfolge.
+     */
+    private static CellState[] states(BoardModel board) {
+        CellState[] states = new CellState[board.getWidth() * board.getHeight()];
+        for (int index = 0; index < states.length; index++) {
+            states[index] = board.getCellState(index / board.getHeight(), index % board.getHeight());
+        }
+        return states;
+    }
+
+    /**
+     * @brief Liest die Zustände aller Zellen eines Abbilds.
+     * @param snapshot Das Abbild.
+     * @return Die Zustände in Indexreihenfolge.
+     */
+    private static CellState[] states(BoardSnapshot snapshot) {
+        CellState[] states = new CellState[snapshot.getWidth() * snapshot.getHeight()];
+        for (int index = 0; index < states.length; index++) {
+            states[index] = snapshot.getCellState(index / snapshot.getHeight(), index % snapshot.getHeight());
+        }
+        return states;
+    }
+
+    /**
+     * @brief Führt einen AssertionError aus, wenn die Bedingung nicht erfüllt ist.
+     * @param condition Die Bedingung.
+     * @param message Die Meldung bei einem Fehler.
+     */
+    private static void check(boolean condition, String message) {
+        if (!condition) {
+            throw new AssertionError(message);
+        }
+    }
+}
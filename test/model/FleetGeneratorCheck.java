@@ -0,0 +1,137 @@
+/**
+ * @file FleetGeneratorCheck.java
+ */
+
+package model;
+
+import java.util.Arrays;
+import java.util.SplittableRandom;
+
+/**
+ * @class FleetGeneratorCheck
+ * @brief Prüft, dass der FleetGenerator immer terminiert, nur gültige Flotten erzeugt, bei gleichem Seed dieselbe
+ *        Flotte liefert und genau dann eine Flotte findet, wenn die vollständige Suche des FleetOracle eine findet.
+ *        Dazu gehören auch Regelwerke, die gerade noch oder gerade nicht mehr auf das Spielfeld passen.
+ */
+public final class FleetGeneratorCheck {
+    // Anzahl der Seeds für das Standardregelwerk
+    private static final int STANDARD_SEEDS = 1000;
+    // Anzahl der zufälligen kleinen Regelwerke
+    private static final int SMALL_RULESETS = 400;
+
+    /**
+     * @brief Privater Konstruktor, die Klasse wird nur über main ausgeführt.
+     */
+    private FleetGeneratorCheck() {
+    }
+
+    /**
+     * @brief Führt alle Prüfungen aus und bricht beim ersten Fehler mit einem AssertionError ab.
+     * @param args Keine Argumente.
+     */
+    public static void main(String[] args) {
+        checkStandardFleet();
+        checkBoardPlacement();
+        checkTightRulesets();
+        checkSmallRulesets();
+        System.out.println("FleetGeneratorCheck: alle Prüfungen bestanden");
+    }
+
+    /**
+     * @brief Erzeugt Flotten des Standardregelwerks und prüft Gültigkeit und Wiederholbarkeit.
+     */
+    private static void checkStandardFleet() {
+        FleetGenerator generator = new FleetGenerator(10, 10, BoardModel.BOAT_SIZES);
+        FleetGenerator second = new FleetGenerator(10, 10, BoardModel.BOAT_SIZES);
+        for (int seed = 0; seed < STANDARD_SEEDS; seed++) {
+            int[] placements = generator.generatePlacements(new SplittableRandom(seed));
+            check(placements != null, "Standardflotte mit Seed " + seed + " nicht gefunden");
+            check(FleetOracle.isValidFleet(10, 10, generator.getLengths(), placements), "ungültige Standardflotte mit Seed " + seed);
+            check(Arrays.equals(placements, second.generatePlacements(new SplittableRandom(seed))), "Seed " + seed + " nicht wiederholbar");
+        }
+    }
+
+    /**
+     * @brief Platziert Flotten auf Boards und prüft die Zähler und das Id-Raster des Boards.
+     */
+    private static void checkBoardPlacement() {
+        for (int seed = 0; seed < 200; seed++) {
+            BoardModel board = new BoardModel();
+            board.placeAllShips(new SplittableRandom(seed));
+            check(board.getPlayerShips().size() == BoardModel.BOAT_SIZES.length, "Anzahl der Schiffe mit Seed " + seed);
+            check(board.getRemainingShipCells() == Arrays.stream(BoardModel.BOAT_SIZES).sum(), "Schiffszellen mit Seed " + seed);
+            for (ShipModel ship : board.getPlayerShips()) {
+                for (int i = 0; i < ship.getLength(); i++) {
+                    check(board.getShipAt(ship.getCellX(i), ship.getCellY(i)) == ship, "Id-Raster mit Seed " + seed);
+                }
+            }
+        }
+    }
+
+    /**
+     * @brief Prüft Regelwerke, die gerade noch passen, und solche, die nicht passen. Der Generator muss in beiden
+     *        Fällen enden, im zweiten mit null.
+     */
+    private static void checkTightRulesets() {
+        checkRuleset(4, 4, new int[]{4, 4}, true);
+        checkRuleset(4, 4, new int[]{4, 4, 4}, false);
+        checkRuleset(3, 3, new int[]{3, 3}, true);
+        checkRuleset(3, 3, new int[]{3, 3, 3}, false);
+        checkRuleset(5, 5, new int[]{5, 5, 5}, true);
+        checkRuleset(5, 5, new int[]{5, 5, 5, 1}, false);
+        checkRuleset(6, 6, new int[]{4, 3, 3, 2, 2, 1}, true);
+        checkRuleset(2, 2, new int[]{1, 1}, false);
+    }
+
+    /**
+     * @brief Vergleicht den Generator auf zufälligen kleinen Regelwerken mit der vollständigen Suche.
+     */
+    private static void checkSmallRulesets() {
+        SplittableRandom random = new SplittableRandom(9);
+        int feasible = 0;
+        for (int i = 0; i < SMALL_RULESETS; i++) {
+            int width = 3 + random.nextInt(4);
+            int height = 3 + random.nextInt(4);
+            int[] lengths = new int[1 + random.nextInt(6)];
+            for (int j = 0; j < lengths.length; j++) {
+                lengths[j] = 1 + random.nextInt(Math.min(4, Math.max(width, height)));
+            }
+            boolean expected = FleetOracle.canPlace(width, height, new boolean[width * height], lengths);
+            checkRuleset(width, height, lengths, expected);
+            if (expected) {
+                feasible++;
+            }
+        }
+        check(feasible > 0 && feasible < SMALL_RULESETS, "die zufälligen Regelwerke decken nicht beide Fälle ab");
+    }
+
+    /**
+     * @brief Prüft den Generator auf einem Regelwerk mit mehreren Seeds.
+     * @param width Die Breite des Spielfelds.
+     * @param height Die Höhe des Spielfelds.
+     * @param lengths Die Längen der Schiffe.
+     * @param expected Gibt an, ob die Flotte auf das Spielfeld passt.
+     */
+    private static void checkRuleset(int width, int height, int[] lengths, boolean expected) {
+        FleetGenerator generator = new FleetGenerator(width, height, lengths);
+        String ruleset = width + "x" + height + " " + Arrays.toString(lengths);
+        for (int seed = 0; seed < 5; seed++) {
+            int[] placements = generator.generatePlacements(new SplittableRandom(seed));
+            check((placements != null) == expected, ruleset + ": erwartet " + expected);
+            if (placements != null) {
+                check(FleetOracle.isValidFleet(width, height, generator.getLengths(), placements), ruleset + ": ungültige Flotte");
+            }
+        }
+    }
+
+    /**
+     * @brief Bricht mit einem AssertionError ab, wenn die Bedingung nicht erfüllt ist.
+     * @param condition Die Bedingung.
+     * @param message Die Beschreibung des Fehlers.
+     */
+    private static void check(boolean condition, String message) {
+        if (!condition) {
+            throw new AssertionError(message);
+        }
+    }
+}
@@ -0,0 +1,129 @@
+/**
+ * @file FleetOracle.java
+ */
+
+package model;
+
+import java.util.Arrays;
+
+/**
+ * @class FleetOracle
+ * @brief Einfache, unabhängige Umsetzung der Platzierungsregeln für die Prüfprogramme. Schiffe dürfen keine gesperrte
+ *        Zelle belegen und sperren ihre Zellen samt aller acht Nachbarzellen. Die Suche probiert jede Lage jedes
+ *        Schiffes aus und ist nur für kleine Spielfelder gedacht.
+ */
+final class FleetOracle {
+
+    /**
+     * @brief Privater Konstruktor, die Klasse bietet nur statische Methoden an.
+     */
+    private FleetOracle() {
+    }
+
+    /**
+     * @brief Überprüft durch vollständige Suche, ob sich die Schiffe gemeinsam platzieren lassen.
+     * @param width Die Breite des Spielfelds.
+     * @param height Die Höhe des Spielfelds.
+     * @param blocked Die gesperrten Zellen, Index x * Höhe + y.
+     * @param shipLengths Die Längen der Schiffe.
+     * @return true, wenn es eine gültige Platzierung aller Schiffe gibt.
+     */
+    static boolean canPlace(int width, int height, boolean[] blocked, int[] shipLengths) {
+        int[] lengths = shipLengths.clone();
+        Arrays.sort(lengths);
+        return place(width, height, blocked.clone(), lengths, lengths.length - 1, 0);
+    }
+
+    /**
+     * @brief Platziert das Schiff mit dem angegebenen Index und alle kürzeren. Gleich lange Schiffe werden in
+     *        aufsteigender Reihenfolge ihrer Platzierung gesetzt, damit jede Anordnung nur einmal versucht wird.
+     * @param width Die Breite des Spielfelds.
+     * @param height Die Höhe des Spielfelds.
+     * @param blocked Die gesperrten Zellen.
+     * @param lengths Die aufsteigend sortierten Längen.
+     * @param ship Der Index des nächsten Schiffes, rückwärts gezählt.
+     * @param from Die kleinste erlaubte Platzierung, falls das vorherige Schiff gleich lang war.
+     * @return true, wenn alle Schiffe platziert werden konnten.
+     */
+    private static boolean place(int width, int height, boolean[] blocked, int[] lengths, int ship, int from) {
+        if (ship < 0) {
+            return true;
+        }
+        int length = lengths[ship];
+        for (int placement = from; placement < 2 * width * height; placement++) {
+            if (!fits(width, height, blocked, length, placement)) {
+                continue;
+            }
+            boolean[] next = blocked.clone();
+            block(width, height, next, length, placement);
+            int nextFrom = ship > 0 && lengths[ship - 1] == length ? placement + 1 : 0;
+            if (place(width, height, next, lengths, ship - 1, nextFrom)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * @brief Überprüft, ob ein Schiff auf dem Spielfeld liegt und keine gesperrte Zelle belegt.
+     * @param width Die Breite des Spielfelds.
+     * @param height Die Höhe des Spielfelds.
+     * @param blocked Die gesperrten Zellen.
+     * @param length Die Länge des Schiffes.
+     * @param placement Die Platzierung, (Zellindex << 1) | horizontal.
+     * @return true, wenn das Schiff passt.
+     */
+    static boolean fits(int width, int height, boolean[] blocked, int length, int placement) {
+        int x = (placement >>> 1) / height;
+        int y = (placement >>> 1) % height;
+        boolean horizontal = (placement & 1) != 0;
+        for (int i = 0; i < length; i++) {
+            int cx = horizontal ? x + i : x;
+            int cy = horizontal ? y : y + i;
+            if (cx >= width || cy >= height || blocked[cx * height + cy]) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * @brief Sperrt die Zellen eines Schiffes samt aller Nachbarzellen.
+     * @param width Die Breite des Spielfelds.
+     * @param height Die Höhe des Spielfelds.
+     * @param blocked Die gesperrten Zellen, die erweitert werden.
+     * @param length Die Länge des Schiffes.
+     * @param placement Die Platzierung, (Zellindex << 1) | horizontal.
+     */
+    static void block(int width, int height, boolean[] blocked, int length, int placement) {
+        int x = (placement >>> 1) / height;
+        int y = (placement >>> 1) % height;
+        boolean horizontal = (placement & 1) != 0;
+        int endX = horizontal ? x + length - 1 : x;
+        int endY = horizontal ? y : y + length - 1;
+        for (int cx = Math.max(0, x - 1); cx <= Math.min(width - 1, endX + 1); cx++) {
+            for (int cy = Math.max(0, y - 1); cy <= Math.min(height - 1, endY + 1); cy++) {
+                blocked[cx * height + cy] = true;
+            }
+        }
+    }
+
+    /**
+     * @brief Überprüft, ob Platzierungen eine gültige Flotte auf einem leeren Spielfeld ergeben.
+     * @param width Die Breite des Spielfelds.
+     * @param height Die Höhe des Spielfelds.
+     * @param lengths Die Längen der Schiffe.
+     * @param placements Die Platzierung je Schiff in der Reihenfolge von lengths.
+     * @return true, wenn jedes Schiff auf dem Spielfeld liegt und kein Schiff ein anderes berührt.
+     */
+    static boolean isValidFleet(int width, int height, int[] lengths, int[] placements) {
+        boolean[] blocked = new boolean[width * height];
+        for (int i = 0; i < lengths.length; i++) {
+            if (!fits(width, height, blocked, lengths[i], placements[i])) {
+                return false;
+            }
+            block(width, height, blocked, lengths[i], placements[i]);
+        }
+        return true;
+    }
+}
@@ -0,0 +1,92 @@
+/**
+ * @file FleetSolverCheck.java
+ */
+
+package model;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.SplittableRandom;
+
+/**
+ * @class FleetSolverCheck
+ * @brief Vergleicht die Antworten des FleetSolvers auf zufälligen, teilweise gesperrten kleinen Spielfeldern mit der
+ *        vollständigen Suche des FleetOracle. Geprüft werden canPlace und canPlaceAfter.
+ */
+public final class FleetSolverCheck {
+    // Anzahl der zufälligen Stellungen
+    private static final int POSITIONS = 3000;
+    // Regelwerk, aus dem die verbleibenden Schiffe gezogen werden
+    private static final int[] RULESET = {4, 3, 3, 2, 2, 2, 1, 1};
+
+    /**
+     * @brief Privater Konstruktor, die Klasse wird nur über main ausgeführt.
+     */
+    private FleetSolverCheck() {
+    }
+
+    /**
+     * @brief Führt die Prüfung aus und bricht beim ersten Unterschied mit einem AssertionError ab.
+     * @param args Keine Argumente.
+     */
+    public static void main(String[] args) {
+        SplittableRandom random = new SplittableRandom(10);
+        int feasible = 0;
+        for (int i = 0; i < POSITIONS; i++) {
+            int width = 4 + random.nextInt(4);
+            int height = 4 + random.nextInt(4);
+            FleetSolver solver = new FleetSolver(width, height, RULESET);
+            boolean[] blocked = new boolean[width * height];
+            BitBoard bits = new BitBoard(width * height);
+            double density = random.nextDouble() * 0.4;
+            for (int cell = 0; cell < blocked.length; cell++) {
+                if (random.nextDouble() < density) {
+                    blocked[cell] = true;
+                    bits.set(cell);
+                }
+            }
+            List<Integer> lengths = new ArrayList<>();
+            for (int length : RULESET) {
+                if (random.nextInt(3) != 0) {
+                    lengths.add(length);
+                }
+            }
+            int[] array = lengths.stream().mapToInt(Integer::intValue).toArray();
+            String position = width + "x" + height + " " + lengths + " Stellung " + i;
+
+            boolean expected = FleetOracle.canPlace(width, height, blocked, array);
+            check(solver.canPlace(bits, lengths) == expected, position + ": canPlace erwartet " + expected);
+            if (expected) {
+                feasible++;
+            }
+
+            if (!lengths.isEmpty()) {
+                int length = lengths.get(0);
+                List<Integer> rest = lengths.subList(1, lengths.size());
+                int[] restArray = Arrays.copyOfRange(array, 1, array.length);
+                int placement = random.nextInt(2 * width * height);
+                boolean after = FleetOracle.fits(width, height, blocked, length, placement);
+                if (after) {
+                    boolean[] next = blocked.clone();
+                    FleetOracle.block(width, height, next, length, placement);
+                    after = FleetOracle.canPlace(width, height, next, restArray);
+                }
+                check(solver.canPlaceAfter(bits, placement, length, rest) == after, position + ": canPlaceAfter " + placement);
+            }
+        }
+        check(feasible > POSITIONS / 10 && feasible < POSITIONS - POSITIONS / 10, "die Stellungen decken nicht beide Fälle ab: " + feasible);
+        System.out.println("FleetSolverCheck: " + POSITIONS + " Stellungen geprüft, davon " + feasible + " lösbar");
+    }
+
+    /**
+     * @brief Bricht mit einem AssertionError ab, wenn die Bedingung nicht erfüllt ist.
+     * @param condition Die Bedingung.
+     * @param message Die Beschreibung des Unterschieds.
+     */
+    private static void check(boolean condition, String message) {
+        if (!condition) {
+            throw new AssertionError(message);
+        }
+    }
+}
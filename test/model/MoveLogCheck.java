@@ -0,0 +1,403 @@
+/**
+ * @file MoveLogCheck.java
+ */
+
+package model;
+
+import ai.OpeningBook;
+import ai.OpeningBookBuilder;
+import ai.ShotKnowledge;
+import ai.ShotStrategies;
+import engine.GameEngine;
+import utils.CellState;
+import utils.ShotType;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.SplittableRandom;
+
+/**
+ * @class MoveLogCheck
+ * @brief Prüft den MoveLog und undo und redo der GameEngine mit festen Seeds:
+ *        - pack und die Leser geben jedes Feld unverändert zurück, Wiederholungen werden nicht gepackt.
+ *        - In zufälligen Partien mit zufälligen Rücknahmen und Wiederholungen entspricht jede Stellung nach undo oder
+ *          redo genau der Stellung, die beim ersten Erreichen aufgezeichnet wurde. Schüsse auf bereits beschossene
+ *          Zellen verändern den Verlauf nicht.
+ *        - Passt ein wiederholter Schuss nicht mehr zum Board, wird redo abgelehnt und Board, Statistik und Verlauf
+ *          bleiben unverändert.
+ *        - Nach jedem undo und redo gegen einen Computer stimmen sein Wissen und sein Zugvorrat mit einem aus dem Board
+ *          neu aufgebauten Wissen überein.
+ *        - Ein Computergegner mit Eröffnungsbuch spielt nach der Rücknahme eines Buchzuges wieder denselben Zug.
+ */
+public final class MoveLogCheck {
+    // Anzahl der Partien mit zufälligen Rücknahmen
+    private static final int GAMES = 100;
+    // Anzahl der Aktionen je Partie
+    private static final int ACTIONS = 600;
+    // Anzahl der Partien gegen den Computer
+    private static final int COMPUTER_GAMES = 20;
+    // Anzahl der Züge der Eröffnung
+    private static final int PLIES = 8;
+
+    /**
+     * @brief Privater Konstruktor, die Klasse wird nur über main ausgeführt.
+     */
+    private MoveLogCheck() {
+    }
+
+    /**
+     * @brief Führt die Prüfung aus und bricht beim ersten Unterschied mit einem AssertionError ab.
+     * @param args Keine Argumente.
+     * @throws IOException Wenn das Eröffnungsbuch nicht geschrieben werden kann.
+     */
+    public static void main(String[] args) throws IOException {
+        checkPacking();
+        int undone = checkUndoRedo();
+        checkRedoMismatch();
+
+        Path path = Files.createTempFile("opening-book", ".bin");
+        int replayed;
+        try {
+            OpeningBookBuilder.write(path, List.of(new int[]{BoardModel.DEFAULT_WIDTH, BoardModel.DEFAULT_HEIGHT}),
+                    BoardModel.BOAT_SIZES, PLIES);
+            System.setProperty(OpeningBook.PATH_PROPERTY, path.toString());
+            replayed = checkOpeningAfterUndo();
+        } finally {
+            Files.deleteIfExists(path);
+        }
+        // Erst nach dem Laden des Eröffnungsbuchs, da es beim ersten Computergegner für alle weiteren festgelegt wird
+        int compared = checkKnowledgeAfterUndo();
+        System.out.println("MoveLogCheck: " + undone + " Rücknahmen, " + compared + " Abgleiche des Computerwissens und "
+                + replayed + " wiederholte Buchzüge geprüft");
+    }
+
+    /**
+     * @brief Prüft pack und die Leser mit zufälligen Feldern.
+     */
+    private static void checkPacking() {
+        SplittableRandom random = new SplittableRandom(1);
+        ShotType[] types = {ShotType.MISS, ShotType.HIT, ShotType.SUNK};
+        for (int i = 0; i < 10_000; i++) {
+            int shooter = random.nextInt(2);
+            int target = random.nextInt(2);
+            int x = random.nextInt(BoardModel.MAX_SIZE);
+            int y = random.nextInt(BoardModel.MAX_SIZE);
+            ShotType type = types[random.nextInt(types.length)];
+            int move = MoveLog.pack(shooter, target, x, y, type);
+            check(MoveLog.shooter(move) == shooter && MoveLog.target(move) == target && MoveLog.x(move) == x
+                    && MoveLog.y(move) == y && MoveLog.type(move) == type, "pack " + shooter + " " + target + " " + x + " " + y + " " + type);
+        }
+        for (ShotType type : new ShotType[]{ShotType.REPEAT, ShotType.INVALID}) {
+            try {
+                MoveLog.pack(0, 1, 0, 0, type);
+                throw new AssertionError(type + " wurde gepackt");
+            } catch (IllegalArgumentException expected) {
+                // erwartet
+            }
+        }
+    }
+
+    /**
+     * @brief Spielt Partien zwischen zwei Spielern mit zufälligen Schüssen, Rücknahmen und Wiederholungen und
+     *        vergleicht jede Stellung mit der beim ersten Erreichen aufgezeichneten.
+     * @return Die Anzahl der geprüften Rücknahmen.
+     */
+    private static int checkUndoRedo() {
+        int undone = 0;
+        for (int game = 0; game < GAMES; game++) {
+            SplittableRandom random = new SplittableRandom(game);
+            GameEngine engine = new GameEngine();
+            engine.getGameModel().setSeed(game);
+            engine.createMatch(new PlayerModel("Eins"), new PlayerModel("Zwei"));
+            engine.placeFleetRandomly(engine.getGameModel().getPlayerOne());
+            engine.placeFleetRandomly(engine.getGameModel().getPlayerTwo());
+            engine.finishPlacement();
+            MoveLog log = engine.getGameModel().getMoveLog();
+            List<Position> positions = new ArrayList<>();
+            positions.add(new Position(engine));
+
+            for (int action = 0; action < ACTIONS; action++) {
+                String where = "Partie " + game + ", Aktion " + action;
+                int choice = random.nextInt(10);
+                if (choice < 6) {
+                    int size = log.size();
+                    boolean couldRedo = log.canRedo();
+                    ShotResult result = engine.fire(random.nextInt(BoardModel.DEFAULT_WIDTH), random.nextInt(BoardModel.DEFAULT_HEIGHT));
+                    if (result.getType() == ShotType.REPEAT || result.getType() == ShotType.INVALID) {
+                        check(log.size() == size && log.canRedo() == couldRedo, where + ": " + result.getType() + " hat den Verlauf verändert");
+                    } else {
+                        check(log.size() == size + 1 && !log.canRedo(), where + ": neuer Schuss nicht im Verlauf");
+                        positions.subList(log.size(), positions.size()).clear();
+                        positions.add(new Position(engine));
+                    }
+                } else if (choice < 9) {
+                    if (engine.undo()) {
+                        positions.get(log.size()).check(engine, where + " nach undo");
+                        undone++;
+                    } else {
+                        check(log.size() == 0, where + ": undo ohne Wirkung bei " + log.size() + " Schüssen");
+                    }
+                } else if (engine.redo().getType() != ShotType.INVALID) {
+                    positions.get(log.size()).check(engine, where + " nach redo");
+                }
+            }
+        }
+        return undone;
+    }
+
+    /**
+     * @brief Nimmt einen Treffer zurück, versenkt das Schiff danach am Verlauf vorbei und prüft, dass die Wiederholung
+     *        des Treffers abgelehnt wird, ohne Board, Statistik oder Verlauf zu verändern.
+     */
+    private static void checkRedoMismatch() {
+        GameEngine engine = new GameEngine();
+        GameModel model = engine.getGameModel();
+        model.setSeed(5);
+        engine.createMatch(new PlayerModel("Eins"), new PlayerModel("Zwei"));
+        engine.placeFleetRandomly(model.getPlayerOne());
+        engine.placeFleetRandomly(model.getPlayerTwo());
+        engine.finishPlacement();
+        PlayerModel shooter = engine.getCurrentPlayer();
+        BoardModel board = (shooter == model.getPlayerOne() ? model.getPlayerTwo() : model.getPlayerOne()).getBoard();
+        ShipModel ship = board.getShip(0);
+        check(engine.fire(ship.getCellX(0), ship.getCellY(0)).getType() == ShotType.HIT, "kein Treffer auf dem ersten Schiff");
+        check(engine.undo(), "der Treffer wurde nicht zurückgenommen");
+        for (int i = 1; i < ship.getLength(); i++) {
+            board.fire(ship.getCellX(i), ship.getCellY(i));
+        }
+        MoveLog log = model.getMoveLog();
+        PlayerStatus status = shooter.getPlayerStatus();
+        int clicks = status.getTotalClicks();
+        try {
+            engine.redo();
+            throw new AssertionError("redo eines nicht mehr passenden Schusses wurde ausgeführt");
+        } catch (IllegalStateException expected) {
+            // erwartet
+        }
+        check(log.size() == 0 && log.canRedo(), "redo hat den Verlauf verändert");
+        check(board.getCellState(ship.getCellX(0), ship.getCellY(0)) != CellState.HIT && !ship.isSunk(), "redo hat das Board verändert");
+        check(status.getTotalClicks() == clicks && status.getHits() == 0, "redo hat die Statistik verändert");
+    }
+
+    /**
+     * @brief Spielt Partien gegen Computer mit zufälliger und berechnender Strategie mit zufälligen Rücknahmen und
+     *        Wiederholungen und vergleicht das Wissen des Computers nach jedem undo und redo mit neu aufgebautem Wissen.
+     * @return Die Anzahl der Vergleiche.
+     */
+    private static int checkKnowledgeAfterUndo() {
+        int compared = 0;
+        String[] strategies = {"random", "density"};
+        for (int game = 0; game < COMPUTER_GAMES; game++) {
+            SplittableRandom random = new SplittableRandom(2000 + game);
+            GameEngine engine = new GameEngine();
+            engine.getGameModel().setSeed(game);
+            PlayerModel human = new PlayerModel("Mensch");
+            ComputerPlayerModel computer = new ComputerPlayerModel("Computer", BoardModel.DEFAULT_WIDTH,
+                    ShotStrategies.byId(strategies[game % strategies.length]), new SplittableRandom(game));
+            engine.createMatch(human, computer);
+            engine.placeFleetRandomly(human);
+            engine.placeFleetRandomly(computer);
+            engine.finishPlacement();
+            for (int action = 0; action < ACTIONS; action++) {
+                String where = "Partie " + game + ", Aktion " + action;
+                int choice = random.nextInt(10);
+                if (choice < 6) {
+                    if (engine.getCurrentPlayer() == computer) {
+                        engine.playComputerTurns();
+                    } else {
+                        engine.fire(random.nextInt(BoardModel.DEFAULT_WIDTH), random.nextInt(BoardModel.DEFAULT_HEIGHT));
+                    }
+                } else if (choice < 9) {
+                    if (engine.undo()) {
+                        checkKnowledge(computer, human, where + " nach undo");
+                        compared++;
+                    }
+                } else if (engine.redo().getType() != ShotType.INVALID) {
+                    checkKnowledge(computer, human, where + " nach redo");
+                    compared++;
+                }
+            }
+        }
+        return compared;
+    }
+
+    /**
+     * @brief Vergleicht Wissen und Zugvorrat eines Computers mit einem Computer, der sein Wissen aus dem Board des
+     *        Gegners neu aufbaut.
+     * @param computer Der Computer.
+     * @param opponent Sein Gegner.
+     * @param where Die Beschreibung der Stellung für die Fehlermeldung.
+     */
+    private static void checkKnowledge(ComputerPlayerModel computer, PlayerModel opponent, String where) {
+        ComputerPlayerModel rebuilt = new ComputerPlayerModel("Vergleich", BoardModel.DEFAULT_WIDTH,
+                computer.getStrategyProvider(), new SplittableRandom(0));
+        rebuilt.synchronize(opponent);
+        ShotKnowledge actual = computer.getKnowledge();
+        ShotKnowledge expected = rebuilt.getKnowledge();
+        for (int index = 0; index < expected.getCellCount(); index++) {
+            check(actual.isShot(index) == expected.isShot(index), where + ": beschossene Zelle " + index);
+            check(actual.getEmpty().get(index) == expected.getEmpty().get(index), where + ": leere Zelle " + index);
+            check(actual.getOpenHits().get(index) == expected.getOpenHits().get(index), where + ": offener Treffer " + index);
+        }
+        check(actual.getOpenHitCount() == expected.getOpenHitCount(), where + ": Anzahl offener Treffer");
+        check(actual.getRemainingShips() == expected.getRemainingShips(), where + ": verbleibende Schiffe");
+        for (int length = 0; length < expected.getLengths().length; length++) {
+            check(actual.getRemaining(length) == expected.getRemaining(length), where + ": verbleibende Schiffe der Länge " + length);
+        }
+        check(computer.getMovePool().size() == rebuilt.getMovePool().size(), where + ": Zugvorrat");
+    }
+
+    /**
+     * @brief Spielt Partien gegen einen Computer mit Eröffnung und nimmt dann Schuss für Schuss zurück. Nach jeder
+     *        Rücknahme eines Buchzuges des Computers muss er denselben Zug erneut wählen.
+     * @return Die Anzahl der wiederholten Buchzüge.
+     */
+    private static int checkOpeningAfterUndo() {
+        int replayed = 0;
+        for (int game = 0; game < COMPUTER_GAMES; game++) {
+            SplittableRandom random = new SplittableRandom(1000 + game);
+            GameEngine engine = new GameEngine();
+            engine.getGameModel().setSeed(game);
+            PlayerModel human = new PlayerModel("Mensch");
+            ComputerPlayerModel computer = new ComputerPlayerModel("Computer", BoardModel.DEFAULT_WIDTH,
+                    ShotStrategies.byId("density"), new SplittableRandom(game));
+            engine.createMatch(human, computer);
+            engine.placeFleetRandomly(human);
+            engine.placeFleetRandomly(computer);
+            engine.finishPlacement();
+            MoveLog log = engine.getGameModel().getMoveLog();
+            while (!engine.isGameOver()) {
+                if (engine.getCurrentPlayer() == computer) {
+                    engine.playComputerTurns();
+                } else {
+                    engine.fire(random.nextInt(BoardModel.DEFAULT_WIDTH), random.nextInt(BoardModel.DEFAULT_HEIGHT));
+                }
+            }
+
+            int[] moves = log.toArray();
+            boolean[] onLine = new boolean[moves.length];
+            int computerIndex = 1;
+            int computerMoves = 0;
+            boolean missed = true;
+            for (int i = 0; i < moves.length; i++) {
+                if (MoveLog.shooter(moves[i]) == computerIndex) {
+                    onLine[i] = missed && computerMoves < PLIES;
+                    missed &= MoveLog.type(moves[i]) == ShotType.MISS;
+                    computerMoves++;
+                }
+            }
+            check(onLine[firstComputerMove(moves, computerIndex)], "Partie " + game + ": erster Zug nicht aus dem Buch");
+
+            for (int i = moves.length - 1; i >= 0; i--) {
+                check(engine.undo(), "Partie " + game + ": undo bei " + (i + 1) + " Schüssen");
+                if (!onLine[i]) {
+                    continue;
+                }
+                engine.playComputerTurns();
+                check(log.get(i) == moves[i], "Partie " + game + ", Schuss " + i + ": Buchzug " + MoveLog.x(moves[i]) + "/"
+                        + MoveLog.y(moves[i]) + " nach undo nicht wiederholt");
+                while (log.size() > i) {
+                    engine.undo();
+                }
+                replayed++;
+            }
+        }
+        return replayed;
+    }
+
+    /**
+     * @brief Sucht den ersten Schuss eines Spielers.
+     * @param moves Die gepackten Schüsse.
+     * @param shooter Der Spieler.
+     * @return Der Index des ersten Schusses.
+     */
+    private static int firstComputerMove(int[] moves, int shooter) {
+        int i = 0;
+        while (MoveLog.shooter(moves[i]) != shooter) {
+            i++;
+        }
+        return i;
+    }
+
+    /**
+     * @brief Führt einen AssertionError aus, wenn die Bedingung nicht erfüllt ist.
+     * @param condition Die Bedingung.
+     * @param message Die Meldung bei einem Fehler.
+     */
+    private static void check(boolean condition, String message) {
+        if (!condition) {
+            throw new AssertionError(message);
+        }
+    }
+
+    /**
+     * @class Position
+     * @brief Aufgezeichnete Stellung einer Partie: beide Boards, Treffer und versenkte Schiffe beider Spieler, der
+     *        Spieler am Zug und das Ende der Partie.
+     */
+    private static final class Position {
+        private final CellState[] one;
+        private final CellState[] two;
+        private final int[] counters;
+        private final PlayerModel current;
+        private final boolean over;
+
+        /**
+         * @brief Konstruktor, der die aktuelle Stellung aufzeichnet.
+         * @param engine Die Engine mit der Partie.
+         */
+        private Position(GameEngine engine) {
+            GameModel model = engine.getGameModel();
+            this.one = states(model.getPlayerOne().getBoard());
+            this.two = states(model.getPlayerTwo().getBoard());
+            this.counters = counters(model);
+            this.current = engine.getCurrentPlayer();
+            this.over = engine.isGameOver();
+        }
+
+        /**
+         * @brief Vergleicht die aktuelle Stellung mit der aufgezeichneten.
+         * @param engine Die Engine mit der Partie.
+         * @param where Die Beschreibung der Stellung für die Fehlermeldung.
+         */
+        private void check(GameEngine engine, String where) {
+            GameModel model = engine.getGameModel();
+            MoveLogCheck.check(Arrays.equals(this.one, states(model.getPlayerOne().getBoard())), where + ": Board des ersten Spielers");
+            MoveLogCheck.check(Arrays.equals(this.two, states(model.getPlayerTwo().getBoard())), where + ": Board des zweiten Spielers");
+            MoveLogCheck.check(Arrays.equals(this.counters, counters(model)), where + ": Treffer und Zähler");
+            MoveLogCheck.check(this.current == engine.getCurrentPlayer(), where + ": Spieler am Zug");
+            MoveLogCheck.check(this.over == engine.isGameOver(), where + ": Ende der Partie");
+        }
+
+        /**
+         * @brief Liest die Zustände aller Zellen eines Boards.
+         * @param board Das Board.
+         * @return Die Zustände in Indexreihenfolge.
+         */
+        private static CellState[] states(BoardModel board) {
+            CellState[] states = new CellState[board.getWidth() * board.getHeight()];
+            for (int index = 0; index < states.length; index++) {
+                states[index] = board.getCellState(index / board.getHeight(), index % board.getHeight());
+            }
+            return states;
+        }
+
+        /**
+         * @brief Liest die Zähler beider Spieler. Die Klicks fehlen, da Schüsse auf beschossene Zellen nicht
+         *        zurückgenommen werden.
+         * @param model Das GameModel.
+         * @return Treffer, versenkte Schiffe und verbleibende Schiffszellen beider Spieler.
+         */
+        private static int[] counters(GameModel model) {
+            PlayerModel one = model.getPlayerOne();
+            PlayerModel two = model.getPlayerTwo();
+            return new int[]{one.getPlayerStatus().getHits(), one.getPlayerStatus().getSunkShips(),
+                    two.getBoard().getRemainingShipCells(), two.getPlayerStatus().getHits(),
+                    two.getPlayerStatus().getSunkShips(), one.getBoard().getRemainingShipCells()};
+        }
+    }
+}
@@ -0,0 +1,101 @@
+/**
+ * @file PlayerStatusCheck.java
+ */
+
+package model;
+
+import engine.GameEngine;
+
+import java.util.SplittableRandom;
+
+/**
+ * @class PlayerStatusCheck
+ * @brief Prüft die mitgezählten Statistiken eines Spielers gegen eine vollständige Neuberechnung aus dem gegnerischen
+ *        Board. Es werden zufällige Partien mit festem Seed gespielt, nach jedem Schuss und nach jedem
+ *        zurückgenommenen Schuss werden Treffer, versenkte Schiffe und die Zähler des Boards verglichen.
+ */
+public final class PlayerStatusCheck {
+    // Anzahl der gespielten Partien
+    private static final int GAMES = 200;
+
+    /**
+     * @brief Privater Konstruktor, die Klasse wird nur über main ausgeführt.
+     */
+    private PlayerStatusCheck() {
+    }
+
+    /**
+     * @brief Spielt die Partien und bricht beim ersten Unterschied mit einem AssertionError ab.
+     * @param args Keine Argumente.
+     */
+    public static void main(String[] args) {
+        int shots = 0;
+        for (int game = 0; game < GAMES; game++) {
+            SplittableRandom random = new SplittableRandom(game);
+            GameEngine engine = new GameEngine();
+            engine.getGameModel().setSeed(game);
+            engine.createMatch(new PlayerModel("Eins"), new PlayerModel("Zwei"));
+            engine.placeFleetRandomly(engine.getGameModel().getPlayerOne());
+            engine.placeFleetRandomly(engine.getGameModel().getPlayerTwo());
+            engine.finishPlacement();
+
+            while (!engine.isGameOver()) {
+                engine.fire(random.nextInt(BoardModel.DEFAULT_WIDTH), random.nextInt(BoardModel.DEFAULT_HEIGHT));
+                checkBoth(engine, game);
+                shots++;
+            }
+            while (engine.undo()) {
+                checkBoth(engine, game);
+            }
+            check(engine.getGameModel().getPlayerOne().getPlayerStatus().getHits() == 0, game, "Treffer nach allen Rücknahmen");
+        }
+        System.out.println("PlayerStatusCheck: " + GAMES + " Partien mit " + shots + " Schüssen geprüft");
+    }
+
+    /**
+     * @brief Vergleicht die Statistiken beider Spieler mit dem Board ihres Gegners.
+     * @param engine Die Engine mit der Partie.
+     * @param game Die Nummer der Partie für die Fehlermeldung.
+     */
+    private static void checkBoth(GameEngine engine, int game) {
+        GameModel model = engine.getGameModel();
+        checkConsistent(model.getPlayerOne().getPlayerStatus(), model.getPlayerTwo().getBoard(), game);
+        checkConsistent(model.getPlayerTwo().getPlayerStatus(), model.getPlayerOne().getBoard(), game);
+    }
+
+    /**
+     * @brief Berechnet Treffer, versenkte Schiffe und die Zähler des Boards durch Durchlaufen aller Schiffe neu und
+     *        vergleicht sie mit den mitgezählten Werten.
+     * @param status Die Statistik des schießenden Spielers.
+     * @param board Das Board des Gegners.
+     * @param game Die Nummer der Partie für die Fehlermeldung.
+     */
+    private static void checkConsistent(PlayerStatus status, BoardModel board, int game) {
+        int hits = 0;
+        int sunkShips = 0;
+        int remainingCells = 0;
+        for (ShipModel ship : board.getPlayerShips()) {
+            hits += ship.getLength() - ship.getRemainingHits();
+            remainingCells += ship.getRemainingHits();
+            if (ship.isSunk()) {
+                sunkShips++;
+            }
+        }
+        check(hits == status.getHits(), game, "Treffer " + status.getHits() + " statt " + hits);
+        check(sunkShips == status.getSunkShips(), game, "versenkte Schiffe " + status.getSunkShips() + " statt " + sunkShips);
+        check(remainingCells == board.getRemainingShipCells(), game, "verbleibende Schiffszellen");
+        check(board.getPlayerShips().size() - sunkShips == board.getRemainingShips(), game, "verbleibende Schiffe");
+    }
+
+    /**
+     * @brief Bricht mit einem AssertionError ab, wenn die Bedingung nicht erfüllt ist.
+     * @param condition Die Bedingung.
+     * @param game Die Nummer der Partie.
+     * @param message Die Beschreibung des Unterschieds.
+     */
+    private static void check(boolean condition, int game, String message) {
+        if (!condition) {
+            throw new AssertionError("Partie " + game + ": " + message);
+        }
+    }
+}
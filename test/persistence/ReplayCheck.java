@@ -0,0 +1,298 @@
+/**
+ * @file ReplayCheck.java
+ */
+
+package persistence;
+
+import engine.GameEngine;
+import model.BoardModel;
+import model.GameModel;
+import model.MoveLog;
+import model.PlayerModel;
+import model.ShotResult;
+import utils.CellState;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.SplittableRandom;
+import java.util.stream.Stream;
+
+/**
+ * @class ReplayCheck
+ * @brief Schreibt zufällige Partien mit festen Seeds über den ReplayWriter, liest sie mit dem ReplayReader wieder ein
+ *        und spielt jede Partie Schuss für Schuss auf neuen Boards nach. Regelwerk, Seed, Flotten, Schüsse und die
+ *        Boards am Ende müssen mit der gespielten Partie übereinstimmen. Zurückgenommene Schüsse dürfen nicht in der
+ *        Datei stehen. Eine abgeschnittene Datei und ein beschädigter Index müssen mit einer IOException abgelehnt
+ *        werden, und eine verworfene Datei darf eine vorhandene nicht ersetzen.
+ */
+public final class ReplayCheck {
+    // Anzahl der Partien in der Datei
+    private static final int GAMES = 40;
+    // Spielfeldgrößen, die reihum verwendet werden
+    private static final int[] SIZES = {10, 12, 15};
+
+    /**
+     * @brief Privater Konstruktor, die Klasse wird nur über main ausgeführt.
+     */
+    private ReplayCheck() {
+    }
+
+    /**
+     * @brief Führt die Prüfung aus und bricht beim ersten Unterschied mit einem AssertionError ab.
+     * @param args Keine Argumente.
+     * @throws IOException Wenn die Replay-Datei nicht geschrieben oder gelesen werden kann.
+     */
+    public static void main(String[] args) throws IOException {
+        Path path = Files.createTempFile("replay", ".bin");
+        Path truncated = Files.createTempFile("replay-truncated", ".bin");
+        try {
+            List<GameModel> games = new ArrayList<>();
+            int withUndone = 0;
+            try (ReplayWriter writer = new ReplayWriter(path)) {
+                for (int game = 0; game < GAMES; game++) {
+                    GameModel model = play(game, SIZES[game % SIZES.length]);
+                    writer.write(model);
+                    games.add(model);
+                    withUndone += model.getMoveLog().canRedo() ? 1 : 0;
+                }
+                check(withUndone > 0, "keine Partie endet mit zurückgenommenen Schüssen");
+                check(writer.getCount() == GAMES, "der Writer zählt " + writer.getCount() + " Partien");
+            }
+
+            int moves = 0;
+            try (ReplayReader reader = new ReplayReader(path)) {
+                check(reader.getCount() == GAMES, "die Datei enthält " + reader.getCount() + " Partien");
+                for (int game = 0; game < GAMES; game++) {
+                    moves += compare(games.get(game), reader.getReplay(game), "Partie " + game);
+                }
+            }
+
+            byte[] bytes = Files.readAllBytes(path);
+            for (int length = 0; length < bytes.length; length += 1 + length / 64) {
+                Files.write(truncated, Arrays.copyOf(bytes, length));
+                expectRejected(truncated, "auf " + length + " Bytes abgeschnittene Datei");
+            }
+            int corrupted = checkCorruptIndex(bytes, truncated);
+            checkAbort(path, games.get(0));
+            System.out.println("ReplayCheck: " + GAMES + " Partien mit " + moves + " Schüssen geprüft, " + corrupted
+                    + " beschädigte Dateien abgelehnt");
+        } finally {
+            Files.deleteIfExists(path);
+            Files.deleteIfExists(truncated);
+        }
+    }
+
+    /**
+     * @brief Beschädigt den Index und die Anzahlen einzelner Partien und prüft, dass jede dieser Dateien mit einer
+     *        IOException abgelehnt wird, statt beim Lesen über eine Partie hinauszulaufen.
+     * @param bytes Der Inhalt einer gültigen Replay-Datei mit mindestens zwei Partien.
+     * @param corrupt Die Datei, in die die beschädigten Inhalte geschrieben werden.
+     * @return Die Anzahl der abgelehnten Dateien.
+     * @throws IOException Wenn die Datei nicht geschrieben werden kann.
+     */
+    private static int checkCorruptIndex(byte[] bytes, Path corrupt) throws IOException {
+        int trailer = bytes.length - ReplayReader.TRAILER_BYTES;
+        int indexOffset = (int) ByteBuffer.wrap(bytes).getLong(trailer);
+        int count = ByteBuffer.wrap(bytes).getInt(trailer + 8);
+        long first = ByteBuffer.wrap(bytes).getLong(indexOffset);
+        long second = ByteBuffer.wrap(bytes).getLong(indexOffset + 8);
+        int rejected = 0;
+
+        // Zwei vertauschte Partien
+        ByteBuffer buffer = ByteBuffer.wrap(bytes.clone());
+        buffer.putLong(indexOffset, second).putLong(indexOffset + 8, first);
+        rejected += expectRejected(corrupt, buffer, "vertauschte Partien im Index");
+        // Zwei gleiche Positionen
+        buffer = ByteBuffer.wrap(bytes.clone());
+        buffer.putLong(indexOffset + 8, first);
+        rejected += expectRejected(corrupt, buffer, "doppelte Position im Index");
+        // Eine Partie im Kopf der Datei
+        buffer = ByteBuffer.wrap(bytes.clone());
+        buffer.putLong(indexOffset, 0);
+        rejected += expectRejected(corrupt, buffer, "Partie im Kopf der Datei");
+        // Eine Partie vor dem Anfang der Datei
+        buffer = ByteBuffer.wrap(bytes.clone());
+        buffer.putLong(indexOffset, -1);
+        rejected += expectRejected(corrupt, buffer, "negative Position im Index");
+        // Die letzte Partie im Index
+        buffer = ByteBuffer.wrap(bytes.clone());
+        buffer.putLong(indexOffset + 8 * (count - 1), indexOffset);
+        rejected += expectRejected(corrupt, buffer, "letzte Partie im Index");
+        // Eine Partie hinter dem Dateiende
+        buffer = ByteBuffer.wrap(bytes.clone());
+        buffer.putLong(indexOffset + 8 * (count - 1), Long.MAX_VALUE);
+        rejected += expectRejected(corrupt, buffer, "Partie hinter dem Dateiende");
+        // Eine negative Anzahl an Partien, deren Index scheinbar zum Dateiende passt
+        buffer = ByteBuffer.wrap(bytes.clone());
+        buffer.putLong(trailer, trailer + 8).putInt(trailer + 8, -1);
+        rejected += expectRejected(corrupt, buffer, "negative Anzahl an Partien");
+        // Ein Index vor dem Ende des Kopfes
+        buffer = ByteBuffer.wrap(Arrays.copyOf(bytes, ReplayReader.HEADER_BYTES + ReplayReader.TRAILER_BYTES));
+        buffer.putLong(ReplayReader.HEADER_BYTES, 4).putInt(ReplayReader.HEADER_BYTES + 8, 0)
+                .putInt(ReplayReader.HEADER_BYTES + 12, ReplayReader.MAGIC);
+        rejected += expectRejected(corrupt, buffer, "Index im Kopf der Datei");
+
+        // Anzahlen der ersten Partie, die über die Partie hinaus zeigen
+        int fleet = (int) first + 12;
+        int ships = fleet + 1 + Byte.toUnsignedInt(bytes[fleet]);
+        int moves = ships + 1 + 4 * Byte.toUnsignedInt(bytes[ships]);
+        moves += 1 + 4 * Byte.toUnsignedInt(bytes[moves]);
+        for (int position : new int[]{fleet, ships}) {
+            buffer = ByteBuffer.wrap(bytes.clone());
+            buffer.put(position, (byte) 0xFF);
+            rejected += expectRejected(corrupt, buffer, "Anzahl an Position " + position);
+        }
+        for (int value : new int[]{-1, Integer.MAX_VALUE, ByteBuffer.wrap(bytes).getInt(moves) + 1}) {
+            buffer = ByteBuffer.wrap(bytes.clone());
+            buffer.putInt(moves, value);
+            rejected += expectRejected(corrupt, buffer, value + " Schüsse in der ersten Partie");
+        }
+        return rejected;
+    }
+
+    /**
+     * @brief Prüft, dass eine verworfene Replay-Datei eine vorhandene Datei nicht ersetzt und keine temporäre Datei
+     *        zurücklässt.
+     * @param path Eine vorhandene Replay-Datei.
+     * @param game Eine Partie, die vor dem Verwerfen geschrieben wird.
+     * @throws IOException Wenn die Datei nicht geschrieben oder gelesen werden kann.
+     */
+    private static void checkAbort(Path path, GameModel game) throws IOException {
+        byte[] before = Files.readAllBytes(path);
+        ReplayWriter writer = new ReplayWriter(path);
+        writer.write(game);
+        writer.abort();
+        writer.close();
+        check(Arrays.equals(Files.readAllBytes(path), before), "die verworfene Datei hat die vorhandene ersetzt");
+        try (Stream<Path> files = Files.list(path.toAbsolutePath().getParent())) {
+            String prefix = path.getFileName().toString();
+            check(files.noneMatch(file -> file.getFileName().toString().startsWith(prefix) && file.toString().endsWith(".tmp")),
+                    "die verworfene Datei bleibt als temporäre Datei zurück");
+        }
+        try {
+            writer.write(game);
+            throw new AssertionError("nach dem Verwerfen wurde eine Partie geschrieben");
+        } catch (IOException expected) {
+            // erwartet
+        }
+    }
+
+    /**
+     * @brief Schreibt einen Inhalt in eine Datei und prüft, dass der ReplayReader sie ablehnt.
+     * @param path Die Datei.
+     * @param content Der Inhalt.
+     * @param what Die Beschreibung der Beschädigung für die Fehlermeldung.
+     * @return 1 für die abgelehnte Datei.
+     * @throws IOException Wenn die Datei nicht geschrieben werden kann.
+     */
+    private static int expectRejected(Path path, ByteBuffer content, String what) throws IOException {
+        Files.write(path, content.array());
+        return expectRejected(path, what);
+    }
+
+    /**
+     * @brief Prüft, dass der ReplayReader eine Datei mit einer IOException ablehnt.
+     * @param path Die Datei.
+     * @param what Die Beschreibung der Beschädigung für die Fehlermeldung.
+     * @return 1 für die abgelehnte Datei.
+     */
+    private static int expectRejected(Path path, String what) {
+        try (ReplayReader reader = new ReplayReader(path)) {
+            throw new AssertionError(what + " mit " + reader.getCount() + " Partien gelesen");
+        } catch (IOException expected) {
+            return 1;
+        }
+    }
+
+    /**
+     * @brief Spielt eine Partie mit zufälligen Schüssen zu Ende. Zwischendurch werden Schüsse zurückgenommen, zum Teil
+     *        wiederholt und am Ende bleiben einige zurückgenommen im Verlauf stehen.
+     * @param game Die Nummer der Partie, zugleich der Seed.
+     * @param size Die Breite und Höhe der Spielfelder.
+     * @return Das GameModel der Partie.
+     */
+    private static GameModel play(int game, int size) {
+        SplittableRandom random = new SplittableRandom(game);
+        GameEngine engine = new GameEngine();
+        engine.getGameModel().setSeed(game);
+        engine.createMatch(new PlayerModel("Eins", size), new PlayerModel("Zwei", size));
+        engine.placeFleetRandomly(engine.getGameModel().getPlayerOne());
+        engine.placeFleetRandomly(engine.getGameModel().getPlayerTwo());
+        engine.finishPlacement();
+        while (!engine.isGameOver()) {
+            int choice = random.nextInt(20);
+            if (choice == 0) {
+                engine.undo();
+            } else if (choice == 1) {
+                engine.redo();
+            } else {
+                engine.fire(random.nextInt(size), random.nextInt(size));
+            }
+        }
+        for (int i = random.nextInt(4); i > 0; i--) {
+            engine.undo();
+        }
+        return engine.getGameModel();
+    }
+
+    /**
+     * @brief Vergleicht eine gelesene Partie mit der gespielten und spielt sie auf neuen Boards nach.
+     * @param game Die gespielte Partie.
+     * @param replay Die gelesene Partie.
+     * @param where Die Beschreibung der Partie für die Fehlermeldung.
+     * @return Die Anzahl der nachgespielten Schüsse.
+     */
+    private static int compare(GameModel game, ReplayReader.Replay replay, String where) {
+        BoardModel[] played = {game.getPlayerOne().getBoard(), game.getPlayerTwo().getBoard()};
+        check(replay.getWidth() == played[0].getWidth() && replay.getHeight() == played[0].getHeight(), where + ": Spielfeldgröße");
+        check(replay.getSeed() == game.getSeed(), where + ": Seed");
+        check(Arrays.equals(replay.getFleet(), game.getShipSizes()), where + ": Regelwerk");
+
+        BoardModel[] boards = new BoardModel[2];
+        for (int player = 0; player < 2; player++) {
+            check(replay.getShipCount(player) == played[player].getPlayerShips().size(), where + ": Anzahl der Schiffe von Spieler " + player);
+            boards[player] = new BoardModel(replay.getWidth(), replay.getHeight());
+            replay.placeFleet(player, boards[player]);
+            for (int x = 0; x < replay.getWidth(); x++) {
+                for (int y = 0; y < replay.getHeight(); y++) {
+                    boolean ship = played[player].getShipAt(x, y) != null;
+                    check((boards[player].getShipAt(x, y) != null) == ship, where + ": Schiff von Spieler " + player + " auf " + x + "/" + y);
+                }
+            }
+        }
+
+        MoveLog log = game.getMoveLog();
+        check(replay.getMoveCount() == log.size(), where + ": " + replay.getMoveCount() + " statt " + log.size() + " Schüsse");
+        for (int i = 0; i < replay.getMoveCount(); i++) {
+            int move = replay.getMove(i);
+            check(move == log.get(i), where + ": Schuss " + i);
+            ShotResult result = boards[MoveLog.target(move)].fire(MoveLog.x(move), MoveLog.y(move));
+            check(result.getType() == MoveLog.type(move), where + ": Schuss " + i + " ergibt " + result.getType());
+        }
+        for (int player = 0; player < 2; player++) {
+            for (int x = 0; x < replay.getWidth(); x++) {
+                for (int y = 0; y < replay.getHeight(); y++) {
+                    CellState state = boards[player].getCellState(x, y);
+                    check(state == played[player].getCellState(x, y), where + ": Zelle " + x + "/" + y + " von Spieler " + player);
+                }
+            }
+        }
+        return replay.getMoveCount();
+    }
+
+    /**
+     * @brief Führt einen AssertionError aus, wenn die Bedingung nicht erfüllt ist.
+     * @param condition Die Bedingung.
+     * @param message Die Meldung bei einem Fehler.
+     */
+    private static void check(boolean condition, String message) {
+        if (!condition) {
+            throw new AssertionError(message);
+        }
+    }
+}
@@ -0,0 +1,322 @@
+/**
+ * @file SaveGameCheck.java
+ */
+
+package persistence;
+
+import engine.GameEngine;
+import model.BoardModel;
+import model.GameModel;
+import model.MoveLog;
+import model.PlayerModel;
+import utils.CellState;
+import utils.GameState;
+import utils.ShotType;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Arrays;
+import java.util.SplittableRandom;
+
+/**
+ * @class SaveGameCheck
+ * @brief Prüft den Spielstand mit festen Seeds:
+ *        - Gespeicherte Partien beider Spielmodi ergeben nach dem Laden in einer neuen Engine dieselbe Partie mit
+ *          denselben Einstellungen, Boards, Statistiken und demselben Verlauf einschließlich der zurückgenommenen
+ *          Schüsse.
+ *        - Abgeschnittene, gezielt beschädigte und zufällig veränderte Dateien werden mit einer IOException
+ *          abgelehnt, und die Engine behält dabei ihre laufende Partie und ihre Einstellungen.
+ */
+public final class SaveGameCheck {
+    // Anzahl der gespeicherten Partien je Spielmodus
+    private static final int GAMES = 10;
+    // Anzahl der zufälligen Veränderungen einer Datei
+    private static final int MUTATIONS = 3000;
+
+    /**
+     * @brief Privater Konstruktor, die Klasse wird nur über main ausgeführt.
+     */
+    private SaveGameCheck() {
+    }
+
+    /**
+     * @brief Führt die Prüfung aus und bricht beim ersten Unterschied mit einem AssertionError ab.
+     * @param args Keine Argumente.
+     * @throws IOException Wenn der Spielstand nicht geschrieben oder gelesen werden kann.
+     */
+    public static void main(String[] args) throws IOException {
+        Path path = Files.createTempFile("savegame", ".bin");
+        Path corrupt = Files.createTempFile("savegame-corrupt", ".bin");
+        try {
+            int recorded = 0;
+            for (int game = 0; game < 2 * GAMES; game++) {
+                GameEngine engine = play(game, game < GAMES ? GameState.NORMAL : GameState.COMPUTER);
+                SaveGame.save(engine, path);
+                recorded = engine.getGameModel().getMoveLog().toArray().length;
+                GameEngine loaded = new GameEngine();
+                SaveGame.load(loaded, path);
+                check(new Fingerprint(loaded).equals(new Fingerprint(engine)), "Partie " + game + ": geladene Partie weicht ab");
+                // Die zurückgenommenen Schüsse lassen sich in beiden Engines gleich wiederholen
+                while (engine.getGameModel().getMoveLog().canRedo()) {
+                    check(loaded.redo().getType() == engine.redo().getType(), "Partie " + game + ": Wiederholung weicht ab");
+                    check(new Fingerprint(loaded).equals(new Fingerprint(engine)), "Partie " + game + ": Partie nach Wiederholung weicht ab");
+                }
+            }
+
+            byte[] bytes = Files.readAllBytes(path);
+            GameEngine running = play(1000, GameState.NORMAL);
+            running.getGameModel().setComputerStrategy("random");
+            running.getGameModel().setComputerDeadlineMillis(5);
+            Fingerprint before = new Fingerprint(running);
+            int rejected = 0;
+
+            for (int length = 0; length < bytes.length; length++) {
+                rejected += expectRejected(running, before, corrupt, Arrays.copyOf(bytes, length), "auf " + length + " Bytes abgeschnitten");
+            }
+            for (Corruption corruption : corruptions(bytes, recorded)) {
+                rejected += expectRejected(running, before, corrupt, corruption.bytes, corruption.name);
+            }
+
+            SplittableRandom random = new SplittableRandom(7);
+            int accepted = 0;
+            for (int i = 0; i < MUTATIONS; i++) {
+                byte[] changed = bytes.clone();
+                changed[8 + random.nextInt(changed.length - 12)] ^= (byte) (1 + random.nextInt(255));
+                Files.write(corrupt, changed);
+                GameEngine target = play(1000, GameState.NORMAL);
+                Fingerprint original = new Fingerprint(target);
+                try {
+                    SaveGame.load(target, corrupt);
+                    accepted++;
+                } catch (IOException e) {
+                    check(new Fingerprint(target).equals(original), "Veränderung " + i + ": Engine nach abgelehntem Spielstand verändert");
+                    rejected++;
+                }
+            }
+            System.out.println("SaveGameCheck: " + 2 * GAMES + " Partien geladen, " + rejected + " beschädigte Dateien abgelehnt, "
+                    + accepted + " harmlose Veränderungen geladen");
+        } finally {
+            Files.deleteIfExists(path);
+            Files.deleteIfExists(corrupt);
+        }
+    }
+
+    /**
+     * @brief Spielt eine Partie bis kurz vor ihr Ende, nimmt einige Schüsse zurück und wiederholt einen davon.
+     * @param game Die Nummer der Partie, zugleich der Seed.
+     * @param state Der Spielmodus.
+     * @return Die Engine mit der laufenden Partie.
+     */
+    private static GameEngine play(int game, GameState state) {
+        SplittableRandom random = new SplittableRandom(game);
+        GameEngine engine = new GameEngine();
+        GameModel model = engine.getGameModel();
+        model.setBoardSize(10 + game % 3);
+        model.setComputerDeadlineMillis(0);
+        model.setSeed(game);
+        engine.createMatch(state, "Eins", "Zwei");
+        engine.placeFleetRandomly(model.getPlayerOne());
+        if (state != GameState.COMPUTER) {
+            engine.placeFleetRandomly(model.getPlayerTwo());
+        }
+        engine.finishPlacement();
+        int size = model.getBoardSize();
+        int shots = 40 + random.nextInt(120);
+        for (int i = 0; i < shots && !engine.isGameOver(); i++) {
+            if (engine.getCurrentPlayer() == model.getPlayerOne() || state != GameState.COMPUTER) {
+                engine.fire(random.nextInt(size), random.nextInt(size));
+            } else {
+                engine.playComputerTurns();
+            }
+        }
+        for (int i = 2 + random.nextInt(4); i > 0; i--) {
+            engine.undo();
+        }
+        engine.redo();
+        return engine;
+    }
+
+    /**
+     * @brief Lädt eine beschädigte Datei und prüft, dass sie abgelehnt wird und die Engine unverändert bleibt.
+     * @param engine Die Engine mit einer laufenden Partie.
+     * @param before Der Zustand der Engine vor dem Laden.
+     * @param path Der Pfad, unter dem die Datei geschrieben wird.
+     * @param bytes Der Inhalt der Datei.
+     * @param name Die Beschreibung der Beschädigung.
+     * @return 1 für die abgelehnte Datei.
+     * @throws IOException Wenn die Datei nicht geschrieben werden kann.
+     */
+    private static int expectRejected(GameEngine engine, Fingerprint before, Path path, byte[] bytes, String name) throws IOException {
+        Files.write(path, bytes);
+        try {
+            SaveGame.load(engine, path);
+            throw new AssertionError(name + ": Spielstand wurde geladen");
+        } catch (IOException expected) {
+            check(new Fingerprint(engine).equals(before), name + ": Engine nach abgelehntem Spielstand verändert");
+        }
+        return 1;
+    }
+
+    /**
+     * @brief Erzeugt gezielt beschädigte Fassungen eines Spielstands, deren Kopf und Ende gültig bleiben.
+     * @param bytes Der gültige Spielstand.
+     * @param moveCount Die Anzahl der gespeicherten Schüsse einschließlich der zurückgenommenen.
+     * @return Die beschädigten Fassungen.
+     */
+    private static Corruption[] corruptions(byte[] bytes, int moveCount) {
+        ByteBuffer buffer = ByteBuffer.wrap(bytes);
+        int strategyLength = buffer.getShort(29);
+        int nameOne = 32 + strategyLength;
+        int fleetOne = nameOne + 2 + buffer.getShort(nameOne) + 12;
+        int countOffset = bytes.length - 4 - 4 * moveCount - 8;
+        int played = buffer.getInt(countOffset + 4);
+        check(played < moveCount, "der Spielstand enthält keine zurückgenommenen Schüsse");
+        int lastOffset = countOffset + 8 + 4 * (moveCount - 1);
+        int last = buffer.getInt(lastOffset);
+        int first = buffer.getInt(countOffset + 8);
+        return new Corruption[]{
+                new Corruption("negative Textlänge", withShort(bytes, 29, -1)),
+                new Corruption("zu große Textlänge", withShort(bytes, 29, Short.MAX_VALUE)),
+                new Corruption("unbekannte Strategie", withByte(bytes, 31, 'x')),
+                new Corruption("negative Namenslänge", withShort(bytes, nameOne, -2)),
+                new Corruption("zu viele Schiffe", withByte(bytes, fleetOne, 255)),
+                new Corruption("überlappende Schiffe", withInt(bytes, fleetOne + 5, buffer.getInt(fleetOne + 1))),
+                new Corruption("negative Anzahl Schüsse", withInt(bytes, countOffset, -5)),
+                new Corruption("riesige Anzahl Schüsse", withInt(bytes, countOffset, Integer.MAX_VALUE)),
+                new Corruption("mehr gespielte als gespeicherte Schüsse", withInt(bytes, countOffset + 4, moveCount + 1)),
+                new Corruption("negative gespielte Schüsse", withInt(bytes, countOffset + 4, -1)),
+                new Corruption("falsches Ergebnis", withInt(bytes, countOffset + 8, buffer.getInt(countOffset + 8) ^ 1)),
+                new Corruption("Wiederholung im Verlauf", withInt(bytes, countOffset + 8, buffer.getInt(countOffset + 8) | 3)),
+                new Corruption("zurückgenommener Schuss außerhalb des Boards",
+                        withInt(bytes, lastOffset, MoveLog.pack(MoveLog.shooter(last), MoveLog.target(last), 1020, 1020, ShotType.SUNK))),
+                new Corruption("zurückgenommener Schuss mit falschem Ergebnis", withInt(bytes, lastOffset, last ^ 1)),
+                new Corruption("zurückgenommener Schuss auf das eigene Board", withInt(bytes, lastOffset,
+                        MoveLog.pack(MoveLog.shooter(last), MoveLog.shooter(last), MoveLog.x(last), MoveLog.y(last), MoveLog.type(last)))),
+                new Corruption("Schuss auf das eigene Board", withInt(bytes, countOffset + 8,
+                        MoveLog.pack(MoveLog.shooter(first), MoveLog.shooter(first), MoveLog.x(first), MoveLog.y(first), MoveLog.type(first)))),
+                new Corruption("falsche Treffer", withInt(bytes, fleetOne - 8, buffer.getInt(fleetOne - 8) + 1)),
+                new Corruption("weniger Klicks als Schüsse", withInt(bytes, fleetOne - 12, 0)),
+                new Corruption("negative Frist", withInt(bytes, 21, -1)),
+                new Corruption("falsche Spielfeldgröße", withShort(bytes, 9, 0)),
+                new Corruption("unbekannter Spieler am Zug", withByte(bytes, 31 + strategyLength, 2)),
+        };
+    }
+
+    /**
+     * @brief Ersetzt ein Byte.
+     * @param bytes Die Datei.
+     * @param offset Die Position.
+     * @param value Der neue Wert.
+     * @return Die veränderte Kopie.
+     */
+    private static byte[] withByte(byte[] bytes, int offset, int value) {
+        byte[] changed = bytes.clone();
+        changed[offset] = (byte) value;
+        return changed;
+    }
+
+    /**
+     * @brief Ersetzt ein short.
+     * @param bytes Die Datei.
+     * @param offset Die Position.
+     * @param value Der neue Wert.
+     * @return Die veränderte Kopie.
+     */
+    private static byte[] withShort(byte[] bytes, int offset, int value) {
+        byte[] changed = bytes.clone();
+        ByteBuffer.wrap(changed).putShort(offset, (short) value);
+        return changed;
+    }
+
+    /**
+     * @brief Ersetzt ein int.
+     * @param bytes Die Datei.
+     * @param offset Die Position.
+     * @param value Der neue Wert.
+     * @return Die veränderte Kopie.
+     */
+    private static byte[] withInt(byte[] bytes, int offset, int value) {
+        byte[] changed = bytes.clone();
+        ByteBuffer.wrap(changed).putInt(offset, value);
+        return changed;
+    }
+
+    /**
+     * @brief Führt einen AssertionError aus, wenn die Bedingung nicht erfüllt ist.
+     * @param condition Die Bedingung.
+     * @param message Die Meldung bei einem Fehler.
+     */
+    private static void check(boolean condition, String message) {
+        if (!condition) {
+            throw new AssertionError(message);
+        }
+    }
+
+    /**
+     * @class Corruption
+     * @brief Eine beschädigte Fassung eines Spielstands mit ihrer Beschreibung.
+     */
+    private static final class Corruption {
+        private final String name;
+        private final byte[] bytes;
+
+        /**
+         * @brief Konstruktor, der eine Beschädigung beschreibt.
+         * @param name Die Beschreibung.
+         * @param bytes Der beschädigte Inhalt.
+         */
+        private Corruption(String name, byte[] bytes) {
+            this.name = name;
+            this.bytes = bytes;
+        }
+    }
+
+    /**
+     * @class Fingerprint
+     * @brief Alles, was ein Laden an einer Engine verändern kann: Einstellungen, Seed, Spielmodus, Abschnitt, Namen,
+     *        Boards, Statistiken, Spieler am Zug und der Verlauf einschließlich der zurückgenommenen Schüsse.
+     */
+    private static final class Fingerprint {
+        private final String text;
+
+        /**
+         * @brief Konstruktor, der den Zustand einer Engine aufzeichnet.
+         * @param engine Die Engine.
+         */
+        private Fingerprint(GameEngine engine) {
+            GameModel model = engine.getGameModel();
+            StringBuilder builder = new StringBuilder();
+            builder.append(model.getBoardSize()).append(' ').append(model.getComputerStrategyId()).append(' ')
+                    .append(model.getComputerDeadlineMillis()).append(' ').append(model.getSeed()).append(' ')
+                    .append(model.getGameState()).append(' ').append(engine.getPhase()).append(' ')
+                    .append(model.getCurrentPlayer() == model.getPlayerOne() ? 0 : 1).append(' ')
+                    .append(Arrays.toString(model.getMoveLog().toArray())).append(' ').append(model.getMoveLog().size());
+            for (PlayerModel player : new PlayerModel[]{model.getPlayerOne(), model.getPlayerTwo()}) {
+                builder.append('|').append(player.getPlayerName()).append(' ').append(player.getClass().getSimpleName())
+                        .append(' ').append(player.getPlayerStatus().getTotalClicks())
+                        .append(' ').append(player.getPlayerStatus().getHits())
+                        .append(' ').append(player.getPlayerStatus().getSunkShips()).append(' ');
+                BoardModel board = player.getBoard();
+                for (int x = 0; x < board.getWidth(); x++) {
+                    for (int y = 0; y < board.getHeight(); y++) {
+                        CellState state = board.getCellState(x, y);
+                        builder.append(state.ordinal());
+                    }
+                }
+            }
+            this.text = builder.toString();
+        }
+
+        @Override
+        public boolean equals(Object other) {
+            return other instanceof Fingerprint && ((Fingerprint) other).text.equals(this.text);
+        }
+
+        @Override
+        public int hashCode() {
+            return this.text.hashCode();
+        }
+    }
+}